@@ -0,0 +1,148 @@
+package com.arun.monitoring;
+
+import com.arun.monitoring.cache.SecondLevelCacheEndpoint;
+import com.arun.monitoring.jdbc.StatementListener;
+import com.arun.monitoring.jdbc.StatementTimingPostProcessor;
+import com.arun.monitoring.pool.PoolSizingEndpoint;
+import com.arun.monitoring.pool.PoolSizingProperties;
+import com.arun.monitoring.sql.SqlStatisticsEndpoint;
+import com.arun.monitoring.sql.SqlStatisticsProperties;
+import com.arun.monitoring.sql.StatementStatisticsCollector;
+import com.arun.monitoring.trace.LoggingSlowRequestReporter;
+import com.arun.monitoring.trace.RequestTrace;
+import com.arun.monitoring.trace.RequestTraceBodyAdvice;
+import com.arun.monitoring.trace.RequestTraceInterceptor;
+import com.arun.monitoring.trace.SlowRequestProperties;
+import com.arun.monitoring.trace.SlowRequestReporter;
+import com.arun.monitoring.trace.SlowRequestTraceFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+/**
+ * Monitoring shared by the servlet applications: the {@code poolsizing} actuator endpoint,
+ * statement timing and statistics on the DataSource, Hibernate second-level cache statistics
+ * and slow-request tracing.
+ */
+@AutoConfiguration(after = {CompositeMeterRegistryAutoConfiguration.class, JacksonAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class})
+public class MonitoringAutoConfiguration {
+
+    @Bean
+    @ConditionalOnClass(DataSource.class)
+    public static StatementTimingPostProcessor statementTimingPostProcessor(
+            ObjectProvider<StatementListener> listeners) {
+        return new StatementTimingPostProcessor(listeners);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableConfigurationProperties(PoolSizingProperties.class)
+    static class PoolSizingConfiguration {
+
+        @Bean(initMethod = "start", destroyMethod = "stop")
+        @ConditionalOnBean(MeterRegistry.class)
+        @ConditionalOnAvailableEndpoint(endpoint = PoolSizingEndpoint.class)
+        public PoolSizingEndpoint poolSizingEndpoint(MeterRegistry meterRegistry, PoolSizingProperties properties) {
+            return new PoolSizingEndpoint(meterRegistry, properties.getWindow(), properties.getSampleInterval());
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(DataSource.class)
+    @ConditionalOnProperty(prefix = "monitoring.sql", name = "enabled", matchIfMissing = true)
+    @EnableConfigurationProperties(SqlStatisticsProperties.class)
+    static class SqlStatisticsConfiguration {
+
+        @Bean
+        public StatementStatisticsCollector statementStatisticsCollector(SqlStatisticsProperties properties) {
+            return new StatementStatisticsCollector(properties);
+        }
+
+        @Bean
+        @ConditionalOnAvailableEndpoint(endpoint = SqlStatisticsEndpoint.class)
+        public SqlStatisticsEndpoint sqlStatisticsEndpoint(StatementStatisticsCollector collector) {
+            return new SqlStatisticsEndpoint(collector);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass({SessionFactory.class, EntityManagerFactory.class})
+    static class SecondLevelCacheConfiguration {
+
+        @Bean
+        @ConditionalOnBean(EntityManagerFactory.class)
+        @ConditionalOnAvailableEndpoint(endpoint = SecondLevelCacheEndpoint.class)
+        public SecondLevelCacheEndpoint secondLevelCacheEndpoint(EntityManagerFactory entityManagerFactory) {
+            return new SecondLevelCacheEndpoint(entityManagerFactory.unwrap(SessionFactory.class).getStatistics());
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(prefix = "monitoring.slow-request", name = "enabled", matchIfMissing = true)
+    @EnableConfigurationProperties(SlowRequestProperties.class)
+    static class SlowRequestTracingConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public SlowRequestReporter slowRequestReporter(ObjectProvider<ObjectMapper> objectMapper) {
+            return new LoggingSlowRequestReporter(objectMapper.getIfAvailable(ObjectMapper::new));
+        }
+
+        @Bean
+        public FilterRegistrationBean<SlowRequestTraceFilter> slowRequestTraceFilter(
+                SlowRequestProperties properties, SlowRequestReporter reporter) {
+            FilterRegistrationBean<SlowRequestTraceFilter> registration = new FilterRegistrationBean<>(
+                    new SlowRequestTraceFilter(properties.getThreshold(), reporter));
+            // just inside Micrometer's http.server.requests filter, outside everything else
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+            return registration;
+        }
+
+        @Bean
+        public RequestTraceBodyAdvice requestTraceBodyAdvice() {
+            return new RequestTraceBodyAdvice();
+        }
+
+        @Bean
+        public WebMvcConfigurer requestTraceConfigurer() {
+            return new WebMvcConfigurer() {
+                @Override
+                public void addInterceptors(InterceptorRegistry registry) {
+                    registry.addInterceptor(new RequestTraceInterceptor());
+                }
+            };
+        }
+
+        @Bean
+        public StatementListener requestTraceStatementListener() {
+            return execution -> {
+                RequestTrace trace = RequestTrace.current();
+                if (trace != null) {
+                    trace.addSql(execution.getElapsedNanos());
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.arun.monitoring.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One region of {@code /actuator/l2cache}: lookups, misses and puts since startup or the
+ * last reset.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheRegionReport {
+
+    private String region;
+
+    private long hits;
+
+    private long misses;
+
+    private long puts;
+
+    // hits / (hits + misses), 0 before the first lookup
+    private double hitRatio;
+}
@@ -0,0 +1,68 @@
+package com.arun.monitoring.cache;
+
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * {@code GET /actuator/l2cache} lists the hit ratio of every Hibernate second-level cache
+ * region and of the query cache; {@code DELETE /actuator/l2cache} clears Hibernate's
+ * statistics. The counters are only kept while {@code hibernate.generate_statistics} is on.
+ */
+@Endpoint(id = "l2cache")
+public class SecondLevelCacheEndpoint {
+
+    private final Statistics statistics;
+
+    public SecondLevelCacheEndpoint(Statistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @ReadOperation
+    public SecondLevelCacheReport secondLevelCache() {
+        List<CacheRegionReport> regions = Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(this::region)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        return SecondLevelCacheReport.builder()
+                .statisticsEnabled(statistics.isStatisticsEnabled())
+                .regions(regions)
+                .queries(report("<queries>", statistics.getQueryCacheHitCount(),
+                        statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()))
+                .build();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statistics.clear();
+    }
+
+    //Null for a region Hibernate keeps no statistics for
+    private CacheRegionReport region(String name) {
+        CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+        if (region == null) {
+            return null;
+        }
+        return report(name, region.getHitCount(), region.getMissCount(), region.getPutCount());
+    }
+
+    private static CacheRegionReport report(String region, long hits, long misses, long puts) {
+        long lookups = hits + misses;
+        return CacheRegionReport.builder()
+                .region(region)
+                .hits(hits)
+                .misses(misses)
+                .puts(puts)
+                .hitRatio(lookups == 0 ? 0 : (double) hits / lookups)
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.arun.monitoring.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * What {@code /actuator/l2cache} reports about Hibernate's second-level and query caches.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SecondLevelCacheReport {
+
+    // false unless hibernate.generate_statistics is on; all counters are then zero
+    private boolean statisticsEnabled;
+
+    private List<CacheRegionReport> regions;
+
+    // the query cache as a whole, across all query regions
+    private CacheRegionReport queries;
+}
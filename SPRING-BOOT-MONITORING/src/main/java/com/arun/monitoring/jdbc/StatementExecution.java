@@ -0,0 +1,48 @@
+package com.arun.monitoring.jdbc;
+
+/**
+ * One call to a {@code Statement.execute*} method as seen by {@link StatementListener}s.
+ * The elapsed time covers the driver call only; for queries the listeners are told once
+ * the result set has been read to the end or closed, so the row count is known.
+ */
+public final class StatementExecution {
+
+    private final String sql;
+
+    private final long elapsedNanos;
+
+    private final long rows;
+
+    private final boolean failed;
+
+    public StatementExecution(String sql, long elapsedNanos, long rows, boolean failed) {
+        this.sql = sql;
+        this.elapsedNanos = elapsedNanos;
+        this.rows = rows;
+        this.failed = failed;
+    }
+
+    /**
+     * The SQL text as the application passed it to the driver; {@code null} for
+     * {@code executeBatch} on a plain {@code Statement}.
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Rows updated, or rows read from the result set for queries; {@code 0} when the driver
+     * did not say.
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+}
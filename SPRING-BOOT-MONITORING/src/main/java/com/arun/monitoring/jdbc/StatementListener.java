@@ -0,0 +1,11 @@
+package com.arun.monitoring.jdbc;
+
+/**
+ * Told about every statement the application executes through its DataSource. Called on
+ * the executing thread right after the driver returns, so implementations must be cheap.
+ */
+@FunctionalInterface
+public interface StatementListener {
+
+    void afterExecute(StatementExecution execution);
+}
@@ -0,0 +1,262 @@
+package com.arun.monitoring.jdbc;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Wraps a DataSource in JDK proxies that time every {@code execute*} call on the statements
+ * it hands out and pass the result to the listeners. Everything else, including
+ * {@code unwrap} to the pool, goes straight to the real objects, except the back references
+ * ({@code Statement.getConnection()}, {@code ResultSet.getStatement()}), which return the
+ * wrappers.
+ * <p>
+ * A connection or statement that is already timed is passed through as it is, so a
+ * DataSource that routes to, or lazily wraps, another wrapped DataSource does not time its
+ * statements twice.
+ */
+public final class StatementTimingDataSource {
+
+    private StatementTimingDataSource() {
+    }
+
+    public static DataSource wrap(DataSource dataSource, Supplier<List<StatementListener>> listeners) {
+        if (isTimed(dataSource)) {
+            return dataSource;
+        }
+        return proxy(DataSource.class, dataSource, new DataSourceHandler(dataSource, listeners));
+    }
+
+    /**
+     * Whether the object is one of the wrappers handed out here.
+     */
+    public static boolean isTimed(Object object) {
+        return object != null && Proxy.isProxyClass(object.getClass())
+                && Proxy.getInvocationHandler(object) instanceof TimingHandler;
+    }
+
+    // marks the handlers of this class, so wrappers are recognised and never wrapped again
+    private interface TimingHandler extends InvocationHandler {
+    }
+
+    private static final class DataSourceHandler implements TimingHandler {
+
+        private final DataSource dataSource;
+
+        private final Supplier<List<StatementListener>> listeners;
+
+        DataSourceHandler(DataSource dataSource, Supplier<List<StatementListener>> listeners) {
+            this.dataSource = dataSource;
+            this.listeners = listeners;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = StatementTimingDataSource.invoke(method, dataSource, args);
+            if (result instanceof Connection && !isTimed(result)) {
+                return proxy(Connection.class, result, new ConnectionHandler((Connection) result, listeners));
+            }
+            return result;
+        }
+    }
+
+    private static final class ConnectionHandler implements TimingHandler {
+
+        private final Connection connection;
+
+        private final Supplier<List<StatementListener>> listeners;
+
+        ConnectionHandler(Connection connection, Supplier<List<StatementListener>> listeners) {
+            this.connection = connection;
+            this.listeners = listeners;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = StatementTimingDataSource.invoke(method, connection, args);
+            if (result instanceof Statement && !isTimed(result)) {
+                // prepareStatement(sql, ...) fixes the SQL up front; createStatement() passes it to execute(sql)
+                String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                Class<? extends Statement> type = statementType(method.getReturnType());
+                return proxy(type, result, new StatementHandler((Statement) result, (Connection) proxy, sql, listeners));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler implements TimingHandler {
+
+        private final Statement statement;
+
+        private final Connection connection;
+
+        private final String preparedSql;
+
+        private final Supplier<List<StatementListener>> listeners;
+
+        // the query whose result set is still being read
+        private PendingQuery pending;
+
+        StatementHandler(Statement statement, Connection connection, String preparedSql,
+                         Supplier<List<StatementListener>> listeners) {
+            this.statement = statement;
+            this.connection = connection;
+            this.preparedSql = preparedSql;
+            this.listeners = listeners;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("getConnection".equals(name)) {
+                return connection;
+            }
+            if ("close".equals(name)) {
+                flush();
+            } else if ("getResultSet".equals(name) || "getGeneratedKeys".equals(name)) {
+                ResultSet resultSet = (ResultSet) StatementTimingDataSource.invoke(method, statement, args);
+                if (resultSet == null) {
+                    return null;
+                }
+                // only the result set of the pending query has its rows counted
+                return "getResultSet".equals(name) && pending != null
+                        ? pending.wrap(resultSet, (Statement) proxy) : resultSet(resultSet, (Statement) proxy);
+            }
+            if (!name.startsWith("execute")) {
+                return StatementTimingDataSource.invoke(method, statement, args);
+            }
+
+            flush();
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = StatementTimingDataSource.invoke(method, statement, args);
+            } catch (Throwable e) {
+                notify(new StatementExecution(sql, System.nanoTime() - start, 0, true));
+                throw e;
+            }
+            long elapsed = System.nanoTime() - start;
+            if (result instanceof ResultSet) {
+                pending = new PendingQuery(sql, elapsed);
+                return pending.wrap((ResultSet) result, (Statement) proxy);
+            }
+            if (Boolean.TRUE.equals(result)) {
+                // execute() produced a result set; rows are counted through getResultSet()
+                pending = new PendingQuery(sql, elapsed);
+                return result;
+            }
+            long rows = Boolean.FALSE.equals(result) ? Math.max(0, statement.getUpdateCount()) : updateCount(result);
+            notify(new StatementExecution(sql, elapsed, rows, false));
+            return result;
+        }
+
+        private void flush() {
+            if (pending != null) {
+                pending.finish();
+            }
+        }
+
+        private void notify(StatementExecution execution) {
+            for (StatementListener listener : listeners.get()) {
+                listener.afterExecute(execution);
+            }
+        }
+
+        private final class PendingQuery {
+
+            private final String sql;
+
+            private final long elapsedNanos;
+
+            private long rows;
+
+            PendingQuery(String sql, long elapsedNanos) {
+                this.sql = sql;
+                this.elapsedNanos = elapsedNanos;
+            }
+
+            ResultSet wrap(ResultSet resultSet, Statement statement) {
+                return proxy(ResultSet.class, resultSet, (TimingHandler) (proxy, method, args) -> {
+                    String name = method.getName();
+                    if ("getStatement".equals(name)) {
+                        return statement;
+                    }
+                    if ("close".equals(name)) {
+                        finish();
+                    }
+                    Object result = StatementTimingDataSource.invoke(method, resultSet, args);
+                    if ("next".equals(name)) {
+                        if ((Boolean) result) {
+                            rows++;
+                        } else {
+                            finish();
+                        }
+                    }
+                    return result;
+                });
+            }
+
+            void finish() {
+                if (pending == this) {
+                    pending = null;
+                    StatementHandler.this.notify(new StatementExecution(sql, elapsedNanos, rows, false));
+                }
+            }
+        }
+    }
+
+    // a result set that is not counted, but still leads back to the wrapped statement
+    private static ResultSet resultSet(ResultSet resultSet, Statement statement) {
+        return proxy(ResultSet.class, resultSet, (TimingHandler) (proxy, method, args) ->
+                "getStatement".equals(method.getName()) ? statement : invoke(method, resultSet, args));
+    }
+
+    private static long updateCount(Object result) {
+        if (result instanceof Number) {
+            return Math.max(0, ((Number) result).longValue());
+        }
+        long rows = 0;
+        if (result instanceof int[]) {
+            for (int count : (int[]) result) {
+                rows += Math.max(0, count);
+            }
+        } else if (result instanceof long[]) {
+            for (long count : (long[]) result) {
+                rows += Math.max(0, count);
+            }
+        }
+        return rows;
+    }
+
+    private static Class<? extends Statement> statementType(Class<?> declared) {
+        if (CallableStatement.class.isAssignableFrom(declared)) {
+            return CallableStatement.class;
+        }
+        if (PreparedStatement.class.isAssignableFrom(declared)) {
+            return PreparedStatement.class;
+        }
+        return Statement.class;
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(target.getClass().getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
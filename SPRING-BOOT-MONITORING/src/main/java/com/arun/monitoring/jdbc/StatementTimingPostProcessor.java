@@ -0,0 +1,44 @@
+package com.arun.monitoring.jdbc;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Wraps every DataSource bean with {@link StatementTimingDataSource}. Listener beans are
+ * looked up on the first executed statement, not here, so they may depend on beans that
+ * themselves need the DataSource.
+ * <p>
+ * Routing and lazy DataSources are wrapped too, since their targets need not be beans; a
+ * statement that reaches a wrapped target through them is still timed only once.
+ */
+public class StatementTimingPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<StatementListener> listenerProvider;
+
+    private volatile List<StatementListener> listeners;
+
+    public StatementTimingPostProcessor(ObjectProvider<StatementListener> listenerProvider) {
+        this.listenerProvider = listenerProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource) {
+            return StatementTimingDataSource.wrap((DataSource) bean, this::listeners);
+        }
+        return bean;
+    }
+
+    private List<StatementListener> listeners() {
+        List<StatementListener> current = listeners;
+        if (current == null) {
+            current = listenerProvider.orderedStream().collect(Collectors.toUnmodifiableList());
+            listeners = current;
+        }
+        return current;
+    }
+}
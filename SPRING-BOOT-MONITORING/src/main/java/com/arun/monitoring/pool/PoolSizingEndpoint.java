@@ -0,0 +1,257 @@
+package com.arun.monitoring.pool;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recommends a {@code maximum-pool-size} for every Hikari pool from the metrics Spring Boot
+ * records, one report per {@code pool} tag. The gauges are sampled every
+ * {@code sample-interval} and only the last {@code window} of samples count, so an idle
+ * night does not hide the bursts a pool has to absorb.
+ * <p>
+ * The recommendation covers the 99th percentile of sampled active connections plus
+ * {@link #HEADROOM}, and never less than Little's law gives for the window (time
+ * connections were held / elapsed time = connections busy on average). A pool that ran out
+ * of connections in the window, or had callers waiting, is never told to shrink.
+ */
+@Slf4j
+@Endpoint(id = "poolsizing")
+public class PoolSizingEndpoint {
+
+    static final double HEADROOM = 1.5;
+
+    static final int MINIMUM_POOL_SIZE = 2;
+
+    static final double PERCENTILE = 0.99;
+
+    // metrics of pools that were not named
+    static final String UNNAMED_POOL = "default";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Clock clock;
+
+    private final Duration window;
+
+    private final Duration sampleInterval;
+
+    // per pool, oldest first; guarded by itself
+    private final Map<String, Deque<Sample>> samples = new TreeMap<>();
+
+    private ScheduledExecutorService sampler;
+
+    public PoolSizingEndpoint(MeterRegistry meterRegistry, Duration window, Duration sampleInterval) {
+        this.meterRegistry = meterRegistry;
+        this.clock = meterRegistry.config().clock();
+        this.window = window;
+        this.sampleInterval = sampleInterval;
+    }
+
+    public void start() {
+        sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pool-sizing-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = sampleInterval.toMillis();
+        sampler.scheduleAtFixedRate(this::sampleQuietly, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (sampler != null) {
+            sampler.shutdownNow();
+        }
+    }
+
+    @ReadOperation
+    public Map<String, PoolSizingReport> poolSizing() {
+        sample();
+        Map<String, PoolSizingReport> reports = new LinkedHashMap<>();
+        synchronized (samples) {
+            samples.forEach((pool, poolSamples) -> reports.put(pool, report(pool, poolSamples)));
+        }
+        return reports;
+    }
+
+    @ReadOperation
+    @Nullable
+    public PoolSizingReport pool(@Selector String pool) {
+        return poolSizing().get(pool);
+    }
+
+    /**
+     * Reads every pool's gauges and timers once and drops the samples older than the window.
+     */
+    void sample() {
+        long now = clock.monotonicTime();
+        long oldest = now - window.toNanos();
+        for (Gauge max : meterRegistry.find("hikaricp.connections.max").gauges()) {
+            String poolTag = max.getId().getTag("pool");
+            Timer acquire = timer("hikaricp.connections.acquire", poolTag);
+            Timer usage = timer("hikaricp.connections.usage", poolTag);
+            Sample sample = new Sample(now, (int) max.value(),
+                    gauge("hikaricp.connections.active", poolTag),
+                    gauge("hikaricp.connections.idle", poolTag),
+                    gauge("hikaricp.connections.pending", poolTag),
+                    acquire == null ? 0 : acquire.count(),
+                    acquire == null ? 0 : acquire.totalTime(TimeUnit.NANOSECONDS),
+                    acquire == null ? 0 : acquire.max(TimeUnit.MILLISECONDS),
+                    usage == null ? 0 : usage.count(),
+                    usage == null ? 0 : usage.totalTime(TimeUnit.NANOSECONDS),
+                    usage == null ? 0 : usage.max(TimeUnit.MILLISECONDS));
+            synchronized (samples) {
+                Deque<Sample> poolSamples = samples.computeIfAbsent(poolTag == null ? UNNAMED_POOL : poolTag,
+                        pool -> new ArrayDeque<>());
+                poolSamples.addLast(sample);
+                while (poolSamples.peekFirst().time < oldest) {
+                    poolSamples.removeFirst();
+                }
+            }
+        }
+    }
+
+    private void sampleQuietly() {
+        try {
+            sample();
+        } catch (RuntimeException e) {
+            log.warn("Could not sample the connection pool metrics", e);
+        }
+    }
+
+    private PoolSizingReport report(String pool, Deque<Sample> poolSamples) {
+        Sample first = poolSamples.peekFirst();
+        Sample last = poolSamples.peekLast();
+        int[] active = poolSamples.stream().mapToInt(sample -> sample.active).sorted().toArray();
+        int peakActive = active[active.length - 1];
+        int percentileActive = active[(int) Math.ceil(PERCENTILE * active.length) - 1];
+        int maxPending = poolSamples.stream().mapToInt(sample -> sample.pending).max().getAsInt();
+
+        PoolSizingReport.PoolSizingReportBuilder report = PoolSizingReport.builder()
+                .pool(pool)
+                .windowSeconds((last.time - first.time) / 1_000_000_000L)
+                .samples(poolSamples.size())
+                .maximumPoolSize(last.max)
+                .active(last.active)
+                .idle(last.idle)
+                .pending(last.pending)
+                .peakActive(peakActive)
+                .percentileActive(percentileActive)
+                .maxPending(maxPending)
+                .maxAcquireMillis(last.maxAcquireMillis)
+                .maxUsageMillis(last.maxUsageMillis);
+
+        long acquisitions = last.acquireCount - first.acquireCount;
+        long borrows = last.usageCount - first.usageCount;
+        if (poolSamples.size() < 2 || (borrows == 0 && peakActive == 0)) {
+            return report
+                    .advice("No connections were borrowed in the last " + window.toSeconds()
+                            + " s; put the application under load first")
+                    .build();
+        }
+
+        double elapsedNanos = last.time - first.time;
+        double meanConnectionsInUse = (last.usageTotalNanos - first.usageTotalNanos) / elapsedNanos;
+        int recommended = (int) Math.max(MINIMUM_POOL_SIZE, Math.ceil(Math.max(percentileActive * HEADROOM,
+                meanConnectionsInUse * HEADROOM)));
+        // a pool that ran dry shows the size it had, not the size it needed
+        boolean saturated = maxPending > 0 || peakActive >= last.max;
+        if (saturated) {
+            recommended = Math.max(recommended, last.max);
+        }
+
+        return report
+                .acquisitions(acquisitions)
+                .acquisitionsPerSecond(acquisitions / (elapsedNanos / 1e9))
+                .meanAcquireMillis(acquisitions == 0 ? 0
+                        : (last.acquireTotalNanos - first.acquireTotalNanos) / 1e6 / acquisitions)
+                .meanUsageMillis(borrows == 0 ? 0 : (last.usageTotalNanos - first.usageTotalNanos) / 1e6 / borrows)
+                .meanConnectionsInUse(meanConnectionsInUse)
+                .recommendedPoolSize(recommended)
+                .advice(advice(last.max, recommended, maxPending, saturated))
+                .build();
+    }
+
+    private Timer timer(String name, @Nullable String pool) {
+        return pool == null ? meterRegistry.find(name).timer() : meterRegistry.find(name).tag("pool", pool).timer();
+    }
+
+    private int gauge(String name, @Nullable String pool) {
+        Gauge gauge = pool == null ? meterRegistry.find(name).gauge() : meterRegistry.find(name).tag("pool", pool).gauge();
+        return gauge == null ? 0 : (int) gauge.value();
+    }
+
+    private static String advice(int maximumPoolSize, int recommended, int maxPending, boolean saturated) {
+        if (maxPending > 0) {
+            return "Up to " + maxPending + " callers waited for a connection; check long transactions before "
+                    + "growing the pool";
+        }
+        if (saturated && recommended == maximumPoolSize) {
+            return "Every connection was in use at times; the pool is at least as large as it needs to be";
+        }
+        if (recommended < maximumPoolSize) {
+            return "Pool is larger than the recent load needs; " + recommended + " connections would do";
+        }
+        if (recommended > maximumPoolSize) {
+            return "Recent load needs about " + recommended + " connections; raise maximum-pool-size";
+        }
+        return "Pool size matches the recent load";
+    }
+
+    private static final class Sample {
+
+        private final long time;
+
+        private final int max;
+
+        private final int active;
+
+        private final int idle;
+
+        private final int pending;
+
+        private final long acquireCount;
+
+        private final double acquireTotalNanos;
+
+        private final double maxAcquireMillis;
+
+        private final long usageCount;
+
+        private final double usageTotalNanos;
+
+        private final double maxUsageMillis;
+
+        private Sample(long time, int max, int active, int idle, int pending, long acquireCount,
+                       double acquireTotalNanos, double maxAcquireMillis, long usageCount, double usageTotalNanos,
+                       double maxUsageMillis) {
+            this.time = time;
+            this.max = max;
+            this.active = active;
+            this.idle = idle;
+            this.pending = pending;
+            this.acquireCount = acquireCount;
+            this.acquireTotalNanos = acquireTotalNanos;
+            this.maxAcquireMillis = maxAcquireMillis;
+            this.usageCount = usageCount;
+            this.usageTotalNanos = usageTotalNanos;
+            this.maxUsageMillis = maxUsageMillis;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.arun.monitoring.pool;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "monitoring.pool-sizing")
+public class PoolSizingProperties {
+
+    /**
+     * How far back the pool sizing recommendation looks; older samples are dropped.
+     */
+    private Duration window = Duration.ofMinutes(10);
+
+    /**
+     * How often each pool's active and pending connections are sampled.
+     */
+    private Duration sampleInterval = Duration.ofSeconds(1);
+}
@@ -0,0 +1,60 @@
+package com.arun.monitoring.pool;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * What {@code /actuator/poolsizing} observed about one Hikari pool over the sampling window
+ * and the pool size it recommends from that.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PoolSizingReport {
+
+    private String pool;
+
+    // span of the samples below, at most monitoring.pool-sizing.window
+    private long windowSeconds;
+
+    private int samples;
+
+    private int maximumPoolSize;
+
+    // the gauges as of the latest sample
+    private int active;
+
+    private int idle;
+
+    private int pending;
+
+    // active connections across the window's samples
+    private int peakActive;
+
+    private int percentileActive;
+
+    private int maxPending;
+
+    private long acquisitions;
+
+    private double acquisitionsPerSecond;
+
+    private double meanAcquireMillis;
+
+    private double maxAcquireMillis;
+
+    // how long a borrowed connection is held before it is returned
+    private double meanUsageMillis;
+
+    private double maxUsageMillis;
+
+    // Little's law over the window: time connections were held / elapsed time
+    private double meanConnectionsInUse;
+
+    private int recommendedPoolSize;
+
+    private String advice;
+}
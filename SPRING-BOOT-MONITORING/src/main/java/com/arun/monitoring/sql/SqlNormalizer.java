@@ -0,0 +1,31 @@
+package com.arun.monitoring.sql;
+
+import java.util.regex.Pattern;
+
+/**
+ * Reduces SQL text to its shape so that statements differing only in literal values, the
+ * length of an {@code IN} list or whitespace are counted together.
+ */
+final class SqlNormalizer {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlNormalizer() {
+    }
+
+    static String normalize(String sql) {
+        if (sql == null) {
+            return "<batch>";
+        }
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMERIC_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("in (...)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,39 @@
+package com.arun.monitoring.sql;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * {@code GET /actuator/sqlstats?orderBy=total&limit=10} lists the most expensive
+ * statements; {@code DELETE /actuator/sqlstats} starts counting afresh.
+ */
+@Endpoint(id = "sqlstats")
+public class SqlStatisticsEndpoint {
+
+    static final int DEFAULT_LIMIT = 10;
+
+    private final StatementStatisticsCollector collector;
+
+    public SqlStatisticsEndpoint(StatementStatisticsCollector collector) {
+        this.collector = collector;
+    }
+
+    @ReadOperation
+    public List<StatementStatisticsReport> topStatements(@Nullable String orderBy, @Nullable Integer limit) {
+        try {
+            return collector.top(orderBy, limit == null ? DEFAULT_LIMIT : limit);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+    }
+
+    @DeleteOperation
+    public void reset() {
+        collector.reset();
+    }
+}
@@ -0,0 +1,31 @@
+package com.arun.monitoring.sql;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "monitoring.sql")
+public class SqlStatisticsProperties {
+
+    /**
+     * Whether statement statistics are collected.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Fraction of statements, between 0 and 1, written to the com.arun.monitoring.sql logger.
+     */
+    private double logSampleRate = 0;
+
+    /**
+     * Statements taking at least this long are always logged, whatever the sample rate.
+     */
+    private Duration logSlowerThan = Duration.ofSeconds(1);
+
+    /**
+     * Distinct normalized statements tracked; anything beyond is counted under "<other>".
+     */
+    private int maxStatements = 500;
+}
@@ -0,0 +1,64 @@
+package com.arun.monitoring.sql;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals for one normalized statement. Adders keep concurrent executions from
+ * contending on a single counter.
+ */
+final class StatementStatistics {
+
+    private final String sql;
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder errors = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    private final LongAdder rows = new LongAdder();
+
+    StatementStatistics(String sql) {
+        this.sql = sql;
+    }
+
+    String getSql() {
+        return sql;
+    }
+
+    void record(long elapsedNanos, long rowCount, boolean failed) {
+        count.increment();
+        totalNanos.add(elapsedNanos);
+        maxNanos.accumulate(elapsedNanos);
+        rows.add(rowCount);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    void reset() {
+        count.reset();
+        errors.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+        rows.reset();
+    }
+
+    StatementStatisticsReport report() {
+        long executions = count.sum();
+        double totalMillis = totalNanos.sum() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        return StatementStatisticsReport.builder()
+                .sql(sql)
+                .count(executions)
+                .errors(errors.sum())
+                .totalMillis(totalMillis)
+                .meanMillis(executions == 0 ? 0 : totalMillis / executions)
+                .maxMillis(maxNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1))
+                .rows(rows.sum())
+                .build();
+    }
+}
@@ -0,0 +1,120 @@
+package com.arun.monitoring.sql;
+
+import com.arun.monitoring.jdbc.StatementExecution;
+import com.arun.monitoring.jdbc.StatementListener;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregates every executed statement by its normalized SQL and logs a sample of them.
+ * Prepared statements repeat the same text, so the normalized form is looked up by the
+ * raw SQL first and the regular expressions only run once per distinct statement.
+ */
+@Slf4j(topic = "com.arun.monitoring.sql")
+public class StatementStatisticsCollector implements StatementListener {
+
+    static final String OTHER = "<other>";
+
+    private final double logSampleRate;
+
+    private final long logSlowerThanNanos;
+
+    private final int maxStatements;
+
+    private final Map<String, StatementStatistics> byRawSql = new ConcurrentHashMap<>();
+
+    private final Map<String, StatementStatistics> byNormalizedSql = new ConcurrentHashMap<>();
+
+    private final StatementStatistics other = new StatementStatistics(OTHER);
+
+    public StatementStatisticsCollector(SqlStatisticsProperties properties) {
+        this.logSampleRate = properties.getLogSampleRate();
+        this.logSlowerThanNanos = properties.getLogSlowerThan().toNanos();
+        this.maxStatements = properties.getMaxStatements();
+    }
+
+    @Override
+    public void afterExecute(StatementExecution execution) {
+        StatementStatistics statistics = statistics(execution.getSql());
+        statistics.record(execution.getElapsedNanos(), execution.getRows(), execution.isFailed());
+
+        if (execution.getElapsedNanos() >= logSlowerThanNanos
+                || (logSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < logSampleRate)) {
+            log.info("{} ms, {} rows{}: {}",
+                    TimeUnit.NANOSECONDS.toMillis(execution.getElapsedNanos()), execution.getRows(),
+                    execution.isFailed() ? ", failed" : "",
+                    statistics == other ? SqlNormalizer.normalize(execution.getSql()) : statistics.getSql());
+        }
+    }
+
+    private StatementStatistics statistics(String sql) {
+        String key = sql == null ? "" : sql;
+        StatementStatistics statistics = byRawSql.get(key);
+        if (statistics != null) {
+            return statistics;
+        }
+        if (byRawSql.size() >= maxStatements * 4) {
+            // unbounded distinct raw SQL means literals are being concatenated in; stop caching it
+            statistics = byNormalizedSql.get(SqlNormalizer.normalize(sql));
+            return statistics != null ? statistics : other;
+        }
+        String normalized = SqlNormalizer.normalize(sql);
+        statistics = byNormalizedSql.get(normalized);
+        if (statistics == null) {
+            if (byNormalizedSql.size() >= maxStatements) {
+                return other;
+            }
+            statistics = byNormalizedSql.computeIfAbsent(normalized, StatementStatistics::new);
+        }
+        byRawSql.putIfAbsent(key, statistics);
+        return statistics;
+    }
+
+    /**
+     * The {@code limit} most expensive statements ordered by {@code total} time (the
+     * default), {@code count}, {@code max} time, {@code mean} time or {@code rows}.
+     */
+    public List<StatementStatisticsReport> top(String orderBy, int limit) {
+        List<StatementStatisticsReport> reports = new ArrayList<>();
+        byNormalizedSql.values().forEach(statistics -> reports.add(statistics.report()));
+        StatementStatisticsReport others = other.report();
+        if (others.getCount() > 0) {
+            reports.add(others);
+        }
+        reports.sort(order(orderBy).reversed());
+        return reports.subList(0, Math.max(0, Math.min(limit, reports.size())));
+    }
+
+    public void reset() {
+        byRawSql.clear();
+        byNormalizedSql.clear();
+        other.reset();
+    }
+
+    private static Comparator<StatementStatisticsReport> order(String orderBy) {
+        if (orderBy == null) {
+            return Comparator.comparingDouble(StatementStatisticsReport::getTotalMillis);
+        }
+        switch (orderBy) {
+            case "total":
+                return Comparator.comparingDouble(StatementStatisticsReport::getTotalMillis);
+            case "count":
+                return Comparator.comparingLong(StatementStatisticsReport::getCount);
+            case "max":
+                return Comparator.comparingDouble(StatementStatisticsReport::getMaxMillis);
+            case "mean":
+                return Comparator.comparingDouble(StatementStatisticsReport::getMeanMillis);
+            case "rows":
+                return Comparator.comparingLong(StatementStatisticsReport::getRows);
+            default:
+                throw new IllegalArgumentException("orderBy must be one of total, count, max, mean, rows");
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.arun.monitoring.sql;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row of {@code /actuator/sqlstats}: a normalized statement and what it cost since
+ * startup or the last reset.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StatementStatisticsReport {
+
+    private String sql;
+
+    private long count;
+
+    private long errors;
+
+    private double totalMillis;
+
+    private double meanMillis;
+
+    private double maxMillis;
+
+    // rows updated, or rows read back for queries
+    private long rows;
+}
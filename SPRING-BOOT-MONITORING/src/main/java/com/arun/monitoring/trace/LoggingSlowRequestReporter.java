@@ -0,0 +1,29 @@
+package com.arun.monitoring.trace;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+
+/**
+ * Writes each slow request as one line of JSON so log shippers can index the fields.
+ */
+@Slf4j
+public class LoggingSlowRequestReporter implements SlowRequestReporter {
+
+    private final ObjectMapper objectMapper;
+
+    public LoggingSlowRequestReporter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void report(Map<String, Object> trace) {
+        try {
+            log.warn("slow request {}", objectMapper.writeValueAsString(trace));
+        } catch (JsonProcessingException e) {
+            log.warn("slow request {}", trace);
+        }
+    }
+}
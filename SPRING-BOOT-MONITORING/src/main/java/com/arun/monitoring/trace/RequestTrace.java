@@ -0,0 +1,117 @@
+package com.arun.monitoring.trace;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timestamps for the stages of one servlet request, kept in a thread local by
+ * {@link SlowRequestTraceFilter} and filled in by the interceptor, body advice and
+ * statement listener as the request passes through them.
+ */
+public final class RequestTrace {
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private final long started;
+
+    private long handlerStarted;
+
+    private long bodyReadStarted;
+
+    private long bodyReadEnded;
+
+    private long bodyWriteStarted;
+
+    private long handlerEnded;
+
+    private long sqlNanos;
+
+    private int sqlStatements;
+
+    private RequestTrace(long started) {
+        this.started = started;
+    }
+
+    static RequestTrace start() {
+        RequestTrace trace = new RequestTrace(System.nanoTime());
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * The trace of the request being handled on this thread, or {@code null} outside a
+     * traced request.
+     */
+    public static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    void markHandlerStarted() {
+        handlerStarted = System.nanoTime();
+    }
+
+    void markBodyReadStarted() {
+        bodyReadStarted = System.nanoTime();
+    }
+
+    void markBodyReadEnded() {
+        bodyReadEnded = System.nanoTime();
+    }
+
+    void markBodyWriteStarted() {
+        if (bodyWriteStarted == 0) {
+            bodyWriteStarted = System.nanoTime();
+        }
+    }
+
+    void markHandlerEnded() {
+        if (handlerEnded == 0) {
+            handlerEnded = System.nanoTime();
+        }
+    }
+
+    public void addSql(long elapsedNanos) {
+        sqlNanos += elapsedNanos;
+        sqlStatements++;
+    }
+
+    long elapsedNanos(long now) {
+        return now - started;
+    }
+
+    /**
+     * Splits the request into binding (request body read and conversion), service (the
+     * handler minus its SQL), SQL, serialization (response body write) and other (filters,
+     * dispatch and exception handling), all in milliseconds.
+     */
+    Map<String, Object> stages(long now) {
+        long total = now - started;
+        long binding = bodyReadEnded > 0 ? bodyReadEnded - bodyReadStarted : 0;
+        long handler = 0;
+        long serialization = 0;
+        if (handlerStarted > 0) {
+            long invoked = Math.max(handlerStarted, bodyReadEnded);
+            long returned = bodyWriteStarted > 0 ? bodyWriteStarted : handlerEnded > 0 ? handlerEnded : now;
+            handler = Math.max(0, returned - invoked);
+            serialization = bodyWriteStarted > 0 ? (handlerEnded > 0 ? handlerEnded : now) - bodyWriteStarted : 0;
+        }
+        Map<String, Object> stages = new LinkedHashMap<>();
+        stages.put("totalMs", millis(total));
+        stages.put("bindingMs", millis(binding));
+        stages.put("serviceMs", millis(Math.max(0, handler - sqlNanos)));
+        stages.put("sqlMs", millis(sqlNanos));
+        stages.put("sqlStatements", sqlStatements);
+        stages.put("serializationMs", millis(serialization));
+        stages.put("otherMs", millis(Math.max(0, total - binding - Math.max(handler, sqlNanos) - serialization)));
+        return stages;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / (double) TimeUnit.MILLISECONDS.toNanos(1) * 100) / 100.0;
+    }
+}
@@ -0,0 +1,30 @@
+package com.arun.monitoring.trace;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Marks when the handler method is entered and when the dispatcher is done with it.
+ */
+public class RequestTraceInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestTrace trace = RequestTrace.current();
+        if (trace != null) {
+            trace.markHandlerStarted();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        RequestTrace trace = RequestTrace.current();
+        if (trace != null) {
+            trace.markHandlerEnded();
+        }
+    }
+}
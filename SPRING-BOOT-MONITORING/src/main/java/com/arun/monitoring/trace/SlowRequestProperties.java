@@ -0,0 +1,21 @@
+package com.arun.monitoring.trace;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "monitoring.slow-request")
+public class SlowRequestProperties {
+
+    /**
+     * Whether servlet requests are traced at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Requests taking at least this long are reported with their per-stage breakdown.
+     */
+    private Duration threshold = Duration.ofMillis(500);
+}
@@ -0,0 +1,12 @@
+package com.arun.monitoring.trace;
+
+import java.util.Map;
+
+/**
+ * Receives the breakdown of every request slower than the configured threshold.
+ */
+@FunctionalInterface
+public interface SlowRequestReporter {
+
+    void report(Map<String, Object> trace);
+}
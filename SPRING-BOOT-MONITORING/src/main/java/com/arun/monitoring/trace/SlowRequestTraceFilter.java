@@ -0,0 +1,65 @@
+package com.arun.monitoring.trace;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Starts a {@link RequestTrace} for each request and, when the request took at least the
+ * threshold, reports its route and stage breakdown. Async requests are not traced because
+ * their stages run on other threads.
+ */
+public class SlowRequestTraceFilter extends OncePerRequestFilter {
+
+    private final long thresholdNanos;
+
+    private final SlowRequestReporter reporter;
+
+    public SlowRequestTraceFilter(Duration threshold, SlowRequestReporter reporter) {
+        this.thresholdNanos = threshold.toNanos();
+        this.reporter = reporter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestTrace trace = RequestTrace.start();
+        Throwable failure = null;
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            RequestTrace.clear();
+            long now = System.nanoTime();
+            if (!request.isAsyncStarted() && trace.elapsedNanos(now) >= thresholdNanos) {
+                reporter.report(describe(request, response, trace, now, failure));
+            }
+        }
+    }
+
+    private Map<String, Object> describe(HttpServletRequest request, HttpServletResponse response,
+                                         RequestTrace trace, long now, Throwable failure) {
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (failure == null) {
+            failure = (Throwable) request.getAttribute(DispatcherServlet.EXCEPTION_ATTRIBUTE);
+        }
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("method", request.getMethod());
+        description.put("route", route != null ? route : "UNKNOWN");
+        description.put("status", failure != null && response.getStatus() < 400 ? 500 : response.getStatus());
+        description.put("exception", failure != null ? failure.getClass().getSimpleName() : "none");
+        description.putAll(trace.stages(now));
+        return description;
+    }
+}
@@ -0,0 +1,86 @@
+package com.arun.monitoring.cache;
+
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+
+@ExtendWith(MockitoExtension.class)
+public class SecondLevelCacheEndpointTest {
+
+    @Mock
+    private Statistics statistics;
+
+    @Mock
+    private CacheRegionStatistics employees;
+
+    private SecondLevelCacheEndpoint secondLevelCacheEndpoint;
+
+    @BeforeEach
+    public void setup() {
+        secondLevelCacheEndpoint = new SecondLevelCacheEndpoint(statistics);
+    }
+
+    //JUnit test for the per-region hit ratio
+    @DisplayName("JUnit test for the hit ratio of each second-level cache region")
+    @Test
+    public void givenRegionStatistics_whenSecondLevelCache_thenReportHitRatioPerRegion() {
+        // given - precondition or setup
+        given(statistics.isStatisticsEnabled()).willReturn(true);
+        given(statistics.getSecondLevelCacheRegionNames())
+                .willReturn(new String[]{"retired-region", "com.arun.Employee"});
+        given(statistics.getCacheRegionStatistics("com.arun.Employee")).willReturn(employees);
+        given(employees.getHitCount()).willReturn(90L);
+        given(employees.getMissCount()).willReturn(10L);
+        given(employees.getPutCount()).willReturn(10L);
+        given(statistics.getQueryCacheHitCount()).willReturn(3L);
+        given(statistics.getQueryCacheMissCount()).willReturn(1L);
+
+        // when - action or the behaviour that we are going test
+        SecondLevelCacheReport report = secondLevelCacheEndpoint.secondLevelCache();
+
+        // then - verify the output
+        assertThat(report.isStatisticsEnabled()).isTrue();
+        assertThat(report.getRegions()).singleElement().satisfies(region -> {
+            assertThat(region.getRegion()).isEqualTo("com.arun.Employee");
+            assertThat(region.getPuts()).isEqualTo(10);
+            assertThat(region.getHitRatio()).isEqualTo(0.9);
+        });
+        assertThat(report.getQueries().getHitRatio()).isEqualTo(0.75);
+    }
+
+    //JUnit test for a report before any lookup
+    @DisplayName("JUnit test for the second-level cache report without lookups")
+    @Test
+    public void givenNoLookups_whenSecondLevelCache_thenHitRatioIsZero() {
+        // given - precondition or setup
+        given(statistics.getSecondLevelCacheRegionNames()).willReturn(new String[0]);
+
+        // when - action or the behaviour that we are going test
+        SecondLevelCacheReport report = secondLevelCacheEndpoint.secondLevelCache();
+
+        // then - verify the output
+        assertThat(report.isStatisticsEnabled()).isFalse();
+        assertThat(report.getRegions()).isEmpty();
+        assertThat(report.getQueries().getHitRatio()).isZero();
+    }
+
+    //JUnit test for resetting the statistics
+    @DisplayName("JUnit test for resetting the second-level cache statistics")
+    @Test
+    public void whenReset_thenClearHibernateStatistics() {
+        // when - action or the behaviour that we are going test
+        secondLevelCacheEndpoint.reset();
+
+        // then - verify the output
+        then(statistics).should().clear();
+    }
+}
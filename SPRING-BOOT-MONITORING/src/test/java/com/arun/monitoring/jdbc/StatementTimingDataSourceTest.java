@@ -0,0 +1,78 @@
+package com.arun.monitoring.jdbc;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StatementTimingDataSourceTest {
+
+    private final List<StatementExecution> executions = new ArrayList<>();
+
+    private JdbcDataSource h2;
+
+    @BeforeEach
+    public void setup() {
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:timing;DB_CLOSE_DELAY=-1");
+    }
+
+    //JUnit test for the back references of wrapped statements and result sets
+    @DisplayName("JUnit test for getConnection and getStatement returning the wrappers")
+    @Test
+    public void givenWrappedDataSource_whenFollowBackReferences_thenReturnWrappers() throws Exception {
+        // given - precondition or setup
+        DataSource dataSource = StatementTimingDataSource.wrap(h2, () -> List.of(executions::add));
+
+        // when - action or the behaviour that we are going test
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("select 1");
+             ResultSet resultSet = statement.executeQuery()) {
+
+            // then - verify the output
+            assertThat(statement.getConnection()).isSameAs(connection);
+            assertThat(resultSet.getStatement()).isSameAs(statement);
+            assertThat(statement.getResultSet().getStatement()).isSameAs(statement);
+        }
+        assertThat(executions).hasSize(1);
+    }
+
+    //JUnit test for a routing DataSource in front of a wrapped target
+    @DisplayName("JUnit test for timing a statement once through a routing DataSource")
+    @Test
+    public void givenRoutingToWrappedTarget_whenQuery_thenTimedOnce() {
+        // given - precondition or setup
+        AbstractRoutingDataSource routing = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return "only";
+            }
+        };
+        DataSource target = StatementTimingDataSource.wrap(h2, () -> List.of(executions::add));
+        routing.setTargetDataSources(Map.of("only", target));
+        routing.afterPropertiesSet();
+        DataSource dataSource = StatementTimingDataSource.wrap(new LazyConnectionDataSourceProxy(routing),
+                () -> List.of(executions::add));
+
+        // when - action or the behaviour that we are going test
+        new JdbcTemplate(dataSource).queryForList("select 1", Integer.class);
+
+        // then - verify the output
+        assertThat(executions).hasSize(1);
+        assertThat(executions.get(0).getSql()).isEqualTo("select 1");
+        assertThat(executions.get(0).getRows()).isEqualTo(1);
+    }
+}
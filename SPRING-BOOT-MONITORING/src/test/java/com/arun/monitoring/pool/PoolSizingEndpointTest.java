@@ -0,0 +1,171 @@
+package com.arun.monitoring.pool;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+// the sampler thread is never started; the tests sample by hand as the mock clock advances
+public class PoolSizingEndpointTest {
+
+    private MockClock clock;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PoolSizingEndpoint poolSizingEndpoint;
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    @BeforeEach
+    public void setup() {
+        clock = new MockClock();
+        meterRegistry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+        poolSizingEndpoint = new PoolSizingEndpoint(meterRegistry, Duration.ofSeconds(60), Duration.ofSeconds(1));
+        pool("primary", 10, active, pending);
+    }
+
+    //JUnit test for the report before any connection was borrowed
+    @DisplayName("JUnit test for the pool sizing report without load")
+    @Test
+    public void givenNoBorrowedConnections_whenPoolSizing_thenAskForLoad() {
+        // given - precondition or setup
+        sampleFor(Duration.ofSeconds(5));
+
+        // when - action or the behaviour that we are going test
+        PoolSizingReport report = poolSizingEndpoint.poolSizing().get("primary");
+
+        // then - verify the output
+        assertThat(report.getRecommendedPoolSize()).isZero();
+        assertThat(report.getAdvice()).contains("No connections");
+    }
+
+    //JUnit test for Little's law recommendation
+    @DisplayName("JUnit test for the pool sizing recommendation from Little's law")
+    @Test
+    public void givenSteadyLoad_whenPoolSizing_thenRecommendFromLittlesLaw() {
+        // given - precondition or setup
+        // 40 borrows a second, each held 50 ms: 40/s x 0.05 s = 2 connections busy on average
+        active.set(2);
+        for (int second = 0; second <= 10; second++) {
+            borrow(meterRegistry, "primary", second == 0 ? 0 : 40, Duration.ofMillis(50));
+            poolSizingEndpoint.sample();
+            clock.add(Duration.ofSeconds(1));
+        }
+
+        // when - action or the behaviour that we are going test
+        PoolSizingReport report = poolSizingEndpoint.poolSizing().get("primary");
+
+        // then - verify the output
+        assertThat(report.getAcquisitions()).isEqualTo(400);
+        assertThat(report.getMeanConnectionsInUse()).isCloseTo(400 * 0.05 / 11, within(1e-9));
+        assertThat(report.getPercentileActive()).isEqualTo(2);
+        assertThat(report.getRecommendedPoolSize()).isEqualTo(3);
+        assertThat(report.getAdvice()).contains("larger than the recent load");
+    }
+
+    //JUnit test for a burst after a long idle period
+    @DisplayName("JUnit test for the pool sizing recommendation after a burst")
+    @Test
+    public void givenBurstAfterIdleHour_whenPoolSizing_thenIdleTimeDoesNotDiluteIt() {
+        // given - precondition or setup
+        sampleFor(Duration.ofHours(1));
+        active.set(8);
+        borrow(meterRegistry, "primary", 800, Duration.ofMillis(100));
+        sampleFor(Duration.ofSeconds(10));
+        active.set(0);
+        sampleFor(Duration.ofSeconds(20));
+
+        // when - action or the behaviour that we are going test
+        PoolSizingReport report = poolSizingEndpoint.poolSizing().get("primary");
+
+        // then - verify the output
+        assertThat(report.getWindowSeconds()).isLessThanOrEqualTo(60);
+        assertThat(report.getPeakActive()).isEqualTo(8);
+        assertThat(report.getRecommendedPoolSize()).isEqualTo(12);
+        assertThat(report.getAdvice()).contains("raise maximum-pool-size");
+    }
+
+    //JUnit test for a pool with callers that waited earlier in the window
+    @DisplayName("JUnit test for the pool sizing recommendation after callers waited")
+    @Test
+    public void givenCallersWaitedInWindow_whenPoolSizing_thenNeverRecommendShrinking() {
+        // given - precondition or setup
+        borrow(meterRegistry, "primary", 10, Duration.ofMillis(5));
+        active.set(10);
+        pending.set(4);
+        sampleFor(Duration.ofSeconds(3));
+        active.set(1);
+        pending.set(0);
+        sampleFor(Duration.ofSeconds(30));
+
+        // when - action or the behaviour that we are going test
+        PoolSizingReport report = poolSizingEndpoint.poolSizing().get("primary");
+
+        // then - verify the output
+        assertThat(report.getPending()).isZero();
+        assertThat(report.getMaxPending()).isEqualTo(4);
+        assertThat(report.getRecommendedPoolSize()).isGreaterThanOrEqualTo(report.getMaximumPoolSize());
+        assertThat(report.getAdvice()).contains("4 callers waited");
+    }
+
+    //JUnit test for an application with several pools
+    @DisplayName("JUnit test for the pool sizing report of each pool")
+    @Test
+    public void givenSeveralPools_whenPoolSizing_thenReportEachPool() {
+        // given - precondition or setup
+        AtomicInteger replicaActive = new AtomicInteger(5);
+        pool("replica-0", 5, replicaActive, new AtomicInteger());
+        active.set(1);
+        borrow(meterRegistry, "primary", 10, Duration.ofMillis(5));
+        borrow(meterRegistry, "replica-0", 100, Duration.ofMillis(200));
+        sampleFor(Duration.ofSeconds(10));
+
+        // when - action or the behaviour that we are going test
+        Map<String, PoolSizingReport> reports = poolSizingEndpoint.poolSizing();
+
+        // then - verify the output
+        assertThat(reports).containsOnlyKeys("primary", "replica-0");
+        assertThat(reports.get("primary").getRecommendedPoolSize()).isEqualTo(2);
+        assertThat(reports.get("replica-0").getMaximumPoolSize()).isEqualTo(5);
+        assertThat(reports.get("replica-0").getRecommendedPoolSize()).isGreaterThanOrEqualTo(5);
+        assertThat(poolSizingEndpoint.pool("replica-0")).isNotNull();
+        assertThat(poolSizingEndpoint.pool("missing")).isNull();
+    }
+
+    private void pool(String name, int max, AtomicInteger active, AtomicInteger pending) {
+        Gauge.builder("hikaricp.connections.max", () -> max).tag("pool", name).register(meterRegistry);
+        Gauge.builder("hikaricp.connections.active", active::get).tag("pool", name).register(meterRegistry);
+        Gauge.builder("hikaricp.connections.pending", pending::get).tag("pool", name).register(meterRegistry);
+        borrow(meterRegistry, name, 0, Duration.ZERO);
+    }
+
+    // one sample a second
+    private void sampleFor(Duration duration) {
+        for (long second = 0; second < duration.toSeconds(); second++) {
+            poolSizingEndpoint.sample();
+            clock.add(Duration.ofSeconds(1));
+        }
+    }
+
+    private static void borrow(SimpleMeterRegistry meterRegistry, String pool, int times, Duration heldFor) {
+        Timer acquire = meterRegistry.timer("hikaricp.connections.acquire", "pool", pool);
+        Timer usage = meterRegistry.timer("hikaricp.connections.usage", "pool", pool);
+        for (int i = 0; i < times; i++) {
+            acquire.record(Duration.ofMillis(1));
+            usage.record(heldFor);
+        }
+    }
+}
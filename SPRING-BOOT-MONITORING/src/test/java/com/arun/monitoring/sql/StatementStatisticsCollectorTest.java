@@ -0,0 +1,132 @@
+package com.arun.monitoring.sql;
+
+import com.arun.monitoring.jdbc.StatementTimingDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StatementStatisticsCollectorTest {
+
+    private SqlStatisticsProperties properties;
+
+    private StatementStatisticsCollector collector;
+
+    private JdbcDataSource h2;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setup() {
+        properties = new SqlStatisticsProperties();
+        collector = new StatementStatisticsCollector(properties);
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sqlstats;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(StatementTimingDataSource.wrap(h2, () -> List.of(collector)));
+        jdbcTemplate.execute("drop table if exists employees");
+        jdbcTemplate.execute("create table employees (id bigint primary key, email varchar(100))");
+        collector.reset();
+    }
+
+    //JUnit test for statements that differ only in literals being counted together
+    @DisplayName("JUnit test for normalizing literals, IN lists and whitespace")
+    @Test
+    public void givenStatementsWithDifferentLiterals_whenNormalize_thenSameShape() {
+        // when - action or the behaviour that we are going test
+        String first = SqlNormalizer.normalize("select * from employees where email = 'a@b.c' and id in (1, 2, 3)");
+        String second = SqlNormalizer.normalize("select *\n  from employees where email = 'it''s'   and id in (42)");
+
+        // then - verify the output
+        assertThat(first).isEqualTo("select * from employees where email = ? and id in (...)");
+        assertThat(second).isEqualTo(first);
+    }
+
+    //JUnit test for counts, rows and times per statement
+    @DisplayName("JUnit test for recording executions and rows")
+    @Test
+    public void givenInsertsAndQueries_whenTop_thenCountsAndRows() {
+        // given - precondition or setup
+        for (long id = 1; id <= 3; id++) {
+            jdbcTemplate.update("insert into employees (id, email) values (?, ?)", id, id + "@gmail.com");
+        }
+        jdbcTemplate.queryForList("select id from employees where id > 1", Long.class);
+        jdbcTemplate.queryForList("select id from employees where id > 0", Long.class);
+
+        // when - action or the behaviour that we are going test
+        List<StatementStatisticsReport> top = collector.top("count", 10);
+
+        // then - verify the output
+        assertThat(top).hasSize(2);
+        assertThat(top.get(0).getSql()).isEqualTo("insert into employees (id, email) values (?, ?)");
+        assertThat(top.get(0).getCount()).isEqualTo(3);
+        assertThat(top.get(0).getRows()).isEqualTo(3);
+        assertThat(top.get(1).getSql()).isEqualTo("select id from employees where id > ?");
+        assertThat(top.get(1).getCount()).isEqualTo(2);
+        assertThat(top.get(1).getRows()).isEqualTo(5);
+        assertThat(top.get(1).getMaxMillis()).isGreaterThanOrEqualTo(top.get(1).getMeanMillis());
+    }
+
+    //JUnit test for failed statements
+    @DisplayName("JUnit test for recording a failed statement")
+    @Test
+    public void givenFailingStatement_whenTop_thenErrorCounted() {
+        // given - precondition or setup
+        jdbcTemplate.update("insert into employees (id, email) values (?, ?)", 1L, "a@gmail.com");
+        try {
+            jdbcTemplate.update("insert into employees (id, email) values (?, ?)", 1L, "a@gmail.com");
+        } catch (RuntimeException expected) {
+            // duplicate primary key
+        }
+
+        // when - action or the behaviour that we are going test
+        StatementStatisticsReport insert = collector.top("total", 1).get(0);
+
+        // then - verify the output
+        assertThat(insert.getCount()).isEqualTo(2);
+        assertThat(insert.getErrors()).isEqualTo(1);
+        assertThat(insert.getRows()).isEqualTo(1);
+    }
+
+    //JUnit test for the cap on distinct statements
+    @DisplayName("JUnit test for statements beyond maxStatements")
+    @Test
+    public void givenMoreStatementsThanTracked_whenTop_thenRestGroupedAsOther() {
+        // given - precondition or setup
+        properties.setMaxStatements(1);
+        StatementStatisticsCollector capped = new StatementStatisticsCollector(properties);
+        jdbcTemplate = new JdbcTemplate(StatementTimingDataSource.wrap(h2, () -> List.of(capped)));
+        jdbcTemplate.queryForList("select id from employees", Long.class);
+        jdbcTemplate.queryForList("select email from employees", String.class);
+
+        // when - action or the behaviour that we are going test
+        List<StatementStatisticsReport> top = capped.top("count", 10);
+
+        // then - verify the output
+        assertThat(top).extracting(StatementStatisticsReport::getSql)
+                .containsExactlyInAnyOrder("select id from employees", StatementStatisticsCollector.OTHER);
+    }
+
+    //JUnit test for limit, reset and an unknown order
+    @DisplayName("JUnit test for limiting, resetting and rejecting an unknown order")
+    @Test
+    public void givenStatistics_whenLimitAndReset_thenTrimmedAndCleared() {
+        // given - precondition or setup
+        jdbcTemplate.queryForList("select id from employees", Long.class);
+        jdbcTemplate.queryForList("select email from employees", String.class);
+
+        // when - action or the behaviour that we are going test
+        List<StatementStatisticsReport> top = collector.top(null, 1);
+        collector.reset();
+
+        // then - verify the output
+        assertThat(top).hasSize(1);
+        assertThat(collector.top(null, 10)).isEmpty();
+        assertThatThrownBy(() -> collector.top("latency", 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
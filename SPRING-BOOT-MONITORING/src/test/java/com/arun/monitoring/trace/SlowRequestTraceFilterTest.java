@@ -0,0 +1,126 @@
+package com.arun.monitoring.trace;
+
+import com.arun.monitoring.jdbc.StatementListener;
+import com.arun.monitoring.jdbc.StatementTimingDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class SlowRequestTraceFilterTest {
+
+    private final List<Map<String, Object>> reports = new ArrayList<>();
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setup() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:trace;DB_CLOSE_DELAY=-1");
+        StatementListener listener = execution -> {
+            RequestTrace trace = RequestTrace.current();
+            if (trace != null) {
+                trace.addSql(execution.getElapsedNanos());
+            }
+        };
+        DataSource dataSource = StatementTimingDataSource.wrap(h2, () -> List.of(listener));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        reports.clear();
+    }
+
+    private MockMvc mockMvc(Duration threshold) {
+        return MockMvcBuilders.standaloneSetup(new TracedController(jdbcTemplate))
+                .setControllerAdvice(new RequestTraceBodyAdvice())
+                .addInterceptors(new RequestTraceInterceptor())
+                .addFilters(new SlowRequestTraceFilter(threshold, reports::add))
+                .build();
+    }
+
+    //JUnit test for the breakdown of a slow request
+    @DisplayName("JUnit test for reporting a slow request with its route and SQL time")
+    @Test
+    public void givenSlowRequest_whenGet_thenReportRouteAndStages() throws Exception {
+        // when - action or the behaviour that we are going test
+        mockMvc(Duration.ZERO).perform(get("/api/traced/{id}", 7)).andExpect(status().isOk());
+
+        // then - verify the output
+        assertThat(reports).hasSize(1);
+        Map<String, Object> report = reports.get(0);
+        assertThat(report).containsEntry("method", "GET")
+                .containsEntry("route", "/api/traced/{id}")
+                .containsEntry("status", 200)
+                .containsEntry("exception", "none")
+                .containsEntry("sqlStatements", 2)
+                .containsKeys("totalMs", "bindingMs", "serviceMs", "sqlMs", "serializationMs", "otherMs");
+        assertThat((Double) report.get("totalMs")).isGreaterThanOrEqualTo((Double) report.get("sqlMs"));
+    }
+
+    //JUnit test for a request body being counted as binding time
+    @DisplayName("JUnit test for tracing a request with a body")
+    @Test
+    public void givenRequestBody_whenPost_thenReportBinding() throws Exception {
+        // when - action or the behaviour that we are going test
+        mockMvc(Duration.ZERO).perform(post("/api/traced")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Arun\"}"))
+                .andExpect(status().isOk());
+
+        // then - verify the output
+        assertThat(reports).hasSize(1);
+        assertThat(reports.get(0)).containsEntry("route", "/api/traced")
+                .containsEntry("sqlStatements", 0);
+        assertThat(RequestTrace.current()).isNull();
+    }
+
+    //JUnit test for fast requests not being reported
+    @DisplayName("JUnit test for requests under the threshold")
+    @Test
+    public void givenFastRequest_whenGet_thenNothingReported() throws Exception {
+        // when - action or the behaviour that we are going test
+        mockMvc(Duration.ofMinutes(1)).perform(get("/api/traced/{id}", 7)).andExpect(status().isOk());
+
+        // then - verify the output
+        assertThat(reports).isEmpty();
+    }
+
+    @RestController
+    static class TracedController {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        TracedController(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @GetMapping("/api/traced/{id}")
+        public Map<String, Object> get(@PathVariable long id) {
+            jdbcTemplate.queryForObject("select 1", Integer.class);
+            return Map.of("id", id, "value", jdbcTemplate.queryForObject("select ?", Long.class, id));
+        }
+
+        @PostMapping("/api/traced")
+        public Map<String, Object> post(@RequestBody Map<String, Object> body) {
+            return body;
+        }
+    }
+}
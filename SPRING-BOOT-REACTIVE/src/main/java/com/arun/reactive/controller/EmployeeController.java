@@ -0,0 +1,93 @@
+package com.arun.reactive.controller;
+
+import com.arun.reactive.model.Employee;
+import com.arun.reactive.service.EmployeeService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The {@code /api/employees} CRUD contract of the servlet sample, served from the event loop.
+ * A {@code GET} with {@code Accept: application/x-ndjson} streams one employee per line as
+ * the rows arrive; plain JSON gets the usual array. A single employee carries its version
+ * as ETag, and a {@code PUT} honours If-Match against it.
+ */
+@RestController
+@RequestMapping("/api/employees")
+public class EmployeeController {
+
+    private EmployeeService employeeService;
+
+    public EmployeeController(EmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<Employee> createEmployee(@RequestBody Employee employee) {
+        return employeeService.saveEmployee(employee);
+    }
+
+    @GetMapping
+    public Flux<Employee> getAllEmployee() {
+        return employeeService.getAllEmployees();
+    }
+
+    @GetMapping("/{employeeId}")
+    //The ETag lets Spring answer a matching If-None-Match with 304 before the body is serialized
+    public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable("employeeId") long employeeId) {
+        return employeeService.getEmployeeById(employeeId)
+                .map(employee -> ResponseEntity.ok()
+                        .eTag(EmployeeVersions.eTag(employee.getVersion()))
+                        .body(employee))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("/{employeeId}")
+    public Mono<ResponseEntity<Employee>> updateEmployee(@PathVariable("employeeId") long employeeId,
+                                                         @RequestBody Employee employee,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return employeeService.getEmployeeById(employeeId)
+                .flatMap(savedEmployee -> {
+                    if (EmployeeVersions.ifMatchFails(ifMatch, savedEmployee.getVersion())) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).<Employee>build());
+                    }
+                    Employee update = savedEmployee.toBuilder()
+                            .firstName(employee.getFirstName())
+                            .lastName(employee.getLastName())
+                            .email(employee.getEmail())
+                            .build();
+
+                    return employeeService.updateEmployee(update)
+                            .map(updateEmployee -> ResponseEntity.ok()
+                                    .eTag(EmployeeVersions.eTag(updateEmployee.getVersion()))
+                                    .body(updateEmployee));
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{employeeId}")
+    public Mono<ResponseEntity<String>> deleteEmployee(@PathVariable("employeeId") long employeeId) {
+        return employeeService.deleteEmployee(employeeId)
+                .thenReturn(new ResponseEntity<String>("Employee deleted Successfully !", HttpStatus.OK));
+    }
+
+    //412 when the client sent If-Match, otherwise a plain conflict between two concurrent writers
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleStaleVersion(OptimisticLockingFailureException e, ServerWebExchange exchange) {
+        return EmployeeVersions.staleVersion(e, exchange);
+    }
+
+    //A NOT NULL or other constraint the payload broke; a duplicate email is reported by the service
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<String> handleInvalidEmployee(DataIntegrityViolationException e) {
+        return new ResponseEntity<String>("Invalid employee: " + e.getMostSpecificCause().getMessage(),
+                HttpStatus.BAD_REQUEST);
+    }
+}
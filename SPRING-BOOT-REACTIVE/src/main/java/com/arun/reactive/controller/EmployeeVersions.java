@@ -0,0 +1,55 @@
+package com.arun.reactive.controller;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * The ETag / If-Match handling of {@link EmployeeController}, as in the servlet sample:
+ * an employee's ETag is its optimistic-lock version.
+ */
+final class EmployeeVersions {
+
+    static final long ANY_VERSION = -1L;
+
+    private EmployeeVersions() {
+    }
+
+    static String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    //The version named by a single strong If-Match tag, ANY_VERSION for *, or null if it names none we issued
+    static Long ifMatchVersion(String ifMatch) {
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) {
+            return ANY_VERSION;
+        }
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    //True when the client sent If-Match and it does not name the given version
+    static boolean ifMatchFails(String ifMatch, long version) {
+        if (ifMatch == null) {
+            return false;
+        }
+        Long expected = ifMatchVersion(ifMatch);
+        return expected == null || (expected != ANY_VERSION && expected != version);
+    }
+
+    //412 when the client sent If-Match, otherwise a plain conflict between two concurrent writers
+    static ResponseEntity<String> staleVersion(OptimisticLockingFailureException e, ServerWebExchange exchange) {
+        HttpStatus status = exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_MATCH) != null
+                ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+        return new ResponseEntity<String>("Employee was modified concurrently, reload and retry", status);
+    }
+}
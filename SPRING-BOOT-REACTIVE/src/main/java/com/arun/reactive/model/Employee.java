@@ -0,0 +1,37 @@
+package com.arun.reactive.model;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@Table("employees")
+public class Employee {
+
+    public static final String EMAIL_UNIQUE_CONSTRAINT = "uk_employees_email";
+
+    //null until the row is inserted, which is how Spring Data R2DBC tells insert from update
+    @Id
+    private Long id;
+
+    @Column("first_name")
+    private String firstName;
+
+    @Column("last_name")
+    private String lastName;
+
+    private String email;
+
+    //Optimistic locking, as on the servlet sample; saving a stale copy fails instead of overwriting
+    @Version
+    private Long version;
+}
@@ -0,0 +1,10 @@
+package com.arun.reactive.repository;
+
+import com.arun.reactive.model.Employee;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+public interface EmployeeRepository extends ReactiveCrudRepository<Employee, Long> {
+
+    Mono<Employee> findByEmail(String email);
+}
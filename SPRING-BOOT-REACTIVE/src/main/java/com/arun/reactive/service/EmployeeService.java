@@ -0,0 +1,18 @@
+package com.arun.reactive.service;
+
+import com.arun.reactive.model.Employee;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface EmployeeService {
+
+    Mono<Employee> saveEmployee(Employee employee);
+
+    Flux<Employee> getAllEmployees();
+
+    Mono<Employee> getEmployeeById(long id);
+
+    Mono<Employee> updateEmployee(Employee updatedEmployee);
+
+    Mono<Void> deleteEmployee(long id);
+}
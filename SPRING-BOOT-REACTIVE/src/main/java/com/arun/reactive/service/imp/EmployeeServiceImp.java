@@ -0,0 +1,64 @@
+package com.arun.reactive.service.imp;
+
+import com.arun.reactive.exception.ResourceNotFoundException;
+import com.arun.reactive.model.Employee;
+import com.arun.reactive.repository.EmployeeRepository;
+import com.arun.reactive.service.EmployeeService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+
+@Service
+public class EmployeeServiceImp implements EmployeeService {
+
+    private EmployeeRepository employeeRepository;
+
+    public EmployeeServiceImp(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    @Override
+    public Mono<Employee> saveEmployee(Employee employee) {
+        // The unique index on email rejects duplicates atomically, so there is no lookup first
+        return employeeRepository.save(employee)
+                .onErrorMap(EmployeeServiceImp::isDuplicateEmail, e -> new ResourceNotFoundException(
+                        "Employee already Exist with given Email " + employee.getEmail(), e));
+    }
+
+    // R2DBC reports every constraint as a DataIntegrityViolationException; only the email index means a duplicate
+    private static boolean isDuplicateEmail(Throwable e) {
+        if (e instanceof DuplicateKeyException) {
+            return true;
+        }
+        if (!(e instanceof DataIntegrityViolationException)) {
+            return false;
+        }
+        String message = ((DataIntegrityViolationException) e).getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(Employee.EMAIL_UNIQUE_CONSTRAINT);
+    }
+
+    //Rows are emitted as the subscriber requests them; nothing is collected into a List
+    @Override
+    public Flux<Employee> getAllEmployees() {
+        return employeeRepository.findAll();
+    }
+
+    @Override
+    public Mono<Employee> getEmployeeById(long id) {
+        return employeeRepository.findById(id);
+    }
+
+    @Override
+    public Mono<Employee> updateEmployee(Employee updatedEmployee) {
+        return employeeRepository.save(updatedEmployee);
+    }
+
+    @Override
+    public Mono<Void> deleteEmployee(long id) {
+        return employeeRepository.deleteById(id);
+    }
+}
@@ -0,0 +1,13 @@
+package com.arun.reactive;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class SpringBootReactiveApplicationTests {
+
+	@Test
+	void contextLoads() {
+	}
+
+}
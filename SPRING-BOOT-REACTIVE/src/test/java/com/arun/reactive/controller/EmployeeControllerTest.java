@@ -0,0 +1,282 @@
+package com.arun.reactive.controller;
+
+import com.arun.reactive.model.Employee;
+import com.arun.reactive.service.EmployeeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@WebFluxTest(EmployeeController.class)
+public class EmployeeControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private EmployeeService employeeService;
+
+    //Junit test for Create Employee Method
+    @DisplayName("Junit test for Create Employee Method")
+    @Test
+    public void givenEmployeeObject_whenCreateEmployee_thenReturnSavedEmployee() {
+        // given precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("Ramesh")
+                .lastName("Fegade")
+                .email("ramesh@gmail.com")
+                .build();
+        given(employeeService.saveEmployee(any(Employee.class)))
+                .willAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // when -action or the behaviour that we are going to test
+        // then - verify the output
+        webTestClient.post().uri("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo(employee.getFirstName())
+                .jsonPath("$.lastName").isEqualTo(employee.getLastName())
+                .jsonPath("$.email").isEqualTo(employee.getEmail());
+    }
+
+    //Junit test for Create Employee Method with a missing required field
+    @DisplayName("Junit test for Create Employee Method returning 400 on a constraint violation")
+    @Test
+    public void givenEmployeeWithoutFirstName_whenCreateEmployee_thenReturn400() {
+        // given precondition or setup
+        Employee employee = Employee.builder()
+                .lastName("Fegade")
+                .email("ramesh@gmail.com")
+                .build();
+        given(employeeService.saveEmployee(any(Employee.class))).willReturn(Mono.error(
+                new DataIntegrityViolationException("NULL not allowed for column \"FIRST_NAME\"")));
+
+        // when -action or the behaviour that we are going to test
+        // then - verify the output
+        webTestClient.post().uri("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Invalid employee: NULL not allowed for column \"FIRST_NAME\"");
+    }
+
+    //Junit test for Get All employees REST API
+    @DisplayName("Junit test for Get All employees REST API")
+    @Test
+    public void givenListOfEmployees_whenGetAllEmployees_thenReturnEmployeesList() {
+        // given precondition or setup
+        Employee ramesh = Employee.builder().id(1L).firstName("Ramesh").lastName("Fegade").email("ramesh@gmail.com").build();
+        Employee arun = Employee.builder().id(2L).firstName("Arun").lastName("Prajapati").email("arun@gmail.com").build();
+        given(employeeService.getAllEmployees()).willReturn(Flux.just(ramesh, arun));
+
+        // when -action or the behaviour that we are going to test
+        // then - verify the output
+        webTestClient.get().uri("/api/employees")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Employee.class)
+                .hasSize(2)
+                .contains(ramesh, arun);
+    }
+
+    //Junit test for streaming all employees as NDJSON
+    @DisplayName("Junit test for streaming all employees as NDJSON")
+    @Test
+    public void givenListOfEmployees_whenStreamAllEmployees_thenReturnOneJsonObjectPerLine() {
+        // given precondition or setup
+        Employee ramesh = Employee.builder().id(1L).firstName("Ramesh").lastName("Fegade").email("ramesh@gmail.com").build();
+        Employee arun = Employee.builder().id(2L).firstName("Arun").lastName("Prajapati").email("arun@gmail.com").build();
+        given(employeeService.getAllEmployees()).willReturn(Flux.just(ramesh, arun));
+
+        // when -action or the behaviour that we are going to test
+        // then - verify the output
+        webTestClient.get().uri("/api/employees")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(Employee.class)
+                .contains(ramesh, arun);
+    }
+
+    //positive scenario - valid employee id
+    @DisplayName("Positive - Junit test for get employee by id REST API")
+    @Test
+    public void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject() {
+        // given precondition or setup
+        long employeeId = 1l;
+        Employee employee = Employee.builder()
+                .id(employeeId)
+                .firstName("Ramesh")
+                .lastName("Fegade")
+                .email("ramesh@gmail.com")
+                .version(3L)
+                .build();
+        given(employeeService.getEmployeeById(employeeId)).willReturn(Mono.just(employee));
+
+        // when -action or the behaviour that we are going to test
+        // then - verify the output
+        webTestClient.get().uri("/api/employees/{id}", employeeId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"")
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo(employee.getFirstName())
+                .jsonPath("$.email").isEqualTo(employee.getEmail());
+    }
+
+    //negative scenario - invalid employee id
+    @DisplayName("Negative - Junit test for get employee by id REST API")
+    @Test
+    public void givenInvalidEmployeeId_whenGetEmployeeById_thenReturnEmpty() {
+        // given precondition or setup
+        long employeeId = 1l;
+        given(employeeService.getEmployeeById(employeeId)).willReturn(Mono.empty());
+
+        // when -action or the behaviour that we are going to test
+        // then - verify the output
+        webTestClient.get().uri("/api/employees/{id}", employeeId)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    //Junit test for update employee REST API - positive scenario
+    @DisplayName("Junit test for update employee REST API - positive scenario")
+    @Test
+    public void givenUpdatedEmployee_whenUpdateEmployee_thenReturnUpdateEmployeeObject() {
+        // given precondition or setup
+        long employeeId = 1l;
+        Employee savedEmployee = Employee.builder()
+                .id(employeeId)
+                .firstName("Ramesh")
+                .lastName("Fegade")
+                .email("ramesh@gmail.com")
+                .version(0L)
+                .build();
+        Employee updatedEmployee = Employee.builder()
+                .firstName("Ram")
+                .lastName("Jadhav")
+                .email("ram@gmail.com")
+                .build();
+        given(employeeService.getEmployeeById(employeeId)).willReturn(Mono.just(savedEmployee));
+        given(employeeService.updateEmployee(any(Employee.class)))
+                .willAnswer(invocation -> Mono.just(invocation.<Employee>getArgument(0).toBuilder().version(1L).build()));
+
+        // when -action or the behaviour that we are going to test
+        // then - verify the output
+        webTestClient.put().uri("/api/employees/{id}", employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updatedEmployee)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo(updatedEmployee.getFirstName())
+                .jsonPath("$.lastName").isEqualTo(updatedEmployee.getLastName())
+                .jsonPath("$.email").isEqualTo(updatedEmployee.getEmail());
+    }
+
+    //Junit test for update employee REST API - stale If-Match
+    @DisplayName("Junit test for update employee REST API returning 412 on a stale If-Match")
+    @Test
+    public void givenStaleIfMatch_whenUpdateEmployee_thenReturn412() {
+        // given precondition or setup
+        long employeeId = 1l;
+        Employee savedEmployee = Employee.builder()
+                .id(employeeId)
+                .firstName("Ramesh")
+                .lastName("Fegade")
+                .email("ramesh@gmail.com")
+                .version(2L)
+                .build();
+        Employee updatedEmployee = Employee.builder()
+                .firstName("Ram")
+                .lastName("Jadhav")
+                .email("ram@gmail.com")
+                .build();
+        given(employeeService.getEmployeeById(employeeId)).willReturn(Mono.just(savedEmployee));
+
+        // when -action or the behaviour that we are going to test
+        // then - verify the output
+        webTestClient.put().uri("/api/employees/{id}", employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"1\"")
+                .bodyValue(updatedEmployee)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        verify(employeeService, never()).updateEmployee(any(Employee.class));
+    }
+
+    //Junit test for update employee REST API - concurrent writer
+    @DisplayName("Junit test for update employee REST API returning 409 when another writer saved first")
+    @Test
+    public void givenConcurrentUpdate_whenUpdateEmployee_thenReturn409() {
+        // given precondition or setup
+        long employeeId = 1l;
+        Employee savedEmployee = Employee.builder()
+                .id(employeeId)
+                .firstName("Ramesh")
+                .lastName("Fegade")
+                .email("ramesh@gmail.com")
+                .version(0L)
+                .build();
+        Employee updatedEmployee = Employee.builder()
+                .firstName("Ram")
+                .lastName("Jadhav")
+                .email("ram@gmail.com")
+                .build();
+        given(employeeService.getEmployeeById(employeeId)).willReturn(Mono.just(savedEmployee));
+        given(employeeService.updateEmployee(any(Employee.class)))
+                .willReturn(Mono.error(new OptimisticLockingFailureException("Version does not match")));
+
+        // when -action or the behaviour that we are going to test
+        // then - verify the output
+        webTestClient.put().uri("/api/employees/{id}", employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updatedEmployee)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody(String.class).isEqualTo("Employee was modified concurrently, reload and retry");
+        webTestClient.put().uri("/api/employees/{id}", employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .bodyValue(updatedEmployee)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    //Junit test for delete employee REST API
+    @DisplayName("Junit test for delete employee REST API")
+    @Test
+    public void givenEmployeeId_whenDeleteEmployee_thenReturn200() {
+        // given precondition or setup
+        long employeeId = 1l;
+        given(employeeService.deleteEmployee(employeeId)).willReturn(Mono.empty());
+
+        // when -action or the behaviour that we are going to test
+        // then - verify the output
+        webTestClient.delete().uri("/api/employees/{id}", employeeId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("Employee deleted Successfully !");
+    }
+}
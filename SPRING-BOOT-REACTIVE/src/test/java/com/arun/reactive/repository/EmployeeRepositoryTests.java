@@ -0,0 +1,97 @@
+package com.arun.reactive.repository;
+
+import com.arun.reactive.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataR2dbcTest
+public class EmployeeRepositoryTests {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        employeeRepository.deleteAll().block();
+        employee = Employee.builder()
+                .firstName("Arun")
+                .lastName("Prajapati")
+                .email("arunp@gmail.com")
+                .build();
+    }
+
+    //JUnit test for save employee operation
+    @DisplayName("JUnit test for save employee operation")
+    @Test
+    public void givenEmployeeObject_whenSave_thenReturnSavedEmployee() {
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going test
+        // then - verify the output
+        StepVerifier.create(employeeRepository.save(employee))
+                .assertNext(savedEmployee -> assertThat(savedEmployee.getId()).isNotNull())
+                .verifyComplete();
+    }
+
+    //JUnit test for get all employees operation
+    @DisplayName("JUnit test for get all employees operation")
+    @Test
+    public void givenEmployeesList_whenFindAll_thenEmployeesList() {
+        // given - precondition or setup
+        Employee employee1 = Employee.builder()
+                .firstName("Ravi")
+                .lastName("Kumar")
+                .email("ravi@gmail.com")
+                .build();
+        employeeRepository.save(employee).then(employeeRepository.save(employee1)).block();
+
+        // when - action or the behaviour that we are going test
+        // then - verify the output
+        StepVerifier.create(employeeRepository.findAll())
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    //JUnit test for get employee by email operation
+    @DisplayName("JUnit test for get employee by email operation")
+    @Test
+    public void givenEmployeeEmail_whenFindByEmail_thenReturnEmployeeObject() {
+        // given - precondition or setup
+        employeeRepository.save(employee).block();
+
+        // when - action or the behaviour that we are going test
+        // then - verify the output
+        StepVerifier.create(employeeRepository.findByEmail(employee.getEmail()))
+                .assertNext(employeeDB -> assertThat(employeeDB.getFirstName()).isEqualTo("Arun"))
+                .verifyComplete();
+    }
+
+    //JUnit test for the unique email constraint
+    @DisplayName("JUnit test for saving a second employee with the same email")
+    @Test
+    public void givenExistingEmail_whenSave_thenThrowsDataIntegrityViolation() {
+        // given - precondition or setup
+        employeeRepository.save(employee).block();
+        Employee duplicate = Employee.builder()
+                .firstName("Other")
+                .lastName("Person")
+                .email(employee.getEmail())
+                .build();
+
+        // when - action or the behaviour that we are going test
+        // then - verify the output
+        StepVerifier.create(employeeRepository.save(duplicate))
+                .expectErrorSatisfies(e -> assertThat(e).isInstanceOf(DataIntegrityViolationException.class)
+                        .hasMessageContaining(Employee.EMAIL_UNIQUE_CONSTRAINT.toUpperCase()))
+                .verify();
+    }
+}
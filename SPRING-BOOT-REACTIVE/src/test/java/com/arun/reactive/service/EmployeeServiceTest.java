@@ -0,0 +1,138 @@
+package com.arun.reactive.service;
+
+import com.arun.reactive.exception.ResourceNotFoundException;
+import com.arun.reactive.model.Employee;
+import com.arun.reactive.repository.EmployeeRepository;
+import com.arun.reactive.service.imp.EmployeeServiceImp;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @InjectMocks
+    private EmployeeServiceImp employeeService;
+
+    private Employee employee;
+
+    @BeforeEach
+    public void setUp() {
+        employee = Employee.builder()
+                .id(1L)
+                .firstName("Arun")
+                .lastName("Prajapati")
+                .email("arunp@gmail.com")
+                .build();
+    }
+
+    //Junit test for savedEmployee Method
+    @DisplayName("Junit test for savedEmployee Method")
+    @Test
+    public void givenEmployeeObject_whenSaveEmployee_thenReturnEmployeeObject() {
+        // given precondition or setup
+        given(employeeRepository.save(employee)).willReturn(Mono.just(employee));
+
+        // when -action or the behaviour that we are going to test
+        // then - verify the output
+        StepVerifier.create(employeeService.saveEmployee(employee))
+                .expectNext(employee)
+                .verifyComplete();
+    }
+
+    //Junit test for savedEmployee Method which throws exception
+    @DisplayName("Junit test for savedEmployee Method which throws exception")
+    @Test
+    public void givenExistingEmail_whenSaveEmployee_thenThrowsException() {
+        // given precondition or setup
+        given(employeeRepository.save(employee))
+                .willReturn(Mono.error(new DuplicateKeyException("uk_employees_email")));
+
+        // when -action or the behaviour that we are going to test
+        // then - verify the output
+        StepVerifier.create(employeeService.saveEmployee(employee))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    //Junit test for savedEmployee Method with a missing required field
+    @DisplayName("Junit test for savedEmployee Method passing other constraint violations through")
+    @Test
+    public void givenMissingFirstName_whenSaveEmployee_thenThrowsDataIntegrityViolation() {
+        // given precondition or setup
+        employee.setFirstName(null);
+        given(employeeRepository.save(employee)).willReturn(Mono.error(
+                new DataIntegrityViolationException("NULL not allowed for column \"FIRST_NAME\"")));
+
+        // when -action or the behaviour that we are going to test
+        // then - verify the output
+        StepVerifier.create(employeeService.saveEmployee(employee))
+                .expectError(DataIntegrityViolationException.class)
+                .verify();
+    }
+
+    //Junit test for getAllEmployees method
+    @DisplayName("Junit test for getAllEmployees method")
+    @Test
+    public void givenEmployeesList_whenGetAllEmployees_thenReturnEmployeesList() {
+        // given precondition or setup
+        Employee employee1 = Employee.builder()
+                .id(2L)
+                .firstName("Tony")
+                .lastName("Stark")
+                .email("tony@gmail.com")
+                .build();
+        given(employeeRepository.findAll()).willReturn(Flux.just(employee, employee1));
+
+        // when -action or the behaviour that we are going to test
+        // then - verify the output
+        StepVerifier.create(employeeService.getAllEmployees())
+                .expectNext(employee, employee1)
+                .verifyComplete();
+    }
+
+    //Junit test for getEmployeeById method
+    @DisplayName("Junit test for getEmployeeById method")
+    @Test
+    public void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject() {
+        // given precondition or setup
+        given(employeeRepository.findById(1L)).willReturn(Mono.just(employee));
+
+        // when -action or the behaviour that we are going to test
+        // then - verify the output
+        StepVerifier.create(employeeService.getEmployeeById(employee.getId()))
+                .expectNext(employee)
+                .verifyComplete();
+    }
+
+    //Junit test for deleteEmployee method
+    @DisplayName("Junit test for deleteEmployee method")
+    @Test
+    public void givenEmployeeId_whenDeleteEmployee_thenNothing() {
+        // given precondition or setup
+        long employeeId = 1L;
+        given(employeeRepository.deleteById(employeeId)).willReturn(Mono.empty());
+
+        // when -action or the behaviour that we are going to test
+        StepVerifier.create(employeeService.deleteEmployee(employeeId))
+                .verifyComplete();
+
+        // then - verify the output
+        verify(employeeRepository).deleteById(employeeId);
+    }
+}
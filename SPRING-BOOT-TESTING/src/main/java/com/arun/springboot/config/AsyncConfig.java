@@ -0,0 +1,66 @@
+package com.arun.springboot.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executor behind {@link com.arun.springboot.controller.AsyncEmployeeController}. Handlers
+ * hand their blocking JDBC work to it and release the Tomcat worker straight away.
+ * <p>
+ * By default this is a bounded platform-thread pool that rejects work once its queue is
+ * full. On a JDK with virtual threads, {@code employee.async.virtual-threads=true} swaps it
+ * for a virtual-thread-per-task executor; the connection pool is then the only bound.
+ * <p>
+ * A {@link TaskDecorator} bean, if any, carries per-request thread state into the tasks.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "employee.async", name = "enabled", havingValue = "true")
+public class AsyncConfig {
+
+    public static final String EMPLOYEE_EXECUTOR = "employeeExecutor";
+
+    @Bean(name = EMPLOYEE_EXECUTOR)
+    public AsyncTaskExecutor employeeExecutor(@Value("${employee.async.virtual-threads:false}") boolean virtualThreads,
+                                              @Value("${employee.async.pool-size:64}") int poolSize,
+                                              @Value("${employee.async.queue-capacity:1000}") int queueCapacity,
+                                              ObjectProvider<TaskDecorator> taskDecorator) {
+        if (virtualThreads) {
+            TaskExecutorAdapter executor = new TaskExecutorAdapter(newVirtualThreadPerTaskExecutor());
+            taskDecorator.ifAvailable(executor::setTaskDecorator);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("employee-async-");
+        // core == max: a ThreadPoolExecutor only grows past core once the queue is full
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setQueueCapacity(queueCapacity);
+        // surfaces as TaskRejectedException, which the controller turns into 503
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        taskDecorator.ifAvailable(executor::setTaskDecorator);
+        executor.initialize();
+        return executor;
+    }
+
+    // Looked up reflectively so the module still compiles and runs on Java 11
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("employee.async.virtual-threads requires a JDK with virtual threads", e);
+        }
+    }
+}
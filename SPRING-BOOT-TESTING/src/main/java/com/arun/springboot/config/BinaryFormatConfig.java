@@ -0,0 +1,31 @@
+package com.arun.springboot.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Lets clients ask for employees as {@value #SMILE_VALUE} or {@code application/cbor}
+ * rather than JSON through the {@code Accept} header, and send request bodies in them. Both
+ * converters are built from Spring Boot's Jackson builder, so the documents carry the same
+ * fields as the JSON ones; JSON stays the default.
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,39 @@
+package com.arun.springboot.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.StringUtils;
+
+/**
+ * Turns on Spring's cache abstraction, backed by Caffeine and configured from the
+ * {@code spring.cache.*} properties. The caches hand out copies (see
+ * {@link CopyingCaffeineCacheManager}), so callers may modify what they read.
+ * <p>
+ * Caching wraps the transaction, so a cache hit does not begin one.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    // Employees by id, including cached misses (Optional.empty) for unknown ids
+    public static final String EMPLOYEE_CACHE = "employees";
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+        CopyingCaffeineCacheManager cacheManager = new CopyingCaffeineCacheManager();
+        String spec = cacheProperties.getCaffeine().getSpec();
+        if (StringUtils.hasText(spec)) {
+            cacheManager.setCacheSpecification(spec);
+        }
+        if (!cacheProperties.getCacheNames().isEmpty()) {
+            cacheManager.setCacheNames(cacheProperties.getCacheNames());
+        }
+        return cacheManager;
+    }
+}
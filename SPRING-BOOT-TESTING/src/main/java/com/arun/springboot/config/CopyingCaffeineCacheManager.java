@@ -0,0 +1,43 @@
+package com.arun.springboot.config;
+
+import com.arun.springboot.model.Employee;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.lang.Nullable;
+
+/**
+ * A {@link CaffeineCacheManager} whose caches store and hand out copies of employees, so a
+ * caller that modifies the instance it got from a cached method (or just put in the cache)
+ * never changes what the next caller reads.
+ */
+public class CopyingCaffeineCacheManager extends CaffeineCacheManager {
+
+    @Override
+    protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+        return new CopyingCaffeineCache(name, cache, isAllowNullValues());
+    }
+
+    // still a CaffeineCache, so the cache.* metrics bind to it as before
+    static class CopyingCaffeineCache extends CaffeineCache {
+
+        CopyingCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                             boolean allowNullValues) {
+            super(name, cache, allowNullValues);
+        }
+
+        @Override
+        protected Object toStoreValue(@Nullable Object userValue) {
+            return super.toStoreValue(copy(userValue));
+        }
+
+        @Override
+        protected Object fromStoreValue(@Nullable Object storeValue) {
+            return copy(super.fromStoreValue(storeValue));
+        }
+
+        private static Object copy(@Nullable Object value) {
+            return value instanceof Employee ? ((Employee) value).toBuilder().build() : value;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.arun.springboot.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.List;
+
+/**
+ * Records hikaricp.connections.* for pools that are not DataSource beans themselves, such as
+ * the shard and replica pools behind a routing DataSource. Spring Boot only binds the pool a
+ * DataSource bean unwraps to, so without this /actuator/poolsizing would never see them.
+ */
+final class HikariPoolMetrics {
+
+    private HikariPoolMetrics() {
+    }
+
+    static MeterBinder binder(List<HikariDataSource> pools) {
+        return registry -> pools.forEach(pool -> {
+            // a pool Spring Boot already bound keeps its tracker; Hikari accepts only one
+            if (pool.getMetricRegistry() == null && pool.getMetricsTrackerFactory() == null) {
+                pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+        });
+    }
+}
@@ -0,0 +1,74 @@
+package com.arun.springboot.config;
+
+import com.arun.springboot.replica.EmployeeReplicas;
+import com.arun.springboot.sharding.EmployeeShards;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Workers behind {@link com.arun.springboot.job.JobScheduler}. The scheduler never hands
+ * out more jobs than there are workers, so the pool size is also the number of bulk jobs
+ * holding database connections at any time.
+ * <p>
+ * A running job holds at most two connections (an export's open cursor plus a progress
+ * update) of any one pool, and startup fails unless that leaves at least half of every Hikari
+ * pool to {@link com.arun.springboot.controller.EmployeeController} requests: each shard under
+ * the sharding profile, the primary and each replica under the replicas profile.
+ */
+@Configuration
+public class JobConfig {
+
+    public static final String JOB_EXECUTOR = "jobExecutor";
+
+    static final int CONNECTIONS_PER_JOB = 2;
+
+    @Bean(name = JOB_EXECUTOR)
+    public ThreadPoolTaskExecutor jobExecutor(@Value("${employee.jobs.pool-size:2}") int poolSize,
+                                              DataSource dataSource, ObjectProvider<EmployeeShards> shards,
+                                              ObjectProvider<EmployeeReplicas> replicas) throws SQLException {
+        checkConnectionBudget(poolSize, pools(dataSource, shards.getIfAvailable(), replicas.getIfAvailable()));
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("employee-job-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setAllowCoreThreadTimeOut(true);
+        // a finishing worker starts the next job before it is idle again, so that hand-off needs a slot
+        executor.setQueueCapacity(poolSize);
+        // jobs still RUNNING at shutdown are marked FAILED on the next start
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    static void checkConnectionBudget(int poolSize, List<HikariDataSource> pools) {
+        for (HikariDataSource pool : pools) {
+            int maximumPoolSize = pool.getMaximumPoolSize();
+            if (poolSize * CONNECTIONS_PER_JOB > maximumPoolSize / 2) {
+                throw new IllegalStateException("employee.jobs.pool-size=" + poolSize + " lets jobs hold "
+                        + poolSize * CONNECTIONS_PER_JOB + " of the " + maximumPoolSize + " connections of pool "
+                        + pool.getPoolName() + "; lower it or raise that pool's maximum-pool-size");
+            }
+        }
+    }
+
+    // a routing DataSource unwraps to whichever pool it routes to at the time, so ask the shards or replicas
+    private static List<HikariDataSource> pools(DataSource dataSource, EmployeeShards shards,
+                                                EmployeeReplicas replicas) throws SQLException {
+        if (shards != null) {
+            return shards.getPools();
+        }
+        if (replicas != null) {
+            return replicas.getPools();
+        }
+        return dataSource.isWrapperFor(HikariDataSource.class)
+                ? List.of(dataSource.unwrap(HikariDataSource.class)) : List.of();
+    }
+}
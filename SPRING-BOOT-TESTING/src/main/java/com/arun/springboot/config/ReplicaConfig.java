@@ -0,0 +1,90 @@
+package com.arun.springboot.config;
+
+import com.arun.springboot.replica.EmployeeReplicas;
+import com.arun.springboot.replica.ReadYourWritesFilter;
+import com.arun.springboot.replica.ReplicaHealthChecker;
+import com.arun.springboot.replica.ReplicaProperties;
+import com.arun.springboot.replica.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the read replicas in {@code employee.replicas.nodes} (the
+ * replicas profile); spring.datasource stays the primary and takes everything else. The
+ * application's DataSource becomes a {@link ReplicaRoutingDataSource}, a
+ * {@link ReplicaHealthChecker} keeps lagging or unreachable replicas out of the rotation, and
+ * a {@link ReadYourWritesFilter} keeps clients that just wrote on the primary.
+ * <p>
+ * Replicas and sharding are alternatives; shards are not replicated here.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "employee.replicas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaConfig {
+
+    @Bean(destroyMethod = "close")
+    public EmployeeReplicas employeeReplicas(ReplicaProperties properties, DataSourceProperties dataSourceProperties,
+                                             Environment environment,
+                                             @Value("${employee.sharding.enabled:false}") boolean sharding) {
+        if (sharding) {
+            throw new IllegalStateException("employee.replicas cannot be combined with employee.sharding");
+        }
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        // as for the auto-configured pool, spring.datasource.hikari.* tunes the primary
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("employee-primary");
+        }
+        return EmployeeReplicas.create(primary, properties);
+    }
+
+    @Bean
+    public MeterBinder employeeReplicaPoolMetrics(EmployeeReplicas replicas) {
+        return HikariPoolMetrics.binder(replicas.getPools());
+    }
+
+    @Bean
+    public DataSource dataSource(EmployeeReplicas replicas) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(replicas));
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ReplicaHealthChecker replicaHealthChecker(EmployeeReplicas replicas, ReplicaProperties properties) {
+        return new ReplicaHealthChecker(replicas, properties.getMaxLag(), properties.getCheckInterval());
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReplicaProperties properties) {
+        return new ReadYourWritesFilter(properties.getReadYourWritesWindow());
+    }
+
+    @Bean
+    public HealthIndicator replicasHealthIndicator(EmployeeReplicas replicas) {
+        // reads fall back to the primary, so replicas being down degrades but never fails the application
+        return () -> {
+            Health.Builder health = Health.up();
+            replicas.getReplicas().forEach(replica -> health.withDetail(replica.getName(), Map.of(
+                    "healthy", replica.isHealthy(),
+                    "lagMillis", replica.getLagMillis(),
+                    "activeConnections", replica.getActiveConnections())));
+            return health.build();
+        };
+    }
+}
@@ -0,0 +1,144 @@
+package com.arun.springboot.config;
+
+import com.arun.springboot.model.Employee;
+import com.arun.springboot.repository.EmployeeRepository;
+import com.arun.springboot.sharding.EmployeeIdAllocator;
+import com.arun.springboot.sharding.EmployeeResharding;
+import com.arun.springboot.sharding.EmployeeShardMigration;
+import com.arun.springboot.sharding.EmployeeShardRouter;
+import com.arun.springboot.sharding.EmployeeShards;
+import com.arun.springboot.sharding.ShardRoutingDataSource;
+import com.arun.springboot.sharding.ShardingProperties;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.tool.hbm2ddl.SchemaUpdate;
+import org.hibernate.tool.schema.TargetType;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Spreads the employees table over {@code employee.sharding.shards} (the sharding profile).
+ * The application's DataSource becomes a {@link ShardRoutingDataSource}, and every
+ * {@link EmployeeRepository} injection point gets the Spring Data repository behind an
+ * {@link EmployeeShardRouter}, which picks the shard for each call or fans it out to all of
+ * them. Every other table stays on the first shard.
+ * <p>
+ * With {@code employee.sharding.reshard-from} set, startup also moves the rows laid out for
+ * that many shards to the current layout before the web server starts; see
+ * {@link EmployeeShardMigration}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "employee.sharding", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    public static final String SHARD_EXECUTOR = "shardExecutor";
+
+    // the id mapping of Employee under the sharding profile
+    static final String MAPPING_RESOURCE = "META-INF/sharding-orm.xml";
+
+    private static final Set<String> SCHEMA_UPDATING_DDL_AUTO = Set.of("update", "create", "create-drop");
+
+    @Bean(destroyMethod = "close")
+    public EmployeeShards employeeShards(ShardingProperties properties, JpaProperties jpaProperties,
+                                         @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto) {
+        EmployeeShards shards = EmployeeShards.create(properties);
+        if (SCHEMA_UPDATING_DDL_AUTO.contains(ddlAuto)) {
+            // JPA only manages the schema of the first shard, through the routing DataSource
+            for (int shard = 1; shard < shards.getConfiguredCount(); shard++) {
+                updateEmployeeTable(shards.getDataSource(shard), jpaProperties.getProperties());
+            }
+        }
+        return shards;
+    }
+
+    @Bean
+    public MeterBinder employeeShardPoolMetrics(EmployeeShards shards) {
+        return HikariPoolMetrics.binder(shards.getPools());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(EmployeeShards shards) {
+        // a read-only service transaction never runs a statement itself, so it must not take a connection
+        return new LazyConnectionDataSourceProxy(new ShardRoutingDataSource(shards));
+    }
+
+    @Bean(name = SHARD_EXECUTOR)
+    public ThreadPoolTaskExecutor shardExecutor(ShardingProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("employee-shard-");
+        executor.setCorePoolSize(properties.getFanOutThreads());
+        executor.setMaxPoolSize(properties.getFanOutThreads());
+        executor.setAllowCoreThreadTimeOut(true);
+        // no queue: a fan-out that finds every thread busy runs its shard queries on the caller
+        executor.setQueueCapacity(0);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public EmployeeIdAllocator employeeIdAllocator(EmployeeShards shards, ShardingProperties properties) {
+        return new EmployeeIdAllocator(shards, properties.getIdBlockSize());
+    }
+
+    @Bean
+    @Primary
+    public EmployeeRepository shardedEmployeeRepository(
+            @Qualifier("employeeRepository") EmployeeRepository employeeRepository, EmployeeShards shards,
+            EmployeeIdAllocator idAllocator, @Qualifier(SHARD_EXECUTOR) ThreadPoolTaskExecutor shardExecutor,
+            PlatformTransactionManager transactionManager) {
+        return ProxyFactory.getProxy(EmployeeRepository.class,
+                new EmployeeShardRouter(employeeRepository, shards, idAllocator, shardExecutor, transactionManager));
+    }
+
+    @Bean
+    public EmployeeShardMigration employeeShardMigration(EmployeeShards shards, ShardingProperties properties) {
+        return new EmployeeShardMigration(shards, properties.getMigrationBatchSize());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "employee.sharding", name = "reshard-from")
+    public EmployeeResharding employeeResharding(EmployeeShardMigration migration, EmployeeShards shards,
+                                                 ShardingProperties properties) {
+        // a lifecycle rather than a runner: runners are called after the web server has started
+        return new EmployeeResharding(migration, properties.getReshardFrom(), shards.getCount());
+    }
+
+    private static void updateEmployeeTable(DataSource dataSource, Map<String, String> jpaProperties) {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySettings(jpaProperties)
+                .applySetting(AvailableSettings.DATASOURCE, dataSource)
+                .build();
+        try {
+            new SchemaUpdate()
+                    .setHaltOnError(true)
+                    .execute(EnumSet.of(TargetType.DATABASE), new MetadataSources(registry)
+                            .addAnnotatedClass(Employee.class)
+                            .addResource(MAPPING_RESOURCE)
+                            .buildMetadata());
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.arun.springboot.controller;
+
+import com.arun.springboot.config.AsyncConfig;
+import com.arun.springboot.model.Employee;
+import com.arun.springboot.service.EmployeeService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Same contract as {@link EmployeeController}, but every handler returns a
+ * {@link CompletableFuture} completed on the employee executor, so a slow database holds
+ * executor threads instead of Tomcat workers. Enabled with {@code employee.async.enabled=true}.
+ */
+@RestController
+@RequestMapping("/api/async/employees")
+@ConditionalOnProperty(prefix = "employee.async", name = "enabled", havingValue = "true")
+public class AsyncEmployeeController {
+
+    private EmployeeService employeeService;
+
+    private AsyncTaskExecutor employeeExecutor;
+
+    public AsyncEmployeeController(EmployeeService employeeService,
+                                   @Qualifier(AsyncConfig.EMPLOYEE_EXECUTOR) AsyncTaskExecutor employeeExecutor) {
+        this.employeeService = employeeService;
+        this.employeeExecutor = employeeExecutor;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public CompletableFuture<Employee> createEmployee(@RequestBody Employee employee) {
+        return CompletableFuture.supplyAsync(() -> employeeService.saveEmployee(employee), employeeExecutor);
+    }
+
+    @GetMapping
+    public CompletableFuture<List<Employee>> getAllEmployee() {
+        return CompletableFuture.supplyAsync(employeeService::getAllEmployees, employeeExecutor);
+    }
+
+    @GetMapping("/{employeeId}")
+    //As in EmployeeController, a matching If-None-Match gets 304 before the body is serialized
+    public CompletableFuture<ResponseEntity<Employee>> getEmployeeById(@PathVariable("employeeId") long employeeId) {
+        return CompletableFuture.supplyAsync(() -> employeeService.getEmployeeById(employeeId)
+                .map(employee -> ResponseEntity.ok()
+                        .eTag(EmployeeVersions.eTag(employee.getVersion()))
+                        .body(employee))
+                .orElseGet(() -> ResponseEntity.notFound().build()), employeeExecutor);
+    }
+
+    @PutMapping("/{employeeId}")
+    public CompletableFuture<ResponseEntity<Employee>> updateEmployee(
+            @PathVariable("employeeId") long employeeId, @RequestBody Employee employee,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return CompletableFuture.supplyAsync(() -> employeeService.getEmployeeById(employeeId)
+                .map(savedEmployee -> {
+                    if (EmployeeVersions.ifMatchFails(ifMatch, savedEmployee.getVersion())) {
+                        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).<Employee>build();
+                    }
+                    Employee update = savedEmployee.toBuilder()
+                            .firstName(employee.getFirstName())
+                            .lastName(employee.getLastName())
+                            .email(employee.getEmail())
+                            .build();
+
+                    Employee updateEmployee = employeeService.updateEmployee(update);
+
+                    return ResponseEntity.ok()
+                            .eTag(EmployeeVersions.eTag(updateEmployee.getVersion()))
+                            .body(updateEmployee);
+                })
+                .orElseGet(() -> ResponseEntity.notFound().build()), employeeExecutor);
+    }
+
+    @DeleteMapping("/{employeeId}")
+    public CompletableFuture<ResponseEntity<String>> deleteEmployee(@PathVariable("employeeId") long employeeId) {
+        return CompletableFuture.runAsync(() -> employeeService.deleteEmployee(employeeId), employeeExecutor)
+                .thenApply(done -> new ResponseEntity<String>("Employee deleted Successfully !", HttpStatus.OK));
+    }
+
+    //A failed future is unwrapped first, so a version conflict on the executor lands here too
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleStaleVersion(OptimisticLockingFailureException e, WebRequest request) {
+        return EmployeeVersions.staleVersion(e, request);
+    }
+
+    //The executor queue is full: shed load instead of queueing requests without bound
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<String> handleRejected(RejectedExecutionException e) {
+        return new ResponseEntity<String>("Server is busy, retry later", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
@@ -1,22 +1,59 @@
 package com.arun.springboot.controller;
 
+import com.arun.springboot.export.EmployeeExportFormat;
+import com.arun.springboot.model.BulkSaveResult;
+import com.arun.springboot.model.DeleteResult;
 import com.arun.springboot.model.Employee;
+import com.arun.springboot.model.EmployeePage;
+import com.arun.springboot.model.EmployeeView;
 import com.arun.springboot.service.EmployeeService;
+import com.arun.springboot.writebehind.EmployeeWriteBehindQueue;
+import com.arun.springboot.writebehind.WriteBehindQueueFullException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/employees")
 public class EmployeeController {
 
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
 
     private EmployeeService employeeService;
 
-    public EmployeeController(EmployeeService employeeService) {
+    private ObjectMapper objectMapper;
+
+    // null unless employee.write-behind.enabled=true
+    private EmployeeWriteBehindQueue writeBehindQueue;
+
+    public EmployeeController(EmployeeService employeeService, ObjectMapper objectMapper,
+                              ObjectProvider<EmployeeWriteBehindQueue> writeBehindQueue) {
         this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+        this.writeBehindQueue = writeBehindQueue.getIfAvailable();
     }
 
     @PostMapping
@@ -26,40 +63,241 @@ public class EmployeeController {
         return employeeService.saveEmployee(employee);
     }
 
+    //Creates the employee or updates the one that already owns the email
+    @PutMapping
+    public Employee upsertEmployee(@RequestBody Employee employee) {
+        return employeeService.upsertEmployee(employee);
+    }
+
+    //Accepts either a JSON array or NDJSON and reads it one record at a time
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    public BulkSaveResult createEmployees(InputStream body,
+                                          @RequestParam(value = "chunkSize",
+                                                  defaultValue = "${employee.bulk.chunk-size:1000}") int chunkSize)
+            throws IOException {
+        try (MappingIterator<Employee> employees = objectMapper.readerFor(Employee.class).readValues(body)) {
+            return employeeService.saveEmployees(employees, chunkSize);
+        }
+    }
+
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
     public List<Employee> getAllEmployee() {
         return employeeService.getAllEmployees();
     }
 
+    //Sparse fieldset, e.g. ?fields=id,email: only those columns are read and serialized; the id always is
+    @GetMapping(params = {"fields", "!size"}, produces = "!" + APPLICATION_NDJSON_VALUE)
+    public List<EmployeeView> getAllEmployeeFields(@RequestParam("fields") Set<String> fields) {
+        return employeeService.getAllEmployeeFields(fields);
+    }
+
+    //Keyset-paginated listing, selected whenever the client passes a page size
+    @GetMapping(params = "size")
+    public EmployeePage getEmployeesPage(@RequestParam("size") int size,
+                                         @RequestParam(value = "continuationToken", required = false)
+                                         String continuationToken) {
+        return employeeService.getEmployeesPage(continuationToken, size);
+    }
+
+    //Streams one JSON document per line straight from the JDBC cursor
+    @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees() {
+        StreamingResponseBody body = outputStream ->
+                employeeService.streamAllEmployees(employee -> writeLine(outputStream, employee));
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
+    //Full extract for finance: rows go from the JDBC cursor to the response, gzipped when the client accepts it
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        EmployeeExportFormat exportFormat = EmployeeExportFormat.fromParameter(format);
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = outputStream -> {
+            if (!gzip) {
+                employeeService.exportEmployees(exportFormat, outputStream);
+                return;
+            }
+            GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE);
+            employeeService.exportEmployees(exportFormat, gzipStream);
+            gzipStream.finish();
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("employees." + exportFormat.getFileExtension()).build().toString())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    //Type-ahead search: every word of q must prefix a word of the first name, last name or email
+    @GetMapping("/search")
+    public List<Employee> searchEmployees(@RequestParam("q") String query,
+                                          @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return employeeService.searchEmployees(query, limit);
+    }
+
     @GetMapping("/{employeeId}")
+    //The ETag lets Spring answer a matching If-None-Match with 304 before the body is serialized
     public ResponseEntity<Employee> getEmployeeById(@PathVariable("employeeId") long employeeId) {
         return employeeService.getEmployeeById(employeeId)
-                .map(ResponseEntity::ok)
+                .map(employee -> ResponseEntity.ok()
+                        .eTag(EmployeeVersions.eTag(employee.getVersion()))
+                        .body(employee))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PutMapping("/{employeeId}")
     public ResponseEntity updateEmployee(@PathVariable("employeeId")
-                                         long employeeId, @RequestBody Employee employee) {
+                                         long employeeId, @RequestBody Employee employee,
+                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
         return employeeService.getEmployeeById(employeeId)
                 .map(savedEmployee -> {
-                    savedEmployee.setLastName(employee.getFirstName());
-                    savedEmployee.setLastName(employee.getLastName());
-                    savedEmployee.setEmail(employee.getEmail());
+                    if (EmployeeVersions.ifMatchFails(ifMatch, savedEmployee.getVersion())) {
+                        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+                    }
+                    // If-Match needs the write to happen now, against the version just checked
+                    if (writeBehindQueue != null && ifMatch == null) {
+                        return enqueueUpdate(savedEmployee, employee);
+                    }
+                    Employee update = savedEmployee.toBuilder()
+                            .firstName(employee.getFirstName())
+                            .lastName(employee.getLastName())
+                            .email(employee.getEmail())
+                            .build();
 
-                    Employee updateEmployee = employeeService.updateEmployee(savedEmployee);
+                    Employee updateEmployee = employeeService.updateEmployee(update);
 
-                    return new ResponseEntity(updateEmployee, HttpStatus.OK);
+                    return ResponseEntity.ok()
+                            .eTag(EmployeeVersions.eTag(updateEmployee.getVersion()))
+                            .body(updateEmployee);
                 })
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    //Sparse update: only the fields present in the body are written, in one UPDATE and without a SELECT
+    @PatchMapping(value = "/{employeeId}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Void> patchEmployee(@PathVariable("employeeId") long employeeId,
+                                              @RequestBody Map<String, Object> fields,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = null;
+        if (ifMatch != null) {
+            Long version = EmployeeVersions.ifMatchVersion(ifMatch);
+            if (version == null) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
+            expectedVersion = version == EmployeeVersions.ANY_VERSION ? null : version;
+        }
+        if (!employeeService.patchEmployee(employeeId, fields, expectedVersion)) {
+            return ResponseEntity.notFound().build();
+        }
+        // without If-Match the new version is unknown, and reading it back would cost the SELECT we just saved
+        return expectedVersion == null
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.noContent().eTag(EmployeeVersions.eTag(expectedVersion + 1)).build();
+    }
+
     @DeleteMapping("/{employeeId}")
     public ResponseEntity<String> deleteEmployee(@PathVariable("employeeId") long employeeId) {
         employeeService.deleteEmployee(employeeId);
 
         return new ResponseEntity<String >("Employee deleted Successfully !",HttpStatus.OK);
     }
+
+    //Set-based delete of many ids, e.g. DELETE /api/employees?ids=1,2,3
+    @DeleteMapping(params = "ids")
+    public DeleteResult deleteEmployees(@RequestParam("ids") List<Long> ids) {
+        return employeeService.deleteEmployees(ids);
+    }
+
+    //Deletes every employee whose email is in the given domain
+    @DeleteMapping(params = "emailDomain")
+    public DeleteResult deleteEmployeesByEmailDomain(@RequestParam("emailDomain") String emailDomain) {
+        return employeeService.deleteEmployeesByEmailDomain(emailDomain);
+    }
+
+    //412 when the client sent If-Match, otherwise a plain conflict between two concurrent writers
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleStaleVersion(OptimisticLockingFailureException e, WebRequest request) {
+        return EmployeeVersions.staleVersion(e, request);
+    }
+
+    @ExceptionHandler(WriteBehindQueueFullException.class)
+    public ResponseEntity<String> handleWriteBehindQueueFull(WriteBehindQueueFullException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return new ResponseEntity<String>(e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    //Chunks before the malformed record have already been committed
+    @ExceptionHandler({RuntimeJsonMappingException.class, JsonProcessingException.class})
+    public ResponseEntity<String> handleMalformedPayload(Exception e) {
+        return new ResponseEntity<String>("Malformed employee payload: " + e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    //202 once the update is queued; the body shows the values that will be written, not a new version.
+    //The update carries the version read here, so a write that commits before the flush wins over it
+    private ResponseEntity<Employee> enqueueUpdate(Employee savedEmployee, Employee employee) {
+        if (isBlank(employee.getFirstName()) || isBlank(employee.getLastName()) || isBlank(employee.getEmail())) {
+            throw new IllegalArgumentException("firstName, lastName and email are required");
+        }
+        Employee update = savedEmployee.toBuilder()
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .email(employee.getEmail())
+                .build();
+        writeBehindQueue.enqueue(update);
+        return ResponseEntity.accepted().body(update);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    //True when Accept-Encoding lists gzip (or *) without q=0
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().toLowerCase(Locale.ROOT).split(";");
+            String name = parts[0].trim();
+            if (!name.equals("gzip") && !name.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].replace(" ", "");
+                refused |= parameter.matches("q=0(\\.0*)?");
+            }
+            if (!refused) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeLine(OutputStream outputStream, Employee employee) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(employee));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,108 @@
+package com.arun.springboot.controller;
+
+import com.arun.springboot.export.EmployeeExportFormat;
+import com.arun.springboot.job.EmployeeExportJobHandler;
+import com.arun.springboot.job.EmployeeImportJobHandler;
+import com.arun.springboot.job.JobRejectedException;
+import com.arun.springboot.job.JobScheduler;
+import com.arun.springboot.model.Job;
+import com.arun.springboot.model.JobStatus;
+import com.arun.springboot.model.JobType;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.InputStream;
+import java.nio.file.Paths;
+
+//Background bulk jobs: submit with POST, poll with GET, cancel with DELETE
+@RestController
+@RequestMapping("/api/jobs")
+public class JobController {
+
+    private JobScheduler jobScheduler;
+
+    public JobController(JobScheduler jobScheduler) {
+        this.jobScheduler = jobScheduler;
+    }
+
+    //Same payload as POST /api/employees/bulk; the upload is on disk before the 202 goes out
+    @PostMapping(value = "/employee-import",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, EmployeeController.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<Job> submitEmployeeImport(InputStream body,
+                                                    @RequestParam(value = "chunkSize",
+                                                            defaultValue = "${employee.bulk.chunk-size:1000}") int chunkSize) {
+        // the import handler checks chunkSize before the upload is spooled
+        return accepted(jobScheduler.submit(JobType.EMPLOYEE_IMPORT,
+                EmployeeImportJobHandler.CHUNK_SIZE + "=" + chunkSize, body));
+    }
+
+    @PostMapping("/employee-export")
+    public ResponseEntity<Job> submitEmployeeExport(@RequestParam(value = "format", defaultValue = "csv") String format) {
+        EmployeeExportFormat exportFormat = EmployeeExportFormat.fromParameter(format);
+        return accepted(jobScheduler.submit(JobType.EMPLOYEE_EXPORT,
+                EmployeeExportJobHandler.FORMAT + "=" + exportFormat.getFileExtension(), null));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<Job> getJob(@PathVariable("jobId") String jobId) {
+        return jobScheduler.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    //202 while a running job winds down, 409 once it has already finished
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<Job> cancelJob(@PathVariable("jobId") String jobId) {
+        return jobScheduler.getJob(jobId)
+                .map(job -> job.getStatus().isFinished()
+                        ? ResponseEntity.status(HttpStatus.CONFLICT).body(job)
+                        : ResponseEntity.accepted().body(jobScheduler.cancel(jobId).orElse(job)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    //The file written by a succeeded export
+    @GetMapping("/{jobId}/result")
+    public ResponseEntity<Resource> getJobResult(@PathVariable("jobId") String jobId) {
+        return jobScheduler.getJob(jobId)
+                .filter(job -> job.getType() == JobType.EMPLOYEE_EXPORT)
+                .map(job -> {
+                    if (job.getStatus() != JobStatus.SUCCEEDED) {
+                        return ResponseEntity.status(HttpStatus.CONFLICT).<Resource>build();
+                    }
+                    EmployeeExportFormat format = EmployeeExportFormat.fromParameter(
+                            job.parameter(EmployeeExportJobHandler.FORMAT));
+                    return ResponseEntity.ok()
+                            .contentType(MediaType.parseMediaType(format.getContentType()))
+                            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                                    .filename("employees." + format.getFileExtension()).build().toString())
+                            .<Resource>body(new FileSystemResource(Paths.get(job.getWorkFile())));
+                })
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @ExceptionHandler(JobRejectedException.class)
+    public ResponseEntity<String> handleRejected(JobRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "60")
+                .body(e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return new ResponseEntity<String>(e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    private static ResponseEntity<Job> accepted(Job job) {
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/api/jobs/{jobId}").buildAndExpand(job.getId()).toUri())
+                .body(job);
+    }
+}
@@ -0,0 +1,41 @@
+package com.arun.springboot.export;
+
+import java.util.Locale;
+
+/**
+ * Formats of {@code GET /api/employees/export}.
+ */
+public enum EmployeeExportFormat {
+
+    CSV("text/csv;charset=UTF-8", "csv"),
+
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+
+    private final String fileExtension;
+
+    EmployeeExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * The format named by a {@code format} request parameter, ignoring case.
+     */
+    public static EmployeeExportFormat fromParameter(String format) {
+        try {
+            return valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export format '" + format + "', expected csv or ndjson");
+        }
+    }
+}
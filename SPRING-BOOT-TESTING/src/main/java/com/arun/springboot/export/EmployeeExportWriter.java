@@ -0,0 +1,137 @@
+package com.arun.springboot.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Writes employee rows straight from a JDBC {@link ResultSet} to an output stream, one row
+ * at a time and without building an {@code Employee} for it. The result set must have the
+ * columns {@code id, first_name, last_name, email, version} in that order. {@link #close()}
+ * flushes what is still buffered but leaves the output stream open.
+ */
+public abstract class EmployeeExportWriter implements RowCallbackHandler, Closeable {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private long rows;
+
+    public static EmployeeExportWriter create(EmployeeExportFormat format, OutputStream outputStream) {
+        try {
+            return format == EmployeeExportFormat.CSV
+                    ? new CsvWriter(outputStream)
+                    : new NdjsonWriter(outputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public final void processRow(ResultSet rs) throws SQLException {
+        try {
+            writeRow(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getLong(5));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        rows++;
+    }
+
+    /**
+     * Rows written so far.
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    abstract void writeRow(long id, String firstName, String lastName, String email, long version)
+            throws IOException;
+
+    //RFC 4180, with the header naming the same properties as the JSON representation
+    private static final class CsvWriter extends EmployeeExportWriter {
+
+        private final Writer writer;
+
+        CsvWriter(OutputStream outputStream) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            writer.write("id,firstName,lastName,email,version\r\n");
+        }
+
+        @Override
+        void writeRow(long id, String firstName, String lastName, String email, long version) throws IOException {
+            writer.write(Long.toString(id));
+            writer.write(',');
+            writeField(firstName);
+            writer.write(',');
+            writeField(lastName);
+            writer.write(',');
+            writeField(email);
+            writer.write(',');
+            writer.write(Long.toString(version));
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+            }
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+
+    //One object per line, with the property names Jackson gives Employee
+    private static final class NdjsonWriter extends EmployeeExportWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonWriter(OutputStream outputStream) throws IOException {
+            this.generator = JSON_FACTORY.createGenerator(outputStream, JsonEncoding.UTF8);
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        void writeRow(long id, String firstName, String lastName, String email, long version) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", id);
+            generator.writeStringField("firstName", firstName);
+            generator.writeStringField("lastName", lastName);
+            generator.writeStringField("email", email);
+            generator.writeNumberField("version", version);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.arun.springboot.job;
+
+import com.arun.springboot.export.EmployeeExportFormat;
+import com.arun.springboot.export.EmployeeExportWriter;
+import com.arun.springboot.model.Job;
+import com.arun.springboot.model.JobType;
+import com.arun.springboot.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+
+/**
+ * Writes every employee to the job's work file in the requested {@link EmployeeExportFormat},
+ * straight from the JDBC cursor, like {@code GET /api/employees/export}.
+ */
+@Component
+public class EmployeeExportJobHandler implements JobHandler {
+
+    public static final String FORMAT = "format";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private EmployeeRepository employeeRepository;
+
+    private final int concurrency;
+
+    public EmployeeExportJobHandler(EmployeeRepository employeeRepository,
+                                    @Value("${employee.jobs.concurrency.employee-export:1}") int concurrency) {
+        this.employeeRepository = employeeRepository;
+        this.concurrency = concurrency;
+    }
+
+    @Override
+    public JobType getType() {
+        return JobType.EMPLOYEE_EXPORT;
+    }
+
+    @Override
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    @Override
+    public void checkParameters(Job job) {
+        EmployeeExportFormat.fromParameter(job.parameter(FORMAT));
+    }
+
+    @Override
+    public String run(JobContext context) throws Exception {
+        EmployeeExportFormat format = EmployeeExportFormat.fromParameter(context.getParameter(FORMAT));
+        try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(context.getWorkFile()), BUFFER_SIZE);
+             EmployeeExportWriter writer = EmployeeExportWriter.create(format, file)) {
+            // a cancel closes the cursor between two rows
+            employeeRepository.exportAll(rs -> {
+                context.checkCancelled();
+                writer.processRow(rs);
+                context.advance(1, 0);
+            });
+            return writer.getRows() + " employees exported";
+        }
+    }
+}
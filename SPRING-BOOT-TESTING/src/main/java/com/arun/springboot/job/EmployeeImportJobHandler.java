@@ -0,0 +1,98 @@
+package com.arun.springboot.job;
+
+import com.arun.springboot.model.BulkSaveResult;
+import com.arun.springboot.model.Employee;
+import com.arun.springboot.model.Job;
+import com.arun.springboot.model.JobType;
+import com.arun.springboot.service.EmployeeService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Iterator;
+
+/**
+ * Inserts a spooled JSON array or NDJSON upload through {@link EmployeeService#saveEmployees},
+ * the same chunked path as {@code POST /api/employees/bulk}.
+ */
+@Component
+public class EmployeeImportJobHandler implements JobHandler {
+
+    public static final String CHUNK_SIZE = "chunkSize";
+
+    private EmployeeService employeeService;
+
+    private ObjectMapper objectMapper;
+
+    private final int concurrency;
+
+    public EmployeeImportJobHandler(EmployeeService employeeService, ObjectMapper objectMapper,
+                                    @Value("${employee.jobs.concurrency.employee-import:1}") int concurrency) {
+        this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+        this.concurrency = concurrency;
+    }
+
+    @Override
+    public JobType getType() {
+        return JobType.EMPLOYEE_IMPORT;
+    }
+
+    @Override
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    @Override
+    public void checkParameters(Job job) {
+        chunkSize(job.parameter(CHUNK_SIZE));
+    }
+
+    @Override
+    public String run(JobContext context) throws Exception {
+        int chunkSize = chunkSize(context.getParameter(CHUNK_SIZE));
+        try (InputStream upload = Files.newInputStream(context.getWorkFile());
+             MappingIterator<Employee> employees = objectMapper.readerFor(Employee.class).readValues(upload)) {
+            BulkSaveResult result = employeeService.saveEmployees(tracking(employees, context), chunkSize);
+            context.advance(0, result.getRejected());
+            return result.getInserted() + " of " + result.getReceived() + " employees inserted";
+        } finally {
+            Files.deleteIfExists(context.getWorkFile());
+        }
+    }
+
+    private static int chunkSize(String parameter) {
+        int chunkSize;
+        try {
+            chunkSize = Integer.parseInt(parameter);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("chunkSize must be a number, got '" + parameter + "'");
+        }
+        if (chunkSize < 1 || chunkSize > EmployeeService.MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("chunkSize must be between 1 and " + EmployeeService.MAX_CHUNK_SIZE);
+        }
+        return chunkSize;
+    }
+
+    //Counts each record as it is read and stops between records once the job is cancelled
+    private static Iterator<Employee> tracking(Iterator<Employee> employees, JobContext context) {
+        return new Iterator<Employee>() {
+
+            @Override
+            public boolean hasNext() {
+                context.checkCancelled();
+                return employees.hasNext();
+            }
+
+            @Override
+            public Employee next() {
+                Employee employee = employees.next();
+                context.advance(1, 0);
+                return employee;
+            }
+        };
+    }
+}
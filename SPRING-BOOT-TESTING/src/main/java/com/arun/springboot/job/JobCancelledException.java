@@ -0,0 +1,8 @@
+package com.arun.springboot.job;
+
+public class JobCancelledException extends RuntimeException {
+
+    public JobCancelledException(String jobId) {
+        super("Job " + jobId + " was cancelled");
+    }
+}
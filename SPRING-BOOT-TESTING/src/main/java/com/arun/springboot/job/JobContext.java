@@ -0,0 +1,27 @@
+package com.arun.springboot.job;
+
+import java.nio.file.Path;
+
+/**
+ * What a {@link JobHandler} sees of the job it is running. Progress is kept in memory and
+ * written to the {@code jobs} table at most once per {@code employee.jobs.progress-interval},
+ * so handlers can report every record without an UPDATE per record.
+ */
+public interface JobContext {
+
+    String getJobId();
+
+    /**
+     * The value of one of the parameters the job was submitted with, or null.
+     */
+    String getParameter(String name);
+
+    Path getWorkFile();
+
+    void advance(long processed, long failed);
+
+    /**
+     * Throws {@link JobCancelledException} once a cancel was requested; call it between records.
+     */
+    void checkCancelled();
+}
@@ -0,0 +1,31 @@
+package com.arun.springboot.job;
+
+import com.arun.springboot.model.Job;
+import com.arun.springboot.model.JobType;
+
+/**
+ * Runs the jobs of one {@link JobType} on a {@link JobScheduler} worker.
+ */
+public interface JobHandler {
+
+    JobType getType();
+
+    /**
+     * How many jobs of this type may run at the same time.
+     */
+    int getConcurrency();
+
+    /**
+     * Rejects parameters the job could not run with, before anything is spooled or queued.
+     *
+     * @throws IllegalArgumentException naming the bad parameter
+     */
+    default void checkParameters(Job job) {
+    }
+
+    /**
+     * Does the work and returns the message stored with the succeeded job. Anything thrown
+     * fails the job, except {@link JobCancelledException}, which cancels it.
+     */
+    String run(JobContext context) throws Exception;
+}
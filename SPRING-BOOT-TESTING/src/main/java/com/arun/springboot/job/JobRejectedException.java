@@ -0,0 +1,11 @@
+package com.arun.springboot.job;
+
+/**
+ * Thrown when {@code employee.jobs.max-queued} jobs are already waiting; answered with 503.
+ */
+public class JobRejectedException extends RuntimeException {
+
+    public JobRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,337 @@
+package com.arun.springboot.job;
+
+import com.arun.springboot.config.JobConfig;
+import com.arun.springboot.model.Job;
+import com.arun.springboot.model.JobStatus;
+import com.arun.springboot.model.JobType;
+import com.arun.springboot.repository.JobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Runs bulk jobs on the {@link JobConfig#JOB_EXECUTOR} workers. The {@code jobs} table is
+ * the queue: whenever a job is submitted or finishes, the oldest QUEUED job whose type is
+ * below its {@link JobHandler#getConcurrency()} is claimed with a conditional update and
+ * started, as long as a worker is free.
+ * <p>
+ * Uploads are spooled to {@code employee.jobs.directory} before the job is queued, so no
+ * request thread waits for a job, and a job never waits for a slow client. Finished jobs, with
+ * the export files they wrote, are deleted once they are {@code employee.jobs.retention} old.
+ */
+@Slf4j
+@Component
+public class JobScheduler {
+
+    static final String RESTART_MESSAGE = "Interrupted by an application restart";
+
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+
+    // finished jobs deleted per statement by the retention sweep
+    static final int PURGE_BATCH_SIZE = 100;
+
+    private static final Duration PURGE_INTERVAL = Duration.ofHours(1);
+
+    private JobRepository jobRepository;
+
+    private Map<JobType, JobHandler> handlers = new EnumMap<>(JobType.class);
+
+    private TaskExecutor jobExecutor;
+
+    private final int poolSize;
+
+    private final int maxQueued;
+
+    private final long progressIntervalNanos;
+
+    private final Path directory;
+
+    private final Duration retention;
+
+    private ScheduledExecutorService purger;
+
+    // guarded by this
+    private final Map<JobType, Integer> runningByType = new EnumMap<>(JobType.class);
+
+    private final Map<String, RunningJob> runningJobs = new ConcurrentHashMap<>();
+
+    public JobScheduler(JobRepository jobRepository, List<JobHandler> handlers,
+                        @Qualifier(JobConfig.JOB_EXECUTOR) TaskExecutor jobExecutor,
+                        @Value("${employee.jobs.pool-size:2}") int poolSize,
+                        @Value("${employee.jobs.max-queued:100}") int maxQueued,
+                        @Value("${employee.jobs.progress-interval:1s}") Duration progressInterval,
+                        @Value("${employee.jobs.directory:${java.io.tmpdir}/employee-jobs}") String directory,
+                        @Value("${employee.jobs.retention:7d}") Duration retention) {
+        this.jobRepository = jobRepository;
+        handlers.forEach(handler -> this.handlers.put(handler.getType(), handler));
+        this.jobExecutor = jobExecutor;
+        this.poolSize = poolSize;
+        this.maxQueued = maxQueued;
+        this.progressIntervalNanos = progressInterval.toNanos();
+        this.directory = Paths.get(directory);
+        this.retention = retention;
+    }
+
+    /**
+     * Queues a job, spooling {@code upload} (if any) to its work file first.
+     *
+     * @throws JobRejectedException when {@code employee.jobs.max-queued} jobs are already waiting
+     * @throws IllegalArgumentException when the handler rejects the parameters
+     */
+    public Job submit(JobType type, String parameters, InputStream upload) {
+        JobHandler handler = handlers.get(type);
+        if (handler == null) {
+            throw new IllegalArgumentException("No handler for " + type + " jobs");
+        }
+        String id = UUID.randomUUID().toString();
+        Path workFile = directory.resolve(id + (upload != null ? ".upload" : ".result"));
+        Job job = Job.builder()
+                .id(id)
+                .type(type)
+                .status(JobStatus.QUEUED)
+                .parameters(parameters)
+                .workFile(workFile.toString())
+                .build();
+        handler.checkParameters(job);
+        // approximate under concurrent submits, which is fine for a back-pressure limit
+        if (jobRepository.countByStatus(JobStatus.QUEUED) >= maxQueued) {
+            throw new JobRejectedException(maxQueued + " jobs are already queued, retry later");
+        }
+        try {
+            Files.createDirectories(directory);
+            if (upload != null) {
+                Files.copy(upload, workFile);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        job.setCreatedAt(Instant.now());
+        Job queued = jobRepository.save(job);
+        dispatch();
+        return queued;
+    }
+
+    public Optional<Job> getJob(String id) {
+        return jobRepository.findById(id);
+    }
+
+    /**
+     * Cancels a queued job outright; a running one stops at its next
+     * {@link JobContext#checkCancelled()}. Finished jobs are left alone.
+     */
+    public Optional<Job> cancel(String id) {
+        // both updates are conditional on the status, so a job a worker claims in between is not missed
+        if (jobRepository.cancelQueued(id, Instant.now()) == 0 && jobRepository.requestCancel(id) > 0) {
+            // dispatch registers a job it claimed before it lets go of the lock
+            synchronized (this) {
+                RunningJob running = runningJobs.get(id);
+                if (running != null) {
+                    running.cancelRequested = true;
+                }
+            }
+        }
+        return jobRepository.findById(id);
+    }
+
+    //Nothing survives a restart in memory, so whatever was running then can only be failed
+    @EventListener(ApplicationReadyEvent.class)
+    public void resume() {
+        int interrupted = jobRepository.failRunning(RESTART_MESSAGE, Instant.now());
+        if (interrupted > 0) {
+            log.warn("Marked {} jobs interrupted by the last shutdown as FAILED", interrupted);
+        }
+        dispatch();
+        purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-job-purger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        purger.scheduleWithFixedDelay(this::purgeQuietly, 0, PURGE_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (purger != null) {
+            purger.shutdownNow();
+        }
+    }
+
+    /**
+     * Deletes the jobs that finished before {@code cutoff}, and their work files.
+     *
+     * @return the number of jobs deleted
+     */
+    int purgeFinished(Instant cutoff) {
+        int purged = 0;
+        List<Job> finished;
+        do {
+            finished = jobRepository.findByFinishedAtBefore(cutoff, PageRequest.of(0, PURGE_BATCH_SIZE));
+            for (Job job : finished) {
+                try {
+                    Files.deleteIfExists(Paths.get(job.getWorkFile()));
+                } catch (IOException e) {
+                    log.warn("Could not delete the work file of job {}", job.getId(), e);
+                }
+            }
+            jobRepository.deleteAllByIdInBatch(finished.stream().map(Job::getId).collect(Collectors.toList()));
+            purged += finished.size();
+        } while (finished.size() == PURGE_BATCH_SIZE);
+        return purged;
+    }
+
+    private void purgeQuietly() {
+        try {
+            int purged = purgeFinished(Instant.now().minus(retention));
+            if (purged > 0) {
+                log.info("Deleted {} jobs finished more than {} ago", purged, retention);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not delete expired jobs", e);
+        }
+    }
+
+    synchronized void dispatch() {
+        while (runningJobs.size() < poolSize) {
+            List<JobType> available = handlers.values().stream()
+                    .filter(handler -> runningByType.getOrDefault(handler.getType(), 0) < handler.getConcurrency())
+                    .map(JobHandler::getType)
+                    .collect(Collectors.toList());
+            if (available.isEmpty()) {
+                return;
+            }
+            Optional<Job> next = jobRepository.findFirstByStatusAndTypeInOrderByCreatedAtAsc(JobStatus.QUEUED,
+                    available);
+            if (!next.isPresent()) {
+                return;
+            }
+            Job job = next.get();
+            if (jobRepository.markRunning(job.getId(), Instant.now()) == 0) {
+                // cancelled since it was read; look again
+                continue;
+            }
+            RunningJob running = new RunningJob(job, handlers.get(job.getType()));
+            runningJobs.put(job.getId(), running);
+            runningByType.merge(job.getType(), 1, Integer::sum);
+            jobExecutor.execute(() -> run(running));
+        }
+    }
+
+    private void run(RunningJob running) {
+        Job job = running.job;
+        JobStatus status;
+        String message;
+        try {
+            message = running.handler.run(running);
+            status = JobStatus.SUCCEEDED;
+        } catch (JobCancelledException e) {
+            message = "Cancelled after " + running.processed + " records";
+            status = JobStatus.CANCELLED;
+        } catch (Exception e) {
+            log.warn("Job {} ({}) failed", job.getId(), job.getType(), e);
+            message = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            status = JobStatus.FAILED;
+        }
+
+        try {
+            if (status != JobStatus.SUCCEEDED) {
+                // the work file is only worth keeping as the result of a succeeded job
+                Files.deleteIfExists(running.getWorkFile());
+            }
+            jobRepository.finish(job.getId(), status, running.processed, running.failed,
+                    truncate(message), Instant.now());
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not record the end of job {}", job.getId(), e);
+        } finally {
+            synchronized (this) {
+                runningJobs.remove(job.getId());
+                runningByType.merge(job.getType(), -1, Integer::sum);
+            }
+        }
+
+        try {
+            dispatch();
+        } catch (RuntimeException e) {
+            log.error("Could not start the next queued job", e);
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_MESSAGE_LENGTH ? message : message.substring(0, MAX_MESSAGE_LENGTH);
+    }
+
+    //Progress counters are only touched by the worker running the job
+    private final class RunningJob implements JobContext {
+
+        private final Job job;
+
+        private final JobHandler handler;
+
+        private volatile boolean cancelRequested;
+
+        private long processed;
+
+        private long failed;
+
+        private long lastFlush = System.nanoTime();
+
+        private RunningJob(Job job, JobHandler handler) {
+            this.job = job;
+            this.handler = handler;
+        }
+
+        @Override
+        public String getJobId() {
+            return job.getId();
+        }
+
+        @Override
+        public String getParameter(String name) {
+            return job.parameter(name);
+        }
+
+        @Override
+        public Path getWorkFile() {
+            return Paths.get(job.getWorkFile());
+        }
+
+        @Override
+        public void advance(long processed, long failed) {
+            this.processed += processed;
+            this.failed += failed;
+            long now = System.nanoTime();
+            if (now - lastFlush >= progressIntervalNanos) {
+                lastFlush = now;
+                jobRepository.updateProgress(job.getId(), this.processed, this.failed);
+            }
+        }
+
+        @Override
+        public void checkCancelled() {
+            if (cancelRequested) {
+                throw new JobCancelledException(job.getId());
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.arun.springboot.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk employee ingestion: how many records were read, inserted and rejected,
+ * and why the first {@link #MAX_REPORTED_ERRORS} rejected records were skipped.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkSaveResult {
+
+    // a payload of bad records must not produce a response as large as itself
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    private int received;
+
+    private int inserted;
+
+    // every rejected record, including those beyond the reported errors
+    private int rejected;
+
+    // the first rejected records, in payload order within a chunk
+    private List<RecordError> errors = new ArrayList<>();
+
+    public void reject(int index, String email, String message) {
+        rejected++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RecordError(index, email, message));
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RecordError {
+
+        // zero-based position of the record in the submitted payload
+        private int index;
+
+        private String email;
+
+        private String message;
+    }
+}
@@ -0,0 +1,19 @@
+package com.arun.springboot.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a bulk delete: how many employees the request selected and how many rows
+ * were actually removed. Ids that did not exist account for the difference.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeleteResult {
+
+    private int requested;
+
+    private int deleted;
+}
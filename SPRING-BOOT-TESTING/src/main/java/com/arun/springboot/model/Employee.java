@@ -5,17 +5,28 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 @Entity
-@Table(name = "employees")
+//Second-level cache region, used only when the l2cache profile turns the cache on
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "employees",
+        uniqueConstraints = @UniqueConstraint(name = Employee.EMAIL_UNIQUE_CONSTRAINT, columnNames = "email"),
+        //Name lookups filter on both columns; last_name leads so a surname-only search can use it too
+        indexes = @Index(name = Employee.NAME_INDEX, columnList = "last_name, first_name"))
 public class Employee {
 
+    public static final String EMAIL_UNIQUE_CONSTRAINT = "uk_employees_email";
+
+    public static final String NAME_INDEX = "idx_employees_last_name_first_name";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long id;
@@ -28,4 +39,9 @@ public class Employee {
 
     @Column(nullable = false)
     private String email;
+
+    //Optimistic locking: bumped on every update and exposed to clients as the ETag
+    @Version
+    @Column(nullable = false)
+    private long version;
 }
@@ -0,0 +1,21 @@
+package com.arun.springboot.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One keyset page of employees. {@code continuationToken} is opaque to clients and is
+ * {@code null} once the last page has been returned.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeePage {
+
+    private List<Employee> content;
+
+    private String continuationToken;
+}
@@ -0,0 +1,35 @@
+package com.arun.springboot.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * An employee read with only the fields a client asked for through {@code ?fields=}. It is
+ * built straight from the selected columns, never from an entity; fields that were not
+ * selected stay null and are left out of the JSON. The id is always selected.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeView {
+
+    // the names ?fields= accepts
+    public static final Set<String> FIELDS = Set.of("id", "firstName", "lastName", "email", "version");
+
+    private Long id;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String email;
+
+    private Long version;
+}
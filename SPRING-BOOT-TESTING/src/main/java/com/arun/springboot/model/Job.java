@@ -0,0 +1,81 @@
+package com.arun.springboot.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/**
+ * A bulk operation run in the background by {@link com.arun.springboot.job.JobScheduler}.
+ * The table doubles as the queue: QUEUED rows are started oldest first.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "jobs",
+        //The dispatcher looks for the oldest QUEUED job of the types that have a free slot;
+        //the retention sweep for jobs finished before a cutoff
+        indexes = {@Index(name = "idx_jobs_status_created_at", columnList = "status, created_at"),
+                @Index(name = "idx_jobs_finished_at", columnList = "finished_at")})
+public class Job {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private JobType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private JobStatus status;
+
+    // e.g. "format=csv" or "chunkSize=1000"
+    private String parameters;
+
+    // records read (import) or written (export) so far
+    private long processed;
+
+    // records rejected by an import
+    private long failed;
+
+    private boolean cancelRequested;
+
+    @Column(length = 1000)
+    private String message;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    // the spooled upload of an import or the file written by an export
+    @JsonIgnore
+    private String workFile;
+
+    /**
+     * The value of one {@code name=value} pair of {@link #getParameters()}, or null.
+     */
+    public String parameter(String name) {
+        if (parameters == null) {
+            return null;
+        }
+        for (String pair : parameters.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0 && pair.substring(0, eq).equals(name)) {
+                return pair.substring(eq + 1);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,18 @@
+package com.arun.springboot.model;
+
+public enum JobStatus {
+
+    QUEUED,
+
+    RUNNING,
+
+    SUCCEEDED,
+
+    FAILED,
+
+    CANCELLED;
+
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,10 @@
+package com.arun.springboot.model;
+
+public enum JobType {
+
+    // NDJSON or JSON array upload, spooled to disk and then inserted like POST /api/employees/bulk
+    EMPLOYEE_IMPORT,
+
+    // every employee written to a CSV or NDJSON file, downloaded from GET /api/jobs/{id}/result
+    EMPLOYEE_EXPORT
+}
@@ -0,0 +1,159 @@
+package com.arun.springboot.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The primary database, its read replicas and the choice of replica for a read-only
+ * transaction. Only replicas that {@link ReplicaHealthChecker} last found reachable and close
+ * enough behind the primary are chosen.
+ */
+public class EmployeeReplicas implements AutoCloseable {
+
+    // a replica that is down should fail its health check, not stall it
+    private static final long MIN_CONNECTION_TIMEOUT_MILLIS = 250;
+
+    private final HikariDataSource primary;
+
+    private final List<Replica> replicas;
+
+    private final ReplicaProperties.Selection selection;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    EmployeeReplicas(HikariDataSource primary, List<Replica> replicas, ReplicaProperties.Selection selection) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.selection = selection;
+    }
+
+    public static EmployeeReplicas create(HikariDataSource primary, ReplicaProperties properties) {
+        if (properties.getNodes().isEmpty()) {
+            throw new IllegalStateException("employee.replicas.nodes must list at least one database");
+        }
+        List<Replica> replicas = new ArrayList<>();
+        for (ReplicaProperties.Node node : properties.getNodes()) {
+            if (!StringUtils.hasText(node.getUrl())) {
+                throw new IllegalStateException("employee.replicas.nodes[" + replicas.size() + "].url is required");
+            }
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(node.getUrl())
+                    .username(node.getUsername())
+                    .password(node.getPassword())
+                    .build();
+            dataSource.setPoolName("employee-replica-" + replicas.size());
+            dataSource.setMaximumPoolSize(properties.getMaximumPoolSize());
+            dataSource.setConnectionTimeout(Math.max(MIN_CONNECTION_TIMEOUT_MILLIS,
+                    properties.getCheckInterval().toMillis()));
+            replicas.add(new Replica(dataSource.getPoolName(), dataSource));
+        }
+        return new EmployeeReplicas(primary, replicas, properties.getSelection());
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * The connection pools of the primary and every replica, for metrics.
+     */
+    public List<HikariDataSource> getPools() {
+        List<HikariDataSource> pools = new ArrayList<>();
+        pools.add(primary);
+        replicas.forEach(replica -> pools.add(replica.dataSource));
+        return pools;
+    }
+
+    /**
+     * A healthy replica, picked in turn or by fewest connections in use, or null when none
+     * is healthy.
+     */
+    public Replica select() {
+        // every pick starts one further along, which also spreads ties between replicas
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        Replica selected = null;
+        int selectedConnections = Integer.MAX_VALUE;
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.isHealthy()) {
+                continue;
+            }
+            if (selection == ReplicaProperties.Selection.ROUND_ROBIN) {
+                return replica;
+            }
+            int connections = replica.getActiveConnections();
+            if (connections < selectedConnections) {
+                selected = replica;
+                selectedConnections = connections;
+            }
+        }
+        return selected;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+        primary.close();
+    }
+
+    public static class Replica {
+
+        private final String name;
+
+        private final HikariDataSource dataSource;
+
+        private volatile boolean healthy;
+
+        private volatile long lagMillis = -1;
+
+        Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+
+        /**
+         * Whether the last check reached the replica and found it at most max-lag behind.
+         * False until the first check.
+         */
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        /**
+         * Lag measured by the last check, or -1 when it could not be measured.
+         */
+        public long getLagMillis() {
+            return lagMillis;
+        }
+
+        public int getActiveConnections() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getActiveConnections();
+        }
+
+        void update(boolean healthy, long lagMillis) {
+            this.lagMillis = lagMillis;
+            this.healthy = healthy;
+        }
+    }
+}
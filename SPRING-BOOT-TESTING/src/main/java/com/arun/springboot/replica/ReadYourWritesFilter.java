@@ -0,0 +1,97 @@
+package com.arun.springboot.replica;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Keeps a client on the primary for a while after it writes, so that it reads its own
+ * writes even while the replicas lag. Any request other than GET, HEAD, OPTIONS or TRACE
+ * counts as a write: it runs on the primary and sets a cookie that sends the client's
+ * requests there until the read-your-writes window has passed.
+ * <p>
+ * As a {@link TaskDecorator} it carries the pin over to work that a request hands to an
+ * executor.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter implements TaskDecorator {
+
+    public static final String COOKIE = "employee-primary-until";
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final long windowMillis;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    static boolean isPinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean write = !READ_METHODS.contains(request.getMethod());
+        if (write) {
+            // set up front: the response may be committed by the time the handler returns
+            Cookie cookie = new Cookie(COOKIE, Long.toString(now + windowMillis));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, (windowMillis + 999) / 1000));
+            response.addCookie(cookie);
+        } else if (!wroteRecently(request, now)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        PINNED.set(Boolean.TRUE);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            PINNED.remove();
+        }
+    }
+
+    @Override
+    public Runnable decorate(Runnable task) {
+        if (!isPinnedToPrimary()) {
+            return task;
+        }
+        return () -> {
+            PINNED.set(Boolean.TRUE);
+            try {
+                task.run();
+            } finally {
+                PINNED.remove();
+            }
+        };
+    }
+
+    private static boolean wroteRecently(HttpServletRequest request, long now) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > now;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
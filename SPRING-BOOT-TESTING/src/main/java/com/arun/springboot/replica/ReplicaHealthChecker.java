@@ -0,0 +1,99 @@
+package com.arun.springboot.replica;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how far each replica is behind the primary. Every check writes the current time
+ * to a one-row heartbeat table on the primary, reads it back from each replica and takes the
+ * difference as the replica's lag. A replica that cannot be read, or lags by more than
+ * max-lag, gets no reads until a later check finds it caught up.
+ * <p>
+ * The heartbeat row reaches the replicas through replication like any other row, and the
+ * lag is taken against this application's clock, so the instances sharing a primary need
+ * synchronised clocks.
+ */
+@Slf4j
+public class ReplicaHealthChecker {
+
+    static final String CREATE_HEARTBEAT_TABLE = "create table if not exists replica_heartbeat "
+            + "(id int not null primary key, beat_millis bigint not null)";
+
+    private final EmployeeReplicas replicas;
+
+    private final JdbcTemplate primary;
+
+    private final long maxLagMillis;
+
+    private final long intervalMillis;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "employee-replica-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReplicaHealthChecker(EmployeeReplicas replicas, Duration maxLag, Duration interval) {
+        this.replicas = replicas;
+        this.primary = new JdbcTemplate(replicas.getPrimary());
+        this.maxLagMillis = maxLag.toMillis();
+        this.intervalMillis = interval.toMillis();
+    }
+
+    public void start() {
+        primary.execute(CREATE_HEARTBEAT_TABLE);
+        scheduler.scheduleWithFixedDelay(this::checkQuietly, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Writes the heartbeat and updates every replica's lag and health.
+     */
+    public synchronized void check() {
+        try {
+            long beat = System.currentTimeMillis();
+            if (primary.update("update replica_heartbeat set beat_millis = ? where id = 1", beat) == 0) {
+                primary.update("insert into replica_heartbeat (id, beat_millis) values (1, ?)", beat);
+            }
+        } catch (DataAccessException e) {
+            // the replicas' lag then grows until the primary is back, and reads move to it
+            log.warn("Could not write the replica heartbeat: {}", e.getMessage());
+        }
+        for (EmployeeReplicas.Replica replica : replicas.getReplicas()) {
+            boolean wasHealthy = replica.isHealthy();
+            try {
+                Long beat = new JdbcTemplate(replica.getDataSource())
+                        .queryForObject("select beat_millis from replica_heartbeat where id = 1", Long.class);
+                long lagMillis = Math.max(0, System.currentTimeMillis() - beat);
+                replica.update(lagMillis <= maxLagMillis, lagMillis);
+                if (wasHealthy != replica.isHealthy()) {
+                    log.info("Replica {} is {} ms behind the primary and {} reads", replica.getName(), lagMillis,
+                            replica.isHealthy() ? "takes" : "no longer takes");
+                }
+            } catch (DataAccessException e) {
+                replica.update(false, -1);
+                if (wasHealthy) {
+                    log.warn("Replica {} failed its health check and no longer takes reads: {}",
+                            replica.getName(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void checkQuietly() {
+        try {
+            check();
+        } catch (RuntimeException e) {
+            log.error("Replica health check failed", e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.arun.springboot.replica;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "employee.replicas")
+public class ReplicaProperties {
+
+    public enum Selection {
+        ROUND_ROBIN, LEAST_CONNECTIONS
+    }
+
+    /**
+     * Whether read-only transactions run on {@link #nodes} rather than on spring.datasource.
+     */
+    private boolean enabled;
+
+    /**
+     * Read replicas of the spring.datasource database.
+     */
+    private List<Node> nodes = new ArrayList<>();
+
+    /**
+     * How a read-only transaction picks one of the healthy replicas.
+     */
+    private Selection selection = Selection.ROUND_ROBIN;
+
+    /**
+     * Hikari pool size of each replica.
+     */
+    private int maximumPoolSize = 10;
+
+    /**
+     * How long a client that wrote keeps reading from the primary, so that it sees its own
+     * writes; should cover the usual replication lag.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    /**
+     * Replicas further behind the primary than this are skipped until they catch up.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * How often the heartbeat is written to the primary and read back from every replica.
+     * Measured lag includes up to one interval, so keep it well below {@link #maxLag}.
+     */
+    private Duration checkInterval = Duration.ofSeconds(1);
+
+    @Data
+    public static class Node {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+    }
+}
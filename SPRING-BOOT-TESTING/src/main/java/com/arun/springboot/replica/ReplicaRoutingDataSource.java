@@ -0,0 +1,47 @@
+package com.arun.springboot.replica;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The application's DataSource when read replicas are configured. Read-only transactions
+ * get their connection from a replica chosen by {@link EmployeeReplicas#select()}; writes,
+ * work outside a transaction and requests {@link ReadYourWritesFilter pinned} to the primary
+ * get it from the primary, as do reads while no replica is healthy. Lookups that fill the
+ * shared employee cache run in a read-write transaction so they read the primary too.
+ * <p>
+ * A transaction is only marked read-only after it has asked for its connection, so this has
+ * to sit behind a {@link LazyConnectionDataSourceProxy}, which defers that until the first
+ * statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+
+    private final EmployeeReplicas replicas;
+
+    public ReplicaRoutingDataSource(EmployeeReplicas replicas) {
+        this.replicas = replicas;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, replicas.getPrimary());
+        replicas.getReplicas().forEach(replica -> targets.put(replica.getName(), replica.getDataSource()));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(replicas.getPrimary());
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || ReadYourWritesFilter.isPinnedToPrimary()) {
+            return PRIMARY;
+        }
+        EmployeeReplicas.Replica replica = replicas.select();
+        return replica == null ? PRIMARY : replica.getName();
+    }
+}
@@ -1,44 +1,67 @@
 package com.arun.springboot.repository;
 
 import com.arun.springboot.model.Employee;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface EmployeeRepository extends JpaRepository<Employee,Long> {
+public interface EmployeeRepository extends JpaRepository<Employee,Long>, EmployeeRepositoryCustom {
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<Employee> findByEmail(String email);
 
+    //Name lookups are served by Employee.NAME_INDEX; names are not unique, so they return every match.
+    //With the l2cache profile their results go to the query cache; native queries name the table they
+    //read so that writes to it invalidate them
+
     //Define Custom query using JPQL with index parameter
-    @Query("select e from Employee e where e.firstName = ?1 and e.lastName = ?2")
-    Employee findByJPQL(String firstName , String lastName);
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    @Query("select e from Employee e where e.firstName = ?1 and e.lastName = ?2 order by e.id")
+    List<Employee> findByJPQL(String firstName , String lastName);
 
 
     //Define Custom query using JPQL with named parameter
-    @Query("select e from Employee e where e.firstName =:firstName and e.lastName =:lastName")
-    Employee findByJPQLNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName);
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    @Query("select e from Employee e where e.firstName =:firstName and e.lastName =:lastName order by e.id")
+    List<Employee> findByJPQLNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName);
 
     //Define Custom query using NativeQuery with index parameter
-    @Query(value = "select * from employees e where e.first_name =?1 and e.last_name = ?2" , nativeQuery = true )
-    Employee findByNativeSQL(String firstName , String lastName);
+    @QueryHints({@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.query.native.spaces", value = "employees")})
+    @Query(value = "select * from employees e where e.first_name =?1 and e.last_name = ?2 order by e.id" , nativeQuery = true )
+    List<Employee> findByNativeSQL(String firstName , String lastName);
 
     //Define Custom query using NativeQuery with named parameter
-    @Query(value = "select * from employees e where e.first_name =:firstName and e.last_name =:lastName" , nativeQuery = true )
-    Employee findByNativeSQLNamed(@Param("firstName") String firstName , @Param("lastName") String lastName);
+    @QueryHints({@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.query.native.spaces", value = "employees")})
+    @Query(value = "select * from employees e where e.first_name =:firstName and e.last_name =:lastName order by e.id" , nativeQuery = true )
+    List<Employee> findByNativeSQLNamed(@Param("firstName") String firstName , @Param("lastName") String lastName);
+
+    //Paged name lookup for common names; sort by id so pages are stable
+    Page<Employee> findByFirstNameAndLastName(String firstName, String lastName, Pageable pageable);
+
+    //Keyset pagination: seek past the last id the client has seen instead of using an OFFSET
+    @Query("select e from Employee e where e.id > :lastSeenId order by e.id")
+    List<Employee> findNextPage(@Param("lastSeenId") long lastSeenId, Pageable pageable);
+
+    //Set-based delete: one DELETE ... WHERE id IN (...) without loading the entities first
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Employee e where e.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    //Keyset scan of the ids to delete, so a large filter is removed in short transactions
+    @Query("select e.id from Employee e where e.email like :pattern escape '!' and e.id > :lastSeenId order by e.id")
+    List<Long> findIdsByEmailLike(@Param("pattern") String pattern, @Param("lastSeenId") long lastSeenId,
+                                  Pageable pageable);
 }
-
-
-
-
-
-
-
-
-
-
-
-
-
-
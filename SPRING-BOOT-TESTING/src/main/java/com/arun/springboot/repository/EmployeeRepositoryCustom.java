@@ -0,0 +1,80 @@
+package com.arun.springboot.repository;
+
+import com.arun.springboot.model.Employee;
+import com.arun.springboot.model.EmployeeView;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Plain JDBC operations on the employees table that Spring Data JPA cannot express
+ * without materialising managed entities.
+ */
+public interface EmployeeRepositoryCustom {
+
+    /**
+     * Reads every employee in id order through a forward-only JDBC cursor and hands each
+     * row to the given action as soon as it is read. Rows are never collected in memory.
+     */
+    void streamAll(Consumer<Employee> action);
+
+    /**
+     * Same cursor as {@link #streamAll(Consumer)}, but hands the handler the raw row
+     * ({@code id, first_name, last_name, email, version}) so it can be written out without
+     * building an {@link Employee}.
+     */
+    void exportAll(RowCallbackHandler rowHandler);
+
+    /**
+     * Returns the subset of the given emails that already belong to an employee,
+     * using a single {@code IN} query.
+     */
+    Set<String> findExistingEmails(Collection<String> emails);
+
+    /**
+     * Reads the employees owning the given emails with a single {@code IN} query.
+     */
+    List<Employee> findByEmails(Collection<String> emails);
+
+    /**
+     * Reads every employee in id order, selecting only the columns of the given fields plus
+     * the id, and returns the rows as {@link EmployeeView}s. Fields are property names of
+     * {@link Employee}; any other name is rejected with an {@link IllegalArgumentException}.
+     */
+    List<EmployeeView> findAllFields(Set<String> fields);
+
+    /**
+     * Inserts the employees as one JDBC batch in a single transaction and returns the
+     * number of rows written. Generated ids are not read back.
+     */
+    int insertAll(List<Employee> employees);
+
+    /**
+     * Inserts the employee, or updates the names of the employee that already owns its
+     * email, in a single statement ({@code ON DUPLICATE KEY UPDATE} on MySQL, {@code MERGE}
+     * elsewhere), then reads the stored row back so the caller sees its id and version.
+     */
+    Employee upsertByEmail(Employee employee);
+
+    /**
+     * Writes only the given fields of one employee with a single
+     * {@code UPDATE employees SET ... WHERE id = ?}, without reading the row first, and bumps
+     * its version. Keys are property names ({@code firstName}, {@code lastName},
+     * {@code email}); any other key is rejected with an {@link IllegalArgumentException}.
+     * When {@code expectedVersion} is not null the row is only updated if it still has that
+     * version. Returns the number of rows updated.
+     */
+    int updateFields(long id, Map<String, Object> fields, Long expectedVersion);
+
+    /**
+     * Overwrites the names and email of each employee, by id, as one JDBC batch in a single
+     * transaction, but only where the row is still at the employee's version, and bumps it.
+     * Returns the number of rows updated per employee; 0 means the employee was deleted or
+     * changed by another write since that version was read.
+     */
+    int[] updateAll(List<Employee> employees);
+}
@@ -0,0 +1,303 @@
+package com.arun.springboot.repository;
+
+import com.arun.springboot.model.Employee;
+import com.arun.springboot.model.EmployeeView;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+    // %s: the id column and value, present only when ids come from the pooled-ids generator
+    private static final String MYSQL_UPSERT_TEMPLATE = "insert into employees (%sfirst_name, last_name, email, version)"
+            + " values (%s:firstName, :lastName, :email, 0)"
+            + " on duplicate key update first_name = values(first_name), last_name = values(last_name),"
+            + " version = version + 1";
+
+    private static final String MERGE_UPSERT_TEMPLATE = "merge into employees e"
+            + " using (values (%s:firstName, :lastName, :email)) s (%sfirst_name, last_name, email)"
+            + " on e.email = s.email"
+            + " when matched then update set e.first_name = s.first_name, e.last_name = s.last_name,"
+            + " e.version = e.version + 1"
+            + " when not matched then insert (%sfirst_name, last_name, email, version)"
+            + " values (%ss.first_name, s.last_name, s.email, 0)";
+
+    private static final String MYSQL_UPSERT = String.format(MYSQL_UPSERT_TEMPLATE, "", "");
+
+    private static final String MYSQL_UPSERT_WITH_ID = String.format(MYSQL_UPSERT_TEMPLATE, "id, ", ":id, ");
+
+    private static final String MERGE_UPSERT = String.format(MERGE_UPSERT_TEMPLATE, "", "", "", "");
+
+    private static final String MERGE_UPSERT_WITH_ID = String.format(MERGE_UPSERT_TEMPLATE,
+            ":id, ", "id, ", "id, ", "s.id, ");
+
+    private static final String INSERT = "insert into employees (first_name, last_name, email, version)"
+            + " values (?, ?, ?, 0)";
+
+    // under the pooled-ids profile the id column has no default
+    private static final String INSERT_WITH_ID = "insert into employees (id, first_name, last_name, email, version)"
+            + " values (?, ?, ?, ?, 0)";
+
+    private static final String SELECT_COLUMNS = "select id, first_name, last_name, email, version from employees";
+
+    // property name -> column; the only names a partial update may touch
+    static final Map<String, String> UPDATABLE_COLUMNS = Map.of(
+            "firstName", "first_name",
+            "lastName", "last_name",
+            "email", "email");
+
+    // property name -> column; the fields a sparse read may select, in the order they are selected
+    static final Map<String, String> SELECTABLE_COLUMNS = selectableColumns();
+
+    static final RowMapper<Employee> EMPLOYEE_ROW_MAPPER = (rs, rowNum) -> Employee.builder()
+            .id(rs.getLong("id"))
+            .firstName(rs.getString("first_name"))
+            .lastName(rs.getString("last_name"))
+            .email(rs.getString("email"))
+            .version(rs.getLong("version"))
+            .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    private final DataSource dataSource;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private volatile Boolean mysql;
+
+    public EmployeeRepositoryCustomImpl(DataSource dataSource, EntityManagerFactory entityManagerFactory,
+                                        @Value("${employee.stream.fetch-size:1000}") int fetchSize) {
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        // A dedicated template so the fetch size only applies to cursor reads;
+        // MySQL honours it when the URL sets useCursorFetch=true.
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    @Override
+    public void streamAll(Consumer<Employee> action) {
+        streamingJdbcTemplate.query(SELECT_COLUMNS + " order by id",
+                (RowCallbackHandler) rs -> action.accept(EMPLOYEE_ROW_MAPPER.mapRow(rs, rs.getRow())));
+    }
+
+    @Override
+    public void exportAll(RowCallbackHandler rowHandler) {
+        streamingJdbcTemplate.query(SELECT_COLUMNS + " order by id", rowHandler);
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList("select email from employees where email in (:emails)",
+                Map.of("emails", emails), String.class));
+    }
+
+    @Override
+    public List<Employee> findByEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(SELECT_COLUMNS + " where email in (:emails)", Map.of("emails", emails),
+                EMPLOYEE_ROW_MAPPER);
+    }
+
+    @Override
+    public List<EmployeeView> findAllFields(Set<String> fields) {
+        for (String field : fields) {
+            if (!SELECTABLE_COLUMNS.containsKey(field)) {
+                throw new IllegalArgumentException("Unknown employee field: " + field);
+            }
+        }
+        List<String> selected = SELECTABLE_COLUMNS.keySet().stream()
+                .filter(field -> field.equals("id") || fields.contains(field))
+                .collect(Collectors.toList());
+        String sql = selected.stream().map(SELECTABLE_COLUMNS::get)
+                .collect(Collectors.joining(", ", "select ", " from employees order by id"));
+        return jdbcTemplate.getJdbcTemplate().query(sql, (rs, rowNum) -> {
+            EmployeeView view = new EmployeeView();
+            for (int i = 0; i < selected.size(); i++) {
+                switch (selected.get(i)) {
+                    case "id":
+                        view.setId(rs.getLong(i + 1));
+                        break;
+                    case "firstName":
+                        view.setFirstName(rs.getString(i + 1));
+                        break;
+                    case "lastName":
+                        view.setLastName(rs.getString(i + 1));
+                        break;
+                    case "email":
+                        view.setEmail(rs.getString(i + 1));
+                        break;
+                    default:
+                        view.setVersion(rs.getLong(i + 1));
+                }
+            }
+            return view;
+        });
+    }
+
+    @Override
+    @Transactional
+    public int insertAll(List<Employee> employees) {
+        long[] ids = EntityIds.next(entityManagerFactory, Employee.class, employees);
+        List<Object[]> rows = new ArrayList<>(employees.size());
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            rows.add(ids == null
+                    ? new Object[]{employee.getFirstName(), employee.getLastName(), employee.getEmail()}
+                    : new Object[]{ids[i], employee.getFirstName(), employee.getLastName(), employee.getEmail()});
+        }
+        int[] counts = jdbcTemplate.getJdbcTemplate().batchUpdate(ids == null ? INSERT : INSERT_WITH_ID, rows);
+        evictFromSecondLevelCache(List.of());
+
+        int inserted = 0;
+        for (int count : counts) {
+            // rewritten MySQL batches report SUCCESS_NO_INFO instead of a row count
+            inserted += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+        }
+        return inserted;
+    }
+
+    @Override
+    @Transactional
+    public Employee upsertByEmail(Employee employee) {
+        long[] ids = EntityIds.next(entityManagerFactory, Employee.class, List.of(employee));
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", ids == null ? null : ids[0])
+                .addValue("firstName", employee.getFirstName())
+                .addValue("lastName", employee.getLastName())
+                .addValue("email", employee.getEmail());
+        // a pooled id is only used by the insert branch; updating an existing email wastes it
+        jdbcTemplate.update(upsertSql(ids != null), params);
+
+        // neither statement reports which branch ran, and the caller needs the id and version either way
+        Employee stored = jdbcTemplate.queryForObject(SELECT_COLUMNS + " where email = :email", params,
+                EMPLOYEE_ROW_MAPPER);
+        evictFromSecondLevelCache(stored.getId());
+        return stored;
+    }
+
+    @Override
+    public int updateFields(long id, Map<String, Object> fields, Long expectedVersion) {
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("No fields to update");
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("id", id);
+        // column names come from the whitelist only; values are always bound
+        String assignments = new LinkedHashMap<>(fields).entrySet().stream()
+                .map(field -> {
+                    String column = UPDATABLE_COLUMNS.get(field.getKey());
+                    if (column == null) {
+                        throw new IllegalArgumentException("Field " + field.getKey() + " cannot be updated");
+                    }
+                    params.addValue(field.getKey(), field.getValue());
+                    return column + " = :" + field.getKey();
+                })
+                .collect(Collectors.joining(", "));
+        String sql = "update employees set " + assignments + ", version = version + 1 where id = :id";
+        if (expectedVersion != null) {
+            sql += " and version = :version";
+            params.addValue("version", expectedVersion);
+        }
+        int updated = jdbcTemplate.update(sql, params);
+        if (updated > 0) {
+            evictFromSecondLevelCache(id);
+        }
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public int[] updateAll(List<Employee> employees) {
+        List<Object[]> rows = employees.stream()
+                .map(employee -> new Object[]{employee.getFirstName(), employee.getLastName(), employee.getEmail(),
+                        employee.getId(), employee.getVersion()})
+                .collect(Collectors.toList());
+        int[] counts = jdbcTemplate.getJdbcTemplate().batchUpdate("update employees set first_name = ?,"
+                + " last_name = ?, email = ?, version = version + 1 where id = ? and version = ?", rows);
+        evictFromSecondLevelCache(employees.stream().map(Employee::getId).collect(Collectors.toList()));
+        return counts;
+    }
+
+    // Hibernate does not see JdbcTemplate writes, so the cached entity (if any) and every cached
+    // query result are dropped now and again after commit, when a concurrent reader may have
+    // cached the row as it was before this transaction. Both calls are no-ops without the l2cache profile.
+    private void evictFromSecondLevelCache(long id) {
+        evictFromSecondLevelCache(List.of(id));
+    }
+
+    private void evictFromSecondLevelCache(Collection<Long> ids) {
+        evict(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(ids);
+                }
+            });
+        }
+    }
+
+    private void evict(Collection<Long> ids) {
+        ids.forEach(id -> entityManagerFactory.getCache().evict(Employee.class, id));
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+
+    private String upsertSql(boolean withId) {
+        Boolean mysql = this.mysql;
+        if (mysql == null) {
+            try {
+                String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+                mysql = product.toLowerCase().contains("mysql") || product.toLowerCase().contains("mariadb");
+            } catch (MetaDataAccessException e) {
+                mysql = false;
+            }
+            this.mysql = mysql;
+        }
+        if (mysql) {
+            return withId ? MYSQL_UPSERT_WITH_ID : MYSQL_UPSERT;
+        }
+        return withId ? MERGE_UPSERT_WITH_ID : MERGE_UPSERT;
+    }
+
+    private static Map<String, String> selectableColumns() {
+        Map<String, String> columns = new LinkedHashMap<>();
+        columns.put("id", "id");
+        columns.put("firstName", "first_name");
+        columns.put("lastName", "last_name");
+        columns.put("email", "email");
+        columns.put("version", "version");
+        return Collections.unmodifiableMap(columns);
+    }
+}
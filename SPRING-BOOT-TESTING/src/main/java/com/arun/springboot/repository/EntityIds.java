@@ -0,0 +1,50 @@
+package com.arun.springboot.repository;
+
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.Assigned;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.PostInsertIdentifierGenerator;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+/**
+ * Ids for rows inserted over JDBC, drawn from the generator Hibernate maps for the entity so
+ * they never collide with the ids it hands out itself under the pooled-ids profile. Under the
+ * sharding profile ids are assigned, and set on the entities before they get here.
+ */
+final class EntityIds {
+
+    private EntityIds() {
+    }
+
+    /**
+     * Ids for the given entities, in order, or null while the id is an IDENTITY column the
+     * database fills in.
+     */
+    static long[] next(EntityManagerFactory entityManagerFactory, Class<?> entityClass, List<?> entities) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        IdentifierGenerator generator = sessionFactory.getMetamodel().entityPersister(entityClass)
+                .getIdentifierGenerator();
+        if (generator instanceof PostInsertIdentifierGenerator) {
+            return null;
+        }
+        int count = entities.size();
+        long[] ids = new long[count];
+        if (generator instanceof Assigned) {
+            for (int i = 0; i < count; i++) {
+                ids[i] = ((Number) entityManagerFactory.getPersistenceUnitUtil().getIdentifier(entities.get(i))).longValue();
+            }
+            return ids;
+        }
+        // pooled-lo hands most ids out from memory; the session is only used when a block runs out
+        try (Session session = sessionFactory.openSession()) {
+            for (int i = 0; i < count; i++) {
+                ids[i] = ((Number) generator.generate((SharedSessionContractImplementor) session, null)).longValue();
+            }
+        }
+        return ids;
+    }
+}
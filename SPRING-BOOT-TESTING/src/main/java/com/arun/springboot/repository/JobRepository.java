@@ -0,0 +1,66 @@
+package com.arun.springboot.repository;
+
+import com.arun.springboot.model.Job;
+import com.arun.springboot.model.JobStatus;
+import com.arun.springboot.model.JobType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface JobRepository extends JpaRepository<Job, String> {
+
+    Optional<Job> findFirstByStatusAndTypeInOrderByCreatedAtAsc(JobStatus status, Collection<JobType> types);
+
+    long countByStatus(JobStatus status);
+
+    //Only finished jobs have finishedAt set
+    List<Job> findByFinishedAtBefore(Instant cutoff, Pageable pageable);
+
+    //Claims a queued job; 0 when it was cancelled or claimed in the meantime
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Job j set j.status = com.arun.springboot.model.JobStatus.RUNNING, j.startedAt = :now"
+            + " where j.id = :id and j.status = com.arun.springboot.model.JobStatus.QUEUED")
+    int markRunning(@Param("id") String id, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Job j set j.processed = :processed, j.failed = :failed where j.id = :id")
+    int updateProgress(@Param("id") String id, @Param("processed") long processed, @Param("failed") long failed);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Job j set j.status = :status, j.processed = :processed, j.failed = :failed,"
+            + " j.message = :message, j.finishedAt = :now where j.id = :id")
+    int finish(@Param("id") String id, @Param("status") JobStatus status, @Param("processed") long processed,
+               @Param("failed") long failed, @Param("message") String message, @Param("now") Instant now);
+
+    //Cancels a job that has not started; 0 when it is already running or finished
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Job j set j.status = com.arun.springboot.model.JobStatus.CANCELLED, j.cancelRequested = true,"
+            + " j.finishedAt = :now where j.id = :id and j.status = com.arun.springboot.model.JobStatus.QUEUED")
+    int cancelQueued(@Param("id") String id, @Param("now") Instant now);
+
+    //Asks a running job to stop; 0 when it is not running (any more)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Job j set j.cancelRequested = true"
+            + " where j.id = :id and j.status = com.arun.springboot.model.JobStatus.RUNNING")
+    int requestCancel(@Param("id") String id);
+
+    //Jobs a previous run of the application left RUNNING can never finish
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Job j set j.status = com.arun.springboot.model.JobStatus.FAILED, j.message = :message,"
+            + " j.finishedAt = :now where j.status = com.arun.springboot.model.JobStatus.RUNNING")
+    int failRunning(@Param("message") String message, @Param("now") Instant now);
+}
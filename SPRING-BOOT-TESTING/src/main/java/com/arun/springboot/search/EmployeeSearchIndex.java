@@ -0,0 +1,292 @@
+package com.arun.springboot.search;
+
+import com.arun.springboot.model.Employee;
+import com.arun.springboot.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over employee first name, last name and email for type-ahead
+ * search. Each lower-cased word of those fields maps to the ids of the employees that
+ * contain it, in a sorted map, so every query word is a prefix range scan over the words.
+ * A lookup costs a few map descents plus the postings it visits, not a pass over the table,
+ * and never touches the database. The longest query word needs {@link #MIN_PREFIX_LENGTH}
+ * characters, since a one-letter prefix would visit the postings of a large share of the words.
+ * <p>
+ * Per employee only the id, names, email and version are held, not the entity. On a 64-bit
+ * JVM with compressed oops that is roughly 250 bytes for the id map entry and the three
+ * field strings (at about ten Latin-1 characters each), plus about 50 bytes per word for its
+ * postings entry; a distinct word's string and skip list node are paid once. A typical row
+ * has five words (first name, last name and the three parts of the email), so about 0.5 KB.
+ * <p>
+ * {@code EmployeeServiceImp} keeps the index in step with its own writes, and it is
+ * rebuilt from the repository once the application has started. Rows written or deleted by
+ * other processes only show up after the next rebuild. A rebuild fills fresh maps and swaps
+ * them in, replaying the writes made during its scan, so searches keep using the old index
+ * and writers are not held up by the scan. Writers are serialized; readers never block.
+ */
+@Slf4j
+@Component
+public class EmployeeSearchIndex {
+
+    public static final int MIN_PREFIX_LENGTH = 2;
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final EmployeeRepository employeeRepository;
+
+    private volatile Snapshot current = new Snapshot();
+
+    // ids written while a rebuild scans the table, null when none runs; guarded by this
+    private Set<Long> writtenDuringRebuild;
+
+    // one rebuild at a time, without holding up the writers
+    private final Object rebuildLock = new Object();
+
+    public EmployeeSearchIndex(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            long start = System.nanoTime();
+            synchronized (this) {
+                writtenDuringRebuild = new HashSet<>();
+            }
+            Snapshot rebuilt = new Snapshot();
+            try {
+                employeeRepository.streamAll(employee -> rebuilt.add(Document.of(employee)));
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    writtenDuringRebuild = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                // the scan may have read these rows before or after the write; the live index has the outcome
+                for (Long id : writtenDuringRebuild) {
+                    rebuilt.remove(id);
+                    Document written = current.documents.get(id);
+                    if (written != null) {
+                        rebuilt.add(written);
+                    }
+                }
+                writtenDuringRebuild = null;
+                current = rebuilt;
+            }
+            log.info("Indexed {} employees for search in {} ms", rebuilt.documents.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    public synchronized void index(Employee employee) {
+        Document document = Document.of(employee);
+        current.remove(document.id);
+        current.add(document);
+        written(document.id);
+    }
+
+    /**
+     * Applies a partial update, as written by {@code EmployeeRepository.updateFields}, to
+     * the indexed record without reading the row back.
+     */
+    public synchronized void update(long id, Map<String, Object> fields) {
+        Document indexed = current.documents.get(id);
+        if (indexed == null) {
+            employeeRepository.findById(id).ifPresent(this::index);
+            return;
+        }
+        String firstName = indexed.firstName;
+        String lastName = indexed.lastName;
+        String email = indexed.email;
+        for (Map.Entry<String, Object> field : fields.entrySet()) {
+            if ("firstName".equals(field.getKey())) {
+                firstName = (String) field.getValue();
+            } else if ("lastName".equals(field.getKey())) {
+                lastName = (String) field.getValue();
+            } else if ("email".equals(field.getKey())) {
+                email = (String) field.getValue();
+            }
+        }
+        current.remove(id);
+        current.add(new Document(id, firstName, lastName, email, indexed.version + 1));
+        written(id);
+    }
+
+    public synchronized void remove(long id) {
+        current.remove(id);
+        written(id);
+    }
+
+    public synchronized void removeAll(Collection<Long> ids) {
+        ids.forEach(this::remove);
+    }
+
+    /**
+     * Employees having, for every word of the query, a word in their first name, last name
+     * or email that starts with it. Results follow the alphabetical order of the words
+     * matching the longest query word, then id.
+     *
+     * @throws IllegalArgumentException if no query word has {@link #MIN_PREFIX_LENGTH} characters
+     */
+    public List<Employee> search(String query, int limit) {
+        List<String> terms = split(query);
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        // scan the postings of the longest word, usually the most selective, and check the
+        // other words against each candidate's own words rather than building their postings
+        String driver = terms.stream().max(Comparator.comparingInt(String::length)).get();
+        if (driver.length() < MIN_PREFIX_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Search needs a word of at least " + MIN_PREFIX_LENGTH + " characters");
+        }
+        List<String> others = new ArrayList<>(terms);
+        others.remove(driver);
+
+        Snapshot snapshot = current;
+        Set<Long> found = new LinkedHashSet<>();
+        List<Employee> employees = new ArrayList<>();
+        scan:
+        for (Set<Long> ids : snapshot.withPrefix(driver).values()) {
+            for (Long id : ids) {
+                Document candidate = snapshot.documents.get(id);
+                if (candidate != null && matchesAll(candidate.words(), others) && found.add(id)) {
+                    employees.add(candidate.toEmployee());
+                    if (found.size() == limit) {
+                        break scan;
+                    }
+                }
+            }
+        }
+        return employees;
+    }
+
+    public int size() {
+        return current.documents.size();
+    }
+
+    private void written(long id) {
+        if (writtenDuringRebuild != null) {
+            writtenDuringRebuild.add(id);
+        }
+    }
+
+    private static boolean matchesAll(Set<String> words, List<String> prefixes) {
+        for (String prefix : prefixes) {
+            if (words.stream().noneMatch(word -> word.startsWith(prefix))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> split(String text) {
+        List<String> words = new ArrayList<>();
+        if (text != null) {
+            for (String word : WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+                if (!word.isEmpty()) {
+                    words.add(word);
+                }
+            }
+        }
+        return words;
+    }
+
+    // the postings and records searches read; writers change the current one in place
+    private static final class Snapshot {
+
+        // word -> ids of the employees containing it, in id order
+        private final ConcurrentSkipListMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+
+        // id -> what search returns for it; updates also use it to drop stale words
+        private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+
+        private void add(Document document) {
+            documents.put(document.id, document);
+            for (String word : document.words()) {
+                postings.computeIfAbsent(word, key -> new ConcurrentSkipListSet<>()).add(document.id);
+            }
+        }
+
+        private void remove(long id) {
+            Document indexed = documents.remove(id);
+            if (indexed == null) {
+                return;
+            }
+            for (String word : indexed.words()) {
+                postings.computeIfPresent(word, (key, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+
+        private NavigableMap<String, Set<Long>> withPrefix(String prefix) {
+            return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        }
+    }
+
+    // the fields a search result shows, without the entity and its Hibernate state
+    private static final class Document {
+
+        private final long id;
+
+        private final String firstName;
+
+        private final String lastName;
+
+        private final String email;
+
+        private final long version;
+
+        private Document(long id, String firstName, String lastName, String email, long version) {
+            this.id = id;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.email = email;
+            this.version = version;
+        }
+
+        private static Document of(Employee employee) {
+            return new Document(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                    employee.getEmail(), employee.getVersion());
+        }
+
+        private Set<String> words() {
+            Set<String> words = new HashSet<>();
+            words.addAll(split(firstName));
+            words.addAll(split(lastName));
+            words.addAll(split(email));
+            return words;
+        }
+
+        private Employee toEmployee() {
+            return Employee.builder()
+                    .id(id)
+                    .firstName(firstName)
+                    .lastName(lastName)
+                    .email(email)
+                    .version(version)
+                    .build();
+        }
+    }
+}
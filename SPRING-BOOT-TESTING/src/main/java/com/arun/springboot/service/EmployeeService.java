@@ -1,17 +1,53 @@
 package com.arun.springboot.service;
 
+import com.arun.springboot.export.EmployeeExportFormat;
+import com.arun.springboot.model.BulkSaveResult;
+import com.arun.springboot.model.DeleteResult;
 import com.arun.springboot.model.Employee;
+import com.arun.springboot.model.EmployeePage;
+import com.arun.springboot.model.EmployeeView;
 
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
 
+    // the largest chunkSize of saveEmployees, and the most ids deleteEmployees takes
+    int MAX_CHUNK_SIZE = 10_000;
+
     Employee saveEmployee(Employee employee);
+
+    Employee upsertEmployee(Employee employee);
+
+    BulkSaveResult saveEmployees(Iterator<Employee> employees, int chunkSize);
+
     List<Employee> getAllEmployees();
+
+    List<EmployeeView> getAllEmployeeFields(Set<String> fields);
+
+    EmployeePage getEmployeesPage(String continuationToken, int size);
+
+    void streamAllEmployees(Consumer<Employee> action);
+
+    long exportEmployees(EmployeeExportFormat format, OutputStream outputStream);
+
     Optional<Employee> getEmployeeById(long Id);
 
+    List<Employee> searchEmployees(String query, int limit);
+
     Employee updateEmployee(Employee  updatedEmployee);
 
+    boolean patchEmployee(long id, Map<String, Object> fields, Long expectedVersion);
+
     public  void deleteEmployee(long Id);
+
+    DeleteResult deleteEmployees(Collection<Long> ids);
+
+    DeleteResult deleteEmployeesByEmailDomain(String domain);
 }
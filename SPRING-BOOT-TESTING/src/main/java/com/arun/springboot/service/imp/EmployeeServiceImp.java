@@ -1,53 +1,438 @@
 package com.arun.springboot.service.imp;
 
+import com.arun.springboot.config.CacheConfig;
 import com.arun.springboot.exception.ResourceNotFoundException;
+import com.arun.springboot.export.EmployeeExportFormat;
+import com.arun.springboot.export.EmployeeExportWriter;
+import com.arun.springboot.model.BulkSaveResult;
+import com.arun.springboot.model.DeleteResult;
 import com.arun.springboot.model.Employee;
+import com.arun.springboot.model.EmployeePage;
+import com.arun.springboot.model.EmployeeView;
 import com.arun.springboot.repository.EmployeeRepository;
+import com.arun.springboot.search.EmployeeSearchIndex;
 import com.arun.springboot.service.EmployeeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 public class EmployeeServiceImp implements EmployeeService {
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    static final int MAX_SEARCH_RESULTS = 100;
+
+    // ids per DELETE statement; keeps IN lists and row locks small
+    static final int DELETE_CHUNK_SIZE = 1000;
+
+    private static final String CURSOR_PREFIX = "e1:";
+
     private EmployeeRepository employeeRepository;
 
+    private EmployeeSearchIndex searchIndex;
+
     @Autowired
-    public EmployeeServiceImp(EmployeeRepository employeeRepository) {
+    public EmployeeServiceImp(EmployeeRepository employeeRepository, EmployeeSearchIndex searchIndex) {
         this.employeeRepository = employeeRepository;
+        this.searchIndex = searchIndex;
     }
 
 
     @Override
+    @CachePut(cacheNames = CacheConfig.EMPLOYEE_CACHE, key = "#result.id")
     public Employee saveEmployee(Employee employee) {
+        // The unique index on email rejects duplicates atomically, so there is no lookup first
+        Employee savedEmployee;
+        try {
+            savedEmployee = employeeRepository.saveAndFlush(employee);
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateEmail(e)) {
+                throw new ResourceNotFoundException("Employee already Exist with given Email " + employee.getEmail(), e);
+            }
+            throw e;
+        }
+        searchIndex.index(savedEmployee);
+        return savedEmployee;
+    }
 
-        Optional<Employee> savedEmployee = employeeRepository.findByEmail(employee.getEmail());
-        if (savedEmployee.isPresent()) {
-            throw new ResourceNotFoundException("Employee already Exist with given Email " + employee.getEmail());
+    @Override
+    @CachePut(cacheNames = CacheConfig.EMPLOYEE_CACHE, key = "#result.id")
+    public Employee upsertEmployee(Employee employee) {
+        String problem = validate(employee);
+        if (problem != null) {
+            throw new IllegalArgumentException(problem);
         }
+        Employee savedEmployee = employeeRepository.upsertByEmail(employee);
+        searchIndex.index(savedEmployee);
+        return savedEmployee;
+    }
 
-        return employeeRepository.save(employee);
+    @Override
+    // new ids may shadow cached misses, and we do not read the generated ids back
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEE_CACHE, allEntries = true)
+    public BulkSaveResult saveEmployees(Iterator<Employee> employees, int chunkSize) {
+        if (chunkSize < 1 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Chunk size must be between 1 and " + MAX_CHUNK_SIZE);
+        }
+        BulkSaveResult result = new BulkSaveResult();
+        List<Employee> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        while (employees.hasNext()) {
+            chunk.add(employees.next());
+            if (chunk.size() == chunkSize) {
+                saveChunk(chunk, index, result);
+                index += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            saveChunk(chunk, index, result);
+        }
+        return result;
+    }
+
+    // Validates a chunk, drops emails that already exist (one query per chunk) and
+    // inserts the rest as a single JDBC batch. firstIndex is the payload position of chunk[0].
+    // Emails are compared trimmed and lower-cased, as the unique index's collation compares them.
+    private void saveChunk(List<Employee> chunk, int firstIndex, BulkSaveResult result) {
+        result.setReceived(result.getReceived() + chunk.size());
+
+        List<Integer> candidates = new ArrayList<>(chunk.size());
+        Set<String> chunkEmails = new HashSet<>();
+        Set<String> lookupEmails = new LinkedHashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Employee employee = chunk.get(i);
+            String problem = validate(employee);
+            if (problem == null) {
+                employee.setEmail(employee.getEmail().trim());
+                if (!chunkEmails.add(normalizeEmail(employee.getEmail()))) {
+                    problem = "Duplicate email in request";
+                }
+            }
+            if (problem != null) {
+                rejectRecord(result, firstIndex + i, employee, problem);
+            } else {
+                candidates.add(i);
+                lookupEmails.add(employee.getEmail());
+            }
+        }
+
+        Set<String> existingEmails = new HashSet<>();
+        employeeRepository.findExistingEmails(lookupEmails)
+                .forEach(email -> existingEmails.add(normalizeEmail(email)));
+        List<Employee> toInsert = new ArrayList<>(candidates.size());
+        List<Integer> insertIndexes = new ArrayList<>(candidates.size());
+        for (int i : candidates) {
+            Employee employee = chunk.get(i);
+            if (existingEmails.contains(normalizeEmail(employee.getEmail()))) {
+                rejectRecord(result, firstIndex + i, employee,
+                        "Employee already Exist with given Email " + employee.getEmail());
+            } else {
+                toInsert.add(employee);
+                insertIndexes.add(firstIndex + i);
+            }
+        }
+        if (toInsert.isEmpty()) {
+            return;
+        }
+
+        List<String> insertedEmails = new ArrayList<>(toInsert.size());
+        try {
+            result.setInserted(result.getInserted() + employeeRepository.insertAll(toInsert));
+            toInsert.forEach(employee -> insertedEmails.add(employee.getEmail()));
+        } catch (DataIntegrityViolationException e) {
+            // one row (typically an email inserted concurrently) sinks the whole batch; find it row by row
+            insertOneByOne(toInsert, insertIndexes, result, insertedEmails);
+        } catch (DataAccessException e) {
+            // the batch runs in one transaction, so every record in it was rolled back
+            for (int i = 0; i < toInsert.size(); i++) {
+                rejectRecord(result, insertIndexes.get(i), toInsert.get(i),
+                        "Batch insert failed: " + e.getMostSpecificCause().getMessage());
+            }
+            return;
+        }
+        // the batch does not return generated ids, so read the new rows back for the search index
+        employeeRepository.findByEmails(insertedEmails).forEach(searchIndex::index);
+    }
+
+    private void insertOneByOne(List<Employee> toInsert, List<Integer> insertIndexes, BulkSaveResult result,
+                                List<String> insertedEmails) {
+        for (int i = 0; i < toInsert.size(); i++) {
+            Employee employee = toInsert.get(i);
+            try {
+                result.setInserted(result.getInserted() + employeeRepository.insertAll(List.of(employee)));
+                insertedEmails.add(employee.getEmail());
+            } catch (DataIntegrityViolationException e) {
+                rejectRecord(result, insertIndexes.get(i), employee, isDuplicateEmail(e)
+                        ? "Employee already Exist with given Email " + employee.getEmail()
+                        : "Insert failed: " + e.getMostSpecificCause().getMessage());
+            } catch (DataAccessException e) {
+                for (int rest = i; rest < toInsert.size(); rest++) {
+                    rejectRecord(result, insertIndexes.get(rest), toInsert.get(rest),
+                            "Batch insert failed: " + e.getMostSpecificCause().getMessage());
+                }
+                return;
+            }
+        }
+    }
+
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isDuplicateEmail(DataIntegrityViolationException e) {
+        if (e instanceof DuplicateKeyException) {
+            return true;
+        }
+        Throwable cause = e.getCause();
+        if (cause instanceof ConstraintViolationException) {
+            String constraintName = ((ConstraintViolationException) cause).getConstraintName();
+            return constraintName != null
+                    && constraintName.toLowerCase().contains(Employee.EMAIL_UNIQUE_CONSTRAINT);
+        }
+        return false;
+    }
+
+    private static String validate(Employee employee) {
+        if (employee == null) {
+            return "Record is empty";
+        }
+        if (isBlank(employee.getFirstName())) {
+            return "firstName is required";
+        }
+        if (isBlank(employee.getLastName())) {
+            return "lastName is required";
+        }
+        if (isBlank(employee.getEmail())) {
+            return "email is required";
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static void rejectRecord(BulkSaveResult result, int index, Employee employee, String message) {
+        String email = employee == null ? null : employee.getEmail();
+        result.reject(index, email, message);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Employee> getAllEmployees() {
         return employeeRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    // plain rows of the requested columns: no entities, so nothing for Hibernate to snapshot
+    public List<EmployeeView> getAllEmployeeFields(Set<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            throw new IllegalArgumentException("At least one field is required");
+        }
+        for (String field : fields) {
+            if (!EmployeeView.FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unknown employee field: " + field);
+            }
+        }
+        return employeeRepository.findAllFields(fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeePage getEmployeesPage(String continuationToken, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        long lastSeenId = continuationToken == null ? 0L : decodeCursor(continuationToken);
+
+        // Ask for one extra row so we know whether another page exists without a COUNT query
+        List<Employee> rows = employeeRepository.findNextPage(lastSeenId, PageRequest.of(0, size + 1));
+        if (rows.size() <= size) {
+            return new EmployeePage(rows, null);
+        }
+        List<Employee> content = rows.subList(0, size);
+        return new EmployeePage(content, encodeCursor(content.get(size - 1).getId()));
+    }
+
+    @Override
+    public void streamAllEmployees(Consumer<Employee> action) {
+        employeeRepository.streamAll(action);
+    }
+
+    @Override
+    public long exportEmployees(EmployeeExportFormat format, OutputStream outputStream) {
+        try (EmployeeExportWriter writer = EmployeeExportWriter.create(format, outputStream)) {
+            employeeRepository.exportAll(writer);
+            return writer.getRows();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEE_CACHE, key = "#Id")
+    // not read-only, so a miss is read from the primary: the cache is shared by every client, and a
+    // lagging replica's row would be served for the whole TTL, past any read-your-writes pin
+    @Transactional
     public Optional<Employee> getEmployeeById(long Id) {
         return employeeRepository.findById(Id);
     }
 
     @Override
+    public List<Employee> searchEmployees(String query, int limit) {
+        if (isBlank(query)) {
+            throw new IllegalArgumentException("A search query is required");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        return searchIndex.search(query, limit);
+    }
+
+    @Override
+    // evict up front so a reader is not served the old row while the update is under way, and
+    // again once save has committed, in case such a reader loaded and cached the old row meanwhile
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EMPLOYEE_CACHE, key = "#updatedEmployee.id", beforeInvocation = true),
+            @CacheEvict(cacheNames = CacheConfig.EMPLOYEE_CACHE, key = "#updatedEmployee.id")})
     public Employee updateEmployee(Employee updatedEmployee) {
-        return employeeRepository.save(updatedEmployee);
+        Employee savedEmployee = employeeRepository.save(updatedEmployee);
+        searchIndex.index(savedEmployee);
+        return savedEmployee;
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEE_CACHE, key = "#id")
+    public boolean patchEmployee(long id, Map<String, Object> fields, Long expectedVersion) {
+        if (fields == null || fields.isEmpty()) {
+            throw new IllegalArgumentException("At least one field is required");
+        }
+        fields.forEach((name, value) -> {
+            // every column is NOT NULL, so a patch can change a value but never clear it
+            if (!(value instanceof String) || isBlank((String) value)) {
+                throw new IllegalArgumentException(name + " must be a non-blank string");
+            }
+        });
+        int updated;
+        try {
+            updated = employeeRepository.updateFields(id, fields, expectedVersion);
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateEmail(e)) {
+                throw new ResourceNotFoundException("Employee already Exist with given Email " + fields.get("email"), e);
+            }
+            throw e;
+        }
+        // only a conditional update needs the second query, to tell a stale version from a missing row
+        if (updated == 0 && expectedVersion != null && employeeRepository.existsById(id)) {
+            throw new OptimisticLockingFailureException("Employee " + id + " is no longer at version " + expectedVersion);
+        }
+        if (updated > 0) {
+            searchIndex.update(id, fields);
+        }
+        return updated > 0;
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEE_CACHE, key = "#Id")
     public void deleteEmployee(long Id) {
         employeeRepository.deleteById(Id);
+        searchIndex.remove(Id);
+    }
+
+    @Override
+    // the deleted ids are not known up front for filters, so drop the whole cache in both cases
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEE_CACHE, allEntries = true)
+    public DeleteResult deleteEmployees(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one id is required");
+        }
+        if (ids.size() > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_CHUNK_SIZE + " ids can be deleted per request");
+        }
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        int deleted = 0;
+        for (int from = 0; from < distinctIds.size(); from += DELETE_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + DELETE_CHUNK_SIZE, distinctIds.size()));
+            deleted += employeeRepository.deleteByIdIn(chunk);
+            searchIndex.removeAll(chunk);
+        }
+        return new DeleteResult(distinctIds.size(), deleted);
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEE_CACHE, allEntries = true)
+    public DeleteResult deleteEmployeesByEmailDomain(String domain) {
+        if (isBlank(domain) || domain.contains("@")) {
+            throw new IllegalArgumentException("A domain such as example.com is required");
+        }
+        String pattern = "%@" + escapeLike(domain);
+        int requested = 0;
+        int deleted = 0;
+        long lastSeenId = 0L;
+        List<Long> chunk;
+        // each chunk is selected and deleted in its own short transaction
+        do {
+            chunk = employeeRepository.findIdsByEmailLike(pattern, lastSeenId, PageRequest.of(0, DELETE_CHUNK_SIZE));
+            if (!chunk.isEmpty()) {
+                requested += chunk.size();
+                deleted += employeeRepository.deleteByIdIn(chunk);
+                searchIndex.removeAll(chunk);
+                lastSeenId = chunk.get(chunk.size() - 1);
+            }
+        } while (chunk.size() == DELETE_CHUNK_SIZE);
+        return new DeleteResult(requested, deleted);
+    }
+
+    // '!' rather than a backslash, which MySQL would read as a string-literal escape
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    private static String encodeCursor(long lastSeenId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + lastSeenId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decodeCursor(String continuationToken) {
+        try {
+            String cursor = new String(Base64.getUrlDecoder().decode(continuationToken), StandardCharsets.UTF_8);
+            if (cursor.startsWith(CURSOR_PREFIX)) {
+                return Long.parseLong(cursor.substring(CURSOR_PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // malformed Base64 or a non-numeric id
+            throw new IllegalArgumentException("Invalid continuation token", e);
+        }
+        throw new IllegalArgumentException("Invalid continuation token");
     }
 }
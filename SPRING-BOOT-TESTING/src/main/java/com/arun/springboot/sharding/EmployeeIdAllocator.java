@@ -0,0 +1,80 @@
+package com.arun.springboot.sharding;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Hands out the sequence part of new employee ids (see {@link EmployeeShards#id}) from a
+ * one-row counter on the first shard, reserving {@code employee.sharding.id-block-size}
+ * values per round trip. Instances sharing the counter never get the same block; values
+ * left in a block at shutdown are skipped.
+ */
+public class EmployeeIdAllocator {
+
+    private final EmployeeShards shards;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int blockSize;
+
+    // the current block is [next, limit); guarded by this
+    private long next;
+
+    private long limit;
+
+    public EmployeeIdAllocator(EmployeeShards shards, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("employee.sharding.id-block-size must be positive");
+        }
+        this.shards = shards;
+        this.jdbcTemplate = new JdbcTemplate(shards.getDataSource(0));
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(shards.getDataSource(0)));
+        this.blockSize = blockSize;
+        jdbcTemplate.execute("create table if not exists employee_ids (id int not null primary key, next_val bigint not null)");
+    }
+
+    /**
+     * The next {@code count} sequence values.
+     */
+    public synchronized long[] allocate(int count) {
+        long[] values = new long[count];
+        for (int i = 0; i < count; i++) {
+            if (next == limit) {
+                next = reserveBlock();
+                limit = next + blockSize;
+            }
+            values[i] = next++;
+        }
+        return values;
+    }
+
+    private long reserveBlock() {
+        try {
+            return transactionTemplate.execute(status -> {
+                // the UPDATE locks the row until commit, so concurrent instances reserve one after the other
+                if (jdbcTemplate.update("update employee_ids set next_val = next_val + ? where id = 1", blockSize) == 0) {
+                    jdbcTemplate.update("insert into employee_ids (id, next_val) values (1, ?)", firstValue() + blockSize);
+                }
+                return jdbcTemplate.queryForObject("select next_val from employee_ids where id = 1", Long.class) - blockSize;
+            });
+        } catch (DuplicateKeyException e) {
+            // another instance created the counter first
+            return reserveBlock();
+        }
+    }
+
+    // Starts past every existing id, including the IDENTITY ids of a table that was not sharded before
+    private long firstValue() {
+        long maxId = 0;
+        for (int shard = 0; shard < shards.getConfiguredCount(); shard++) {
+            Long shardMax = new JdbcTemplate(shards.getDataSource(shard))
+                    .queryForObject("select max(id) from employees", Long.class);
+            maxId = Math.max(maxId, shardMax == null ? 0 : shardMax);
+        }
+        return (maxId >> EmployeeShards.BUCKET_BITS) + 1;
+    }
+}
@@ -0,0 +1,50 @@
+package com.arun.springboot.sharding;
+
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Runs the {@link EmployeeShardMigration} for {@code employee.sharding.reshard-from} while the
+ * context starts, in the earliest lifecycle phase, so the web server only starts serving
+ * once every row is on the shard the current layout routes it to. A failed migration fails
+ * startup.
+ */
+public class EmployeeResharding implements SmartLifecycle {
+
+    // ahead of every other lifecycle, the web server (Integer.MAX_VALUE - 1) included
+    static final int PHASE = Integer.MIN_VALUE;
+
+    private final EmployeeShardMigration migration;
+
+    private final int fromShards;
+
+    private final int toShards;
+
+    private volatile boolean running;
+
+    public EmployeeResharding(EmployeeShardMigration migration, int fromShards, int toShards) {
+        this.migration = migration;
+        this.fromShards = fromShards;
+        this.toShards = toShards;
+    }
+
+    @Override
+    public void start() {
+        migration.migrate(fromShards, toShards);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
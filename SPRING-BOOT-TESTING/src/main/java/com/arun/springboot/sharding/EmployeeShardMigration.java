@@ -0,0 +1,111 @@
+package com.arun.springboot.sharding;
+
+import com.arun.springboot.model.Employee;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Moves employees between shard layouts, after shards were added to or removed from the
+ * end of {@code employee.sharding.shards}. Each shard of the old layout is scanned in id
+ * order; rows the new layout places elsewhere are copied to their new shard and then
+ * deleted from the old one, a batch at a time.
+ * <p>
+ * Meant to run while nothing else writes employees. It can be stopped and run again: a row
+ * is deleted from its old shard only once its copy is committed, and a copy left over from
+ * an interrupted run is replaced.
+ */
+@Slf4j
+public class EmployeeShardMigration {
+
+    private static final String SELECT_BATCH = "select id, first_name, last_name, email, version from employees"
+            + " where id > :lastSeenId order by id limit :limit";
+
+    private static final String INSERT = "insert into employees (id, first_name, last_name, email, version)"
+            + " values (:id, :firstName, :lastName, :email, :version)";
+
+    private static final RowMapper<Employee> ROW_MAPPER = (rs, rowNum) -> Employee.builder()
+            .id(rs.getLong("id"))
+            .firstName(rs.getString("first_name"))
+            .lastName(rs.getString("last_name"))
+            .email(rs.getString("email"))
+            .version(rs.getLong("version"))
+            .build();
+
+    private final EmployeeShards shards;
+
+    private final int batchSize;
+
+    public EmployeeShardMigration(EmployeeShards shards, int batchSize) {
+        this.shards = shards;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Moves every row laid out for {@code fromShards} shards to where a layout of
+     * {@code toShards} shards puts it and returns the number of rows moved.
+     */
+    public long migrate(int fromShards, int toShards) {
+        if (fromShards < 1 || toShards < 1 || Math.max(fromShards, toShards) > shards.getConfiguredCount()) {
+            throw new IllegalArgumentException("Both layouts must use between 1 and the "
+                    + shards.getConfiguredCount() + " configured shards");
+        }
+        long moved = 0;
+        for (int source = 0; source < fromShards; source++) {
+            long movedOffSource = migrateShard(source, toShards);
+            log.info("Moved {} employees off shard {} for a layout of {} shards", movedOffSource, source, toShards);
+            moved += movedOffSource;
+        }
+        return moved;
+    }
+
+    private long migrateShard(int source, int toShards) {
+        NamedParameterJdbcTemplate sourceJdbc = new NamedParameterJdbcTemplate(shards.getDataSource(source));
+        long moved = 0;
+        long lastSeenId = Long.MIN_VALUE;
+        List<Employee> batch;
+        do {
+            batch = sourceJdbc.query(SELECT_BATCH, Map.of("lastSeenId", lastSeenId, "limit", batchSize), ROW_MAPPER);
+            Map<Integer, List<Employee>> leaving = batch.stream()
+                    .filter(employee -> EmployeeShards.shardOf(EmployeeShards.bucketOf(employee.getId()), toShards) != source)
+                    .collect(Collectors.groupingBy(
+                            employee -> EmployeeShards.shardOf(EmployeeShards.bucketOf(employee.getId()), toShards),
+                            TreeMap::new, Collectors.toList()));
+            for (Map.Entry<Integer, List<Employee>> target : leaving.entrySet()) {
+                copy(target.getKey(), target.getValue());
+                sourceJdbc.update("delete from employees where id in (:ids)", Map.of("ids", ids(target.getValue())));
+                moved += target.getValue().size();
+            }
+            if (!batch.isEmpty()) {
+                lastSeenId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == batchSize);
+        return moved;
+    }
+
+    private void copy(int target, List<Employee> employees) {
+        NamedParameterJdbcTemplate targetJdbc = new NamedParameterJdbcTemplate(shards.getDataSource(target));
+        new TransactionTemplate(new DataSourceTransactionManager(shards.getDataSource(target))).executeWithoutResult(status -> {
+            targetJdbc.update("delete from employees where id in (:ids)", Map.of("ids", ids(employees)));
+            targetJdbc.batchUpdate(INSERT, employees.stream()
+                    .map(employee -> Map.<String, Object>of(
+                            "id", employee.getId(),
+                            "firstName", employee.getFirstName(),
+                            "lastName", employee.getLastName(),
+                            "email", employee.getEmail(),
+                            "version", employee.getVersion()))
+                    .toArray(Map[]::new));
+        });
+    }
+
+    private static List<Long> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).collect(Collectors.toList());
+    }
+}
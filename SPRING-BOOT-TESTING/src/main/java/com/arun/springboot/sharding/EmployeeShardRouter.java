@@ -0,0 +1,377 @@
+package com.arun.springboot.sharding;
+
+import com.arun.springboot.model.Employee;
+import com.arun.springboot.model.EmployeeView;
+import com.arun.springboot.repository.EmployeeRepository;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * The routing layer under {@link EmployeeRepository} when employees are sharded. Each call
+ * runs against the shard, or shards, holding the rows it touches, with the shard bound
+ * through {@link ShardRoutingDataSource} for the length of the call:
+ * <ul>
+ *     <li>calls by id or by employee go to the shard owning the id; new employees are given
+ *     an id first, which places them on the shard of their email</li>
+ *     <li>calls with several ids or employees are split per shard and the parts run in parallel</li>
+ *     <li>every other query runs on all shards in parallel and the results are merged: lists
+ *     in id order and cut to the requested page, counts summed, sets joined</li>
+ *     <li>{@code streamAll} and {@code exportAll} read one shard after the other, so rows come
+ *     in id order within each shard only</li>
+ * </ul>
+ * Every shard commits on its own: a call split over several shards is not atomic, and a
+ * failure on one shard leaves the others' writes in place. For the same reason calls are
+ * refused inside a transaction, except a read-only one, which they step out of.
+ * <p>
+ * Emails are unique per shard. Two new employees with one email meet at the same unique
+ * index, but an employee stays on its shard when its email changes, so every write that sets
+ * an email first looks the email up on all shards. That lookup and the write are not atomic.
+ */
+public class EmployeeShardRouter implements MethodInterceptor {
+
+    private static final Set<String> BY_ID = Set.of("findById", "existsById", "deleteById", "getById", "getOne",
+            "getReferenceById", "updateFields");
+
+    private static final Set<String> BY_EMPLOYEE = Set.of("save", "saveAndFlush", "delete");
+
+    // single Iterable argument of ids or employees
+    private static final Set<String> SPLIT = Set.of("saveAll", "saveAllAndFlush", "insertAll", "updateAll",
+            "deleteAll", "deleteAllInBatch", "deleteAllById", "deleteAllByIdInBatch", "deleteByIdIn", "findAllById");
+
+    // splits that write employees' emails, and may create employees
+    private static final Set<String> WRITES = Set.of("save", "saveAndFlush", "saveAll", "saveAllAndFlush",
+            "insertAll", "updateAll");
+
+    // results that come back one per element of the argument, in its order
+    private static final Set<String> POSITIONAL = Set.of("saveAll", "saveAllAndFlush", "updateAll");
+
+    private static final Set<String> SEQUENTIAL = Set.of("streamAll", "exportAll");
+
+    private static final Set<Class<?>> MERGEABLE = Set.of(void.class, int.class, Integer.class, long.class,
+            Long.class, boolean.class, Boolean.class, Optional.class, List.class, Set.class, Employee.class);
+
+    // list queries of the repository all order by id, so merged lists do too
+    private static final Comparator<Object> ID_ORDER = Comparator.comparingLong(element ->
+            element instanceof Employee ? ((Employee) element).getId()
+                    : element instanceof EmployeeView ? ((EmployeeView) element).getId()
+                    : ((Number) element).longValue());
+
+    private final EmployeeRepository repository;
+
+    private final EmployeeShards shards;
+
+    private final EmployeeIdAllocator idAllocator;
+
+    private final Executor executor;
+
+    private final TransactionTemplate outsideTransaction;
+
+    public EmployeeShardRouter(EmployeeRepository repository, EmployeeShards shards, EmployeeIdAllocator idAllocator,
+                               Executor executor, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.shards = shards;
+        this.idAllocator = idAllocator;
+        this.executor = executor;
+        this.outsideTransaction = new TransactionTemplate(transactionManager);
+        outsideTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) {
+        Method method = invocation.getMethod();
+        Object[] args = invocation.getArguments();
+        if (ReflectionUtils.isObjectMethod(method)) {
+            return call(method, args);
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                // the surrounding transaction holds a connection to one shard and every call would join it
+                throw new IllegalStateException("EmployeeRepository." + method.getName()
+                        + " cannot run inside a transaction when employees are sharded");
+            }
+            // nothing is lost by reading in a transaction per shard instead
+            return outsideTransaction.execute(status -> route(method, args));
+        }
+        return route(method, args);
+    }
+
+    private Object route(Method method, Object[] args) {
+        String name = method.getName();
+        if (name.equals("upsertByEmail")) {
+            return upsert(method, args);
+        }
+        if (name.equals("updateFields")) {
+            Object email = ((Map<?, ?>) args[1]).get("email");
+            if (email instanceof String) {
+                checkEmailsUnused(Map.of((String) email, ((Number) args[0]).longValue()));
+            }
+        }
+        if (BY_ID.contains(name)) {
+            return onShard(shards.shardOf(((Number) args[0]).longValue()), method, args);
+        }
+        if (BY_EMPLOYEE.contains(name) && args.length == 1 && args[0] instanceof Employee) {
+            Employee employee = (Employee) args[0];
+            if (WRITES.contains(name)) {
+                prepareWrites(List.of(employee));
+            }
+            return onShard(shards.shardOf(employee.getId()), method, args);
+        }
+        if (SPLIT.contains(name) && args.length == 1 && args[0] instanceof Iterable) {
+            return split(method, args);
+        }
+        if (SEQUENTIAL.contains(name)) {
+            for (int shard = 0; shard < shards.getCount(); shard++) {
+                onShard(shard, method, args);
+            }
+            return null;
+        }
+        return fanOut(method, args);
+    }
+
+    private Object upsert(Method method, Object[] args) {
+        Employee employee = (Employee) args[0];
+        // an employee whose email was changed is not on its email's shard; the upsert has to find it there
+        List<Employee> owners = onAllShards(shard -> repository.findByEmails(List.of(employee.getEmail())));
+        employee.setId(owners.isEmpty() ? 0 : owners.get(0).getId());
+        if (owners.isEmpty()) {
+            assignIds(List.of(employee));
+        }
+        return onShard(shards.shardOf(employee.getId()), method, args);
+    }
+
+    private Object split(Method method, Object[] args) {
+        List<Object> elements = new ArrayList<>();
+        ((Iterable<?>) args[0]).forEach(elements::add);
+        if (elements.isEmpty()) {
+            return onShard(0, method, args);
+        }
+        if (WRITES.contains(method.getName())) {
+            prepareWrites(elements.stream().map(Employee.class::cast).collect(Collectors.toList()));
+        }
+
+        // shard -> positions of its elements in the argument
+        Map<Integer, List<Integer>> positions = new TreeMap<>();
+        for (int i = 0; i < elements.size(); i++) {
+            Object element = elements.get(i);
+            long id = element instanceof Employee ? ((Employee) element).getId() : ((Number) element).longValue();
+            positions.computeIfAbsent(shards.shardOf(id), shard -> new ArrayList<>()).add(i);
+        }
+        List<Integer> targets = new ArrayList<>(positions.keySet());
+        List<Object> results = onShards(targets, shard -> {
+            Object[] shardArgs = args.clone();
+            shardArgs[0] = positions.get(shard).stream().map(elements::get).collect(Collectors.toList());
+            return call(method, shardArgs);
+        });
+
+        if (method.getReturnType() == int[].class) {
+            int[] merged = new int[elements.size()];
+            for (int i = 0; i < targets.size(); i++) {
+                int[] part = (int[]) results.get(i);
+                List<Integer> at = positions.get(targets.get(i));
+                for (int j = 0; j < part.length; j++) {
+                    merged[at.get(j)] = part[j];
+                }
+            }
+            return merged;
+        }
+        if (POSITIONAL.contains(method.getName())) {
+            Object[] merged = new Object[elements.size()];
+            for (int i = 0; i < targets.size(); i++) {
+                List<?> part = (List<?>) results.get(i);
+                List<Integer> at = positions.get(targets.get(i));
+                for (int j = 0; j < part.size(); j++) {
+                    merged[at.get(j)] = part.get(j);
+                }
+            }
+            return new ArrayList<>(List.of(merged));
+        }
+        return merge(method, args, results, null);
+    }
+
+    private Object fanOut(Method method, Object[] args) {
+        Pageable pageable = checkMergeable(method, args);
+        Object[] shardArgs = args.clone();
+        if (pageable != null && pageable.isPaged() && pageable.getOffset() > 0) {
+            // a page past the first needs every row before it from each shard
+            for (int i = 0; i < shardArgs.length; i++) {
+                if (shardArgs[i] instanceof Pageable) {
+                    shardArgs[i] = PageRequest.of(0, Math.toIntExact(pageable.getOffset() + pageable.getPageSize()));
+                }
+            }
+        }
+        List<Object> results = onShards(IntStream.range(0, shards.getCount()).boxed().collect(Collectors.toList()),
+                shard -> call(method, shardArgs));
+        return merge(method, args, results, pageable);
+    }
+
+    // The Pageable argument, if any, once the call is known to be mergeable
+    private static Pageable checkMergeable(Method method, Object[] args) {
+        boolean mergeable = MERGEABLE.contains(method.getReturnType());
+        Pageable pageable = null;
+        for (Object arg : args) {
+            if (arg instanceof Pageable) {
+                pageable = (Pageable) arg;
+                mergeable &= pageable.getSort().isUnsorted();
+            } else if (arg instanceof Sort) {
+                mergeable &= ((Sort) arg).isUnsorted();
+            }
+        }
+        if (!mergeable) {
+            throw new UnsupportedOperationException("EmployeeRepository." + method.getName()
+                    + " cannot be merged across shards");
+        }
+        return pageable;
+    }
+
+    private static Object merge(Method method, Object[] args, List<Object> results, Pageable pageable) {
+        Class<?> type = method.getReturnType();
+        if (type == void.class) {
+            return null;
+        }
+        if (type == int.class || type == Integer.class) {
+            return results.stream().mapToInt(result -> (Integer) result).sum();
+        }
+        if (type == long.class || type == Long.class) {
+            return results.stream().mapToLong(result -> (Long) result).sum();
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return results.contains(Boolean.TRUE);
+        }
+        if (type == Optional.class) {
+            return results.stream().map(Optional.class::cast).filter(Optional::isPresent).findFirst()
+                    .orElse(Optional.empty());
+        }
+        if (Set.class.isAssignableFrom(type)) {
+            Set<Object> merged = new HashSet<>();
+            results.forEach(result -> merged.addAll((Collection<?>) result));
+            return merged;
+        }
+        if (List.class.isAssignableFrom(type)) {
+            List<Object> merged = new ArrayList<>();
+            results.forEach(result -> merged.addAll((Collection<?>) result));
+            merged.sort(ID_ORDER);
+            if (pageable == null || pageable.isUnpaged()) {
+                return merged;
+            }
+            int from = (int) Math.min(pageable.getOffset(), merged.size());
+            return new ArrayList<>(merged.subList(from, Math.min(from + pageable.getPageSize(), merged.size())));
+        }
+        return results.stream().filter(result -> result != null).findFirst().orElse(null);
+    }
+
+    // Ids for the new employees, then the email check for all of them
+    private void prepareWrites(List<Employee> employees) {
+        assignIds(employees);
+        Map<String, Long> emails = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        employees.stream()
+                .filter(employee -> employee.getEmail() != null)
+                .forEach(employee -> emails.put(employee.getEmail(), employee.getId()));
+        checkEmailsUnused(emails);
+    }
+
+    private void assignIds(List<Employee> employees) {
+        List<Employee> created = employees.stream().filter(employee -> employee.getId() == 0)
+                .collect(Collectors.toList());
+        if (created.isEmpty()) {
+            return;
+        }
+        long[] sequence = idAllocator.allocate(created.size());
+        for (int i = 0; i < created.size(); i++) {
+            created.get(i).setId(EmployeeShards.id(sequence[i], created.get(i).getEmail()));
+        }
+    }
+
+    // email -> id of the employee about to hold it
+    private void checkEmailsUnused(Map<String, Long> emails) {
+        if (emails.isEmpty()) {
+            return;
+        }
+        Map<String, Long> owners = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        owners.putAll(emails);
+        List<Employee> existing = onAllShards(shard -> repository.findByEmails(owners.keySet()));
+        for (Employee employee : existing) {
+            Long owner = owners.get(employee.getEmail());
+            if (owner != null && owner != employee.getId()) {
+                throw new DuplicateKeyException("Email " + employee.getEmail() + " already belongs to employee "
+                        + employee.getId() + " (" + Employee.EMAIL_UNIQUE_CONSTRAINT + ")");
+            }
+        }
+    }
+
+    private List<Employee> onAllShards(IntFunction<List<Employee>> query) {
+        List<Employee> merged = new ArrayList<>();
+        onShards(IntStream.range(0, shards.getCount()).boxed().collect(Collectors.toList()), query)
+                .forEach(merged::addAll);
+        return merged;
+    }
+
+    // Runs the call once per shard in parallel and returns the results in shard order
+    private <T> List<T> onShards(List<Integer> targets, IntFunction<T> call) {
+        if (targets.size() == 1) {
+            int shard = targets.get(0);
+            return List.of(ShardRoutingDataSource.onShard(shard, () -> call.apply(shard)));
+        }
+        List<CompletableFuture<T>> futures = targets.stream()
+                .map(shard -> CompletableFuture.supplyAsync(
+                        () -> ShardRoutingDataSource.onShard(shard, () -> call.apply(shard)), executor))
+                .collect(Collectors.toList());
+        List<T> results = new ArrayList<>(targets.size());
+        RuntimeException failure = null;
+        // wait for every shard, so no part of the call is still running when it fails
+        for (CompletableFuture<T> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return results;
+    }
+
+    private Object onShard(int shard, Method method, Object[] args) {
+        return ShardRoutingDataSource.onShard(shard, () -> call(method, args));
+    }
+
+    private Object call(Method method, Object[] args) {
+        try {
+            return AopUtils.invokeJoinpointUsingReflection(repository, method, args);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.arun.springboot.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The employee shards and the function placing a row on one of them.
+ * <p>
+ * An employee id is a sequence value shifted left by {@link #BUCKET_BITS}, with one of
+ * {@link #BUCKETS} buckets, taken from a hash of the email the employee was created with, in
+ * the low bits. The bucket picks the shard through a jump consistent hash, so an id and the
+ * email it was created for always lead to the same shard, and growing from N to N + 1 shards
+ * moves only a 1 / (N + 1) share of the rows.
+ */
+public class EmployeeShards implements AutoCloseable {
+
+    public static final int BUCKET_BITS = 10;
+
+    public static final int BUCKETS = 1 << BUCKET_BITS;
+
+    private final List<HikariDataSource> dataSources;
+
+    private final int count;
+
+    EmployeeShards(List<HikariDataSource> dataSources, int count) {
+        if (count < 1 || count > dataSources.size()) {
+            throw new IllegalStateException("employee.sharding.active-shards must be between 1 and the "
+                    + dataSources.size() + " configured shards");
+        }
+        this.dataSources = dataSources;
+        this.count = count;
+    }
+
+    public static EmployeeShards create(ShardingProperties properties) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("employee.sharding.shards must list at least one database");
+        }
+        List<HikariDataSource> dataSources = new ArrayList<>();
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            if (!StringUtils.hasText(shard.getUrl())) {
+                throw new IllegalStateException("employee.sharding.shards[" + dataSources.size() + "].url is required");
+            }
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .build();
+            dataSource.setPoolName("employee-shard-" + dataSources.size());
+            dataSource.setMaximumPoolSize(properties.getMaximumPoolSize());
+            dataSources.add(dataSource);
+        }
+        Integer activeShards = properties.getActiveShards();
+        return new EmployeeShards(dataSources, activeShards == null ? dataSources.size() : activeShards);
+    }
+
+    /**
+     * Number of shards employees are routed to.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Number of shards configured, including those only the resharding migration writes to.
+     */
+    public int getConfiguredCount() {
+        return dataSources.size();
+    }
+
+    public DataSource getDataSource(int shard) {
+        return dataSources.get(shard);
+    }
+
+    /**
+     * The connection pool of every configured shard, for metrics.
+     */
+    public List<HikariDataSource> getPools() {
+        return Collections.unmodifiableList(dataSources);
+    }
+
+    public int shardOf(long id) {
+        return shardOf(bucketOf(id), count);
+    }
+
+    public int shardOf(String email) {
+        return shardOf(bucketOf(email), count);
+    }
+
+    /**
+     * The id an employee created with the given email gets for the given sequence value.
+     */
+    public static long id(long sequence, String email) {
+        return sequence << BUCKET_BITS | bucketOf(email);
+    }
+
+    static int bucketOf(long id) {
+        return (int) (id & (BUCKETS - 1));
+    }
+
+    static int bucketOf(String email) {
+        if (email == null) {
+            // rejected by the NOT NULL column wherever it lands
+            return 0;
+        }
+        // lower-cased: MySQL compares emails case-insensitively, so case variants must meet on one shard
+        int hash = email.toLowerCase(Locale.ROOT).hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        return hash & (BUCKETS - 1);
+    }
+
+    // Lamping and Veach, "A Fast, Minimal Memory, Consistent Hash Algorithm"
+    static int shardOf(int bucket, int shards) {
+        long key = bucket;
+        long shard = -1;
+        long next = 0;
+        while (next < shards) {
+            shard = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((shard + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) shard;
+    }
+
+    @Override
+    public void close() {
+        dataSources.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,54 @@
+package com.arun.springboot.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The application's DataSource when employees are sharded. Connections come from the shard
+ * bound to the calling thread by {@link #onShard}, or from the first shard, which holds
+ * every table that is not sharded, when none is bound.
+ * <p>
+ * A transaction keeps the connection it started with, so the shard has to be bound before
+ * the transaction begins.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+    public ShardRoutingDataSource(EmployeeShards shards) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.getConfiguredCount(); shard++) {
+            targets.put(shard, shards.getDataSource(shard));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.getDataSource(0));
+        // an unknown shard is a routing bug, never a reason to fall back to the first one
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Runs the work with connections taken from the given shard.
+     */
+    public static <T> T onShard(int shard, Supplier<T> work) {
+        Integer previous = CURRENT_SHARD.get();
+        CURRENT_SHARD.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT_SHARD.remove();
+            } else {
+                CURRENT_SHARD.set(previous);
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return CURRENT_SHARD.get();
+    }
+}
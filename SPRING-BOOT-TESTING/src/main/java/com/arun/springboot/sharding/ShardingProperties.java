@@ -0,0 +1,66 @@
+package com.arun.springboot.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "employee.sharding")
+public class ShardingProperties {
+
+    /**
+     * Whether the employees table is spread over {@link #shards}.
+     */
+    private boolean enabled;
+
+    /**
+     * Databases holding the employees table. The first one also holds every other table and
+     * the counter new employee ids are drawn from.
+     */
+    private List<Shard> shards = new ArrayList<>();
+
+    /**
+     * Number of shards, from the start of the list, that employees are routed to; all of them
+     * when unset. Shards past it are only written by the resharding migration.
+     */
+    private Integer activeShards;
+
+    /**
+     * Hikari pool size of each shard.
+     */
+    private int maximumPoolSize = 10;
+
+    /**
+     * Threads running queries that fan out to every shard; when all are busy the calling
+     * thread runs its share itself.
+     */
+    private int fanOutThreads = 16;
+
+    /**
+     * Id sequence values reserved from the counter per round trip.
+     */
+    private int idBlockSize = 100;
+
+    /**
+     * Rows read, copied and deleted per statement by the resharding migration.
+     */
+    private int migrationBatchSize = 1000;
+
+    /**
+     * Number of shards the rows are laid out for now; when set, the application moves them
+     * to the {@link #activeShards} layout while it starts, before it serves any request.
+     */
+    private Integer reshardFrom;
+
+    @Data
+    public static class Shard {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+    }
+}
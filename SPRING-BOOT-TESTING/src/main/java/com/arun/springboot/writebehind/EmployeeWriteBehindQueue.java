@@ -0,0 +1,272 @@
+package com.arun.springboot.writebehind;
+
+import com.arun.springboot.config.CacheConfig;
+import com.arun.springboot.model.Employee;
+import com.arun.springboot.repository.EmployeeRepository;
+import com.arun.springboot.search.EmployeeSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Write-behind path for {@code PUT /api/employees/{id}}. An update is acknowledged once it
+ * is in {@link #pending}, where a later update to the same id simply replaces an earlier one,
+ * and a single flusher thread writes what is pending as JDBC batches of
+ * {@code employee.write-behind.batch-size}, every {@code flush-interval} or as soon as a
+ * batch worth of ids is waiting.
+ * <p>
+ * What an acknowledged update survives depends on {@code employee.write-behind.durability}:
+ * <ul>
+ *     <li>{@code memory} - nothing; a crash loses up to one flush interval of updates</li>
+ *     <li>{@code wal} - a process crash; each update is appended to a local
+ *     {@link WriteAheadLog} that is replayed on the next start</li>
+ *     <li>{@code wal-fsync} - a machine crash too, at the cost of an fsync per update</li>
+ * </ul>
+ * Queued updates to the same id are last-writer-wins, but each one is written only if the row
+ * is still at the version the PUT read. A synchronous write that commits first (PATCH, a PUT
+ * with If-Match, a delete) or another instance's write therefore wins: the queued update is
+ * dropped and counted in {@code employee.write-behind.dropped}. The same check keeps updates
+ * replayed from the log from overwriting anything written after them. Reads see queued
+ * updates only after the flush.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "employee.write-behind", name = "enabled", havingValue = "true")
+public class EmployeeWriteBehindQueue {
+
+    enum Durability {
+        MEMORY, WAL, WAL_FSYNC
+    }
+
+    private final Map<Long, Employee> pending = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private EmployeeRepository employeeRepository;
+
+    private EmployeeSearchIndex searchIndex;
+
+    private final Cache employeeCache;
+
+    private final int batchSize;
+
+    private final int capacity;
+
+    private final WriteAheadLog writeAheadLog;
+
+    private final ScheduledExecutorService flusher;
+
+    private final Counter flushed;
+
+    private final Counter dropped;
+
+    @Autowired
+    public EmployeeWriteBehindQueue(EmployeeRepository employeeRepository, EmployeeSearchIndex searchIndex,
+                                    CacheManager cacheManager, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                    @Value("${employee.write-behind.batch-size:500}") int batchSize,
+                                    @Value("${employee.write-behind.capacity:10000}") int capacity,
+                                    @Value("${employee.write-behind.flush-interval:200ms}") Duration flushInterval,
+                                    @Value("${employee.write-behind.durability:wal}") String durability,
+                                    @Value("${employee.write-behind.directory:${java.io.tmpdir}/employee-wal}")
+                                    String directory) throws IOException {
+        this(employeeRepository, searchIndex, cacheManager, objectMapper, meterRegistry, batchSize, capacity,
+                durability, directory, Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "employee-write-behind");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+        long intervalMillis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    EmployeeWriteBehindQueue(EmployeeRepository employeeRepository, EmployeeSearchIndex searchIndex,
+                             CacheManager cacheManager, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                             int batchSize, int capacity, String durability, String directory,
+                             ScheduledExecutorService flusher) throws IOException {
+        if (batchSize < 1 || capacity < batchSize) {
+            throw new IllegalArgumentException("employee.write-behind.capacity must be at least batch-size");
+        }
+        this.employeeRepository = employeeRepository;
+        this.searchIndex = searchIndex;
+        this.employeeCache = cacheManager.getCache(CacheConfig.EMPLOYEE_CACHE);
+        this.batchSize = batchSize;
+        this.capacity = capacity;
+        this.flusher = flusher;
+
+        Durability mode = Durability.valueOf(durability.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        this.writeAheadLog = mode == Durability.MEMORY ? null
+                : new WriteAheadLog(Paths.get(directory), mode == Durability.WAL_FSYNC, objectMapper);
+        if (writeAheadLog != null) {
+            List<Employee> replayed = writeAheadLog.replay();
+            replayed.forEach(employee -> pending.put(employee.getId(), employee));
+            if (!replayed.isEmpty()) {
+                log.warn("Replaying {} employee updates left in the write-ahead log", replayed.size());
+            }
+        }
+
+        meterRegistry.gauge("employee.write-behind.pending", pending, Map::size);
+        this.flushed = meterRegistry.counter("employee.write-behind.flushed");
+        this.dropped = meterRegistry.counter("employee.write-behind.dropped");
+    }
+
+    /**
+     * Queues the employee's names and email to be written by id, replacing any update to the
+     * same id that has not been flushed yet.
+     *
+     * @throws WriteBehindQueueFullException when {@code capacity} other ids are already pending
+     */
+    public void enqueue(Employee employee) {
+        if (pending.size() >= capacity && !pending.containsKey(employee.getId())) {
+            throw new WriteBehindQueueFullException(capacity + " employee updates are waiting to be written, retry later");
+        }
+        if (writeAheadLog == null) {
+            pending.put(employee.getId(), employee);
+        } else {
+            // logged and queued under the lock flush() seals the log with, so a sealed
+            // segment never holds an update the flush cannot see yet
+            synchronized (writeAheadLog) {
+                try {
+                    writeAheadLog.append(employee);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                pending.put(employee.getId(), employee);
+            }
+        }
+        if (pending.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Writes everything pending, batch by batch. Updates whose batch hits a transient database
+     * error go back to the queue (unless a newer one arrived meanwhile) and the log is kept
+     * for the next attempt.
+     */
+    void flush() throws IOException {
+        flushRequested.set(false);
+        long sealed = -1;
+        if (writeAheadLog != null) {
+            synchronized (writeAheadLog) {
+                sealed = writeAheadLog.seal();
+            }
+        }
+
+        List<Employee> batch = new ArrayList<>(batchSize);
+        for (Long id : pending.keySet()) {
+            Employee employee = take(id);
+            if (employee != null) {
+                batch.add(employee);
+            }
+            if (batch.size() == batchSize) {
+                if (!write(batch)) {
+                    return;
+                }
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty() && !write(batch)) {
+            return;
+        }
+        if (writeAheadLog != null) {
+            writeAheadLog.deleteSealed(sealed);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException, InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(30, TimeUnit.SECONDS);
+        flush();
+        if (writeAheadLog != null) {
+            writeAheadLog.close();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException | RuntimeException e) {
+            log.error("Employee write-behind flush failed; pending updates are retried", e);
+        }
+    }
+
+    // Removes whatever update is pending for the id right now, retrying if it is replaced under us
+    private Employee take(Long id) {
+        Employee employee = pending.get(id);
+        while (employee != null && !pending.remove(id, employee)) {
+            employee = pending.get(id);
+        }
+        return employee;
+    }
+
+    // False, with the batch re-queued, if the database is unavailable
+    private boolean write(List<Employee> batch) {
+        try {
+            record(batch, employeeRepository.updateAll(batch));
+        } catch (DataIntegrityViolationException e) {
+            // one row (typically a duplicate email) sinks the whole batch; find it row by row
+            for (Employee employee : batch) {
+                try {
+                    record(List.of(employee), employeeRepository.updateAll(List.of(employee)));
+                } catch (DataIntegrityViolationException rowFailure) {
+                    log.warn("Dropping write-behind update of employee {}: {}", employee.getId(),
+                            rowFailure.getMostSpecificCause().getMessage());
+                    dropped.increment();
+                }
+            }
+        } catch (DataAccessException e) {
+            batch.forEach(employee -> pending.putIfAbsent(employee.getId(), employee));
+            log.warn("Employee write-behind flush of {} updates failed, retrying: {}", batch.size(), e.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    private void record(List<Employee> batch, int[] counts) {
+        for (int i = 0; i < batch.size(); i++) {
+            Employee employee = batch.get(i);
+            if (counts[i] == 0) {
+                // deleted, or changed by a newer write, before the flush got to it
+                log.info("Dropping write-behind update of employee {}: no longer at version {}",
+                        employee.getId(), employee.getVersion());
+                dropped.increment();
+                continue;
+            }
+            employeeCache.evict(employee.getId());
+            searchIndex.update(employee.getId(), Map.of(
+                    "firstName", employee.getFirstName(),
+                    "lastName", employee.getLastName(),
+                    "email", employee.getEmail()));
+            flushed.increment();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.arun.springboot.writebehind;
+
+import com.arun.springboot.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Append-only NDJSON log of the updates held by {@link EmployeeWriteBehindQueue}, split into
+ * numbered segments. The queue seals the current segment before each flush and deletes the
+ * sealed segments once everything they hold is in the database, so on disk there is never
+ * much more than one flush interval of updates.
+ * <p>
+ * Not thread-safe; the queue serialises every call.
+ */
+class WriteAheadLog implements Closeable {
+
+    private static final String PREFIX = "employees-";
+
+    private static final String SUFFIX = ".wal";
+
+    private final Path directory;
+
+    private final boolean fsync;
+
+    private final ObjectMapper objectMapper;
+
+    private long sequence;
+
+    private FileChannel current;
+
+    private boolean currentEmpty = true;
+
+    WriteAheadLog(Path directory, boolean fsync, ObjectMapper objectMapper) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.fsync = fsync;
+        this.objectMapper = objectMapper;
+        List<Path> segments = segments();
+        this.sequence = segments.isEmpty() ? 0 : sequenceOf(segments.get(segments.size() - 1));
+        open();
+    }
+
+    /**
+     * Every update left by a previous run, oldest first. Their segments count as sealed.
+     */
+    List<Employee> replay() throws IOException {
+        List<Employee> employees = new ArrayList<>();
+        for (Path segment : segments()) {
+            if (sequenceOf(segment) == sequence) {
+                continue;
+            }
+            try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    // a crash can leave the last line half written; it was never acknowledged
+                    if (line.endsWith("}")) {
+                        employees.add(objectMapper.readValue(line, Employee.class));
+                    }
+                }
+            }
+        }
+        return employees;
+    }
+
+    void append(Employee employee) throws IOException {
+        byte[] line = objectMapper.writeValueAsBytes(employee);
+        ByteBuffer buffer = ByteBuffer.allocate(line.length + 1).put(line).put((byte) '\n');
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            current.write(buffer);
+        }
+        if (fsync) {
+            current.force(false);
+        }
+        currentEmpty = false;
+    }
+
+    /**
+     * Starts a new segment unless the current one is still empty, and returns the sequence
+     * number up to which segments are sealed.
+     */
+    long seal() throws IOException {
+        if (!currentEmpty) {
+            current.close();
+            open();
+        }
+        return sequence - 1;
+    }
+
+    void deleteSealed(long upTo) throws IOException {
+        for (Path segment : segments()) {
+            if (sequenceOf(segment) <= upTo) {
+                Files.deleteIfExists(segment);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        current.close();
+        if (currentEmpty) {
+            Files.deleteIfExists(currentPath());
+        }
+    }
+
+    private void open() throws IOException {
+        sequence++;
+        current = FileChannel.open(currentPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        currentEmpty = true;
+    }
+
+    private Path currentPath() {
+        return directory.resolve(String.format("%s%019d%s", PREFIX, sequence, SUFFIX));
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(PREFIX)
+                            && file.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
@@ -0,0 +1,12 @@
+package com.arun.springboot.writebehind;
+
+/**
+ * Thrown when {@code employee.write-behind.capacity} distinct employees are already waiting
+ * to be flushed; answered with 503 so the client slows down.
+ */
+public class WriteBehindQueueFullException extends RuntimeException {
+
+    public WriteBehindQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,249 @@
+package com.arun.springboot.controller;
+
+import com.arun.springboot.config.AsyncConfig;
+import com.arun.springboot.model.Employee;
+import com.arun.springboot.service.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = AsyncEmployeeController.class, properties = "employee.async.enabled=true")
+public class AsyncEmployeeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private EmployeeService employeeService;
+
+    @MockBean(name = AsyncConfig.EMPLOYEE_EXECUTOR)
+    private AsyncTaskExecutor employeeExecutor;
+
+    @BeforeEach
+    public void setup() {
+        //run submitted work on the calling thread so the tests stay deterministic
+        willAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).given(employeeExecutor).execute(any(Runnable.class));
+    }
+
+    //Junit test for async get employee by id REST API
+    @DisplayName("Positive - Junit test for async get employee by id REST API")
+    @Test
+    public void givenEmployeeId_whenGetEmployeeByIdAsync_thenReturnEmployeeObject() throws Exception {
+        // given precondition or setup
+        long employeeId = 1l;
+        Employee employee = Employee.builder()
+                .id(employeeId)
+                .firstName("Ramesh")
+                .lastName("Fegade")
+                .email("ramesh@gmail.com")
+                .build();
+        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(employee));
+
+        // when -action or the behaviour that we are going to test
+        MvcResult result = mockMvc.perform(get("/api/async/employees/{id}", employeeId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then - verify the output
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName", is(employee.getFirstName())))
+                .andExpect(jsonPath("$.email", is(employee.getEmail())));
+    }
+
+    //Junit test for async get employee by invalid id REST API
+    @DisplayName("Negative - Junit test for async get employee by id REST API")
+    @Test
+    public void givenInvalidEmployeeId_whenGetEmployeeByIdAsync_thenReturnEmpty() throws Exception {
+        // given precondition or setup
+        long employeeId = 1l;
+        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.empty());
+
+        // when -action or the behaviour that we are going to test
+        MvcResult result = mockMvc.perform(get("/api/async/employees/{id}", employeeId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then - verify the output
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+
+    //Junit test for async request rejected by a saturated executor
+    @DisplayName("Negative - Junit test for async request when the executor is saturated")
+    @Test
+    public void givenSaturatedExecutor_whenGetAllEmployeesAsync_thenReturnServiceUnavailable() throws Exception {
+        // given precondition or setup
+        willThrow(new TaskRejectedException("queue full"))
+                .given(employeeExecutor).execute(any(Runnable.class));
+
+        // when -action or the behaviour that we are going to test
+        //then - verify the output
+        mockMvc.perform(get("/api/async/employees"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    //Junit test for async get employee by id REST API with ETag
+    @DisplayName("Junit test for async get employee by id REST API returning an ETag")
+    @Test
+    public void givenEmployeeId_whenGetEmployeeByIdAsync_thenReturnVersionETag() throws Exception {
+        // given precondition or setup
+        long employeeId = 1L;
+        Employee employee = Employee.builder()
+                .id(employeeId).firstName("Ramesh").lastName("Fegade").email("ramesh@gmail.com").version(3L)
+                .build();
+        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(employee));
+
+        // when -action or the behaviour that we are going to test
+        MvcResult result = mockMvc.perform(get("/api/async/employees/{id}", employeeId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then - verify the output
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.version", is(3)));
+    }
+
+    //Junit test for conditional async get employee by id REST API
+    @DisplayName("Junit test for async get employee by id REST API with a matching If-None-Match")
+    @Test
+    public void givenCurrentETag_whenGetEmployeeByIdAsync_thenReturn304WithoutBody() throws Exception {
+        // given precondition or setup
+        long employeeId = 1L;
+        Employee employee = Employee.builder()
+                .id(employeeId).firstName("Ramesh").lastName("Fegade").email("ramesh@gmail.com").version(3L)
+                .build();
+        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(employee));
+
+        // when -action or the behaviour that we are going to test
+        MvcResult result = mockMvc.perform(get("/api/async/employees/{id}", employeeId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then - verify the output
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    //Junit test for async update employee REST API with a current If-Match
+    @DisplayName("Junit test for async update Employee REST API with a current If-Match")
+    @Test
+    public void givenCurrentIfMatch_whenUpdateEmployeeAsync_thenReturnNextETag() throws Exception {
+        // given precondition or setup
+        long employeeId = 1L;
+        Employee savedEmployee = Employee.builder()
+                .id(employeeId).firstName("Ramesh").lastName("Fegade").email("ramesh@gmail.com").version(3L)
+                .build();
+        Employee updatedEmployee = Employee.builder()
+                .id(employeeId).firstName("Ram").lastName("Jadhav").email("ram@gmail.com").version(4L)
+                .build();
+        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(savedEmployee));
+        given(employeeService.updateEmployee(any(Employee.class))).willReturn(updatedEmployee);
+
+        // when -action or the behaviour that we are going to test
+        MvcResult result = mockMvc.perform(put("/api/async/employees/{employeeId}", employeeId)
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updatedEmployee)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then - verify the output
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.firstName", is("Ram")));
+        verify(employeeService).updateEmployee(Employee.builder()
+                .id(employeeId).firstName("Ram").lastName("Jadhav").email("ram@gmail.com").version(3L)
+                .build());
+    }
+
+    //Junit test for async update employee REST API with a stale If-Match
+    @DisplayName("Negative Scenario - Junit test for async update Employee REST API with a stale If-Match")
+    @Test
+    public void givenStaleIfMatch_whenUpdateEmployeeAsync_thenReturn412() throws Exception {
+        // given precondition or setup
+        long employeeId = 1L;
+        Employee savedEmployee = Employee.builder()
+                .id(employeeId).firstName("Ramesh").lastName("Fegade").email("ramesh@gmail.com").version(4L)
+                .build();
+        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(savedEmployee));
+
+        // when -action or the behaviour that we are going to test
+        MvcResult result = mockMvc.perform(put("/api/async/employees/{employeeId}", employeeId)
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(savedEmployee)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then - verify the output
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isPreconditionFailed());
+        verify(employeeService, never()).updateEmployee(any(Employee.class));
+    }
+
+    //Junit test for async update employee REST API losing a race with another writer
+    @DisplayName("Negative Scenario - Junit test for async update Employee REST API with a concurrent update")
+    @Test
+    public void givenConcurrentUpdate_whenUpdateEmployeeAsync_thenReturn409() throws Exception {
+        // given precondition or setup
+        long employeeId = 1L;
+        Employee savedEmployee = Employee.builder()
+                .id(employeeId).firstName("Ramesh").lastName("Fegade").email("ramesh@gmail.com").version(4L)
+                .build();
+        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(savedEmployee));
+        given(employeeService.updateEmployee(any(Employee.class)))
+                .willThrow(new OptimisticLockingFailureException("stale"));
+
+        // when -action or the behaviour that we are going to test
+        MvcResult result = mockMvc.perform(put("/api/async/employees/{employeeId}", employeeId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(savedEmployee)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then - verify the output
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isConflict());
+    }
+}
@@ -1,7 +1,14 @@
 package com.arun.springboot.controller;
 
+import com.arun.springboot.config.BinaryFormatConfig;
+import com.arun.springboot.export.EmployeeExportFormat;
+import com.arun.springboot.model.BulkSaveResult;
+import com.arun.springboot.model.DeleteResult;
 import com.arun.springboot.model.Employee;
+import com.arun.springboot.model.EmployeePage;
+import com.arun.springboot.model.EmployeeView;
 import com.arun.springboot.service.EmployeeService;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.hamcrest.CoreMatchers;
 import org.junit.jupiter.api.DisplayName;
@@ -9,24 +16,46 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest
+@WebMvcTest(EmployeeController.class)
+@Import(BinaryFormatConfig.class)
 public class EmployeeControllerTest {
 
     @Autowired
@@ -64,6 +93,89 @@ public class EmployeeControllerTest {
                 .andExpect(jsonPath("$.email", is(employee.getEmail())));
     }
 
+    //JUnit test case for upsert by email
+    @DisplayName("JUnit test case for upsert Employee by email")
+    @Test
+    public void givenEmployeeObject_whenUpsertEmployee_thenReturnStoredEmployee() throws Exception {
+        // given precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("Ramesh")
+                .lastName("Fegade")
+                .email("ramesh@gmail.com")
+                .build();
+        given(employeeService.upsertEmployee(any(Employee.class))).willAnswer(invocation -> {
+            Employee stored = invocation.getArgument(0);
+            stored.setId(7L);
+            return stored;
+        });
+
+        // when -action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(put("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+
+        //then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.id", is(7)))
+                .andExpect(jsonPath("$.email", is(employee.getEmail())));
+    }
+
+    //JUnit test case for bulk create with a JSON array payload
+    @DisplayName("JUnit test case for bulk create with JSON array")
+    @Test
+    public void givenEmployeeArray_whenCreateEmployees_thenReturnBulkResult() throws Exception {
+        // given precondition or setup
+        List<Employee> employees = List.of(
+                Employee.builder().firstName("Ramesh").lastName("Fegade").email("ramesh@gmail.com").build(),
+                Employee.builder().firstName("Arun").lastName("Prajapati").email("arun@gmail.com").build());
+        given(employeeService.saveEmployees(any(), eq(1000))).willAnswer(invocation -> {
+            Iterator<Employee> records = invocation.getArgument(0);
+            int received = 0;
+            while (records.hasNext()) {
+                records.next();
+                received++;
+            }
+            return new BulkSaveResult(received, received, 0, new ArrayList<>());
+        });
+
+        // when -action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(post("/api/employees/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employees)));
+
+        //then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.received", is(2)))
+                .andExpect(jsonPath("$.inserted", is(2)));
+    }
+
+    //JUnit test case for bulk create with an NDJSON payload
+    @DisplayName("JUnit test case for bulk create with NDJSON")
+    @Test
+    public void givenNdjsonEmployees_whenCreateEmployees_thenReadEveryLine() throws Exception {
+        // given precondition or setup
+        Employee ramesh = Employee.builder().firstName("Ramesh").lastName("Fegade").email("ramesh@gmail.com").build();
+        Employee arun = Employee.builder().firstName("Arun").lastName("Prajapati").email("arun@gmail.com").build();
+        List<Employee> received = new ArrayList<>();
+        given(employeeService.saveEmployees(any(), eq(50))).willAnswer(invocation -> {
+            invocation.<Iterator<Employee>>getArgument(0).forEachRemaining(received::add);
+            return new BulkSaveResult(received.size(), received.size(), 0, new ArrayList<>());
+        });
+
+        // when -action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(post("/api/employees/bulk")
+                .param("chunkSize", "50")
+                .contentType(EmployeeController.APPLICATION_NDJSON_VALUE)
+                .content(objectMapper.writeValueAsString(ramesh) + "\n" + objectMapper.writeValueAsString(arun) + "\n"));
+
+        //then - verify the output
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted", is(2)));
+        assertThat(received).containsExactly(ramesh, arun);
+    }
+
     //JUnit test case for Get All Employees
     @DisplayName("JUnit test case for Get All Employees ")
     @Test
@@ -89,6 +201,239 @@ public class EmployeeControllerTest {
                         CoreMatchers.is(listOfEmployees.size())));
     }
 
+    //JUnit test case for Get Employees with a sparse fieldset
+    @DisplayName("JUnit test case for Get Employees with selected fields")
+    @Test
+    public void givenFields_whenGetAllEmployees_thenReturnOnlyThoseFields() throws Exception {
+        // given precondition or setup
+        given(employeeService.getAllEmployeeFields(Set.of("id", "email"))).willReturn(List.of(
+                EmployeeView.builder().id(1L).email("ramesh@gmail.com").build(),
+                EmployeeView.builder().id(2L).email("arun@gmail.com").build()));
+
+        // when -action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get("/api/employees").param("fields", "id,email"));
+
+        //then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(jsonPath("$[1].email", is("arun@gmail.com")))
+                .andExpect(jsonPath("$[0].firstName").doesNotExist())
+                .andExpect(jsonPath("$[0].version").doesNotExist());
+    }
+
+    //JUnit test case for Get Employees negotiated as Smile
+    @DisplayName("JUnit test case for Get Employees as Smile")
+    @Test
+    public void givenSmileAccept_whenGetAllEmployees_thenReturnSmileList() throws Exception {
+        // given precondition or setup
+        List<Employee> listOfEmployees = List.of(
+                Employee.builder().id(1L).firstName("Ramesh").lastName("Fegade").email("ramesh@gmail.com").build(),
+                Employee.builder().id(2L).firstName("Arun").lastName("Prajapati").email("arun@gmail.com").build());
+        given(employeeService.getAllEmployees()).willReturn(listOfEmployees);
+
+        // when -action or the behaviour that we are going to test
+        MvcResult result = mockMvc.perform(get("/api/employees")
+                        .accept(BinaryFormatConfig.SMILE_VALUE))
+                .andReturn();
+
+        //then - verify the output
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        assertThat(result.getResponse().getContentType()).isEqualTo(BinaryFormatConfig.SMILE_VALUE);
+        List<Employee> employees = Jackson2ObjectMapperBuilder.smile().build()
+                .readValue(result.getResponse().getContentAsByteArray(), new TypeReference<List<Employee>>() {
+                });
+        assertThat(employees).isEqualTo(listOfEmployees);
+    }
+
+    //JUnit test case for Create Employee with a CBOR body and response
+    @DisplayName("JUnit test case for Create Employee as CBOR")
+    @Test
+    public void givenCborEmployee_whenCreateEmployee_thenReturnCborEmployee() throws Exception {
+        // given precondition or setup
+        ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+        Employee employee = Employee.builder()
+                .firstName("Ramesh")
+                .lastName("Fegade")
+                .email("ramesh@gmail.com")
+                .build();
+        given(employeeService.saveEmployee(any(Employee.class)))
+                .willAnswer((invocation -> invocation.getArgument(0)));
+
+        // when -action or the behaviour that we are going to test
+        MvcResult result = mockMvc.perform(post("/api/employees")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(employee)))
+                .andReturn();
+
+        //then - verify the output
+        assertThat(result.getResponse().getStatus()).isEqualTo(201);
+        assertThat(result.getResponse().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR_VALUE);
+        assertThat(cborMapper.readValue(result.getResponse().getContentAsByteArray(), Employee.class))
+                .isEqualTo(employee);
+    }
+
+    //JUnit test case for keyset paginated Get Employees
+    @DisplayName("JUnit test case for keyset paginated Get Employees")
+    @Test
+    public void givenPageSize_whenGetEmployeesPage_thenReturnPageWithToken() throws Exception {
+        // given precondition or setup
+        List<Employee> content = List.of(
+                Employee.builder().id(1L).firstName("Ramesh").lastName("Fegade").email("ramesh@gmail.com").build(),
+                Employee.builder().id(2L).firstName("Arun").lastName("Prajapati").email("arun@gmail.com").build());
+        given(employeeService.getEmployeesPage(null, 2)).willReturn(new EmployeePage(content, "next"));
+
+        // when -action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get("/api/employees").param("size", "2"));
+
+        //then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.content.size()", is(2)))
+                .andExpect(jsonPath("$.continuationToken", is("next")));
+    }
+
+    //JUnit test case for an invalid continuation token
+    @DisplayName("JUnit test case for Get Employees page with invalid token")
+    @Test
+    public void givenInvalidToken_whenGetEmployeesPage_thenReturn400() throws Exception {
+        // given precondition or setup
+        given(employeeService.getEmployeesPage(eq("bogus"), eq(10)))
+                .willThrow(new IllegalArgumentException("Invalid continuation token"));
+
+        // when -action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get("/api/employees")
+                .param("size", "10")
+                .param("continuationToken", "bogus"));
+
+        //then - verify the output
+        response.andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
+    //JUnit test case for NDJSON streaming of all employees
+    @DisplayName("JUnit test case for streaming all employees as NDJSON")
+    @Test
+    public void givenNdjsonAccept_whenGetAllEmployees_thenStreamOneEmployeePerLine() throws Exception {
+        // given precondition or setup
+        Employee ramesh = Employee.builder().id(1L).firstName("Ramesh")
+                .lastName("Fegade").email("ramesh@gmail.com").build();
+        Employee arun = Employee.builder().id(2L).firstName("Arun")
+                .lastName("Prajapati").email("arun@gmail.com").build();
+        willAnswer(invocation -> {
+            Consumer<Employee> action = invocation.getArgument(0);
+            action.accept(ramesh);
+            action.accept(arun);
+            return null;
+        }).given(employeeService).streamAllEmployees(any());
+
+        // when -action or the behaviour that we are going to test
+        MvcResult result = mockMvc.perform(get("/api/employees").accept(EmployeeController.APPLICATION_NDJSON_VALUE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then - verify the output
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(EmployeeController.APPLICATION_NDJSON_VALUE))
+                .andExpect(content().string(objectMapper.writeValueAsString(ramesh) + "\n"
+                        + objectMapper.writeValueAsString(arun) + "\n"));
+    }
+
+    //JUnit test case for the gzipped CSV export
+    @DisplayName("JUnit test case for exporting employees as gzipped CSV")
+    @Test
+    public void givenGzipAccepted_whenExportEmployees_thenStreamGzippedCsv() throws Exception {
+        // given precondition or setup
+        String csv = "id,firstName,lastName,email,version\r\n1,Ramesh,Fegade,ramesh@gmail.com,0\r\n";
+        given(employeeService.exportEmployees(eq(EmployeeExportFormat.CSV), any())).willAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write(csv.getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        // when -action or the behaviour that we are going to test
+        MvcResult result = mockMvc.perform(get("/api/employees/export")
+                        .param("format", "csv")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then - verify the output
+        MvcResult exported = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"employees.csv\""))
+                .andReturn();
+        byte[] body = exported.getResponse().getContentAsByteArray();
+        try (GZIPInputStream unzipped = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(new String(unzipped.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(csv);
+        }
+    }
+
+    //JUnit test case for the export without gzip
+    @DisplayName("JUnit test case for exporting employees as plain NDJSON")
+    @Test
+    public void givenNoAcceptEncoding_whenExportEmployees_thenStreamPlainNdjson() throws Exception {
+        // given precondition or setup
+        String ndjson = "{\"id\":1,\"firstName\":\"Ramesh\"}\n";
+        given(employeeService.exportEmployees(eq(EmployeeExportFormat.NDJSON), any())).willAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write(ndjson.getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        // when -action or the behaviour that we are going to test
+        MvcResult result = mockMvc.perform(get("/api/employees/export").param("format", "NDJSON"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then - verify the output
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(EmployeeController.APPLICATION_NDJSON_VALUE))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string(ndjson));
+    }
+
+    //JUnit test case for an unknown export format
+    @DisplayName("JUnit test case for exporting employees in an unknown format")
+    @Test
+    public void givenUnknownFormat_whenExportEmployees_thenReturn400() throws Exception {
+        // when -action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get("/api/employees/export").param("format", "xlsx"));
+
+        //then - verify the output
+        response.andExpect(status().isBadRequest());
+        verify(employeeService, never()).exportEmployees(any(), any());
+    }
+
+    //Junit test for type-ahead search REST API
+    @DisplayName("Junit test for search employees REST API")
+    @Test
+    public void givenQuery_whenSearchEmployees_thenReturnMatches() throws Exception {
+        // given precondition or setup
+        Employee employee = Employee.builder()
+                .id(1L)
+                .firstName("Arun")
+                .lastName("Prajapati")
+                .email("arunp@gmail.com")
+                .build();
+        given(employeeService.searchEmployees("aru pra", 5)).willReturn(List.of(employee));
+
+        // when -action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get("/api/employees/search")
+                .param("q", "aru pra")
+                .param("limit", "5"));
+
+        //then - verify the output
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].email", is(employee.getEmail())));
+        verify(employeeService, never()).getEmployeeById(any(Long.class));
+    }
+
     //positive scenario - valid employee id
     //negative test for GET employee by id
     //Junit test for get employee by id REST API
@@ -154,7 +499,7 @@ public class EmployeeControllerTest {
                 .build();
 
         Employee updatedEmployee = Employee.builder()
-                .firstName("Ramesh")
+                .firstName("Ram")
                 .lastName("Suryavanshi_Prajapati")
                 .email("rameshvp@gmail.com")
                 .build();
@@ -224,4 +569,189 @@ public class EmployeeControllerTest {
         response.andExpect(status().isOk())
                 .andDo(print());
     }
+
+    //Junit test for bulk delete by ids REST API
+    @DisplayName("Junit test for bulk delete by ids REST API")
+    @Test
+    public void givenEmployeeIds_whenDeleteEmployees_thenReturnDeletedCount() throws Exception {
+        // given precondition or setup
+        given(employeeService.deleteEmployees(List.of(1L, 2L, 3L))).willReturn(new DeleteResult(3, 2));
+
+        // when -action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(delete("/api/employees").param("ids", "1,2,3"));
+
+        //then - verify the output
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested", is(3)))
+                .andExpect(jsonPath("$.deleted", is(2)));
+    }
+
+    //Junit test for delete by email domain REST API
+    @DisplayName("Junit test for delete by email domain REST API")
+    @Test
+    public void givenEmailDomain_whenDeleteEmployeesByEmailDomain_thenReturnDeletedCount() throws Exception {
+        // given precondition or setup
+        given(employeeService.deleteEmployeesByEmailDomain("example.com")).willReturn(new DeleteResult(5, 5));
+
+        // when -action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(delete("/api/employees").param("emailDomain", "example.com"));
+
+        //then - verify the output
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted", is(5)));
+    }
+
+    //Junit test for partial update employee REST API - positive scenario
+    @DisplayName("Junit test for partial update employee REST API - positive scenario")
+    @Test
+    public void givenSparseEmployee_whenPatchEmployee_thenReturn204() throws Exception {
+        // given precondition or setup
+        long employeeId = 1L;
+        given(employeeService.patchEmployee(employeeId, Map.of("lastName", "Jadhav"), null)).willReturn(true);
+
+        // when -action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(patch("/api/employees/{employeeId}", employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"lastName\":\"Jadhav\"}"));
+
+        //then - verify the output
+        response.andExpect(status().isNoContent());
+        verify(employeeService, never()).getEmployeeById(employeeId);
+    }
+
+    //Junit test for partial update employee REST API - negative scenario
+    @DisplayName("Negative Scenario - Junit test for partial update employee REST API")
+    @Test
+    public void givenSparseEmployee_whenPatchMissingEmployee_thenReturn404() throws Exception {
+        // given precondition or setup
+        long employeeId = 1L;
+        given(employeeService.patchEmployee(employeeId, Map.of("lastName", "Jadhav"), null)).willReturn(false);
+
+        // when -action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(patch("/api/employees/{employeeId}", employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"lastName\":\"Jadhav\"}"));
+
+        //then - verify the output
+        response.andExpect(status().isNotFound());
+    }
+
+    //Junit test for partial update with a field that cannot be patched
+    @DisplayName("Negative Scenario - Junit test for partial update with an unknown field")
+    @Test
+    public void givenUnknownField_whenPatchEmployee_thenReturn400() throws Exception {
+        // given precondition or setup
+        long employeeId = 1L;
+        given(employeeService.patchEmployee(employeeId, Map.of("salary", "100"), null))
+                .willThrow(new IllegalArgumentException("Field salary cannot be updated"));
+
+        // when -action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(patch("/api/employees/{employeeId}", employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"salary\":\"100\"}"));
+
+        //then - verify the output
+        response.andExpect(status().isBadRequest())
+                .andExpect(content().string("Field salary cannot be updated"));
+    }
+
+    //Junit test for get employee by id REST API with ETag
+    @DisplayName("Junit test for get employee by id REST API returning an ETag")
+    @Test
+    public void givenEmployeeId_whenGetEmployeeById_thenReturnVersionETag() throws Exception {
+        // given precondition or setup
+        long employeeId = 1L;
+        Employee employee = Employee.builder()
+                .id(employeeId).firstName("Ramesh").lastName("Fegade").email("ramesh@gmail.com").version(3L)
+                .build();
+        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(employee));
+
+        // when -action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get("/api/employees/{id}", employeeId));
+
+        //then - verify the output
+        response.andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.version", is(3)));
+    }
+
+    //Junit test for conditional get employee by id REST API
+    @DisplayName("Junit test for get employee by id REST API with a matching If-None-Match")
+    @Test
+    public void givenCurrentETag_whenGetEmployeeById_thenReturn304WithoutBody() throws Exception {
+        // given precondition or setup
+        long employeeId = 1L;
+        Employee employee = Employee.builder()
+                .id(employeeId).firstName("Ramesh").lastName("Fegade").email("ramesh@gmail.com").version(3L)
+                .build();
+        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(employee));
+
+        // when -action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get("/api/employees/{id}", employeeId)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""));
+
+        //then - verify the output
+        response.andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    //Junit test for update employee REST API with a stale If-Match
+    @DisplayName("Negative Scenario - Junit test for update Employee REST API with a stale If-Match")
+    @Test
+    public void givenStaleIfMatch_whenUpdateEmployee_thenReturn412() throws Exception {
+        // given precondition or setup
+        long employeeId = 1L;
+        Employee savedEmployee = Employee.builder()
+                .id(employeeId).firstName("Ramesh").lastName("Fegade").email("ramesh@gmail.com").version(4L)
+                .build();
+        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(savedEmployee));
+
+        // when -action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(put("/api/employees/{employeeId}", employeeId)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(savedEmployee)));
+
+        //then - verify the output
+        response.andExpect(status().isPreconditionFailed());
+        verify(employeeService, never()).updateEmployee(any(Employee.class));
+    }
+
+    //Junit test for partial update employee REST API with If-Match
+    @DisplayName("Junit test for partial update employee REST API with a current If-Match")
+    @Test
+    public void givenCurrentIfMatch_whenPatchEmployee_thenReturn204WithNextETag() throws Exception {
+        // given precondition or setup
+        long employeeId = 1L;
+        given(employeeService.patchEmployee(employeeId, Map.of("lastName", "Jadhav"), 3L)).willReturn(true);
+
+        // when -action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(patch("/api/employees/{employeeId}", employeeId)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"lastName\":\"Jadhav\"}"));
+
+        //then - verify the output
+        response.andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+    }
+
+    //Junit test for partial update employee REST API with a stale If-Match
+    @DisplayName("Negative Scenario - Junit test for partial update employee REST API with a stale If-Match")
+    @Test
+    public void givenStaleIfMatch_whenPatchEmployee_thenReturn412() throws Exception {
+        // given precondition or setup
+        long employeeId = 1L;
+        given(employeeService.patchEmployee(employeeId, Map.of("lastName", "Jadhav"), 2L))
+                .willThrow(new OptimisticLockingFailureException("stale"));
+
+        // when -action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(patch("/api/employees/{employeeId}", employeeId)
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"lastName\":\"Jadhav\"}"));
+
+        //then - verify the output
+        response.andExpect(status().isPreconditionFailed());
+    }
 }
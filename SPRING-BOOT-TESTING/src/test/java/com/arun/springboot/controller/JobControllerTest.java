@@ -0,0 +1,157 @@
+package com.arun.springboot.controller;
+
+import com.arun.springboot.job.JobRejectedException;
+import com.arun.springboot.job.JobScheduler;
+import com.arun.springboot.model.Job;
+import com.arun.springboot.model.JobStatus;
+import com.arun.springboot.model.JobType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(JobController.class)
+public class JobControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JobScheduler jobScheduler;
+
+    //Junit test for submitting an employee import job REST API
+    @DisplayName("Junit test for submitting an employee import job REST API")
+    @Test
+    public void givenNdjsonPayload_whenSubmitImport_thenReturnAcceptedJob() throws Exception {
+        // given precondition or setup
+        Job job = job(JobType.EMPLOYEE_IMPORT, JobStatus.QUEUED);
+        given(jobScheduler.submit(eq(JobType.EMPLOYEE_IMPORT), eq("chunkSize=500"), any(InputStream.class)))
+                .willReturn(job);
+
+        // when -action or the behaviour that we are going to test
+        mockMvc.perform(post("/api/jobs/employee-import").param("chunkSize", "500")
+                        .contentType(EmployeeController.APPLICATION_NDJSON_VALUE)
+                        .content("{\"firstName\":\"Arun\",\"lastName\":\"Prajapati\",\"email\":\"arun@gmail.com\"}\n"))
+
+                //then - verify the output
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "http://localhost/api/jobs/" + job.getId()))
+                .andExpect(jsonPath("$.status", is("QUEUED")))
+                .andExpect(jsonPath("$.workFile").doesNotExist());
+    }
+
+    //Junit test for submitting a job while the queue is full REST API
+    @DisplayName("Junit test for submitting a job while the queue is full REST API")
+    @Test
+    public void givenFullQueue_whenSubmitExport_thenReturnServiceUnavailable() throws Exception {
+        // given precondition or setup
+        given(jobScheduler.submit(JobType.EMPLOYEE_EXPORT, "format=csv", null))
+                .willThrow(new JobRejectedException("100 jobs are already queued, retry later"));
+
+        // when -action or the behaviour that we are going to test
+        mockMvc.perform(post("/api/jobs/employee-export").param("format", "CSV"))
+
+                //then - verify the output
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    //Junit test for submitting an import with a bad chunk size REST API
+    @DisplayName("Junit test for submitting an import with a chunk size the handler rejects REST API")
+    @Test
+    public void givenTooLargeChunkSize_whenSubmitImport_thenReturnBadRequest() throws Exception {
+        // given precondition or setup
+        given(jobScheduler.submit(eq(JobType.EMPLOYEE_IMPORT), eq("chunkSize=20000"), any(InputStream.class)))
+                .willThrow(new IllegalArgumentException("chunkSize must be between 1 and 10000"));
+
+        // when -action or the behaviour that we are going to test
+        mockMvc.perform(post("/api/jobs/employee-import").param("chunkSize", "20000")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+
+                //then - verify the output
+                .andExpect(status().isBadRequest());
+    }
+
+    //Junit test for cancelling a running job REST API
+    @DisplayName("Junit test for cancelling a running job REST API")
+    @Test
+    public void givenRunningJob_whenCancel_thenReturnAccepted() throws Exception {
+        // given precondition or setup
+        Job job = job(JobType.EMPLOYEE_EXPORT, JobStatus.RUNNING);
+        Job cancelling = job(JobType.EMPLOYEE_EXPORT, JobStatus.RUNNING);
+        cancelling.setCancelRequested(true);
+        given(jobScheduler.getJob(job.getId())).willReturn(Optional.of(job));
+        given(jobScheduler.cancel(job.getId())).willReturn(Optional.of(cancelling));
+
+        // when -action or the behaviour that we are going to test
+        mockMvc.perform(delete("/api/jobs/{id}", job.getId()))
+
+                //then - verify the output
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.cancelRequested", is(true)));
+    }
+
+    //Junit test for cancelling a finished job REST API
+    @DisplayName("Junit test for cancelling a finished job REST API")
+    @Test
+    public void givenFinishedJob_whenCancel_thenReturnConflict() throws Exception {
+        // given precondition or setup
+        Job job = job(JobType.EMPLOYEE_EXPORT, JobStatus.SUCCEEDED);
+        given(jobScheduler.getJob(job.getId())).willReturn(Optional.of(job));
+
+        // when -action or the behaviour that we are going to test
+        mockMvc.perform(delete("/api/jobs/{id}", job.getId()))
+
+                //then - verify the output
+                .andExpect(status().isConflict());
+        then(jobScheduler).should(never()).cancel(job.getId());
+    }
+
+    //Junit test for downloading the result of an unfinished export REST API
+    @DisplayName("Junit test for downloading the result of an unfinished export REST API")
+    @Test
+    public void givenRunningExport_whenGetResult_thenReturnConflict() throws Exception {
+        // given precondition or setup
+        Job job = job(JobType.EMPLOYEE_EXPORT, JobStatus.RUNNING);
+        given(jobScheduler.getJob(job.getId())).willReturn(Optional.of(job));
+
+        // when -action or the behaviour that we are going to test
+        mockMvc.perform(get("/api/jobs/{id}/result", job.getId()).accept(MediaType.ALL))
+
+                //then - verify the output
+                .andExpect(status().isConflict());
+    }
+
+    private static Job job(JobType type, JobStatus status) {
+        return Job.builder()
+                .id("3f0c6a2e-8d1b-4c55-9a51-5b1f0f7e2c11")
+                .type(type)
+                .status(status)
+                .parameters(type == JobType.EMPLOYEE_EXPORT ? "format=csv" : "chunkSize=500")
+                .createdAt(Instant.parse("2024-01-01T00:00:00Z"))
+                .workFile("/tmp/employee-jobs/3f0c6a2e.result")
+                .build();
+    }
+}
@@ -0,0 +1,287 @@
+package com.arun.springboot.job;
+
+import com.arun.springboot.model.Job;
+import com.arun.springboot.model.JobStatus;
+import com.arun.springboot.model.JobType;
+import com.arun.springboot.repository.JobRepository;
+import com.arun.springboot.service.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class JobSchedulerTest {
+
+    @TempDir
+    Path directory;
+
+    private JobRepository jobRepository;
+
+    // the jobs table, kept in memory by the stubs below
+    private final List<Job> jobs = new ArrayList<>();
+
+    // work handed to the executor, run by the tests one task at a time
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    private final List<String> ran = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        jobRepository = mock(JobRepository.class);
+        willAnswer(invocation -> {
+            Job job = invocation.getArgument(0);
+            job.setCreatedAt(Instant.ofEpochSecond(jobs.size()));
+            jobs.add(job);
+            return job;
+        }).given(jobRepository).save(any(Job.class));
+        willAnswer(invocation -> jobs.stream().filter(job -> job.getStatus() == invocation.getArgument(0)).count())
+                .given(jobRepository).countByStatus(any());
+        willAnswer(invocation -> jobs.stream()
+                .filter(job -> job.getStatus() == invocation.getArgument(0))
+                .filter(job -> ((Collection<JobType>) invocation.getArgument(1)).contains(job.getType()))
+                .findFirst())
+                .given(jobRepository).findFirstByStatusAndTypeInOrderByCreatedAtAsc(any(), any());
+        willAnswer(invocation -> transition(invocation.getArgument(0), JobStatus.QUEUED, JobStatus.RUNNING))
+                .given(jobRepository).markRunning(anyString(), any());
+        willAnswer(invocation -> transition(invocation.getArgument(0), JobStatus.QUEUED, JobStatus.CANCELLED))
+                .given(jobRepository).cancelQueued(anyString(), any());
+        willAnswer(invocation -> transition(invocation.getArgument(0), JobStatus.RUNNING, JobStatus.RUNNING))
+                .given(jobRepository).requestCancel(anyString());
+        willAnswer(invocation -> {
+            Job job = find(invocation.getArgument(0)).get();
+            job.setStatus(invocation.getArgument(1));
+            job.setProcessed(invocation.getArgument(2));
+            job.setMessage(invocation.getArgument(4));
+            return 1;
+        }).given(jobRepository).finish(anyString(), any(), anyLong(), anyLong(), any(), any());
+        willAnswer(invocation -> find(invocation.getArgument(0))).given(jobRepository).findById(anyString());
+    }
+
+    @DisplayName("Jobs of a type wait while that type is at its concurrency limit")
+    @Test
+    public void givenTwoImports_whenSubmitted_thenSecondWaitsForFirst() {
+        // given precondition or setup
+        JobScheduler scheduler = scheduler(2, 10, recordingHandler(JobType.EMPLOYEE_IMPORT),
+                recordingHandler(JobType.EMPLOYEE_EXPORT));
+
+        // when -action or the behaviour that we are going to test
+        Job firstImport = scheduler.submit(JobType.EMPLOYEE_IMPORT, null, null);
+        Job secondImport = scheduler.submit(JobType.EMPLOYEE_IMPORT, null, null);
+        Job export = scheduler.submit(JobType.EMPLOYEE_EXPORT, "format=csv", null);
+
+        //then - verify the output
+        assertThat(tasks).hasSize(2);
+        assertThat(firstImport.getStatus()).isEqualTo(JobStatus.RUNNING);
+        assertThat(secondImport.getStatus()).isEqualTo(JobStatus.QUEUED);
+        assertThat(export.getStatus()).isEqualTo(JobStatus.RUNNING);
+
+        tasks.remove(0).run();
+        assertThat(firstImport.getStatus()).isEqualTo(JobStatus.SUCCEEDED);
+        assertThat(secondImport.getStatus()).isEqualTo(JobStatus.RUNNING);
+        assertThat(tasks).hasSize(2);
+    }
+
+    @DisplayName("No more jobs run at once than there are workers")
+    @Test
+    public void givenOneWorker_whenTwoTypesSubmitted_thenOnlyOneRuns() {
+        // given precondition or setup
+        JobScheduler scheduler = scheduler(1, 10, recordingHandler(JobType.EMPLOYEE_IMPORT),
+                recordingHandler(JobType.EMPLOYEE_EXPORT));
+
+        // when -action or the behaviour that we are going to test
+        scheduler.submit(JobType.EMPLOYEE_IMPORT, null, null);
+        Job export = scheduler.submit(JobType.EMPLOYEE_EXPORT, "format=csv", null);
+
+        //then - verify the output
+        assertThat(tasks).hasSize(1);
+        assertThat(export.getStatus()).isEqualTo(JobStatus.QUEUED);
+        tasks.remove(0).run();
+        tasks.remove(0).run();
+        assertThat(ran).containsExactly(JobType.EMPLOYEE_IMPORT.name(), JobType.EMPLOYEE_EXPORT.name());
+    }
+
+    @DisplayName("A running job stops at its next cancellation check")
+    @Test
+    public void givenRunningJob_whenCancelled_thenStatusIsCancelled() {
+        // given precondition or setup
+        JobScheduler[] scheduler = new JobScheduler[1];
+        scheduler[0] = scheduler(2, 10, new TestHandler(JobType.EMPLOYEE_EXPORT, context -> {
+            context.advance(3, 0);
+            scheduler[0].cancel(context.getJobId());
+            context.checkCancelled();
+            return "unreachable";
+        }));
+        Job job = scheduler[0].submit(JobType.EMPLOYEE_EXPORT, "format=csv", null);
+
+        // when -action or the behaviour that we are going to test
+        tasks.remove(0).run();
+
+        //then - verify the output
+        assertThat(job.getStatus()).isEqualTo(JobStatus.CANCELLED);
+        assertThat(job.getProcessed()).isEqualTo(3);
+    }
+
+    @DisplayName("Submissions beyond max-queued are rejected")
+    @Test
+    public void givenFullQueue_whenSubmit_thenThrowsJobRejectedException() {
+        // given precondition or setup
+        JobScheduler scheduler = scheduler(1, 1, recordingHandler(JobType.EMPLOYEE_EXPORT));
+        scheduler.submit(JobType.EMPLOYEE_EXPORT, "format=csv", null);
+        Job queued = scheduler.submit(JobType.EMPLOYEE_EXPORT, "format=csv", null);
+
+        // when -action or the behaviour that we are going to test
+        //then - verify the output
+        assertThat(queued.getStatus()).isEqualTo(JobStatus.QUEUED);
+        assertThatThrownBy(() -> scheduler.submit(JobType.EMPLOYEE_EXPORT, "format=csv", null))
+                .isInstanceOf(JobRejectedException.class);
+    }
+
+    @DisplayName("A cancel that races with the worker claiming the job still stops it")
+    @Test
+    public void givenCancelWhileJobIsClaimed_whenRun_thenStatusIsCancelled() throws Exception {
+        // given precondition or setup
+        JobScheduler scheduler = scheduler(1, 10, new TestHandler(JobType.EMPLOYEE_EXPORT, context -> {
+            context.checkCancelled();
+            ran.add(JobType.EMPLOYEE_EXPORT.name());
+            return "done";
+        }));
+        Thread[] canceller = new Thread[1];
+        willAnswer(invocation -> {
+            String id = invocation.getArgument(0);
+            int claimed = transition(id, JobStatus.QUEUED, JobStatus.RUNNING);
+            // the cancel arrives after the claim but before the scheduler has registered the job
+            canceller[0] = new Thread(() -> scheduler.cancel(id));
+            canceller[0].start();
+            while (canceller[0].getState() != Thread.State.BLOCKED && canceller[0].isAlive()) {
+                Thread.sleep(1);
+            }
+            return claimed;
+        }).given(jobRepository).markRunning(anyString(), any());
+
+        // when -action or the behaviour that we are going to test
+        Job job = scheduler.submit(JobType.EMPLOYEE_EXPORT, "format=csv", null);
+        canceller[0].join();
+        tasks.remove(0).run();
+
+        //then - verify the output
+        assertThat(job.getStatus()).isEqualTo(JobStatus.CANCELLED);
+        assertThat(ran).isEmpty();
+    }
+
+    @DisplayName("Parameters the handler rejects fail the submission before anything is queued")
+    @Test
+    public void givenBadChunkSize_whenSubmitImport_thenThrowsIllegalArgumentException() {
+        // given precondition or setup
+        JobScheduler scheduler = scheduler(1, 10,
+                new EmployeeImportJobHandler(mock(EmployeeService.class), new ObjectMapper(), 1));
+
+        // when -action or the behaviour that we are going to test
+        //then - verify the output
+        assertThatThrownBy(() -> scheduler.submit(JobType.EMPLOYEE_IMPORT, "chunkSize=0",
+                new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("chunkSize");
+        assertThat(jobs).isEmpty();
+        assertThat(directory).isEmptyDirectory();
+    }
+
+    @DisplayName("The retention sweep deletes finished jobs and their files")
+    @Test
+    public void givenExpiredJobs_whenPurgeFinished_thenRowsAndFilesDeleted() throws Exception {
+        // given precondition or setup
+        JobScheduler scheduler = scheduler(1, 10, recordingHandler(JobType.EMPLOYEE_EXPORT));
+        List<Job> expired = new ArrayList<>();
+        for (int i = 0; i < JobScheduler.PURGE_BATCH_SIZE + 1; i++) {
+            Path result = Files.createFile(directory.resolve(i + ".result"));
+            expired.add(Job.builder().id(String.valueOf(i)).workFile(result.toString()).build());
+        }
+        given(jobRepository.findByFinishedAtBefore(any(), any())).willReturn(
+                expired.subList(0, JobScheduler.PURGE_BATCH_SIZE),
+                expired.subList(JobScheduler.PURGE_BATCH_SIZE, expired.size()));
+
+        // when -action or the behaviour that we are going to test
+        int purged = scheduler.purgeFinished(Instant.now());
+
+        //then - verify the output
+        assertThat(purged).isEqualTo(JobScheduler.PURGE_BATCH_SIZE + 1);
+        assertThat(directory).isEmptyDirectory();
+        verify(jobRepository, times(2)).deleteAllByIdInBatch(any());
+    }
+
+    private JobScheduler scheduler(int poolSize, int maxQueued, JobHandler... handlers) {
+        return new JobScheduler(jobRepository, List.of(handlers), tasks::add, poolSize, maxQueued,
+                Duration.ofSeconds(1), directory.toString(), Duration.ofDays(7));
+    }
+
+    private JobHandler recordingHandler(JobType type) {
+        return new TestHandler(type, context -> {
+            ran.add(type.name());
+            return "done";
+        });
+    }
+
+    private Optional<Job> find(String id) {
+        return jobs.stream().filter(job -> job.getId().equals(id)).findFirst();
+    }
+
+    private int transition(String id, JobStatus from, JobStatus to) {
+        Job job = find(id).get();
+        if (job.getStatus() != from) {
+            return 0;
+        }
+        job.setStatus(to);
+        return 1;
+    }
+
+    private static class TestHandler implements JobHandler {
+
+        private final JobType type;
+
+        private final Function<JobContext, String> body;
+
+        TestHandler(JobType type, Function<JobContext, String> body) {
+            this.type = type;
+            this.body = body;
+        }
+
+        @Override
+        public JobType getType() {
+            return type;
+        }
+
+        @Override
+        public int getConcurrency() {
+            return 1;
+        }
+
+        @Override
+        public String run(JobContext context) {
+            return body.apply(context);
+        }
+    }
+}
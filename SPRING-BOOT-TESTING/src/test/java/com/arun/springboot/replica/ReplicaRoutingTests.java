@@ -0,0 +1,244 @@
+package com.arun.springboot.replica;
+
+import com.arun.springboot.config.ReplicaConfig;
+import com.arun.springboot.model.Employee;
+import com.arun.springboot.repository.EmployeeRepository;
+import com.arun.springboot.search.EmployeeSearchIndex;
+import com.arun.springboot.service.EmployeeService;
+import com.arun.springboot.service.imp.EmployeeServiceImp;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import javax.servlet.FilterChain;
+import javax.servlet.http.Cookie;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// three in-memory databases stand in for the primary and two replicas; the tests write the
+// replicas' heartbeats themselves, as replication would, and run the health check by hand
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:employee-primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "employee.replicas.enabled=true",
+        "employee.replicas.nodes[0].url=jdbc:h2:mem:employee-replica-0;DB_CLOSE_DELAY=-1",
+        "employee.replicas.nodes[0].username=sa",
+        "employee.replicas.nodes[1].url=jdbc:h2:mem:employee-replica-1;DB_CLOSE_DELAY=-1",
+        "employee.replicas.nodes[1].username=sa",
+        "employee.replicas.check-interval=10m"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReplicaConfig.class, EmployeeServiceImp.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ReplicaRoutingTests {
+
+    @MockBean
+    private EmployeeSearchIndex searchIndex;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeReplicas replicas;
+
+    @Autowired
+    private ReplicaHealthChecker healthChecker;
+
+    @Autowired
+    private ReadYourWritesFilter readYourWritesFilter;
+
+    @Autowired
+    private ReplicaProperties properties;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    public void setup() {
+        // each database holds one employee named after it, so a read shows where it ran; the ids
+        // stay clear of those the primary generates
+        insertMarker(replicas.getPrimary(), 1_000_001, "primary");
+        for (int replica = 0; replica < 2; replica++) {
+            JdbcTemplate jdbc = jdbc(replica);
+            jdbc.execute("create table if not exists employees (id bigint not null primary key, "
+                    + "first_name varchar(255) not null, last_name varchar(255) not null, "
+                    + "email varchar(255) not null, version bigint not null)");
+            jdbc.execute(ReplicaHealthChecker.CREATE_HEARTBEAT_TABLE);
+            insertMarker(replicas.getReplicas().get(replica).getDataSource(), 1_000_002 + replica, "replica-" + replica);
+        }
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @DisplayName("givenHealthyReplicas_whenReadOnly_thenReadsRotateOverReplicasAndWritesGoToPrimary")
+    @Test
+    public void givenHealthyReplicas_whenReadOnly_thenReadsRotateOverReplicasAndWritesGoToPrimary() {
+
+        //given - precondition or setup
+        heartbeat(0, System.currentTimeMillis());
+        heartbeat(1, System.currentTimeMillis());
+        healthChecker.check();
+
+        //when - action or the behaviour that we are going to test
+        List<String> readFrom = IntStream.range(0, 4).mapToObj(i -> readFrom()).collect(Collectors.toList());
+        employeeRepository.saveAndFlush(Employee.builder().firstName("New").lastName("Employee")
+                .email("new@example.com").build());
+
+        //then - verify the output
+        assertThat(readFrom).containsOnly("replica-0", "replica-1");
+        assertThat(Collections.frequency(readFrom, "replica-0")).isEqualTo(2);
+        assertThat(employeeService.getEmployeesPage(null, 10).getContent()).hasSize(1);
+        assertThat(new JdbcTemplate(replicas.getPrimary()).queryForObject("select count(*) from employees",
+                Long.class)).isEqualTo(2);
+    }
+
+    @DisplayName("givenHealthyReplicas_whenGetEmployeeById_thenReadFromPrimary")
+    @Test
+    public void givenHealthyReplicas_whenGetEmployeeById_thenReadFromPrimary() {
+
+        //given - precondition or setup
+        heartbeat(0, System.currentTimeMillis());
+        heartbeat(1, System.currentTimeMillis());
+        healthChecker.check();
+
+        //when - action or the behaviour that we are going to test
+        List<Boolean> found = IntStream.range(0, 2)
+                .mapToObj(replica -> employeeService.getEmployeeById(1_000_002 + replica).isPresent())
+                .collect(Collectors.toList());
+
+        //then - verify the output
+        assertThat(employeeService.getEmployeeById(1_000_001)).get()
+                .extracting(Employee::getFirstName).isEqualTo("primary");
+        assertThat(found).containsOnly(false);
+    }
+
+    @DisplayName("givenLaggingReplica_whenChecked_thenItGetsNoReads")
+    @Test
+    public void givenLaggingReplica_whenChecked_thenItGetsNoReads() {
+
+        //given - precondition or setup
+        heartbeat(0, System.currentTimeMillis() - 60_000);
+        heartbeat(1, System.currentTimeMillis());
+
+        //when - action or the behaviour that we are going to test
+        healthChecker.check();
+
+        //then - verify the output
+        assertThat(replicas.getReplicas().get(0).isHealthy()).isFalse();
+        assertThat(replicas.getReplicas().get(0).getLagMillis()).isGreaterThanOrEqualTo(60_000);
+        assertThat(IntStream.range(0, 4).mapToObj(i -> readFrom())).containsOnly("replica-1");
+
+        // and with no replica close enough, reads fall back to the primary
+        heartbeat(1, System.currentTimeMillis() - 60_000);
+        healthChecker.check();
+        assertThat(readFrom()).isEqualTo("primary");
+    }
+
+    @DisplayName("givenClientThatJustWrote_whenItReads_thenReadsGoToPrimaryUntilTheWindowPasses")
+    @Test
+    public void givenClientThatJustWrote_whenItReads_thenReadsGoToPrimaryUntilTheWindowPasses() throws Exception {
+
+        //given - precondition or setup
+        heartbeat(0, System.currentTimeMillis());
+        heartbeat(1, System.currentTimeMillis());
+        healthChecker.check();
+        List<String> readFrom = new ArrayList<>();
+        FilterChain read = (request, response) -> readFrom.add(readFrom());
+
+        //when - action or the behaviour that we are going to test
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        readYourWritesFilter.doFilter(new MockHttpServletRequest("PUT", "/api/employees/1"), writeResponse, read);
+        Cookie cookie = writeResponse.getCookie(ReadYourWritesFilter.COOKIE);
+
+        MockHttpServletRequest readAfterWrite = new MockHttpServletRequest("GET", "/api/employees");
+        readAfterWrite.setCookies(cookie);
+        Thread[] handedOff = new Thread[1];
+        readYourWritesFilter.doFilter(readAfterWrite, new MockHttpServletResponse(), (request, response) -> {
+            readFrom.add(readFrom());
+            // work handed to an executor stays on the primary too
+            handedOff[0] = new Thread(readYourWritesFilter.decorate(() -> readFrom.add(readFrom())));
+        });
+        handedOff[0].start();
+        handedOff[0].join();
+
+        MockHttpServletRequest readAfterWindow = new MockHttpServletRequest("GET", "/api/employees");
+        readAfterWindow.setCookies(new Cookie(ReadYourWritesFilter.COOKIE,
+                Long.toString(System.currentTimeMillis() - 1)));
+        readYourWritesFilter.doFilter(readAfterWindow, new MockHttpServletResponse(), read);
+
+        //then - verify the output
+        assertThat(cookie).isNotNull();
+        assertThat(cookie.getMaxAge()).isEqualTo(properties.getReadYourWritesWindow().getSeconds());
+        assertThat(readFrom).containsExactly("primary", "primary", "primary", readFrom.get(3));
+        assertThat(readFrom.get(3)).startsWith("replica-");
+    }
+
+    @DisplayName("givenLeastConnections_whenOneReplicaIsBusy_thenTheOtherIsSelected")
+    @Test
+    public void givenLeastConnections_whenOneReplicaIsBusy_thenTheOtherIsSelected() throws Exception {
+
+        //given - precondition or setup
+        ReplicaProperties leastConnections = new ReplicaProperties();
+        leastConnections.setNodes(properties.getNodes());
+        leastConnections.setSelection(ReplicaProperties.Selection.LEAST_CONNECTIONS);
+        HikariDataSource primary = new HikariDataSource();
+        primary.setJdbcUrl("jdbc:h2:mem:employee-primary;DB_CLOSE_DELAY=-1");
+
+        try (EmployeeReplicas selecting = EmployeeReplicas.create(primary, leastConnections)) {
+            selecting.getReplicas().forEach(replica -> replica.update(true, 0));
+            EmployeeReplicas.Replica busy = selecting.getReplicas().get(0);
+
+            //when - action or the behaviour that we are going to test
+            List<String> selected = new ArrayList<>();
+            try (Connection connection = busy.getDataSource().getConnection()) {
+                IntStream.range(0, 4).forEach(i -> selected.add(selecting.select().getName()));
+            }
+            busy.update(false, -1);
+            selected.add(selecting.select().getName());
+
+            //then - verify the output
+            assertThat(selected).containsOnly(selecting.getReplicas().get(1).getName());
+        }
+    }
+
+    private String readFrom() {
+        return employeeService.getAllEmployees().get(0).getFirstName();
+    }
+
+    private JdbcTemplate jdbc(int replica) {
+        return new JdbcTemplate(replicas.getReplicas().get(replica).getDataSource());
+    }
+
+    private void heartbeat(int replica, long beatMillis) {
+        jdbc(replica).update("merge into replica_heartbeat key (id) values (1, ?)", beatMillis);
+    }
+
+    private static void insertMarker(DataSource dataSource, long id, String name) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("delete from employees");
+        jdbc.update("insert into employees (id, first_name, last_name, email, version) values (?, ?, ?, ?, 0)",
+                id, name, name, name + "@example.com");
+    }
+}
@@ -184,10 +184,10 @@ public class EmployeeRepositoryIntegrationTests extends AbstractionBaseTest {
         String lastName = "Karande";
 
         // when -action or the behaviour that we are going to test
-        Employee savedEmployee = employeeRepository.findByJPQL(firstName, lastName);
+        List<Employee> savedEmployees = employeeRepository.findByJPQL(firstName, lastName);
 
         //then - verify the output
-        assertThat(savedEmployee).isNotNull();
+        assertThat(savedEmployees).hasSize(1);
     }
 
     //Junit test for custom query using JPQL with Named Params
@@ -205,10 +205,10 @@ public class EmployeeRepositoryIntegrationTests extends AbstractionBaseTest {
         String lastName = "Karande";
 
         // when -action or the behaviour that we are going to test
-        Employee savedEmployee = employeeRepository.findByJPQLNamedParams(firstName, lastName);
+        List<Employee> savedEmployees = employeeRepository.findByJPQLNamedParams(firstName, lastName);
 
         //then - verify the output
-        assertThat(savedEmployee).isNotNull();
+        assertThat(savedEmployees).hasSize(1);
     }
 
     //Junit test for custom query using native SQL with index
@@ -226,10 +226,10 @@ public class EmployeeRepositoryIntegrationTests extends AbstractionBaseTest {
         String lastName = "Vaishnav";
 
         // when -action or the behaviour that we are going to test
-        Employee savedEmployee = employeeRepository.findByNativeSQL(employee.getFirstName(), employee.getLastName());
+        List<Employee> savedEmployees = employeeRepository.findByNativeSQL(employee.getFirstName(), employee.getLastName());
 
         //then - verify the output
-        assertThat(savedEmployee).isNotNull();
+        assertThat(savedEmployees).hasSize(1);
     }
 
     //Junit test for custom query using native SQL with index
@@ -247,10 +247,10 @@ public class EmployeeRepositoryIntegrationTests extends AbstractionBaseTest {
         String lastName = "Vaishnav";
 
         // when -action or the behaviour that we are going to test
-        Employee savedEmployee = employeeRepository.findByNativeSQLNamed(employee.getFirstName(), employee.getLastName());
+        List<Employee> savedEmployees = employeeRepository.findByNativeSQLNamed(employee.getFirstName(), employee.getLastName());
 
         //then - verify the output
-        assertThat(savedEmployee).isNotNull();
+        assertThat(savedEmployees).hasSize(1);
     }
 
 
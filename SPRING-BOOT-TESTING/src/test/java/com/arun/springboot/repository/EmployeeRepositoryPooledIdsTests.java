@@ -0,0 +1,82 @@
+package com.arun.springboot.repository;
+
+import com.arun.springboot.model.Employee;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("pooled-ids")
+public class EmployeeRepositoryPooledIdsTests {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @DisplayName("givenTenThousandEmployees_whenSaveAll_thenInsertsAreBatched")
+    @Test
+    public void givenTenThousandEmployees_whenSaveAll_thenInsertsAreBatched() {
+
+        //given - precondition or setup
+        List<Employee> employees = employees(0, 10_000);
+
+        //when - action or the behaviour that we are going to test
+        employeeRepository.saveAll(employees);
+        employeeRepository.flush();
+
+        //then - verify the output
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(10_000);
+        // IDENTITY needs 10k statements; here one sequence call per block of 50 ids and a reused batched INSERT
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(500);
+        assertThat(employees).extracting(Employee::getId).doesNotHaveDuplicates().doesNotContain(0L);
+    }
+
+    @DisplayName("givenPooledIds_whenInsertAllUpsertAndSave_thenIdsDoNotCollide")
+    @Test
+    public void givenPooledIds_whenInsertAllUpsertAndSave_thenIdsDoNotCollide() {
+
+        //given - precondition or setup
+        employeeRepository.insertAll(employees(0, 30));
+        employeeRepository.upsertByEmail(employees(30, 1).get(0));
+
+        //when - action or the behaviour that we are going to test
+        employeeRepository.saveAll(employees(31, 30));
+        employeeRepository.flush();
+
+        //then - verify the output
+        assertThat(employeeRepository.findAll()).hasSize(61)
+                .extracting(Employee::getId).doesNotHaveDuplicates();
+    }
+
+    private static List<Employee> employees(int from, int count) {
+        return IntStream.range(from, from + count)
+                .mapToObj(i -> Employee.builder()
+                        .firstName("First" + i)
+                        .lastName("Last" + i)
+                        .email("employee" + i + "@example.com")
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
@@ -1,14 +1,29 @@
 package com.arun.springboot.repository;
 
+import com.arun.springboot.export.EmployeeExportFormat;
+import com.arun.springboot.export.EmployeeExportWriter;
 import com.arun.springboot.model.Employee;
+import com.arun.springboot.model.EmployeeView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 
 @DataJpaTest
 public class EmployeeRepositoryTests {
@@ -179,10 +194,10 @@ public class EmployeeRepositoryTests {
         String lastName = "Karande";
 
         // when -action or the behaviour that we are going to test
-        Employee savedEmployee = employeeRepository.findByJPQL(firstName, lastName);
+        List<Employee> savedEmployees = employeeRepository.findByJPQL(firstName, lastName);
 
         //then - verify the output
-        assertThat(savedEmployee).isNotNull();
+        assertThat(savedEmployees).hasSize(1);
     }
 
     //Junit test for custom query using JPQL with Named Params
@@ -200,10 +215,10 @@ public class EmployeeRepositoryTests {
         String lastName = "Karande";
 
         // when -action or the behaviour that we are going to test
-        Employee savedEmployee = employeeRepository.findByJPQLNamedParams(firstName, lastName);
+        List<Employee> savedEmployees = employeeRepository.findByJPQLNamedParams(firstName, lastName);
 
         //then - verify the output
-        assertThat(savedEmployee).isNotNull();
+        assertThat(savedEmployees).hasSize(1);
     }
 
     //Junit test for custom query using native SQL with index
@@ -221,10 +236,10 @@ public class EmployeeRepositoryTests {
         String lastName = "Vaishnav";
 
         // when -action or the behaviour that we are going to test
-        Employee savedEmployee = employeeRepository.findByNativeSQL(employee.getFirstName(), employee.getLastName());
+        List<Employee> savedEmployees = employeeRepository.findByNativeSQL(employee.getFirstName(), employee.getLastName());
 
         //then - verify the output
-        assertThat(savedEmployee).isNotNull();
+        assertThat(savedEmployees).hasSize(1);
     }
 
     //Junit test for custom query using native SQL with index
@@ -242,31 +257,266 @@ public class EmployeeRepositoryTests {
         String lastName = "Vaishnav";
 
         // when -action or the behaviour that we are going to test
-        Employee savedEmployee = employeeRepository.findByNativeSQLNamed(employee.getFirstName(), employee.getLastName());
+        List<Employee> savedEmployees = employeeRepository.findByNativeSQLNamed(employee.getFirstName(), employee.getLastName());
 
         //then - verify the output
-        assertThat(savedEmployee).isNotNull();
+        assertThat(savedEmployees).hasSize(1);
     }
 
+    //Junit test for keyset pagination
+    @DisplayName("Junit test for keyset pagination")
+    @Test
+    public void givenEmployeeList_whenFindNextPage_thenReturnRowsAfterLastSeenId() {
+        // given precondition or setup
+        Employee employee1 = employeeRepository.save(Employee.builder()
+                .firstName("Ajay").lastName("Prajapti").email("ajay@gmail.com").build());
+        Employee employee2 = employeeRepository.save(Employee.builder()
+                .firstName("John").lastName("Cena").email("cena@gmail.com").build());
+        Employee employee3 = employeeRepository.save(Employee.builder()
+                .firstName("Rohan").lastName("Singh").email("rohan@gmail.com").build());
 
-}
+        // when -action or the behaviour that we are going to test
+        List<Employee> page = employeeRepository.findNextPage(employee1.getId(), PageRequest.of(0, 1));
 
+        //then - verify the output
+        assertThat(page).extracting(Employee::getId).containsExactly(employee2.getId());
+    }
 
+    //Junit test for name lookups when several employees share a name
+    @DisplayName("Junit test for name lookup with duplicate names")
+    @Test
+    public void givenEmployeesWithSameName_whenFindByJPQL_thenReturnAllInIdOrder() {
+        // given precondition or setup
+        Employee employee1 = employeeRepository.save(Employee.builder()
+                .firstName("Rohan").lastName("Singh").email("rohan@gmail.com").build());
+        Employee employee2 = employeeRepository.save(Employee.builder()
+                .firstName("Rohan").lastName("Singh").email("rohan.singh@gmail.com").build());
 
+        // when -action or the behaviour that we are going to test
+        List<Employee> employees = employeeRepository.findByJPQL("Rohan", "Singh");
 
+        //then - verify the output
+        assertThat(employees).extracting(Employee::getId).containsExactly(employee1.getId(), employee2.getId());
+    }
 
+    //Junit test for paged name lookup
+    @DisplayName("Junit test for paged name lookup")
+    @Test
+    public void givenEmployeesWithSameName_whenFindByFirstNameAndLastName_thenReturnPage() {
+        // given precondition or setup
+        Employee employee1 = employeeRepository.save(Employee.builder()
+                .firstName("Rohan").lastName("Singh").email("rohan@gmail.com").build());
+        Employee employee2 = employeeRepository.save(Employee.builder()
+                .firstName("Rohan").lastName("Singh").email("rohan.singh@gmail.com").build());
+        employeeRepository.save(Employee.builder()
+                .firstName("Rohan").lastName("Sharma").email("rohan.sharma@gmail.com").build());
 
+        // when -action or the behaviour that we are going to test
+        Page<Employee> page = employeeRepository.findByFirstNameAndLastName("Rohan", "Singh",
+                PageRequest.of(1, 1, Sort.by("id")));
 
+        //then - verify the output
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(Employee::getId).containsExactly(employee2.getId());
+        assertThat(employee1.getId()).isLessThan(employee2.getId());
+    }
 
+    //Junit test for streaming every employee through the JDBC cursor
+    @DisplayName("Junit test for streaming every employee")
+    @Test
+    public void givenEmployeeList_whenStreamAll_thenVisitEveryEmployeeInIdOrder() {
+        // given precondition or setup
+        employeeRepository.save(employee);
+        employeeRepository.save(Employee.builder()
+                .firstName("John").lastName("Cena").email("cena@gmail.com").build());
+        employeeRepository.flush();
 
+        // when -action or the behaviour that we are going to test
+        List<Employee> streamed = new ArrayList<>();
+        employeeRepository.streamAll(streamed::add);
 
+        //then - verify the output
+        assertThat(streamed).extracting(Employee::getEmail)
+                .containsExactly("arun@gmail.com", "cena@gmail.com");
+    }
 
+    //Junit test for exporting every employee as CSV straight from the JDBC cursor
+    @DisplayName("Junit test for exporting every employee as CSV")
+    @Test
+    public void givenEmployeeList_whenExportAll_thenWriteOneCsvLinePerEmployee() throws IOException {
+        // given precondition or setup
+        Employee saved = employeeRepository.save(employee);
+        Employee cena = employeeRepository.save(Employee.builder()
+                .firstName("John").lastName("Cena, \"Jr\"").email("cena@gmail.com").build());
+        employeeRepository.flush();
 
+        // when -action or the behaviour that we are going to test
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        long rows;
+        try (EmployeeExportWriter writer = EmployeeExportWriter.create(EmployeeExportFormat.CSV, csv)) {
+            employeeRepository.exportAll(writer);
+            rows = writer.getRows();
+        }
 
+        //then - verify the output
+        assertThat(rows).isEqualTo(2);
+        assertThat(csv.toString(StandardCharsets.UTF_8)).isEqualTo("id,firstName,lastName,email,version\r\n"
+                + saved.getId() + ",Arun,Prajapati,arun@gmail.com,0\r\n"
+                + cena.getId() + ",John,\"Cena, \"\"Jr\"\"\",cena@gmail.com,0\r\n");
+    }
+
+    //Junit test for batch insert and set-wise email lookup
+    @DisplayName("Junit test for batch insert and set-wise email lookup")
+    @Test
+    public void givenEmployeeList_whenInsertAll_thenFindExistingEmails() {
+        // given precondition or setup
+        List<Employee> employees = List.of(employee, Employee.builder()
+                .firstName("John").lastName("Cena").email("cena@gmail.com").build());
 
+        // when -action or the behaviour that we are going to test
+        int inserted = employeeRepository.insertAll(employees);
+        Set<String> existing = employeeRepository.findExistingEmails(
+                List.of("arun@gmail.com", "cena@gmail.com", "nobody@gmail.com"));
 
+        //then - verify the output
+        assertThat(inserted).isEqualTo(2);
+        assertThat(existing).containsExactlyInAnyOrder("arun@gmail.com", "cena@gmail.com");
+    }
 
+    //Junit test for reading a sparse fieldset
+    @DisplayName("Junit test for reading only the selected fields")
+    @Test
+    public void givenEmployees_whenFindAllFields_thenReturnOnlySelectedFieldsInIdOrder() {
+        // given precondition or setup
+        employeeRepository.insertAll(List.of(employee, Employee.builder()
+                .firstName("John").lastName("Cena").email("cena@gmail.com").build()));
 
+        // when -action or the behaviour that we are going to test
+        List<EmployeeView> views = employeeRepository.findAllFields(Set.of("email", "lastName"));
 
+        //then - verify the output
+        assertThat(views).extracting(EmployeeView::getEmail).containsExactly("arun@gmail.com", "cena@gmail.com");
+        assertThat(views).extracting(EmployeeView::getId).doesNotContainNull().isSorted();
+        assertThat(views).extracting(EmployeeView::getFirstName, EmployeeView::getVersion)
+                .containsOnly(tuple(null, null));
+        assertThatThrownBy(() -> employeeRepository.findAllFields(Set.of("email", "salary")))
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
 
+    //Junit test for upsert by email
+    @DisplayName("Junit test for upsert by email")
+    @Test
+    public void givenExistingEmail_whenUpsertByEmail_thenUpdateSameRow() {
+        // given precondition or setup
+        Employee inserted = employeeRepository.upsertByEmail(employee);
 
+        // when -action or the behaviour that we are going to test
+        Employee updated = employeeRepository.upsertByEmail(Employee.builder()
+                .firstName("Arun").lastName("Kumar").email(employee.getEmail()).build());
+
+        //then - verify the output
+        assertThat(updated.getId()).isEqualTo(inserted.getId());
+        assertThat(updated.getVersion()).isEqualTo(inserted.getVersion() + 1);
+        assertThat(employeeRepository.count()).isEqualTo(1);
+        assertThat(employeeRepository.findByEmail(employee.getEmail()).get().getLastName()).isEqualTo("Kumar");
+    }
+
+    //Junit test for batch update by id
+    @DisplayName("Junit test for batch update by id")
+    @Test
+    public void givenEmployees_whenUpdateAll_thenOverwriteByIdAndBumpVersion() {
+        // given precondition or setup
+        // written over JDBC so no managed copy hides the JDBC update below
+        employeeRepository.insertAll(List.of(employee));
+        Employee saved = employeeRepository.findByEmails(List.of(employee.getEmail())).get(0);
+        Employee update = Employee.builder()
+                .id(saved.getId()).firstName("Arun").lastName("Kumar").email("arun.kumar@gmail.com").build();
+        Employee missing = Employee.builder()
+                .id(saved.getId() + 1000).firstName("Nobody").lastName("Here").email("nobody@gmail.com").build();
+
+        // when -action or the behaviour that we are going to test
+        int[] counts = employeeRepository.updateAll(List.of(update, missing));
+
+        //then - verify the output
+        assertThat(counts).containsExactly(1, 0);
+        Employee reloaded = employeeRepository.findByEmails(List.of("arun.kumar@gmail.com")).get(0);
+        assertThat(reloaded.getLastName()).isEqualTo("Kumar");
+        assertThat(reloaded.getVersion()).isEqualTo(saved.getVersion() + 1);
+    }
+
+    //Junit test for set-based delete by ids
+    @DisplayName("Junit test for set-based delete by ids")
+    @Test
+    public void givenEmployeeIds_whenDeleteByIdIn_thenReturnAffectedRows() {
+        // given precondition or setup
+        Employee saved = employeeRepository.save(employee);
+        Employee other = employeeRepository.save(Employee.builder()
+                .firstName("John").lastName("Cena").email("cena@example.com").build());
+
+        // when -action or the behaviour that we are going to test
+        int deleted = employeeRepository.deleteByIdIn(List.of(saved.getId(), -1L));
+
+        //then - verify the output
+        assertThat(deleted).isEqualTo(1);
+        assertThat(employeeRepository.findAll()).extracting(Employee::getId).containsExactly(other.getId());
+    }
+
+    //Junit test for keyset scan of ids by email domain
+    @DisplayName("Junit test for keyset scan of ids by email domain")
+    @Test
+    public void givenEmailPattern_whenFindIdsByEmailLike_thenReturnMatchingIds() {
+        // given precondition or setup
+        Employee saved = employeeRepository.save(employee);
+        employeeRepository.save(Employee.builder()
+                .firstName("John").lastName("Cena").email("cena@example.com").build());
+        employeeRepository.save(Employee.builder()
+                .firstName("Under").lastName("Score").email("score@gmailXcom").build());
+
+        // when -action or the behaviour that we are going to test
+        List<Long> ids = employeeRepository.findIdsByEmailLike("%@gmail.com", 0L, PageRequest.of(0, 10));
+
+        //then - verify the output
+        assertThat(ids).containsExactly(saved.getId());
+    }
+
+    //Junit test for column-level partial update
+    @DisplayName("Junit test for column-level partial update")
+    @Test
+    public void givenSparseFields_whenUpdateFields_thenOnlyThoseColumnsChange() {
+        // given precondition or setup
+        Employee saved = employeeRepository.saveAndFlush(employee);
+
+        // when -action or the behaviour that we are going to test
+        int updated = employeeRepository.updateFields(saved.getId(), Map.of("lastName", "Kumar"), null);
+        int missing = employeeRepository.updateFields(-1L, Map.of("lastName", "Kumar"), null);
+
+        //then - verify the output
+        assertThat(updated).isEqualTo(1);
+        assertThat(missing).isZero();
+        // read back over JDBC; the persistence context still holds the entity as saved
+        List<Employee> reloaded = new ArrayList<>();
+        employeeRepository.streamAll(reloaded::add);
+        assertThat(reloaded.get(0).getFirstName()).isEqualTo("Arun");
+        assertThat(reloaded.get(0).getLastName()).isEqualTo("Kumar");
+    }
+
+    //Junit test for version checked partial update
+    @DisplayName("Junit test for version checked partial update")
+    @Test
+    public void givenExpectedVersion_whenUpdateFields_thenOnlyCurrentVersionIsUpdated() {
+        // given precondition or setup
+        Employee saved = employeeRepository.saveAndFlush(employee);
+
+        // when -action or the behaviour that we are going to test
+        int current = employeeRepository.updateFields(saved.getId(), Map.of("lastName", "Kumar"), 0L);
+        int stale = employeeRepository.updateFields(saved.getId(), Map.of("lastName", "Singh"), 0L);
+
+        //then - verify the output
+        assertThat(current).isEqualTo(1);
+        assertThat(stale).isZero();
+        List<Employee> reloaded = new ArrayList<>();
+        employeeRepository.streamAll(reloaded::add);
+        assertThat(reloaded.get(0).getLastName()).isEqualTo("Kumar");
+        assertThat(reloaded.get(0).getVersion()).isEqualTo(1L);
+    }
+}
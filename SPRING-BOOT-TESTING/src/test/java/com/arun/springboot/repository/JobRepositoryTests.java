@@ -0,0 +1,111 @@
+package com.arun.springboot.repository;
+
+import com.arun.springboot.model.Job;
+import com.arun.springboot.model.JobStatus;
+import com.arun.springboot.model.JobType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+public class JobRepositoryTests {
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    // JUnit test for picking the oldest queued job of the types with a free slot
+    @DisplayName("givenQueuedJobs_whenFindFirstByStatusAndTypeIn_thenReturnOldestOfThoseTypes")
+    @Test
+    public void givenQueuedJobs_whenFindFirstByStatusAndTypeIn_thenReturnOldestOfThoseTypes() {
+
+        //given - precondition or setup
+        jobRepository.save(job("a", JobType.EMPLOYEE_IMPORT, 1));
+        jobRepository.save(job("b", JobType.EMPLOYEE_EXPORT, 2));
+        jobRepository.save(job("c", JobType.EMPLOYEE_EXPORT, 3));
+
+        //when - action or the behaviour that we are going to test
+        Optional<Job> next = jobRepository.findFirstByStatusAndTypeInOrderByCreatedAtAsc(JobStatus.QUEUED,
+                List.of(JobType.EMPLOYEE_EXPORT));
+
+        //then - verify the output
+        assertThat(next).map(Job::getId).contains("b");
+    }
+
+    // JUnit test for claiming a queued job only once
+    @DisplayName("givenQueuedJob_whenMarkRunningTwice_thenOnlyFirstClaimSucceeds")
+    @Test
+    public void givenQueuedJob_whenMarkRunningTwice_thenOnlyFirstClaimSucceeds() {
+
+        //given - precondition or setup
+        jobRepository.save(job("a", JobType.EMPLOYEE_IMPORT, 1));
+
+        //when - action or the behaviour that we are going to test
+        int first = jobRepository.markRunning("a", Instant.now());
+        int second = jobRepository.markRunning("a", Instant.now());
+
+        //then - verify the output
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isZero();
+        assertThat(jobRepository.cancelQueued("a", Instant.now())).isZero();
+        assertThat(jobRepository.findById("a")).map(Job::getStatus).contains(JobStatus.RUNNING);
+    }
+
+    // JUnit test for finding the jobs the retention sweep deletes
+    @DisplayName("givenFinishedJobs_whenFindByFinishedAtBefore_thenReturnOnlyExpiredOnes")
+    @Test
+    public void givenFinishedJobs_whenFindByFinishedAtBefore_thenReturnOnlyExpiredOnes() {
+
+        //given - precondition or setup
+        Job expired = job("a", JobType.EMPLOYEE_EXPORT, 1);
+        expired.setStatus(JobStatus.SUCCEEDED);
+        expired.setFinishedAt(Instant.ofEpochSecond(10));
+        Job recent = job("b", JobType.EMPLOYEE_EXPORT, 2);
+        recent.setStatus(JobStatus.FAILED);
+        recent.setFinishedAt(Instant.ofEpochSecond(100));
+        jobRepository.save(expired);
+        jobRepository.save(recent);
+        jobRepository.save(job("c", JobType.EMPLOYEE_IMPORT, 3));
+
+        //when - action or the behaviour that we are going to test
+        List<Job> found = jobRepository.findByFinishedAtBefore(Instant.ofEpochSecond(50), PageRequest.of(0, 10));
+
+        //then - verify the output
+        assertThat(found).extracting(Job::getId).containsExactly("a");
+    }
+
+    // JUnit test for asking only a running job to stop
+    @DisplayName("givenQueuedJob_whenRequestCancel_thenNothingUpdatedUntilItRuns")
+    @Test
+    public void givenQueuedJob_whenRequestCancel_thenNothingUpdatedUntilItRuns() {
+
+        //given - precondition or setup
+        jobRepository.save(job("a", JobType.EMPLOYEE_IMPORT, 1));
+
+        //when - action or the behaviour that we are going to test
+        int whileQueued = jobRepository.requestCancel("a");
+        jobRepository.markRunning("a", Instant.now());
+        int whileRunning = jobRepository.requestCancel("a");
+
+        //then - verify the output
+        assertThat(whileQueued).isZero();
+        assertThat(whileRunning).isEqualTo(1);
+        assertThat(jobRepository.findById("a")).map(Job::isCancelRequested).contains(true);
+    }
+
+    private static Job job(String id, JobType type, long createdAt) {
+        return Job.builder()
+                .id(id)
+                .type(type)
+                .status(JobStatus.QUEUED)
+                .createdAt(Instant.ofEpochSecond(createdAt))
+                .build();
+    }
+}
@@ -0,0 +1,165 @@
+package com.arun.springboot.search;
+
+import com.arun.springboot.model.Employee;
+import com.arun.springboot.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeSearchIndexTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @InjectMocks
+    private EmployeeSearchIndex searchIndex;
+
+    private Employee arun;
+
+    private Employee ram;
+
+    private Employee john;
+
+    @BeforeEach
+    public void setUp() {
+        arun = Employee.builder().id(1L).firstName("Arun").lastName("Prajapati").email("arunp@gmail.com").build();
+        ram = Employee.builder().id(2L).firstName("Ram").lastName("Prajapati").email("ram.p@yahoo.com").build();
+        john = Employee.builder().id(3L).firstName("John").lastName("Cena").email("cena@gmail.com").build();
+        searchIndex.index(arun);
+        searchIndex.index(ram);
+        searchIndex.index(john);
+    }
+
+    //Junit test for prefix search over every field
+    @DisplayName("Junit test for prefix search over names and email")
+    @Test
+    public void givenPrefix_whenSearch_thenMatchAnyField() {
+        // when -action or the behaviour that we are going to test
+        List<Employee> byLastName = searchIndex.search("praj", 10);
+        List<Employee> byEmailDomain = searchIndex.search("GMAIL", 10);
+
+        //then - verify the output
+        assertThat(byLastName).extracting(Employee::getId).containsExactly(1L, 2L);
+        assertThat(byEmailDomain).extracting(Employee::getId).containsExactly(1L, 3L);
+    }
+
+    //Junit test for queries with several words
+    @DisplayName("Junit test for search requiring every query word")
+    @Test
+    public void givenSeveralWords_whenSearch_thenIntersect() {
+        // when -action or the behaviour that we are going to test
+        List<Employee> employees = searchIndex.search("ra pra", 10);
+
+        //then - verify the output
+        assertThat(employees).extracting(Employee::getId).containsExactly(2L);
+        assertThat(searchIndex.search("arun cena", 10)).isEmpty();
+        assertThat(searchIndex.search("pra", 1)).hasSize(1);
+    }
+
+    //Junit test for keeping the index in step with updates and deletes
+    @DisplayName("Junit test for search after update, patch and delete")
+    @Test
+    public void givenChangedEmployees_whenSearch_thenSeeLatestState() {
+        // given precondition or setup
+        searchIndex.index(Employee.builder().id(1L).firstName("Arun").lastName("Kumar")
+                .email("arunp@gmail.com").version(1L).build());
+        searchIndex.update(2L, Map.of("email", "ram@outlook.com"));
+        searchIndex.remove(3L);
+
+        // when -action or the behaviour that we are going to test
+        List<Employee> prajapati = searchIndex.search("prajapati", 10);
+
+        //then - verify the output
+        assertThat(prajapati).extracting(Employee::getId).containsExactly(2L);
+        assertThat(prajapati.get(0).getVersion()).isEqualTo(1L);
+        assertThat(searchIndex.search("yahoo", 10)).isEmpty();
+        assertThat(searchIndex.search("outlook", 10)).extracting(Employee::getId).containsExactly(2L);
+        assertThat(searchIndex.search("cena", 10)).isEmpty();
+        assertThat(searchIndex.search("kumar", 10)).extracting(Employee::getVersion).containsExactly(1L);
+        assertThat(searchIndex.size()).isEqualTo(2);
+    }
+
+    //Junit test for the minimum prefix length
+    @DisplayName("Junit test for search rejecting one-letter queries")
+    @Test
+    public void givenOnlyOneLetterWords_whenSearch_thenThrowIllegalArgumentException() {
+        // when -action or the behaviour that we are going to test
+        assertThrows(IllegalArgumentException.class, () -> searchIndex.search("a p", 10));
+
+        //then - verify the output
+        assertThat(searchIndex.search("a pr", 10)).extracting(Employee::getId).containsExactly(1L);
+        assertThat(searchIndex.search("r ca", 10)).isEmpty();
+    }
+
+    //Junit test for rebuilding from the repository
+    @DisplayName("Junit test for rebuilding the index from the repository")
+    @Test
+    public void givenRepositoryRows_whenRebuild_thenReplaceIndex() {
+        // given precondition or setup
+        willAnswer(invocation -> {
+            invocation.<Consumer<Employee>>getArgument(0).accept(john);
+            return null;
+        }).given(employeeRepository).streamAll(any());
+
+        // when -action or the behaviour that we are going to test
+        searchIndex.rebuild();
+
+        //then - verify the output
+        assertThat(searchIndex.size()).isEqualTo(1);
+        assertThat(searchIndex.search("arun", 10)).isEmpty();
+        assertThat(searchIndex.search("jo", 10)).extracting(Employee::getId).containsExactly(3L);
+    }
+
+    //Junit test for writes and searches while the index is rebuilt
+    @DisplayName("Junit test for rebuilding the index while it is searched and written")
+    @Test
+    public void givenWritesDuringRebuild_whenRebuild_thenKeepServingAndReplayThem() {
+        // given precondition or setup
+        Employee sita = Employee.builder().id(4L).firstName("Sita").lastName("Ram").email("sita@gmail.com").build();
+        List<List<Long>> duringScan = new ArrayList<>();
+        willAnswer(invocation -> {
+            Consumer<Employee> action = invocation.getArgument(0);
+            action.accept(arun);
+            duringScan.add(ids(searchIndex.search("gmail", 10)));
+            // on another thread, so a writer lock held across the scan would time out here
+            CompletableFuture.runAsync(() -> {
+                searchIndex.index(sita);
+                searchIndex.remove(3L);
+            }).get(5, TimeUnit.SECONDS);
+            // read before the delete committed
+            action.accept(john);
+            return null;
+        }).given(employeeRepository).streamAll(any());
+
+        // when -action or the behaviour that we are going to test
+        searchIndex.rebuild();
+
+        //then - verify the output
+        assertThat(duringScan).containsExactly(List.of(1L, 3L));
+        assertThat(ids(searchIndex.search("gmail", 10))).containsExactly(1L, 4L);
+        assertThat(searchIndex.search("ram", 10)).extracting(Employee::getId).containsExactly(4L);
+        assertThat(searchIndex.size()).isEqualTo(2);
+    }
+
+    private static List<Long> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,181 @@
+package com.arun.springboot.service;
+
+import com.arun.springboot.config.CacheConfig;
+import com.arun.springboot.model.Employee;
+import com.arun.springboot.repository.EmployeeRepository;
+import com.arun.springboot.search.EmployeeSearchIndex;
+import com.arun.springboot.service.imp.EmployeeServiceImp;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringJUnitConfig
+public class EmployeeServiceCacheTest {
+
+    @Configuration
+    @Import({CacheConfig.class, EmployeeServiceImp.class})
+    static class Config {
+    }
+
+    @MockBean
+    private EmployeeRepository employeeRepository;
+
+    @MockBean
+    private EmployeeSearchIndex searchIndex;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Employee employee;
+
+    @BeforeEach
+    public void setUp() {
+        cacheManager.getCache(CacheConfig.EMPLOYEE_CACHE).clear();
+        employee = Employee.builder()
+                .id(1L)
+                .firstName("Arun")
+                .lastName("Prajapati")
+                .email("arunp@gmail.com")
+                .build();
+    }
+
+    //Junit test for repeated getEmployeeById calls
+    @DisplayName("Junit test for getEmployeeById read-through cache")
+    @Test
+    public void givenCachedEmployee_whenGetEmployeeByIdTwice_thenRepositoryHitOnce() {
+        // given precondition or setup
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+
+        // when -action or the behaviour that we are going to test
+        employeeService.getEmployeeById(1L);
+        Optional<Employee> cached = employeeService.getEmployeeById(1L);
+
+        //then - verify the output
+        assertThat(cached).contains(employee);
+        verify(employeeRepository, times(1)).findById(1L);
+    }
+
+    //Junit test for negative caching of unknown ids
+    @DisplayName("Junit test for getEmployeeById negative caching")
+    @Test
+    public void givenUnknownId_whenGetEmployeeByIdTwice_thenCacheTheMiss() {
+        // given precondition or setup
+        given(employeeRepository.findById(404L)).willReturn(Optional.empty());
+
+        // when -action or the behaviour that we are going to test
+        employeeService.getEmployeeById(404L);
+        Optional<Employee> cached = employeeService.getEmployeeById(404L);
+
+        //then - verify the output
+        assertThat(cached).isEmpty();
+        verify(employeeRepository, times(1)).findById(404L);
+    }
+
+    //Junit test for invalidation on update
+    @DisplayName("Junit test for cache invalidation on updateEmployee")
+    @Test
+    public void givenCachedEmployee_whenUpdateEmployee_thenNextGetReadsRepository() {
+        // given precondition or setup
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        given(employeeRepository.save(employee)).willReturn(employee);
+        employeeService.getEmployeeById(1L);
+
+        // when -action or the behaviour that we are going to test
+        employeeService.updateEmployee(employee);
+        employeeService.getEmployeeById(1L);
+
+        //then - verify the output
+        verify(employeeRepository, times(2)).findById(1L);
+    }
+
+    //Junit test for a read racing the update
+    @DisplayName("Junit test for updateEmployee evicting a row cached while it saved")
+    @Test
+    public void givenGetDuringUpdate_whenUpdateEmployee_thenOldRowNotLeftCached() {
+        // given precondition or setup
+        Employee updated = employee.toBuilder().lastName("Kumar").version(1L).build();
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee), Optional.of(updated));
+        given(employeeRepository.save(updated)).willAnswer(invocation -> {
+            // a GET between the first eviction and the commit reads the old row
+            employeeService.getEmployeeById(1L);
+            return updated;
+        });
+
+        // when -action or the behaviour that we are going to test
+        employeeService.updateEmployee(updated);
+        Optional<Employee> afterUpdate = employeeService.getEmployeeById(1L);
+
+        //then - verify the output
+        assertThat(afterUpdate).get().extracting(Employee::getVersion).isEqualTo(1L);
+        verify(employeeRepository, times(2)).findById(1L);
+    }
+
+    //Junit test for invalidation on delete
+    @DisplayName("Junit test for cache invalidation on deleteEmployee")
+    @Test
+    public void givenCachedEmployee_whenDeleteEmployee_thenNextGetReadsRepository() {
+        // given precondition or setup
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee), Optional.empty());
+        employeeService.getEmployeeById(1L);
+
+        // when -action or the behaviour that we are going to test
+        employeeService.deleteEmployee(1L);
+        Optional<Employee> deleted = employeeService.getEmployeeById(1L);
+
+        //then - verify the output
+        assertThat(deleted).isEmpty();
+        verify(employeeRepository, times(2)).findById(1L);
+    }
+
+    //Junit test for replacing a cached miss when the id gets created
+    @DisplayName("Junit test for saveEmployee replacing a cached miss")
+    @Test
+    public void givenCachedMiss_whenSaveEmployee_thenGetReturnsNewEmployee() {
+        // given precondition or setup
+        given(employeeRepository.findById(1L)).willReturn(Optional.empty());
+        given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
+        employeeService.getEmployeeById(1L);
+
+        // when -action or the behaviour that we are going to test
+        employeeService.saveEmployee(employee);
+        Optional<Employee> created = employeeService.getEmployeeById(1L);
+
+        //then - verify the output
+        assertThat(created).contains(employee);
+        verify(employeeRepository, times(1)).findById(1L);
+    }
+
+    //Junit test for callers modifying the employee they read
+    @DisplayName("Junit test for getEmployeeById handing out copies of the cached employee")
+    @Test
+    public void givenCachedEmployee_whenCallerModifiesIt_thenNextGetIsUnchanged() {
+        // given precondition or setup
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        Employee read = employeeService.getEmployeeById(1L).orElseThrow();
+
+        // when -action or the behaviour that we are going to test
+        read.setFirstName("Changed");
+        Optional<Employee> cached = employeeService.getEmployeeById(1L);
+
+        //then - verify the output
+        assertThat(cached).get().extracting(Employee::getFirstName).isEqualTo("Arun");
+        assertThat(cached.get()).isNotSameAs(read);
+        verify(employeeRepository, times(1)).findById(1L);
+    }
+}
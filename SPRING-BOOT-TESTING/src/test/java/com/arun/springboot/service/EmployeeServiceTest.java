@@ -1,8 +1,12 @@
 package com.arun.springboot.service;
 
 import com.arun.springboot.exception.ResourceNotFoundException;
+import com.arun.springboot.model.BulkSaveResult;
+import com.arun.springboot.model.DeleteResult;
 import com.arun.springboot.model.Employee;
+import com.arun.springboot.model.EmployeePage;
 import com.arun.springboot.repository.EmployeeRepository;
+import com.arun.springboot.search.EmployeeSearchIndex;
 import com.arun.springboot.service.imp.EmployeeServiceImp;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,15 +14,26 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.hibernate.exception.ConstraintViolationException;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willDoNothing;
 import static org.mockito.Mockito.*;
@@ -29,6 +44,9 @@ public class EmployeeServiceTest {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private EmployeeSearchIndex searchIndex;
+
     @InjectMocks
     private EmployeeServiceImp employeeService;
 
@@ -51,10 +69,7 @@ public class EmployeeServiceTest {
     @Test
     public void givenEmployeeObject_whenSaveEmployee_thenReturnEmployeeObject() {
         // given precondition or setup
-
-        given(employeeRepository.findByEmail(employee.getEmail()))
-                .willReturn(Optional.empty());
-        given(employeeRepository.save(employee)).willReturn(employee);
+        given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
         System.out.println(employeeRepository);
 
         // when -action or the behaviour that we are going to test
@@ -63,6 +78,8 @@ public class EmployeeServiceTest {
 
         //then - verify the output
         assertThat(savedEmployee).isNotNull();
+        verify(employeeRepository, never()).findByEmail(any());
+        verify(searchIndex).index(savedEmployee);
     }
 
     //Junit test for savedEmployee Method Which throws Exceptions
@@ -70,20 +87,165 @@ public class EmployeeServiceTest {
     @Test
     public void givenExistingEmail_whenSaveEmployee_thenThrowsException() {
         // given precondition or setup
-
-        given(employeeRepository.findByEmail(employee.getEmail()))
-                .willReturn(Optional.of(employee));
-//        given(employeeRepository.save(employee)).willReturn(employee);
-//        System.out.println(employeeRepository);
+        given(employeeRepository.saveAndFlush(employee))
+                .willThrow(new DataIntegrityViolationException("could not execute statement",
+                        new ConstraintViolationException("Duplicate entry", null, Employee.EMAIL_UNIQUE_CONSTRAINT)));
 
         // when -action or the behaviour that we are going to test
         assertThrows(ResourceNotFoundException.class,
                 () -> employeeService.saveEmployee(employee));
 
         //then
+        verify(employeeRepository, never()).findByEmail(any());
+    }
+
+    //Junit test for savedEmployee Method with a constraint other than the email index
+    @DisplayName("Junit test for savedEmployee Method with other constraint violations")
+    @Test
+    public void givenMissingColumn_whenSaveEmployee_thenRethrowOriginalException() {
+        // given precondition or setup
+        given(employeeRepository.saveAndFlush(employee))
+                .willThrow(new DataIntegrityViolationException("not-null property references a null value"));
+
+        // when -action or the behaviour that we are going to test
+        assertThrows(DataIntegrityViolationException.class,
+                () -> employeeService.saveEmployee(employee));
+    }
+
+    //Junit test for upsertEmployee Method
+    @DisplayName("Junit test for upsertEmployee Method")
+    @Test
+    public void givenEmployeeObject_whenUpsertEmployee_thenDelegateToSingleStatementUpsert() {
+        // given precondition or setup
+        given(employeeRepository.upsertByEmail(employee)).willReturn(employee);
+
+        // when -action or the behaviour that we are going to test
+        Employee upserted = employeeService.upsertEmployee(employee);
+
+        //then - verify the output
+        assertThat(upserted).isEqualTo(employee);
         verify(employeeRepository, never()).save(any(Employee.class));
     }
 
+    //Junit test for saveEmployees bulk method
+    @DisplayName("Junit test for saveEmployees bulk method")
+    @Test
+    public void givenEmployeeRecords_whenSaveEmployees_thenInsertValidRecordsInChunks() {
+        // given precondition or setup
+        Employee existing = Employee.builder().firstName("Ram")
+                .lastName("Prajapati").email("ramp@gmail.com").build();
+        Employee invalid = Employee.builder().firstName("Hari").email("hari@gmail.com").build();
+        Employee fresh = Employee.builder().firstName("Kavi")
+                .lastName("Tulsi").email("kavit@gmail.com").build();
+        given(employeeRepository.findExistingEmails(Set.of(employee.getEmail(), existing.getEmail())))
+                .willReturn(Set.of(existing.getEmail()));
+        given(employeeRepository.findExistingEmails(Set.of(fresh.getEmail())))
+                .willReturn(Set.of());
+        given(employeeRepository.insertAll(anyList()))
+                .willAnswer(invocation -> invocation.<List<Employee>>getArgument(0).size());
+
+        // when -action or the behaviour that we are going to test
+        BulkSaveResult result = employeeService.saveEmployees(
+                List.of(employee, existing, invalid, fresh).iterator(), 3);
+
+        //then - verify the output
+        assertThat(result.getReceived()).isEqualTo(4);
+        assertThat(result.getInserted()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(BulkSaveResult.RecordError::getIndex)
+                .containsExactlyInAnyOrder(1, 2);
+        verify(employeeRepository).insertAll(List.of(employee));
+        verify(employeeRepository).insertAll(List.of(fresh));
+        verify(employeeRepository).findByEmails(List.of(employee.getEmail()));
+        verify(employeeRepository).findByEmails(List.of(fresh.getEmail()));
+    }
+
+    //Junit test for saveEmployees bulk method with duplicates inside one request
+    @DisplayName("Junit test for saveEmployees bulk method with duplicate emails in request")
+    @Test
+    public void givenDuplicateEmailsInRequest_whenSaveEmployees_thenRejectRepeatedRecord() {
+        // given precondition or setup
+        Employee sameEmail = Employee.builder().firstName("Arun")
+                .lastName("Kumar").email(employee.getEmail()).build();
+        given(employeeRepository.findExistingEmails(Set.of(employee.getEmail()))).willReturn(Set.of());
+        given(employeeRepository.insertAll(List.of(employee))).willReturn(1);
+
+        // when -action or the behaviour that we are going to test
+        BulkSaveResult result = employeeService.saveEmployees(List.of(employee, sameEmail).iterator(), 10);
+
+        //then - verify the output
+        assertThat(result.getInserted()).isEqualTo(1);
+        assertThat(result.getErrors()).hasSize(1);
+        assertThat(result.getErrors().get(0).getIndex()).isEqualTo(1);
+    }
+
+    //Junit test for saveEmployees bulk method with emails differing only in case or spaces
+    @DisplayName("Junit test for saveEmployees bulk method comparing emails case-insensitively")
+    @Test
+    public void givenEmailsDifferingInCase_whenSaveEmployees_thenRejectThemAsDuplicates() {
+        // given precondition or setup
+        Employee upperCase = Employee.builder().firstName("Arun")
+                .lastName("Kumar").email(" ARUNP@gmail.com").build();
+        Employee existing = Employee.builder().firstName("Ram")
+                .lastName("Prajapati").email("RamP@Gmail.com ").build();
+        given(employeeRepository.findExistingEmails(Set.of(employee.getEmail(), "RamP@Gmail.com")))
+                .willReturn(Set.of("ramp@gmail.com"));
+        given(employeeRepository.insertAll(List.of(employee))).willReturn(1);
+
+        // when -action or the behaviour that we are going to test
+        BulkSaveResult result = employeeService.saveEmployees(List.of(employee, upperCase, existing).iterator(), 10);
+
+        //then - verify the output
+        assertThat(result.getInserted()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(BulkSaveResult.RecordError::getMessage)
+                .containsExactly("Duplicate email in request", "Employee already Exist with given Email RamP@Gmail.com");
+    }
+
+    //Junit test for saveEmployees bulk method when a row of the batch violates the unique index
+    @DisplayName("Junit test for saveEmployees bulk method retrying a failed batch row by row")
+    @Test
+    public void givenBatchFailingOnOneRow_whenSaveEmployees_thenRejectOnlyThatRow() {
+        // given precondition or setup
+        Employee concurrent = Employee.builder().firstName("Ram")
+                .lastName("Prajapati").email("ramp@gmail.com").build();
+        given(employeeRepository.findExistingEmails(Set.of(employee.getEmail(), concurrent.getEmail())))
+                .willReturn(Set.of());
+        given(employeeRepository.insertAll(List.of(employee, concurrent)))
+                .willThrow(new DuplicateKeyException("uk_employees_email"));
+        given(employeeRepository.insertAll(List.of(employee))).willReturn(1);
+        given(employeeRepository.insertAll(List.of(concurrent)))
+                .willThrow(new DuplicateKeyException("uk_employees_email"));
+
+        // when -action or the behaviour that we are going to test
+        BulkSaveResult result = employeeService.saveEmployees(List.of(employee, concurrent).iterator(), 10);
+
+        //then - verify the output
+        assertThat(result.getInserted()).isEqualTo(1);
+        assertThat(result.getRejected()).isEqualTo(1);
+        assertThat(result.getErrors().get(0).getIndex()).isEqualTo(1);
+        assertThat(result.getErrors().get(0).getMessage()).startsWith("Employee already Exist");
+        verify(employeeRepository).findByEmails(List.of(employee.getEmail()));
+    }
+
+    //Junit test for saveEmployees bulk method with more rejected records than are reported
+    @DisplayName("Junit test for saveEmployees bulk method capping the reported errors")
+    @Test
+    public void givenManyInvalidRecords_whenSaveEmployees_thenReportFirstErrorsAndCountAll() {
+        // given precondition or setup
+        List<Employee> invalid = new ArrayList<>();
+        for (int i = 0; i < BulkSaveResult.MAX_REPORTED_ERRORS + 50; i++) {
+            invalid.add(Employee.builder().firstName("Hari" + i).email("hari" + i + "@gmail.com").build());
+        }
+
+        // when -action or the behaviour that we are going to test
+        BulkSaveResult result = employeeService.saveEmployees(invalid.iterator(), 1000);
+
+        //then - verify the output
+        assertThat(result.getReceived()).isEqualTo(invalid.size());
+        assertThat(result.getRejected()).isEqualTo(invalid.size());
+        assertThat(result.getErrors()).hasSize(BulkSaveResult.MAX_REPORTED_ERRORS);
+        assertThat(result.getErrors().get(0).getIndex()).isZero();
+    }
 
     //Junit test for getAllEmployees method
     @DisplayName("Junit test for getAllEmployees method")
@@ -125,6 +287,55 @@ public class EmployeeServiceTest {
 
     }
 
+    //Junit test for getEmployeesPage method
+    @DisplayName("Junit test for getEmployeesPage method")
+    @Test
+    public void givenMoreRowsThanPageSize_whenGetEmployeesPage_thenReturnContinuationToken() {
+        // given precondition or setup
+        Employee employee2 = Employee.builder().id(2L).firstName("Ram")
+                .lastName("Prajapati").email("ramp@gmail.com").build();
+        Employee employee3 = Employee.builder().id(3L).firstName("Hari")
+                .lastName("Gupta").email("hari@gmail.com").build();
+        given(employeeRepository.findNextPage(0L, PageRequest.of(0, 3)))
+                .willReturn(List.of(employee, employee2, employee3));
+        given(employeeRepository.findNextPage(2L, PageRequest.of(0, 3)))
+                .willReturn(List.of(employee3));
+
+        // when -action or the behaviour that we are going to test
+        EmployeePage firstPage = employeeService.getEmployeesPage(null, 2);
+        EmployeePage lastPage = employeeService.getEmployeesPage(firstPage.getContinuationToken(), 2);
+
+        //then - verify the output
+        assertThat(firstPage.getContent()).containsExactly(employee, employee2);
+        assertThat(firstPage.getContinuationToken()).isNotNull();
+        assertThat(lastPage.getContent()).containsExactly(employee3);
+        assertThat(lastPage.getContinuationToken()).isNull();
+    }
+
+    //Junit test for getEmployeesPage method with a tampered token
+    @DisplayName("Junit test for getEmployeesPage method with invalid token")
+    @Test
+    public void givenInvalidToken_whenGetEmployeesPage_thenThrowsException() {
+        // when -action or the behaviour that we are going to test
+        assertThrows(IllegalArgumentException.class,
+                () -> employeeService.getEmployeesPage("not-a-token", 10));
+
+        //then
+        verify(employeeRepository, never()).findNextPage(anyLong(), any());
+    }
+
+    //Junit test for getAllEmployeeFields method with a field Employee does not have
+    @DisplayName("Junit test for getAllEmployeeFields method with unknown field")
+    @Test
+    public void givenUnknownField_whenGetAllEmployeeFields_thenThrowsException() {
+        // when -action or the behaviour that we are going to test
+        assertThrows(IllegalArgumentException.class,
+                () -> employeeService.getAllEmployeeFields(Set.of("email", "salary")));
+
+        //then
+        verify(employeeRepository, never()).findAllFields(any());
+    }
+
     //Junit test for EmployeeById method
     @DisplayName("Junit test for EmployeeById method")
     @Test
@@ -178,5 +389,124 @@ public class EmployeeServiceTest {
 
         //then - verify the output
         verify(employeeRepository, times(1)).deleteById(employeeId);
+        verify(searchIndex).remove(employeeId);
+    }
+
+    //Junit test for bulk delete by ids
+    @DisplayName("Junit test for bulk delete by ids in chunks")
+    @Test
+    public void givenManyIds_whenDeleteEmployees_thenDeleteInChunksWithoutLoading() {
+        // given precondition or setup
+        List<Long> ids = LongStream.rangeClosed(1, 2500).boxed().collect(Collectors.toList());
+        given(employeeRepository.deleteByIdIn(anyList()))
+                .willAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        // when -action or the behaviour that we are going to test
+        DeleteResult result = employeeService.deleteEmployees(ids);
+
+        //then - verify the output
+        assertThat(result.getRequested()).isEqualTo(2500);
+        assertThat(result.getDeleted()).isEqualTo(2500);
+        verify(employeeRepository, times(3)).deleteByIdIn(anyList());
+        verify(employeeRepository, never()).findById(anyLong());
+    }
+
+    //Junit test for delete by email domain
+    @DisplayName("Junit test for delete by email domain")
+    @Test
+    public void givenEmailDomain_whenDeleteEmployeesByEmailDomain_thenDeleteMatchingIds() {
+        // given precondition or setup
+        given(employeeRepository.findIdsByEmailLike(eq("%@gmail.com"), eq(0L), any()))
+                .willReturn(List.of(1L, 4L));
+        given(employeeRepository.deleteByIdIn(List.of(1L, 4L))).willReturn(2);
+
+        // when -action or the behaviour that we are going to test
+        DeleteResult result = employeeService.deleteEmployeesByEmailDomain("gmail.com");
+
+        //then - verify the output
+        assertThat(result.getRequested()).isEqualTo(2);
+        assertThat(result.getDeleted()).isEqualTo(2);
+    }
+
+    //Junit test for delete by email domain which throws exception
+    @DisplayName("Junit test for delete by email domain with an invalid domain")
+    @Test
+    public void givenInvalidEmailDomain_whenDeleteEmployeesByEmailDomain_thenThrowsException() {
+        // when -action or the behaviour that we are going to test
+        assertThrows(IllegalArgumentException.class, () -> employeeService.deleteEmployeesByEmailDomain(" "));
+
+        //then
+        verify(employeeRepository, never()).deleteByIdIn(anyList());
+    }
+
+    //Junit test for patchEmployee method
+    @DisplayName("Junit test for patchEmployee method")
+    @Test
+    public void givenSparseFields_whenPatchEmployee_thenUpdateColumnsWithoutLoading() {
+        // given precondition or setup
+        Map<String, Object> fields = Map.of("email", "arun.new@gmail.com");
+        given(employeeRepository.updateFields(1L, fields, null)).willReturn(1);
+
+        // when -action or the behaviour that we are going to test
+        boolean patched = employeeService.patchEmployee(1L, fields, null);
+
+        //then - verify the output
+        assertThat(patched).isTrue();
+        verify(employeeRepository, never()).findById(anyLong());
+        verify(employeeRepository, never()).save(any(Employee.class));
+        verify(searchIndex).update(1L, fields);
+    }
+
+    //Junit test for patchEmployee method which throws exception
+    @DisplayName("Junit test for patchEmployee method with a blank value")
+    @Test
+    public void givenBlankValue_whenPatchEmployee_thenThrowsException() {
+        // when -action or the behaviour that we are going to test
+        assertThrows(IllegalArgumentException.class,
+                () -> employeeService.patchEmployee(1L, Map.of("firstName", " "), null));
+
+        //then
+        verify(employeeRepository, never()).updateFields(anyLong(), any(), any());
+    }
+
+    //Junit test for patchEmployee method with a stale version
+    @DisplayName("Junit test for patchEmployee method with a stale version")
+    @Test
+    public void givenStaleVersion_whenPatchEmployee_thenThrowsOptimisticLockingFailure() {
+        // given precondition or setup
+        Map<String, Object> fields = Map.of("lastName", "Kumar");
+        given(employeeRepository.updateFields(1L, fields, 2L)).willReturn(0);
+        given(employeeRepository.existsById(1L)).willReturn(true);
+
+        // when -action or the behaviour that we are going to test
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> employeeService.patchEmployee(1L, fields, 2L));
+    }
+
+    //Junit test for searchEmployees method
+    @DisplayName("Junit test for searchEmployees method")
+    @Test
+    public void givenQuery_whenSearchEmployees_thenServeFromIndex() {
+        // given precondition or setup
+        given(searchIndex.search("aru pra", 10)).willReturn(List.of(employee));
+
+        // when -action or the behaviour that we are going to test
+        List<Employee> employees = employeeService.searchEmployees("aru pra", 10);
+
+        //then - verify the output
+        assertThat(employees).containsExactly(employee);
+        verifyNoInteractions(employeeRepository);
+    }
+
+    //Junit test for searchEmployees method which throws exception
+    @DisplayName("Junit test for searchEmployees method with a blank query or bad limit")
+    @Test
+    public void givenBlankQueryOrBadLimit_whenSearchEmployees_thenThrowsException() {
+        // when -action or the behaviour that we are going to test
+        assertThrows(IllegalArgumentException.class, () -> employeeService.searchEmployees(" ", 10));
+        assertThrows(IllegalArgumentException.class, () -> employeeService.searchEmployees("arun", 0));
+
+        //then
+        verifyNoInteractions(searchIndex);
     }
 }
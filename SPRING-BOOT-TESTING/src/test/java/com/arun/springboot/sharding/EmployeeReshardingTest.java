@@ -0,0 +1,95 @@
+package com.arun.springboot.sharding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.support.StaticApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeReshardingTest {
+
+    @Mock
+    private EmployeeShardMigration migration;
+
+    //Junit test for the migration running before later lifecycles such as the web server
+    @DisplayName("Junit test for resharding before the later lifecycle phases start")
+    @Test
+    public void givenReshardFrom_whenContextStarts_thenMigrateBeforeLaterPhases() {
+        // given precondition or setup
+        List<String> started = new ArrayList<>();
+        given(migration.migrate(2, 3)).willAnswer(invocation -> {
+            started.add("migration");
+            return 0L;
+        });
+        StaticApplicationContext context = new StaticApplicationContext();
+        context.registerBean("webServer", LateLifecycle.class, () -> new LateLifecycle(started));
+        context.registerBean("employeeResharding", EmployeeResharding.class,
+                () -> new EmployeeResharding(migration, 2, 3));
+
+        // when -action or the behaviour that we are going to test
+        context.refresh();
+
+        //then - verify the output
+        assertThat(started).containsExactly("migration", "webServer");
+        assertThat(context.getBean(EmployeeResharding.class).isRunning()).isTrue();
+        context.close();
+    }
+
+    //Junit test for a failing migration
+    @DisplayName("Junit test for a failed resharding failing startup")
+    @Test
+    public void givenFailingMigration_whenStart_thenThrowsException() {
+        // given precondition or setup
+        given(migration.migrate(2, 3)).willThrow(new IllegalArgumentException("Both layouts must use"));
+        EmployeeResharding resharding = new EmployeeResharding(migration, 2, 3);
+
+        // when -action or the behaviour that we are going to test
+        assertThrows(IllegalArgumentException.class, resharding::start);
+
+        //then - verify the output
+        assertThat(resharding.isRunning()).isFalse();
+    }
+
+    // stands in for Boot's web server lifecycle, which starts in phase Integer.MAX_VALUE - 1
+    static class LateLifecycle implements SmartLifecycle {
+
+        private final List<String> started;
+
+        private boolean running;
+
+        LateLifecycle(List<String> started) {
+            this.started = started;
+        }
+
+        @Override
+        public void start() {
+            started.add("webServer");
+            running = true;
+        }
+
+        @Override
+        public void stop() {
+            running = false;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+
+        @Override
+        public int getPhase() {
+            return Integer.MAX_VALUE - 1;
+        }
+    }
+}
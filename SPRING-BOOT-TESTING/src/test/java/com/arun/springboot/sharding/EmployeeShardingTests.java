@@ -0,0 +1,186 @@
+package com.arun.springboot.sharding;
+
+import com.arun.springboot.config.ShardingConfig;
+import com.arun.springboot.model.Employee;
+import com.arun.springboot.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// three in-memory databases stand in for the shards
+@DataJpaTest(properties = {
+        "employee.sharding.shards[0].url=jdbc:h2:mem:employee-shard-0;DB_CLOSE_DELAY=-1",
+        "employee.sharding.shards[0].username=sa",
+        "employee.sharding.shards[1].url=jdbc:h2:mem:employee-shard-1;DB_CLOSE_DELAY=-1",
+        "employee.sharding.shards[1].username=sa",
+        "employee.sharding.shards[2].url=jdbc:h2:mem:employee-shard-2;DB_CLOSE_DELAY=-1",
+        "employee.sharding.shards[2].username=sa"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ShardingConfig.class)
+@ActiveProfiles("sharding")
+// every repository call starts its own transaction on the shard it routes to
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class EmployeeShardingTests {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeShards shards;
+
+    @Autowired
+    private EmployeeShardMigration migration;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    public void setup() {
+        for (int shard = 0; shard < shards.getConfiguredCount(); shard++) {
+            jdbc(shard).update("delete from employees");
+        }
+        // the tests reuse ids, and the second-level cache has not seen the deletes
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @DisplayName("givenEmployees_whenSaved_thenSpreadOverShardsAndFoundById")
+    @Test
+    public void givenEmployees_whenSaved_thenSpreadOverShardsAndFoundById() {
+
+        //given - precondition or setup
+        List<Employee> employees = employees(0, 300);
+
+        //when - action or the behaviour that we are going to test
+        employeeRepository.insertAll(employees.subList(0, 150));
+        employeeRepository.saveAll(employees.subList(150, 300));
+
+        //then - verify the output
+        for (int shard = 0; shard < shards.getCount(); shard++) {
+            assertThat(rowCount(shard)).isBetween(50L, 150L);
+        }
+        assertThat(employees).allSatisfy(employee -> {
+            assertThat(rowCount(shards.shardOf(employee.getId()), employee.getId())).isEqualTo(1);
+            assertThat(employeeRepository.findById(employee.getId())).map(Employee::getEmail)
+                    .contains(employee.getEmail());
+        });
+        assertThat(employeeRepository.count()).isEqualTo(300);
+        assertThat(employeeRepository.findAll()).extracting(Employee::getId)
+                .isSorted().containsExactlyInAnyOrderElementsOf(ids(employees));
+    }
+
+    @DisplayName("givenEmployeesOnAllShards_whenPagedByKeyset_thenPagesMergeInIdOrder")
+    @Test
+    public void givenEmployeesOnAllShards_whenPagedByKeyset_thenPagesMergeInIdOrder() {
+
+        //given - precondition or setup
+        List<Employee> employees = employees(0, 95);
+        employeeRepository.insertAll(employees);
+
+        //when - action or the behaviour that we are going to test
+        List<Long> paged = new ArrayList<>();
+        List<Employee> page;
+        long lastSeenId = 0;
+        do {
+            page = employeeRepository.findNextPage(lastSeenId, PageRequest.of(0, 20));
+            page.forEach(employee -> paged.add(employee.getId()));
+            lastSeenId = page.isEmpty() ? lastSeenId : page.get(page.size() - 1).getId();
+        } while (page.size() == 20);
+
+        //then - verify the output
+        assertThat(paged).isSorted().containsExactlyInAnyOrderElementsOf(ids(employees));
+        assertThat(employeeRepository.findExistingEmails(List.of("employee3@example.com", "employee94@example.com",
+                "nobody@example.com"))).containsExactlyInAnyOrder("employee3@example.com", "employee94@example.com");
+    }
+
+    @DisplayName("givenEmailTakenOnAnotherShard_whenSaved_thenDuplicateIsRejected")
+    @Test
+    public void givenEmailTakenOnAnotherShard_whenSaved_thenDuplicateIsRejected() {
+
+        //given - precondition or setup: an employee whose changed email hashes to another shard
+        Employee moved = employeeRepository.saveAndFlush(employees(0, 1).get(0));
+        String email = IntStream.range(1, 1000).mapToObj(i -> "employee" + i + "@example.com")
+                .filter(candidate -> shards.shardOf(candidate) != shards.shardOf(moved.getId()))
+                .findFirst().orElseThrow();
+        employeeRepository.updateFields(moved.getId(), Map.of("email", email), null);
+
+        //when - action or the behaviour that we are going to test
+        Employee duplicate = Employee.builder().firstName("Dup").lastName("Licate").email(email).build();
+
+        //then - verify the output
+        assertThatThrownBy(() -> employeeRepository.saveAndFlush(duplicate))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(employeeRepository.upsertByEmail(duplicate).getId()).isEqualTo(moved.getId());
+        assertThat(employeeRepository.count()).isEqualTo(1);
+    }
+
+    @DisplayName("givenRowsLaidOutForTwoShards_whenMigratedToThree_thenEachRowIsOnItsNewShard")
+    @Test
+    public void givenRowsLaidOutForTwoShards_whenMigratedToThree_thenEachRowIsOnItsNewShard() {
+
+        //given - precondition or setup
+        List<Employee> employees = employees(0, 200);
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            employee.setId(EmployeeShards.id(i + 1, employee.getEmail()));
+            jdbc(EmployeeShards.shardOf(EmployeeShards.bucketOf(employee.getId()), 2)).update(
+                    "insert into employees (id, first_name, last_name, email, version) values (?, ?, ?, ?, 3)",
+                    employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail());
+        }
+
+        //when - action or the behaviour that we are going to test
+        long moved = migration.migrate(2, 3);
+
+        //then - verify the output
+        assertThat(rowCount(2)).isEqualTo(moved).isPositive();
+        assertThat(rowCount(0) + rowCount(1) + rowCount(2)).isEqualTo(200);
+        assertThat(employees).allSatisfy(employee -> assertThat(employeeRepository.findById(employee.getId()))
+                .map(Employee::getVersion).contains(3L));
+        assertThat(migration.migrate(3, 3)).isZero();
+    }
+
+    private JdbcTemplate jdbc(int shard) {
+        return new JdbcTemplate(shards.getDataSource(shard));
+    }
+
+    private long rowCount(int shard) {
+        return jdbc(shard).queryForObject("select count(*) from employees", Long.class);
+    }
+
+    private long rowCount(int shard, long id) {
+        return jdbc(shard).queryForObject("select count(*) from employees where id = ?", Long.class, id);
+    }
+
+    private static List<Long> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).collect(Collectors.toList());
+    }
+
+    private static List<Employee> employees(int from, int count) {
+        return IntStream.range(from, from + count)
+                .mapToObj(i -> Employee.builder()
+                        .firstName("First" + i)
+                        .lastName("Last" + i)
+                        .email("employee" + i + "@example.com")
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
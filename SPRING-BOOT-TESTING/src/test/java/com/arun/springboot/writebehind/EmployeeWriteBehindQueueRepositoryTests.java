@@ -0,0 +1,111 @@
+package com.arun.springboot.writebehind;
+
+import com.arun.springboot.config.CacheConfig;
+import com.arun.springboot.model.Employee;
+import com.arun.springboot.repository.EmployeeRepository;
+import com.arun.springboot.search.EmployeeSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+// the queue against the real UPDATE, with the flusher mocked so the test decides when to flush
+@DataJpaTest
+public class EmployeeWriteBehindQueueRepositoryTests {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private EmployeeWriteBehindQueue queue;
+
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        meterRegistry = new SimpleMeterRegistry();
+        queue = new EmployeeWriteBehindQueue(employeeRepository, mock(EmployeeSearchIndex.class),
+                new ConcurrentMapCacheManager(CacheConfig.EMPLOYEE_CACHE), new ObjectMapper(), meterRegistry,
+                10, 10, "memory", "unused", mock(ScheduledExecutorService.class));
+        employee = employeeRepository.saveAndFlush(Employee.builder()
+                .firstName("Ramesh")
+                .lastName("Fegade")
+                .email("ramesh@gmail.com")
+                .build());
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        queue.shutdown();
+    }
+
+    @DisplayName("A queued PUT does not overwrite a PATCH that committed before the flush")
+    @Test
+    public void givenQueuedUpdate_whenPatchedBeforeFlush_thenPatchSurvives() throws IOException {
+        // given precondition or setup
+        queue.enqueue(Employee.builder()
+                .id(employee.getId())
+                .firstName("Queued")
+                .lastName("Queued")
+                .email("queued@gmail.com")
+                .version(employee.getVersion())
+                .build());
+        employeeRepository.updateFields(employee.getId(), Map.of("lastName", "Patched"), null);
+
+        // when -action or the behaviour that we are going to test
+        queue.flush();
+
+        //then - verify the output
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "select first_name, last_name, email, version from employees where id = ?", employee.getId());
+        assertThat(row.get("first_name")).isEqualTo("Ramesh");
+        assertThat(row.get("last_name")).isEqualTo("Patched");
+        assertThat(((Number) row.get("version")).longValue()).isEqualTo(employee.getVersion() + 1);
+        assertThat(meterRegistry.counter("employee.write-behind.dropped").count()).isEqualTo(1);
+        assertThat(queue.getPendingCount()).isZero();
+    }
+
+    @DisplayName("A queued PUT on an unchanged row is written and bumps its version")
+    @Test
+    public void givenQueuedUpdate_whenRowUnchanged_thenUpdateIsWritten() throws IOException {
+        // given precondition or setup
+        queue.enqueue(Employee.builder()
+                .id(employee.getId())
+                .firstName("Ramesh")
+                .lastName("Kumar")
+                .email("ramesh@gmail.com")
+                .version(employee.getVersion())
+                .build());
+
+        // when -action or the behaviour that we are going to test
+        queue.flush();
+
+        //then - verify the output
+        entityManager.clear();
+        Employee written = employeeRepository.findById(employee.getId()).get();
+        assertThat(written.getLastName()).isEqualTo("Kumar");
+        assertThat(written.getVersion()).isEqualTo(employee.getVersion() + 1);
+        assertThat(meterRegistry.counter("employee.write-behind.flushed").count()).isEqualTo(1);
+    }
+}
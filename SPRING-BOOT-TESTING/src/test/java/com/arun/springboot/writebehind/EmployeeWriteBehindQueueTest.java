@@ -0,0 +1,158 @@
+package com.arun.springboot.writebehind;
+
+import com.arun.springboot.config.CacheConfig;
+import com.arun.springboot.model.Employee;
+import com.arun.springboot.repository.EmployeeRepository;
+import com.arun.springboot.search.EmployeeSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+public class EmployeeWriteBehindQueueTest {
+
+    @TempDir
+    Path directory;
+
+    private EmployeeRepository employeeRepository;
+
+    private EmployeeWriteBehindQueue queue;
+
+    @BeforeEach
+    public void setup() {
+        employeeRepository = mock(EmployeeRepository.class);
+        // every employee of a batch still exists
+        given(employeeRepository.updateAll(anyList()))
+                .willAnswer(invocation -> updated(invocation.<List<Employee>>getArgument(0).size()));
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        if (queue != null) {
+            queue.shutdown();
+        }
+    }
+
+    @DisplayName("Repeated updates to one id are written once, with the latest values")
+    @Test
+    @SuppressWarnings("unchecked")
+    public void givenTwoUpdatesToSameId_whenFlush_thenOnlyLatestIsWritten() throws IOException {
+        // given precondition or setup
+        queue = queue(10, "memory");
+        queue.enqueue(employee(1L, "Arun"));
+        queue.enqueue(employee(2L, "Ramesh"));
+        queue.enqueue(employee(1L, "Arun Kumar"));
+
+        // when -action or the behaviour that we are going to test
+        queue.flush();
+
+        //then - verify the output
+        ArgumentCaptor<List<Employee>> batch = ArgumentCaptor.forClass(List.class);
+        then(employeeRepository).should(times(1)).updateAll(batch.capture());
+        assertThat(batch.getValue()).extracting(Employee::getFirstName).containsExactlyInAnyOrder("Arun Kumar", "Ramesh");
+        assertThat(queue.getPendingCount()).isZero();
+    }
+
+    @DisplayName("Updates survive a failed flush and are written by the next one")
+    @Test
+    public void givenDatabaseDown_whenFlush_thenUpdatesStayPending() throws IOException {
+        // given precondition or setup
+        queue = queue(10, "memory");
+        given(employeeRepository.updateAll(anyList()))
+                .willThrow(new DataAccessResourceFailureException("connection refused"))
+                .willAnswer(invocation -> updated(1));
+        queue.enqueue(employee(1L, "Arun"));
+
+        // when -action or the behaviour that we are going to test
+        queue.flush();
+
+        //then - verify the output
+        assertThat(queue.getPendingCount()).isEqualTo(1);
+        queue.flush();
+        assertThat(queue.getPendingCount()).isZero();
+    }
+
+    @DisplayName("Updates acknowledged before a crash are replayed from the write-ahead log")
+    @Test
+    public void givenUnflushedUpdates_whenQueueRestarts_thenReplaysWriteAheadLog() throws IOException {
+        // given precondition or setup
+        EmployeeWriteBehindQueue crashed = queue(10, "wal");
+        crashed.enqueue(employee(1L, "Arun"));
+        crashed.enqueue(employee(1L, "Arun Kumar"));
+        crashed.enqueue(employee(2L, "Ramesh"));
+        then(employeeRepository).should(never()).updateAll(anyList());
+
+        // when -action or the behaviour that we are going to test
+        queue = queue(10, "wal");
+
+        //then - verify the output
+        assertThat(queue.getPendingCount()).isEqualTo(2);
+        queue.flush();
+        EmployeeWriteBehindQueue restarted = queue(10, "wal");
+        assertThat(restarted.getPendingCount()).isZero();
+    }
+
+    @DisplayName("A full queue rejects updates to new ids but still coalesces pending ones")
+    @Test
+    public void givenFullQueue_whenEnqueue_thenThrowsWriteBehindQueueFullException() {
+        // given precondition or setup
+        queue = queue(2, "memory");
+        queue.enqueue(employee(1L, "Arun"));
+        queue.enqueue(employee(2L, "Ramesh"));
+
+        // when -action or the behaviour that we are going to test
+        //then - verify the output
+        assertThatThrownBy(() -> queue.enqueue(employee(3L, "Tony")))
+                .isInstanceOf(WriteBehindQueueFullException.class);
+        queue.enqueue(employee(1L, "Arun Kumar"));
+        assertThat(queue.getPendingCount()).isEqualTo(2);
+    }
+
+    // the flusher is a mock, so nothing is written until a test calls flush()
+    private EmployeeWriteBehindQueue queue(int capacity, String durability) {
+        try {
+            return new EmployeeWriteBehindQueue(employeeRepository, mock(EmployeeSearchIndex.class),
+                    new ConcurrentMapCacheManager(CacheConfig.EMPLOYEE_CACHE), new ObjectMapper(),
+                    new SimpleMeterRegistry(), capacity, capacity, durability, directory.toString(),
+                    mock(ScheduledExecutorService.class));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int[] updated(int rows) {
+        int[] counts = new int[rows];
+        Arrays.fill(counts, 1);
+        return counts;
+    }
+
+    private static Employee employee(long id, String firstName) {
+        return Employee.builder()
+                .id(id)
+                .firstName(firstName)
+                .lastName("Prajapati")
+                .email(firstName.replace(' ', '.').toLowerCase() + "@gmail.com")
+                .build();
+    }
+}
@@ -1,12 +1,15 @@
 package org.arun.unittest.controller;
 
 import org.arun.unittest.entity.Student;
+import org.arun.unittest.model.StudentView;
 import org.arun.unittest.repository.StudentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/students")
@@ -27,4 +30,23 @@ public class StudentController {
         return studentRepository.findAll();
 
     }
+
+    //Sparse fieldset, e.g. ?fields=id,email: only those columns are read and serialized; the id always is
+    @GetMapping(params = "fields")
+    public List<StudentView> getAllStudentFields(@RequestParam("fields") Set<String> fields){
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("At least one field is required");
+        }
+        for (String field : fields) {
+            if (!StudentView.FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unknown student field: " + field);
+            }
+        }
+        return studentRepository.findAllFields(fields);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return new ResponseEntity<String>(e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
 }
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
@@ -12,6 +13,9 @@ import javax.persistence.*;
 @AllArgsConstructor
 @Builder
 @Entity
+//Second-level cache region, used only when the l2cache profile turns the cache on
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "students")
 public class Student
 {
@@ -22,4 +26,8 @@ public class Student
     private String lastName;
     private String email;
 
+    //Optimistic locking: concurrent updates of the same student fail instead of overwriting each other
+    @Version
+    private long version;
+
 }
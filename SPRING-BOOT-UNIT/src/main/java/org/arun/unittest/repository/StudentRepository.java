@@ -3,5 +3,5 @@ package org.arun.unittest.repository;
 import org.arun.unittest.entity.Student;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface StudentRepository extends JpaRepository<Student , Long> {
+public interface StudentRepository extends JpaRepository<Student , Long>, StudentRepositoryCustom {
 }
@@ -0,0 +1,20 @@
+package org.arun.unittest.repository;
+
+import org.arun.unittest.entity.Student;
+import org.arun.unittest.model.StudentView;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Plain JDBC reads of the students table that do not materialise managed entities.
+ */
+public interface StudentRepositoryCustom {
+
+    /**
+     * Reads every student in id order, selecting only the columns of the given fields plus
+     * the id, and returns the rows as {@link StudentView}s. Fields are property names of
+     * {@link Student}; any other name is rejected with an {@link IllegalArgumentException}.
+     */
+    List<StudentView> findAllFields(Set<String> fields);
+}
@@ -0,0 +1,72 @@
+package org.arun.unittest.repository;
+
+import org.arun.unittest.model.StudentView;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class StudentRepositoryCustomImpl implements StudentRepositoryCustom {
+
+    // property name -> column; the fields a sparse read may select, in the order they are selected
+    static final Map<String, String> SELECTABLE_COLUMNS = selectableColumns();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StudentRepositoryCustomImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StudentView> findAllFields(Set<String> fields) {
+        for (String field : fields) {
+            if (!SELECTABLE_COLUMNS.containsKey(field)) {
+                throw new IllegalArgumentException("Unknown student field: " + field);
+            }
+        }
+        List<String> selected = SELECTABLE_COLUMNS.keySet().stream()
+                .filter(field -> field.equals("id") || fields.contains(field))
+                .collect(Collectors.toList());
+        String sql = selected.stream().map(SELECTABLE_COLUMNS::get)
+                .collect(Collectors.joining(", ", "select ", " from students order by id"));
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            StudentView view = new StudentView();
+            for (int i = 0; i < selected.size(); i++) {
+                switch (selected.get(i)) {
+                    case "id":
+                        view.setId(rs.getLong(i + 1));
+                        break;
+                    case "firstName":
+                        view.setFirstName(rs.getString(i + 1));
+                        break;
+                    case "lastName":
+                        view.setLastName(rs.getString(i + 1));
+                        break;
+                    case "email":
+                        view.setEmail(rs.getString(i + 1));
+                        break;
+                    default:
+                        view.setVersion(rs.getLong(i + 1));
+                }
+            }
+            return view;
+        });
+    }
+
+    private static Map<String, String> selectableColumns() {
+        Map<String, String> columns = new LinkedHashMap<>();
+        columns.put("id", "id");
+        columns.put("firstName", "first_name");
+        columns.put("lastName", "last_name");
+        columns.put("email", "email");
+        columns.put("version", "version");
+        return Collections.unmodifiableMap(columns);
+    }
+}
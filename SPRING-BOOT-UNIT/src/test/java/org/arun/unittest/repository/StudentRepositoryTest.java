@@ -2,6 +2,7 @@ package org.arun.unittest.repository;
 
 import org.arun.unittest.abstactclass.AbstractContainerBaseTest;
 import org.arun.unittest.entity.Student;
+import org.arun.unittest.model.StudentView;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,6 +10,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
+import java.util.List;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
@@ -40,4 +44,25 @@ class StudentRepositoryTest extends AbstractContainerBaseTest {
 
 
     }
-}
\ No newline at end of file
+
+    //JUnit for reading a sparse fieldset -- BDD style
+    @DisplayName("JUnit for reading only the selected student fields")
+    @Test
+    public void givenStudents_whenFindAllFields_thenReturnOnlySelectedFields(){
+
+        // given - setup or precondition
+        studentRepository.save(Student.builder().firstName("Pankaj").lastName("Yadav")
+                .email("pankajy@gmail.com").build());
+        studentRepository.save(Student.builder().firstName("Arun").lastName("Prajapati")
+                .email("arun@gmail.com").build());
+
+        //when - action or the testing
+        List<StudentView> views = studentRepository.findAllFields(Set.of("email"));
+
+        //then - verify output
+        Assertions.assertEquals(2, views.size());
+        Assertions.assertEquals("pankajy@gmail.com", views.get(0).getEmail());
+        Assertions.assertNotNull(views.get(1).getId());
+        Assertions.assertNull(views.get(1).getFirstName());
+    }
+}
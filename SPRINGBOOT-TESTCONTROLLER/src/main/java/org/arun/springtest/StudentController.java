@@ -1,9 +0,0 @@
-package org.arun.springtest;
-
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
-
-@RestController
-@RequestMapping("/api/students")
-public class StudentController {
-}
@@ -0,0 +1,31 @@
+package org.arun.springtest.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Workers behind {@code POST /api/students/import}. An upload is spooled to disk and queued
+ * here, so the request returns as soon as the file is received; once
+ * {@code student.import.max-queued} imports are waiting, further uploads get 503.
+ */
+@Configuration
+public class StudentImportConfig {
+
+    public static final String IMPORT_EXECUTOR = "studentImportExecutor";
+
+    @Bean(name = IMPORT_EXECUTOR)
+    public ThreadPoolTaskExecutor studentImportExecutor(@Value("${student.import.concurrency:1}") int concurrency,
+                                                        @Value("${student.import.max-queued:10}") int maxQueued) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("student-import-");
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setQueueCapacity(maxQueued);
+        // an interrupted import keeps the batches it committed; the client can upload the rest again
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
@@ -0,0 +1,65 @@
+package org.arun.springtest.controller;
+
+import org.arun.springtest.model.StudentImportReport;
+import org.arun.springtest.service.StudentImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/students/import")
+public class StudentImportController {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private StudentImportService studentImportService;
+
+    @Autowired
+    public StudentImportController(StudentImportService studentImportService) {
+        this.studentImportService = studentImportService;
+    }
+
+    //Queues the CSV upload (header firstName,lastName,email) for import into the students table and
+    //answers 202 once it is received; GET /api/students/import/{jobId} shows the progress
+    @PostMapping(consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<StudentImportReport> importStudents(InputStream body,
+                                                              @RequestParam(value = "batchSize",
+                                                                      defaultValue = "${student.import.batch-size:1000}")
+                                                              int batchSize) {
+        StudentImportReport report = studentImportService.importStudents(body, batchSize);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/students/import/" + report.getJobId()))
+                .body(report);
+    }
+
+    @GetMapping
+    public List<StudentImportReport> getImports() {
+        return studentImportService.getImports();
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<StudentImportReport> getImport(@PathVariable("jobId") String jobId) {
+        return studentImportService.getImport(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<String> handleImportsBusy(TaskRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "10")
+                .body("Too many student imports are waiting, retry later");
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return new ResponseEntity<String>(e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+}
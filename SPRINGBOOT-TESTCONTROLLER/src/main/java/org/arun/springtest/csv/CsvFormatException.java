@@ -0,0 +1,18 @@
+package org.arun.springtest.csv;
+
+/**
+ * Input that is not valid CSV; nothing after the offending record can be read reliably.
+ */
+public class CsvFormatException extends IllegalArgumentException {
+
+    private final int line;
+
+    public CsvFormatException(String message, int line) {
+        super(message + " at line " + line);
+        this.line = line;
+    }
+
+    public int getLine() {
+        return line;
+    }
+}
@@ -0,0 +1,114 @@
+package org.arun.springtest.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV one record at a time, so an upload of any size is parsed without
+ * holding more than the current record. Quoted fields may contain commas, doubled quotes
+ * and line breaks; a field longer than the given limit is rejected rather than buffered.
+ */
+public class CsvReader implements Closeable {
+
+    private final Reader reader;
+
+    private final int maxFieldLength;
+
+    private int line = 1;
+
+    private int recordLine;
+
+    private int pending = -2;
+
+    public CsvReader(Reader reader, int maxFieldLength) {
+        this.reader = reader;
+        this.maxFieldLength = maxFieldLength;
+    }
+
+    /**
+     * The next record, or null at the end of the input. Empty lines are skipped.
+     *
+     * @throws CsvFormatException if a quote is not closed or a field is too long
+     */
+    public List<String> readRecord() throws IOException {
+        int c = read();
+        while (c == '\r' || c == '\n') {
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new CsvFormatException("Unterminated quoted field", recordLine);
+                }
+                if (c == '"') {
+                    c = read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                append(field, c);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pending = next;
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                append(field, c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Line on which the last record returned by {@link #readRecord()} started, from 1.
+     */
+    public int getRecordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void append(StringBuilder field, int c) {
+        if (field.length() == maxFieldLength) {
+            throw new CsvFormatException("Field longer than " + maxFieldLength + " characters", recordLine);
+        }
+        field.append((char) c);
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pending != -2) {
+            c = pending;
+            pending = -2;
+        } else {
+            c = reader.read();
+        }
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+}
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.annotation.security.DenyAll;
 import javax.persistence.*;
@@ -13,9 +14,16 @@ import javax.persistence.*;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "students")
+//Second-level cache region, used only when the l2cache profile turns the cache on
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "students",
+        //Also the index behind the batched email lookups of the CSV import
+        uniqueConstraints = @UniqueConstraint(name = Student.EMAIL_UNIQUE_CONSTRAINT, columnNames = "email"))
 public class Student {
 
+    public static final String EMAIL_UNIQUE_CONSTRAINT = "uk_students_email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long id;
@@ -23,4 +31,8 @@ public class Student {
     private String lastName;
     private String email;
 
+    //Optimistic locking: concurrent updates of the same student fail instead of overwriting each other
+    @Version
+    private long version;
+
 }
@@ -0,0 +1,63 @@
+package org.arun.springtest.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Progress of a student CSV import: returned, usually QUEUED, once the upload is spooled,
+ * and by {@code GET /api/students/import/{jobId}} until and after it finishes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentImportReport {
+
+    public enum Status {QUEUED, RUNNING, COMPLETED, FAILED}
+
+    private String jobId;
+
+    private Status status;
+
+    // null while QUEUED
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    // data rows parsed so far, the header excluded
+    private long rowsRead;
+
+    private long inserted;
+
+    // rows whose email already belongs to a student or appears earlier in the file
+    private long duplicates;
+
+    // rows that failed validation or whose batch could not be inserted
+    private long rejected;
+
+    private double rowsPerSecond;
+
+    // the first rejected rows, in file order
+    private List<RowError> errors;
+
+    // why a FAILED import stopped; rows in batches before that point stay inserted
+    private String message;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+
+        // line of the CSV upload the row started on, from 1
+        private int line;
+
+        private String email;
+
+        private String message;
+    }
+}
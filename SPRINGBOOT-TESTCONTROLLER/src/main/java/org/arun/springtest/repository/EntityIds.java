@@ -0,0 +1,39 @@
+package org.arun.springtest.repository;
+
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.PostInsertIdentifierGenerator;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Ids for rows inserted over JDBC, drawn from the generator Hibernate maps for the entity so
+ * they never collide with the ids it hands out itself under the pooled-ids profile.
+ */
+final class EntityIds {
+
+    private EntityIds() {
+    }
+
+    /**
+     * The next {@code count} ids, or null while the id is an IDENTITY column the database fills in.
+     */
+    static long[] next(EntityManagerFactory entityManagerFactory, Class<?> entityClass, int count) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        IdentifierGenerator generator = sessionFactory.getMetamodel().entityPersister(entityClass)
+                .getIdentifierGenerator();
+        if (generator instanceof PostInsertIdentifierGenerator) {
+            return null;
+        }
+        long[] ids = new long[count];
+        // pooled-lo hands most ids out from memory; the session is only used when a block runs out
+        try (Session session = sessionFactory.openSession()) {
+            for (int i = 0; i < count; i++) {
+                ids[i] = ((Number) generator.generate((SharedSessionContractImplementor) session, null)).longValue();
+            }
+        }
+        return ids;
+    }
+}
@@ -3,30 +3,41 @@ package org.arun.springtest.repository;
 import org.arun.springtest.entity.Student;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.Optional;
 
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, StudentRepositoryCustom {
 
+    //With the l2cache profile these finders use the query cache; native queries name the table they
+    //read so that writes to it invalidate them
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<Student> findByEmail(String email);
 
     //Define Custom query using JPQL with index parameter
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query("select e from Student e where e.firstName = ?1 and e.lastName = ?2")
     Student findByJPQL(String firstName , String lastName);
 
 
     //Define Custom query using JPQL with named parameter
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query("select e from Student e where e.firstName =:firstName and e.lastName =:lastName")
     Student findByJPQLNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName);
 
     //Define Custom query using NativeQuery with index parameter
+    @QueryHints({@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.query.native.spaces", value = "students")})
     @Query(value = "select * from students e where e.first_name =?1 and e.last_name = ?2" , nativeQuery = true )
     Student findByNativeSQL(String firstName , String lastName);
 
     //Define Custom query using NativeQuery with named parameter
+    @QueryHints({@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.query.native.spaces", value = "students")})
     @Query(value = "select * from students e where e.first_name =:firstName and e.last_name =:lastName" , nativeQuery = true )
     Student findByNativeSQLNamed(@Param("firstName") String firstName , @Param("lastName") String lastName);
 }
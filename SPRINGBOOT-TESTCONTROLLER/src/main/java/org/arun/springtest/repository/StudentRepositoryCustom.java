@@ -0,0 +1,26 @@
+package org.arun.springtest.repository;
+
+import org.arun.springtest.entity.Student;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Plain JDBC operations on the students table for bulk imports, which would otherwise
+ * load and save one managed entity per row.
+ */
+public interface StudentRepositoryCustom {
+
+    /**
+     * Returns the subset of the given emails that already belong to a student, using a
+     * single {@code IN} query.
+     */
+    Set<String> findExistingEmails(Collection<String> emails);
+
+    /**
+     * Inserts the students as one JDBC batch in a single transaction and returns the
+     * number of rows written. Generated ids are not read back.
+     */
+    int insertAll(List<Student> students);
+}
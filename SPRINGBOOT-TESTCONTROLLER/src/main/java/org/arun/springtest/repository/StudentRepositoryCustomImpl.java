@@ -0,0 +1,86 @@
+package org.arun.springtest.repository;
+
+import org.arun.springtest.entity.Student;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class StudentRepositoryCustomImpl implements StudentRepositoryCustom {
+
+    private static final String INSERT = "insert into students (first_name, last_name, email, version)"
+            + " values (?, ?, ?, 0)";
+
+    // under the pooled-ids profile the id column has no default
+    private static final String INSERT_WITH_ID = "insert into students (id, first_name, last_name, email, version)"
+            + " values (?, ?, ?, ?, 0)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public StudentRepositoryCustomImpl(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList("select email from students where email in (:emails)",
+                Map.of("emails", emails), String.class));
+    }
+
+    @Override
+    @Transactional
+    public int insertAll(List<Student> students) {
+        long[] ids = EntityIds.next(entityManagerFactory, Student.class, students.size());
+        List<Object[]> rows = new ArrayList<>(students.size());
+        for (int i = 0; i < students.size(); i++) {
+            Student student = students.get(i);
+            rows.add(ids == null
+                    ? new Object[]{student.getFirstName(), student.getLastName(), student.getEmail()}
+                    : new Object[]{ids[i], student.getFirstName(), student.getLastName(), student.getEmail()});
+        }
+        int[] counts = jdbcTemplate.getJdbcTemplate().batchUpdate(ids == null ? INSERT : INSERT_WITH_ID, rows);
+        evictQueryResults();
+
+        int inserted = 0;
+        for (int count : counts) {
+            // rewritten MySQL batches report SUCCESS_NO_INFO instead of a row count
+            inserted += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+        }
+        return inserted;
+    }
+
+    // Hibernate does not see JdbcTemplate writes, so cached query results (e.g. a findByEmail
+    // that found nothing) are dropped now and again after commit. A no-op without the l2cache profile.
+    private void evictQueryResults() {
+        evict();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict();
+                }
+            });
+        }
+    }
+
+    private void evict() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+}
@@ -0,0 +1,16 @@
+package org.arun.springtest.service;
+
+import org.arun.springtest.model.StudentImportReport;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+
+public interface StudentImportService {
+
+    StudentImportReport importStudents(InputStream csv, int batchSize);
+
+    Optional<StudentImportReport> getImport(String jobId);
+
+    List<StudentImportReport> getImports();
+}
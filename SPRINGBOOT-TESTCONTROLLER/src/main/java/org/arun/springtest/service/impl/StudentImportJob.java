@@ -0,0 +1,120 @@
+package org.arun.springtest.service.impl;
+
+import org.arun.springtest.model.StudentImportReport;
+import org.arun.springtest.model.StudentImportReport.RowError;
+import org.arun.springtest.model.StudentImportReport.Status;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counters of one queued or running import. The importing thread updates them while other
+ * requests read {@link #report()}, so every access is synchronized.
+ */
+class StudentImportJob {
+
+    private final String id;
+
+    private final Clock clock;
+
+    private Instant startedAt;
+
+    private final int maxErrors;
+
+    private final List<RowError> errors = new ArrayList<>();
+
+    private Status status = Status.QUEUED;
+
+    private Instant finishedAt;
+
+    private long rowsRead;
+
+    private long inserted;
+
+    private long duplicates;
+
+    private long rejected;
+
+    private String message;
+
+    StudentImportJob(String id, Clock clock, int maxErrors) {
+        this.id = id;
+        this.clock = clock;
+        this.maxErrors = maxErrors;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    synchronized boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    synchronized void started() {
+        status = Status.RUNNING;
+        startedAt = clock.instant();
+    }
+
+    synchronized void read(int rows) {
+        rowsRead += rows;
+    }
+
+    synchronized void inserted(int rows) {
+        inserted += rows;
+    }
+
+    synchronized void duplicate(int line, String email) {
+        duplicates++;
+        error(line, email, "Student already exists with email " + email);
+    }
+
+    synchronized void rejected(int line, String email, String problem) {
+        rejected++;
+        error(line, email, problem);
+    }
+
+    synchronized void completed() {
+        finish(Status.COMPLETED, null);
+    }
+
+    synchronized void failed(String message) {
+        finish(Status.FAILED, message);
+    }
+
+    synchronized StudentImportReport report() {
+        Instant end = finishedAt == null ? clock.instant() : finishedAt;
+        double seconds = startedAt == null ? 0 : Duration.between(startedAt, end).toNanos() / 1e9;
+        return StudentImportReport.builder()
+                .jobId(id)
+                .status(status)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .rowsRead(rowsRead)
+                .inserted(inserted)
+                .duplicates(duplicates)
+                .rejected(rejected)
+                .rowsPerSecond(seconds > 0 ? rowsRead / seconds : 0)
+                .errors(new ArrayList<>(errors))
+                .message(message)
+                .build();
+    }
+
+    private void error(int line, String email, String problem) {
+        if (errors.size() < maxErrors) {
+            errors.add(new RowError(line, email, problem));
+        }
+    }
+
+    private void finish(Status status, String message) {
+        if (startedAt == null) {
+            startedAt = clock.instant();
+        }
+        this.status = status;
+        this.message = message;
+        this.finishedAt = clock.instant();
+    }
+}
@@ -0,0 +1,342 @@
+package org.arun.springtest.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.arun.springtest.config.StudentImportConfig;
+import org.arun.springtest.csv.CsvFormatException;
+import org.arun.springtest.csv.CsvReader;
+import org.arun.springtest.entity.Student;
+import org.arun.springtest.model.StudentImportReport;
+import org.arun.springtest.repository.StudentRepository;
+import org.arun.springtest.service.StudentImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class StudentImportServiceImpl implements StudentImportService {
+
+    static final int MAX_BATCH_SIZE = 10_000;
+
+    // rejected rows listed in a report; the counters cover all of them
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    // imports kept for GET /api/students/import once they have finished
+    static final int MAX_RETAINED_JOBS = 50;
+
+    static final int MAX_FIELD_LENGTH = 255;
+
+    static final long PROGRESS_LOG_INTERVAL = 10_000;
+
+    static final List<String> COLUMNS = List.of("firstName", "lastName", "email");
+
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+\\.[^@\\s]+");
+
+    private StudentRepository studentRepository;
+
+    private TaskExecutor importExecutor;
+
+    private final Path directory;
+
+    private final Clock clock = Clock.systemUTC();
+
+    // insertion ordered, so the oldest import is evicted first; guarded by itself
+    private final Map<String, StudentImportJob> jobs = new LinkedHashMap<>();
+
+    @Autowired
+    public StudentImportServiceImpl(StudentRepository studentRepository,
+                                    @Qualifier(StudentImportConfig.IMPORT_EXECUTOR) TaskExecutor importExecutor,
+                                    @Value("${student.import.directory:${java.io.tmpdir}/student-imports}")
+                                    String directory) {
+        this.studentRepository = studentRepository;
+        this.importExecutor = importExecutor;
+        this.directory = Paths.get(directory);
+    }
+
+    //Spools the upload to disk and queues the import, so the request thread only waits for the
+    //file; the returned report is usually still QUEUED or RUNNING
+    @Override
+    public StudentImportReport importStudents(InputStream csv, int batchSize) {
+        if (batchSize < 1 || batchSize > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch size must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        StudentImportJob job = register();
+        Path upload = directory.resolve(job.getId() + ".csv");
+        try {
+            Files.createDirectories(directory);
+            Files.copy(csv, upload);
+            importExecutor.execute(() -> run(job, upload, batchSize));
+        } catch (IOException e) {
+            unregister(job);
+            deleteQuietly(upload);
+            throw new UncheckedIOException("Upload could not be spooled", e);
+        } catch (TaskRejectedException e) {
+            // max-queued imports are already waiting
+            unregister(job);
+            deleteQuietly(upload);
+            throw e;
+        }
+        return job.report();
+    }
+
+    //Reads the spooled upload one record at a time and writes it in batches of batchSize, so
+    //memory use depends on the batch size and not on the size of the file
+    private void run(StudentImportJob job, Path upload, int batchSize) {
+        job.started();
+        try (CsvReader reader = new CsvReader(new BufferedReader(
+                new InputStreamReader(Files.newInputStream(upload), StandardCharsets.UTF_8)), MAX_FIELD_LENGTH)) {
+            int[] columns = columns(reader.readRecord());
+            List<Row> batch = new ArrayList<>(batchSize);
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                batch.add(new Row(reader.getRecordLine(), record, columns));
+                if (batch.size() == batchSize) {
+                    importBatch(batch, job);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                importBatch(batch, job);
+            }
+            job.completed();
+        } catch (CsvFormatException e) {
+            // malformed CSV or header; the batches before it stay committed
+            job.failed(e.getMessage());
+        } catch (IOException e) {
+            job.failed("Upload could not be read: " + e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Student import {} failed", job.getId(), e);
+            job.failed(e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+        } finally {
+            deleteQuietly(upload);
+        }
+        StudentImportReport report = job.report();
+        log.info("Student import {} {}: {} rows, {} inserted, {} duplicates, {} rejected, {} rows/s",
+                report.getJobId(), report.getStatus(), report.getRowsRead(), report.getInserted(),
+                report.getDuplicates(), report.getRejected(), Math.round(report.getRowsPerSecond()));
+    }
+
+    @Override
+    public Optional<StudentImportReport> getImport(String jobId) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(jobId)).map(StudentImportJob::report);
+        }
+    }
+
+    //Newest first
+    @Override
+    public List<StudentImportReport> getImports() {
+        List<StudentImportJob> snapshot;
+        synchronized (jobs) {
+            snapshot = new ArrayList<>(jobs.values());
+        }
+        Collections.reverse(snapshot);
+        return snapshot.stream().map(StudentImportJob::report).collect(Collectors.toList());
+    }
+
+    // Validates a batch, drops emails that already exist (one query per batch) and inserts
+    // the rest as a single JDBC batch. A duplicate later in the file is caught by the lookup
+    // of its own batch, because every earlier batch is committed by then. Emails are compared
+    // lower-cased, as the unique index's collation compares them; fields are already trimmed.
+    private void importBatch(List<Row> batch, StudentImportJob job) {
+        job.read(batch.size());
+
+        List<Row> candidates = new ArrayList<>(batch.size());
+        Set<String> batchEmails = new HashSet<>();
+        Set<String> lookupEmails = new HashSet<>();
+        for (Row row : batch) {
+            String problem = row.problem;
+            if (problem == null && !batchEmails.add(normalizeEmail(row.student.getEmail()))) {
+                job.duplicate(row.line, row.student.getEmail());
+                continue;
+            }
+            if (problem != null) {
+                job.rejected(row.line, row.student.getEmail(), problem);
+            } else {
+                candidates.add(row);
+                lookupEmails.add(row.student.getEmail());
+            }
+        }
+
+        Set<String> existingEmails = studentRepository.findExistingEmails(lookupEmails).stream()
+                .map(StudentImportServiceImpl::normalizeEmail)
+                .collect(Collectors.toSet());
+        List<Row> toInsert = new ArrayList<>(candidates.size());
+        for (Row row : candidates) {
+            if (existingEmails.contains(normalizeEmail(row.student.getEmail()))) {
+                job.duplicate(row.line, row.student.getEmail());
+            } else {
+                toInsert.add(row);
+            }
+        }
+        if (!toInsert.isEmpty()) {
+            try {
+                job.inserted(studentRepository.insertAll(
+                        toInsert.stream().map(row -> row.student).collect(Collectors.toList())));
+            } catch (DataIntegrityViolationException e) {
+                // one row (typically an email inserted concurrently) sinks the whole batch; find it row by row
+                insertOneByOne(toInsert, job);
+            } catch (DataAccessException e) {
+                // the batch runs in one transaction, so every row in it was rolled back
+                rejectAll(toInsert, job, e);
+            }
+        }
+
+        StudentImportReport progress = job.report();
+        if (progress.getRowsRead() / PROGRESS_LOG_INTERVAL
+                != (progress.getRowsRead() - batch.size()) / PROGRESS_LOG_INTERVAL) {
+            log.info("Student import {}: {} rows read, {} inserted, {} rows/s", progress.getJobId(),
+                    progress.getRowsRead(), progress.getInserted(), Math.round(progress.getRowsPerSecond()));
+        }
+    }
+
+    private void insertOneByOne(List<Row> toInsert, StudentImportJob job) {
+        for (int i = 0; i < toInsert.size(); i++) {
+            Row row = toInsert.get(i);
+            try {
+                job.inserted(studentRepository.insertAll(List.of(row.student)));
+            } catch (DataIntegrityViolationException e) {
+                if (isDuplicateEmail(e)) {
+                    job.duplicate(row.line, row.student.getEmail());
+                } else {
+                    job.rejected(row.line, row.student.getEmail(),
+                            "Insert failed: " + e.getMostSpecificCause().getMessage());
+                }
+            } catch (DataAccessException e) {
+                rejectAll(toInsert.subList(i, toInsert.size()), job, e);
+                return;
+            }
+        }
+    }
+
+    private static void rejectAll(List<Row> rows, StudentImportJob job, DataAccessException e) {
+        for (Row row : rows) {
+            job.rejected(row.line, row.student.getEmail(),
+                    "Batch insert failed: " + e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private static boolean isDuplicateEmail(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return e instanceof DuplicateKeyException || (message != null
+                && message.toLowerCase(Locale.ROOT).contains(Student.EMAIL_UNIQUE_CONSTRAINT));
+    }
+
+    private static String normalizeEmail(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private StudentImportJob register() {
+        StudentImportJob job = new StudentImportJob(UUID.randomUUID().toString(), clock, MAX_REPORTED_ERRORS);
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+            Iterator<StudentImportJob> oldest = jobs.values().iterator();
+            while (jobs.size() > MAX_RETAINED_JOBS && oldest.hasNext()) {
+                if (oldest.next().isFinished()) {
+                    oldest.remove();
+                }
+            }
+        }
+        return job;
+    }
+
+    private void unregister(StudentImportJob job) {
+        synchronized (jobs) {
+            jobs.remove(job.getId());
+        }
+    }
+
+    private static void deleteQuietly(Path upload) {
+        try {
+            Files.deleteIfExists(upload);
+        } catch (IOException e) {
+            log.warn("Could not delete the spooled upload {}", upload, e);
+        }
+    }
+
+    // Position of each of COLUMNS in the header; names are matched ignoring case and a byte order
+    // mark, other columns are ignored
+    private static int[] columns(List<String> header) {
+        if (header == null) {
+            throw new CsvFormatException("Upload is empty, expected a header line " + String.join(",", COLUMNS), 1);
+        }
+        List<String> names = header.stream()
+                .map(name -> name.trim().replace("\uFEFF", "").toLowerCase(Locale.ROOT))
+                .collect(Collectors.toList());
+        int[] columns = new int[COLUMNS.size()];
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            columns[i] = names.indexOf(COLUMNS.get(i).toLowerCase(Locale.ROOT));
+            if (columns[i] < 0) {
+                throw new CsvFormatException("Header has no " + COLUMNS.get(i) + " column", 1);
+            }
+        }
+        return columns;
+    }
+
+    private static final class Row {
+
+        private final int line;
+
+        private final Student student;
+
+        // null when the row can be inserted
+        private final String problem;
+
+        Row(int line, List<String> record, int[] columns) {
+            this.line = line;
+            this.student = Student.builder()
+                    .firstName(field(record, columns[0]))
+                    .lastName(field(record, columns[1]))
+                    .email(field(record, columns[2]))
+                    .build();
+            this.problem = validate(student);
+        }
+
+        private static String field(List<String> record, int column) {
+            return column < record.size() ? record.get(column).trim() : "";
+        }
+
+        private static String validate(Student student) {
+            if (student.getFirstName().isEmpty()) {
+                return "First name is required";
+            }
+            if (student.getLastName().isEmpty()) {
+                return "Last name is required";
+            }
+            if (!EMAIL.matcher(student.getEmail()).matches()) {
+                return "Invalid email '" + student.getEmail() + "'";
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package org.arun.springtest.controller;
+
+import org.arun.springtest.model.StudentImportReport;
+import org.arun.springtest.service.StudentImportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(StudentImportController.class)
+public class StudentImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private StudentImportService studentImportService;
+
+    @DisplayName("JUnit test for importing students from CSV")
+    @Test
+    public void givenCsvUpload_whenImportStudents_thenReturn202WithJob() throws Exception {
+        // given precondition or setup
+        given(studentImportService.importStudents(any(), eq(500))).willReturn(StudentImportReport.builder()
+                .jobId("job-1").status(StudentImportReport.Status.QUEUED).build());
+
+        // when -action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(post("/api/students/import")
+                .param("batchSize", "500")
+                .contentType(StudentImportController.TEXT_CSV_VALUE)
+                .content("firstName,lastName,email\nRam,Raja,ram@gmail.com\n"));
+
+        //then - verify the output
+        response.andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/students/import/job-1"))
+                .andExpect(jsonPath("$.jobId", is("job-1")))
+                .andExpect(jsonPath("$.status", is("QUEUED")));
+    }
+
+    @DisplayName("JUnit test for importing while too many imports are queued")
+    @Test
+    public void givenFullImportQueue_whenImportStudents_thenReturn503() throws Exception {
+        // given precondition or setup
+        given(studentImportService.importStudents(any(), eq(1000))).willThrow(new TaskRejectedException("queue full"));
+
+        // when -action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(post("/api/students/import")
+                .contentType(StudentImportController.TEXT_CSV_VALUE)
+                .content("firstName,lastName,email\nRam,Raja,ram@gmail.com\n"));
+
+        //then - verify the output
+        response.andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    @DisplayName("JUnit test for the progress of a running import")
+    @Test
+    public void givenRunningImport_whenGetImport_thenReturnProgress() throws Exception {
+        // given precondition or setup
+        given(studentImportService.getImport("job-3")).willReturn(Optional.of(StudentImportReport.builder()
+                .jobId("job-3").status(StudentImportReport.Status.RUNNING).rowsRead(20_000).inserted(19_990).build()));
+
+        // when -action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get("/api/students/import/{jobId}", "job-3"));
+
+        //then - verify the output
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("RUNNING")))
+                .andExpect(jsonPath("$.rowsRead", is(20_000)));
+    }
+
+    @DisplayName("JUnit test for the progress of an unknown import")
+    @Test
+    public void givenUnknownJobId_whenGetImport_thenReturn404() throws Exception {
+        // given precondition or setup
+        given(studentImportService.getImport("missing")).willReturn(Optional.empty());
+
+        // when -action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get("/api/students/import/{jobId}", "missing"));
+
+        //then - verify the output
+        response.andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,67 @@
+package org.arun.springtest.csv;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CsvReaderTest {
+
+    //JUnit test for quoted fields, CRLF line ends and blank lines
+    @DisplayName("JUnit test for reading quoted CSV records")
+    @Test
+    public void givenQuotedFields_whenReadRecord_thenUnquoteAndTrackLines() throws IOException {
+        // given precondition or setup
+        CsvReader reader = new CsvReader(new StringReader(
+                "a,b,c\r\n\"Ram, Jr\",\"say \"\"hi\"\"\",\"two\nlines\"\r\n\r\nx,,z"), 100);
+
+        // when -action or the behaviour that we are going to test
+        List<String> header = reader.readRecord();
+        List<String> quoted = reader.readRecord();
+        int quotedLine = reader.getRecordLine();
+        List<String> last = reader.readRecord();
+        int lastLine = reader.getRecordLine();
+
+        //then - verify the output
+        assertThat(header).containsExactly("a", "b", "c");
+        assertThat(quoted).containsExactly("Ram, Jr", "say \"hi\"", "two\nlines");
+        assertThat(quotedLine).isEqualTo(2);
+        assertThat(last).containsExactly("x", "", "z");
+        assertThat(lastLine).isEqualTo(5);
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    //JUnit test for an unterminated quote
+    @DisplayName("JUnit test for an unterminated quoted field")
+    @Test
+    public void givenUnterminatedQuote_whenReadRecord_thenThrowsCsvFormatException() throws IOException {
+        // given precondition or setup
+        CsvReader reader = new CsvReader(new StringReader("a,b\n\"open,b\n"), 100);
+        reader.readRecord();
+
+        // when -action or the behaviour that we are going to test
+        CsvFormatException e = assertThrows(CsvFormatException.class, reader::readRecord);
+
+        //then - verify the output
+        assertThat(e.getLine()).isEqualTo(2);
+    }
+
+    //JUnit test for the field length limit
+    @DisplayName("JUnit test for a field longer than the limit")
+    @Test
+    public void givenOversizedField_whenReadRecord_thenThrowsCsvFormatException() {
+        // given precondition or setup
+        CsvReader reader = new CsvReader(new StringReader("abcdef,b\n"), 5);
+
+        // when -action or the behaviour that we are going to test
+        CsvFormatException e = assertThrows(CsvFormatException.class, reader::readRecord);
+
+        //then - verify the output
+        assertThat(e.getMessage()).contains("longer than 5");
+    }
+}
@@ -0,0 +1,81 @@
+package org.arun.springtest.repository;
+
+import org.arun.springtest.entity.Student;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("pooled-ids")
+public class StudentRepositoryPooledIdsTest {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @DisplayName("givenTenThousandStudents_whenSaveAll_thenInsertsAreBatched")
+    @Test
+    public void givenTenThousandStudents_whenSaveAll_thenInsertsAreBatched() {
+
+        //given - precondition or setup
+        List<Student> students = students(0, 10_000);
+
+        //when - action or the behaviour that we are going to test
+        studentRepository.saveAll(students);
+        studentRepository.flush();
+
+        //then - verify the output
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(10_000);
+        // IDENTITY needs 10k statements; here one sequence call per block of 50 ids and a reused batched INSERT
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(500);
+        assertThat(students).extracting(Student::getId).doesNotHaveDuplicates().doesNotContain(0L);
+    }
+
+    @DisplayName("givenPooledIds_whenInsertAllAndSave_thenIdsDoNotCollide")
+    @Test
+    public void givenPooledIds_whenInsertAllAndSave_thenIdsDoNotCollide() {
+
+        //given - precondition or setup
+        studentRepository.insertAll(students(0, 30));
+
+        //when - action or the behaviour that we are going to test
+        studentRepository.saveAll(students(30, 30));
+        studentRepository.flush();
+
+        //then - verify the output
+        assertThat(studentRepository.findAll()).hasSize(60)
+                .extracting(Student::getId).doesNotHaveDuplicates();
+    }
+
+    private static List<Student> students(int from, int count) {
+        return IntStream.range(from, from + count)
+                .mapToObj(i -> Student.builder()
+                        .firstName("First" + i)
+                        .lastName("Last" + i)
+                        .email("student" + i + "@example.com")
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -111,4 +112,22 @@ public class StudentRepositoryTest {
         //then - verify the output
         assertThat(deleteStudent).isEmpty();
     }
+
+    //Junit test for batch insert and set-wise email lookup
+    @DisplayName("Junit test for batch insert and set-wise email lookup")
+    @Test
+    public void givenStudentList_whenInsertAll_thenFindExistingEmails() {
+        // given precondition or setup
+        List<Student> students = List.of(student, Student.builder()
+                .firstName("Sita").lastName("Devi").email("sita@gmail.com").build());
+
+        // when -action or the behaviour that we are going to test
+        int inserted = studentRepository.insertAll(students);
+        Set<String> existing = studentRepository.findExistingEmails(
+                List.of("arunp@gmail.com", "sita@gmail.com", "nobody@gmail.com"));
+
+        //then - verify the output
+        assertThat(inserted).isEqualTo(2);
+        assertThat(existing).containsExactlyInAnyOrder("arunp@gmail.com", "sita@gmail.com");
+    }
 }
@@ -0,0 +1,227 @@
+package org.arun.springtest.service;
+
+import org.arun.springtest.entity.Student;
+import org.arun.springtest.model.StudentImportReport;
+import org.arun.springtest.repository.StudentRepository;
+import org.arun.springtest.service.impl.StudentImportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class StudentImportServiceTest {
+
+    @TempDir
+    Path directory;
+
+    // imports run on the calling thread unless a test swaps the executor
+    private StudentImportServiceImpl studentImportService;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @BeforeEach
+    public void setup() {
+        studentImportService = new StudentImportServiceImpl(studentRepository, new SyncTaskExecutor(),
+                directory.toString());
+    }
+
+    @DisplayName("Junit test for importing a CSV with invalid and duplicate rows")
+    @Test
+    public void givenCsvWithBadRows_whenImportStudents_thenInsertOnlyNewValidRows() {
+        // given precondition or setup
+        String csv = "email,firstName,lastName\n"
+                + "ram@gmail.com,Ram,Raja\n"
+                + "not-an-email,Kavi,Tulsi\n"
+                + "ram@gmail.com,Ram,Again\n"
+                + "arun@gmail.com,Arun,Prajapati\n"
+                + "sita@gmail.com,Sita,Devi\n";
+        given(studentRepository.findExistingEmails(anyCollection()))
+                .willReturn(Set.of(), Set.of("arun@gmail.com"));
+        given(studentRepository.insertAll(anyList())).willAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+
+        // when -action or the behaviour that we are going to test
+        StudentImportReport report = studentImportService.importStudents(csv(csv), 3);
+
+        //then - verify the output
+        assertThat(report.getStatus()).isEqualTo(StudentImportReport.Status.COMPLETED);
+        assertThat(report.getRowsRead()).isEqualTo(5);
+        assertThat(report.getInserted()).isEqualTo(2);
+        assertThat(report.getDuplicates()).isEqualTo(2);
+        assertThat(report.getRejected()).isEqualTo(1);
+        assertThat(report.getErrors()).extracting(StudentImportReport.RowError::getLine).containsExactly(3, 4, 5);
+        ArgumentCaptor<List<Student>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(studentRepository, times(2)).insertAll(inserted.capture());
+        assertThat(inserted.getAllValues()).flatExtracting(batch -> batch).extracting(Student::getEmail)
+                .containsExactly("ram@gmail.com", "sita@gmail.com");
+        assertThat(studentImportService.getImport(report.getJobId())).contains(report);
+    }
+
+    @DisplayName("Junit test for importing a CSV with emails differing only in case")
+    @Test
+    public void givenEmailsDifferingInCase_whenImportStudents_thenCountThemAsDuplicates() {
+        // given precondition or setup
+        given(studentRepository.findExistingEmails(Set.of("ram@gmail.com", "sita@gmail.com")))
+                .willReturn(Set.of("SITA@gmail.com"));
+        given(studentRepository.insertAll(anyList())).willAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+
+        // when -action or the behaviour that we are going to test
+        StudentImportReport report = studentImportService.importStudents(
+                csv("firstName,lastName,email\nRam,Raja,ram@gmail.com\nRam,Again,Ram@Gmail.com\n"
+                        + "Sita,Devi,sita@gmail.com\n"), 10);
+
+        //then - verify the output
+        assertThat(report.getInserted()).isEqualTo(1);
+        assertThat(report.getDuplicates()).isEqualTo(2);
+        assertThat(report.getRejected()).isZero();
+    }
+
+    @DisplayName("Junit test for importing a CSV whose batch hits a concurrently inserted email")
+    @Test
+    public void givenBatchFailingOnOneRow_whenImportStudents_thenInsertTheOthersRowByRow() {
+        // given precondition or setup
+        given(studentRepository.findExistingEmails(anyCollection())).willReturn(Set.of());
+        given(studentRepository.insertAll(anyList())).willAnswer(invocation -> {
+            List<Student> students = invocation.getArgument(0);
+            if (students.stream().anyMatch(student -> student.getEmail().equals("sita@gmail.com"))) {
+                throw new DuplicateKeyException("Unique index or primary key violation: uk_students_email");
+            }
+            return students.size();
+        });
+
+        // when -action or the behaviour that we are going to test
+        StudentImportReport report = studentImportService.importStudents(
+                csv("firstName,lastName,email\nRam,Raja,ram@gmail.com\nSita,Devi,sita@gmail.com\n"
+                        + "Kavi,Tulsi,kavi@gmail.com\n"), 10);
+
+        //then - verify the output
+        assertThat(report.getInserted()).isEqualTo(2);
+        assertThat(report.getDuplicates()).isEqualTo(1);
+        assertThat(report.getRejected()).isZero();
+        assertThat(report.getErrors()).extracting(StudentImportReport.RowError::getLine).containsExactly(3);
+    }
+
+    @DisplayName("Junit test for importing a CSV whose batch insert fails")
+    @Test
+    public void givenFailingBatch_whenImportStudents_thenRejectTheWholeBatch() {
+        // given precondition or setup
+        given(studentRepository.findExistingEmails(anyCollection())).willReturn(Set.of());
+        given(studentRepository.insertAll(anyList()))
+                .willThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        // when -action or the behaviour that we are going to test
+        StudentImportReport report = studentImportService.importStudents(
+                csv("firstName,lastName,email\nRam,Raja,ram@gmail.com\nSita,Devi,sita@gmail.com\n"), 10);
+
+        //then - verify the output
+        assertThat(report.getStatus()).isEqualTo(StudentImportReport.Status.COMPLETED);
+        assertThat(report.getInserted()).isZero();
+        assertThat(report.getRejected()).isEqualTo(2);
+    }
+
+    @DisplayName("Junit test for importing a CSV without the required columns")
+    @Test
+    public void givenMissingColumn_whenImportStudents_thenFailTheImport() {
+        // when -action or the behaviour that we are going to test
+        StudentImportReport report = studentImportService.importStudents(
+                csv("firstName,lastName\nRam,Raja\n"), 10);
+
+        //then - verify the output
+        assertThat(report.getStatus()).isEqualTo(StudentImportReport.Status.FAILED);
+        assertThat(report.getMessage()).contains("email");
+        verify(studentRepository, never()).insertAll(any());
+    }
+
+    @DisplayName("Junit test for importing with an invalid batch size")
+    @Test
+    public void givenInvalidBatchSize_whenImportStudents_thenThrowsException() {
+        // when -action or the behaviour that we are going to test
+        assertThrows(IllegalArgumentException.class,
+                () -> studentImportService.importStudents(csv("firstName,lastName,email\n"), 0));
+
+        //then - verify the output
+        assertThat(studentImportService.getImports()).isEmpty();
+    }
+
+    @DisplayName("Junit test for an import that waits for a free worker")
+    @Test
+    public void givenBusyWorkers_whenImportStudents_thenReturnQueuedJobAndRunItLater() throws IOException {
+        // given precondition or setup
+        List<Runnable> queued = new ArrayList<>();
+        studentImportService = new StudentImportServiceImpl(studentRepository, queued::add, directory.toString());
+        given(studentRepository.findExistingEmails(anyCollection())).willReturn(Set.of());
+        given(studentRepository.insertAll(anyList())).willAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+
+        // when -action or the behaviour that we are going to test
+        StudentImportReport report = studentImportService.importStudents(
+                csv("firstName,lastName,email\nRam,Raja,ram@gmail.com\n"), 10);
+
+        //then - verify the output
+        assertThat(report.getStatus()).isEqualTo(StudentImportReport.Status.QUEUED);
+        assertThat(report.getStartedAt()).isNull();
+        assertThat(spooledFiles()).hasSize(1);
+        queued.get(0).run();
+        StudentImportReport finished = studentImportService.getImport(report.getJobId()).get();
+        assertThat(finished.getStatus()).isEqualTo(StudentImportReport.Status.COMPLETED);
+        assertThat(finished.getInserted()).isEqualTo(1);
+        assertThat(spooledFiles()).isEmpty();
+    }
+
+    @DisplayName("Junit test for an import rejected because too many are queued")
+    @Test
+    public void givenFullQueue_whenImportStudents_thenThrowsAndForgetsTheUpload() throws IOException {
+        // given precondition or setup
+        studentImportService = new StudentImportServiceImpl(studentRepository, task -> {
+            throw new TaskRejectedException("queue full");
+        }, directory.toString());
+
+        // when -action or the behaviour that we are going to test
+        assertThrows(TaskRejectedException.class,
+                () -> studentImportService.importStudents(csv("firstName,lastName,email\n"), 10));
+
+        //then - verify the output
+        assertThat(studentImportService.getImports()).isEmpty();
+        assertThat(spooledFiles()).isEmpty();
+    }
+
+    private List<Path> spooledFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+
+    private static InputStream csv(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
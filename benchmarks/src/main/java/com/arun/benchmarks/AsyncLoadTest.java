@@ -0,0 +1,140 @@
+package com.arun.benchmarks;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop load test comparing {@code /api/employees/{id}} (one Tomcat worker per request)
+ * with {@code /api/async/employees/{id}} while every SQL statement is delayed by
+ * {@link DatabaseLatency}. This is a throughput test rather than a JMH microbenchmark:
+ * <pre>
+ * java -cp target/benchmarks.jar com.arun.benchmarks.AsyncLoadTest
+ * </pre>
+ * Tuned with {@code -Dlatency.ms}, {@code -Dclients}, {@code -Dseconds} and
+ * {@code -Dtomcat.threads}. Virtual threads are only measured on a JDK that has them.
+ */
+public class AsyncLoadTest {
+
+    private static final int ROWS = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        long latencyMillis = Long.getLong("latency.ms", 20);
+        int clients = Integer.getInteger("clients", 200);
+        int seconds = Integer.getInteger("seconds", 15);
+        int tomcatThreads = Integer.getInteger("tomcat.threads", 20);
+
+        System.out.printf("db latency %d ms, %d clients, %d s per mode, %d tomcat threads%n",
+                latencyMillis, clients, seconds, tomcatThreads);
+        System.out.printf("%-16s %10s %10s %10s %10s%n", "mode", "req/s", "p50 ms", "p99 ms", "errors");
+
+        List<String> modes = new ArrayList<>(Arrays.asList("blocking", "async-pool"));
+        if (Runtime.version().feature() >= 21) {
+            modes.add("async-virtual");
+        }
+        for (String mode : modes) {
+            run(mode, latencyMillis, clients, seconds, tomcatThreads);
+        }
+    }
+
+    private static void run(String mode, long latencyMillis, int clients, int seconds, int tomcatThreads)
+            throws Exception {
+        DatabaseLatency databaseLatency = new DatabaseLatency();
+        ConfigurableApplicationContext context = EmployeeApplication.start(WebApplicationType.SERVLET,
+                applicationContext -> applicationContext.getBeanFactory().addBeanPostProcessor(databaseLatency),
+                // measure request handling, not Caffeine
+                "spring.cache.type=none",
+                "server.tomcat.threads.max=" + tomcatThreads,
+                "spring.datasource.hikari.maximum-pool-size=64",
+                "employee.async.enabled=true",
+                "employee.async.pool-size=64",
+                "employee.async.virtual-threads=" + mode.equals("async-virtual"));
+        try {
+            EmployeeApplication.seed(context, ROWS);
+            // seeding ran at full speed; only the measured requests pay the latency
+            databaseLatency.setLatencyMillis(latencyMillis);
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://localhost:" + port
+                    + (mode.equals("blocking") ? "/api/employees/" : "/api/async/employees/");
+            drive(mode, baseUrl, clients, seconds);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void drive(String mode, String baseUrl, int clients, int seconds) throws Exception {
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(8);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .executor(httpExecutor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long[][] latencies = new long[clients][];
+        int[] counts = new int[clients];
+        int[] errors = new int[clients];
+
+        ExecutorService driver = Executors.newFixedThreadPool(clients);
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            driver.execute(() -> {
+                long[] samples = new long[1024];
+                while (System.nanoTime() < deadline) {
+                    long id = ThreadLocalRandom.current().nextLong(1, ROWS + 1);
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = httpClient.send(
+                                HttpRequest.newBuilder(URI.create(baseUrl + id)).GET().build(),
+                                HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors[client]++;
+                            continue;
+                        }
+                    } catch (Exception e) {
+                        errors[client]++;
+                        continue;
+                    }
+                    if (counts[client] == samples.length) {
+                        samples = Arrays.copyOf(samples, samples.length * 2);
+                    }
+                    samples[counts[client]++] = System.nanoTime() - start;
+                }
+                latencies[client] = samples;
+            });
+        }
+        driver.shutdown();
+        driver.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        httpExecutor.shutdown();
+
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(latencies[c], 0, all, offset, counts[c]);
+            offset += counts[c];
+        }
+        Arrays.sort(all);
+        System.out.printf("%-16s %10.0f %10.1f %10.1f %10d%n", mode, (double) total / seconds,
+                percentile(all, 0.50), percentile(all, 0.99), Arrays.stream(errors).sum());
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(p * sorted.length))] / 1_000_000.0;
+    }
+}
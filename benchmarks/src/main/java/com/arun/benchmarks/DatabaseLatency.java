@@ -0,0 +1,63 @@
+package com.arun.benchmarks;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * Wraps the application's DataSource so that every statement execution sleeps for a fixed
+ * time first, standing in for a remote database on a slow network. H2 in memory otherwise
+ * answers in microseconds and no request ever waits on I/O.
+ */
+final class DatabaseLatency implements BeanPostProcessor {
+
+    private volatile long latencyMillis;
+
+    void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource) {
+            return proxy(DataSource.class, bean);
+        }
+        return bean;
+    }
+
+    private <T> T proxy(Class<T> type, Object target) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (target instanceof Statement && method.getName().startsWith("execute") && latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+            Object result = invoke(method, target, args);
+            if (result instanceof Connection) {
+                return proxy(Connection.class, result);
+            }
+            if (result instanceof Statement) {
+                return proxy(statementType(method.getReturnType()), result);
+            }
+            return result;
+        };
+        return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<? extends Statement> statementType(Class<?> declared) {
+        return Statement.class.isAssignableFrom(declared) ? (Class<? extends Statement>) declared : Statement.class;
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
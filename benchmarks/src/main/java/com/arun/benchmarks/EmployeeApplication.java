@@ -0,0 +1,59 @@
+package com.arun.benchmarks;
+
+import com.arun.springboot.SpringBootTestingApplication;
+import com.arun.springboot.model.Employee;
+import com.arun.springboot.service.EmployeeService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Boots the SPRING-BOOT-TESTING application against a private in-memory H2 database
+ * so each benchmark trial starts from a known data set.
+ */
+final class EmployeeApplication {
+
+    private EmployeeApplication() {
+    }
+
+    static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... properties) {
+        return start(webApplicationType, applicationContext -> {
+        }, properties);
+    }
+
+    static ConfigurableApplicationContext start(WebApplicationType webApplicationType,
+                                                ApplicationContextInitializer<ConfigurableApplicationContext> initializer,
+                                                String... properties) {
+        return new SpringApplicationBuilder(SpringBootTestingApplication.class)
+                .web(webApplicationType)
+                .initializers(initializer)
+                .logStartupInfo(false)
+                .properties("spring.config.name=benchmark",
+                        "spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1")
+                .properties(properties)
+                .run();
+    }
+
+    /**
+     * Inserts {@code rows} employees through the bulk path; their ids are 1..rows.
+     */
+    static void seed(ConfigurableApplicationContext context, int rows) {
+        Iterator<Employee> employees = IntStream.rangeClosed(1, rows)
+                .mapToObj(EmployeeApplication::employee)
+                .iterator();
+        context.getBean(EmployeeService.class).saveEmployees(employees, 1000);
+    }
+
+    static Employee employee(long n) {
+        return Employee.builder()
+                .firstName("First" + n)
+                .lastName("Last" + n)
+                .email("employee" + n + "@example.com")
+                .build();
+    }
+}
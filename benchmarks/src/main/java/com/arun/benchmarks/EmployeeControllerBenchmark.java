@@ -0,0 +1,130 @@
+package com.arun.benchmarks;
+
+import com.arun.springboot.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * EmployeeController endpoints, once through MockMvc (no network, no servlet container)
+ * and once over HTTP against the embedded Tomcat the application really runs on.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeControllerBenchmark {
+
+    @Param({"10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    private HttpClient httpClient;
+
+    private String baseUrl;
+
+    private ObjectMapper objectMapper;
+
+    private final AtomicLong nextEmail = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = EmployeeApplication.start(WebApplicationType.SERVLET);
+        EmployeeApplication.seed(context, rows);
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        httpClient = HttpClient.newHttpClient();
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort()
+                + "/api/employees";
+        objectMapper = context.getBean(ObjectMapper.class);
+        nextEmail.set(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult mockMvcGetEmployeeById() throws Exception {
+        return mockMvc.perform(get("/api/employees/{employeeId}", randomId())).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult mockMvcGetEmployeesPage() throws Exception {
+        return mockMvc.perform(get("/api/employees").param("size", "100")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult mockMvcCreateEmployee() throws Exception {
+        return mockMvc.perform(post("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(newEmployeeJson())).andReturn();
+    }
+
+    @Benchmark
+    public HttpResponse<byte[]> httpGetEmployeeById() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + randomId())).GET().build());
+    }
+
+    @Benchmark
+    public HttpResponse<byte[]> httpGetEmployeesPage() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "?size=100")).GET().build());
+    }
+
+    @Benchmark
+    public HttpResponse<byte[]> httpCreateEmployee() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl))
+                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(newEmployeeJson()))
+                .build());
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private byte[] newEmployeeJson() throws IOException {
+        Employee employee = EmployeeApplication.employee(nextEmail.incrementAndGet());
+        return objectMapper.writeValueAsBytes(employee);
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, rows + 1);
+    }
+}
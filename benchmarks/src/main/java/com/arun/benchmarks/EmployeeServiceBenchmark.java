@@ -0,0 +1,98 @@
+package com.arun.benchmarks;
+
+import com.arun.springboot.model.Employee;
+import com.arun.springboot.model.EmployeePage;
+import com.arun.springboot.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * EmployeeServiceImp methods through the Spring proxy (so caching and transactions are
+ * included) over an in-memory H2 database seeded with {@code rows} employees.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeServiceBenchmark {
+
+    @Param({"10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeService employeeService;
+
+    private final AtomicLong nextEmail = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = EmployeeApplication.start(WebApplicationType.NONE);
+        EmployeeApplication.seed(context, rows);
+        employeeService = context.getBean(EmployeeService.class);
+        nextEmail.set(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Employee> getEmployeeById() {
+        return employeeService.getEmployeeById(randomId());
+    }
+
+    @Benchmark
+    public List<Employee> searchEmployees() {
+        // a full last name plus a first-name prefix, as a type-ahead box sends it
+        long n = randomId();
+        return employeeService.searchEmployees("last" + n + " fir", 10);
+    }
+
+    @Benchmark
+    public EmployeePage getEmployeesPage() {
+        return employeeService.getEmployeesPage(null, 100);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Employee> getAllEmployees() {
+        return employeeService.getAllEmployees();
+    }
+
+    @Benchmark
+    public Employee saveEmployee() {
+        return employeeService.saveEmployee(EmployeeApplication.employee(nextEmail.incrementAndGet()));
+    }
+
+    @Benchmark
+    public Employee upsertEmployee() {
+        return employeeService.upsertEmployee(EmployeeApplication.employee(randomId()));
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, rows + 1);
+    }
+}
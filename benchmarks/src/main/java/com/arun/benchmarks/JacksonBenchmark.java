@@ -0,0 +1,103 @@
+package com.arun.benchmarks;
+
+import com.arun.springboot.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization of the entities returned by the three sample apps, using the
+ * same ObjectMapper defaults Spring Boot configures.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JacksonBenchmark {
+
+    private ObjectMapper objectMapper;
+
+    private Employee employee;
+
+    private org.arun.springtest.entity.Student controllerStudent;
+
+    private org.arun.unittest.entity.Student unitStudent;
+
+    private byte[] employeeJson;
+
+    private byte[] controllerStudentJson;
+
+    private byte[] unitStudentJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        employee = Employee.builder()
+                .id(42L)
+                .firstName("Ramesh")
+                .lastName("Fegade")
+                .email("ramesh@gmail.com")
+                .build();
+        controllerStudent = org.arun.springtest.entity.Student.builder()
+                .id(42L)
+                .firstName("Pankaj")
+                .lastName("Sonkar")
+                .email("sak@gmail.com")
+                .build();
+        unitStudent = org.arun.unittest.entity.Student.builder()
+                .id(42L)
+                .firstName("Hari")
+                .lastName("Gupta")
+                .email("hari@gmail.com")
+                .build();
+
+        employeeJson = objectMapper.writeValueAsBytes(employee);
+        controllerStudentJson = objectMapper.writeValueAsBytes(controllerStudent);
+        unitStudentJson = objectMapper.writeValueAsBytes(unitStudent);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployee() throws IOException {
+        return objectMapper.writeValueAsBytes(employee);
+    }
+
+    @Benchmark
+    public Employee deserializeEmployee() throws IOException {
+        return objectMapper.readValue(employeeJson, Employee.class);
+    }
+
+    @Benchmark
+    public byte[] serializeControllerStudent() throws IOException {
+        return objectMapper.writeValueAsBytes(controllerStudent);
+    }
+
+    @Benchmark
+    public org.arun.springtest.entity.Student deserializeControllerStudent() throws IOException {
+        return objectMapper.readValue(controllerStudentJson, org.arun.springtest.entity.Student.class);
+    }
+
+    @Benchmark
+    public byte[] serializeUnitStudent() throws IOException {
+        return objectMapper.writeValueAsBytes(unitStudent);
+    }
+
+    @Benchmark
+    public org.arun.unittest.entity.Student deserializeUnitStudent() throws IOException {
+        return objectMapper.readValue(unitStudentJson, org.arun.unittest.entity.Student.class);
+    }
+}
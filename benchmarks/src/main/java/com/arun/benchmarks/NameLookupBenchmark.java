@@ -0,0 +1,73 @@
+package com.arun.benchmarks;
+
+import com.arun.springboot.model.Employee;
+import com.arun.springboot.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code EmployeeRepository.findByJPQL} on H2 as the table grows. With
+ * {@link Employee#NAME_INDEX} the time per lookup should barely move between 10k and 1M
+ * rows (a B-tree descent); with the index dropped it grows with the row count.
+ * Seeding a million rows takes a while, so run it on its own:
+ * {@code java -jar target/benchmarks.jar NameLookup}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NameLookupBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    @Param({"true", "false"})
+    private boolean indexed;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeRepository employeeRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // keep the SQL statistics collector out of the timing
+        context = EmployeeApplication.start(WebApplicationType.NONE, "monitoring.sql.enabled=false");
+        EmployeeApplication.seed(context, rows);
+        if (!indexed) {
+            context.getBean(JdbcTemplate.class).execute("drop index " + Employee.NAME_INDEX);
+        }
+        context.getBean(JdbcTemplate.class).execute("analyze");
+        employeeRepository = context.getBean(EmployeeRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Employee> findByName() {
+        long n = ThreadLocalRandom.current().nextLong(1, rows + 1);
+        return employeeRepository.findByJPQL("First" + n, "Last" + n);
+    }
+}
@@ -0,0 +1,49 @@
+package com.arun.benchmarks;
+
+import com.arun.reactive.SpringBootReactiveApplication;
+import com.arun.reactive.model.Employee;
+import com.arun.reactive.repository.EmployeeRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+/**
+ * Boots the SPRING-BOOT-REACTIVE application on Netty against a private in-memory H2
+ * database, the reactive counterpart of {@link EmployeeApplication}.
+ */
+final class ReactiveEmployeeApplication {
+
+    private ReactiveEmployeeApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(SpringBootReactiveApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .logStartupInfo(false)
+                // Tomcat is on the classpath for the servlet samples and would otherwise win
+                .initializers(applicationContext -> ((GenericApplicationContext) applicationContext)
+                        .registerBean(NettyReactiveWebServerFactory.class))
+                .properties("spring.config.name=benchmark-reactive",
+                        "spring.r2dbc.url=r2dbc:h2:mem:///" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1")
+                .properties(properties)
+                .run();
+    }
+
+    /**
+     * Inserts {@code rows} employees; their ids are 1..rows.
+     */
+    static void seed(ConfigurableApplicationContext context, int rows) {
+        context.getBean(EmployeeRepository.class)
+                .saveAll(Flux.range(1, rows).map(n -> Employee.builder()
+                        .firstName("First" + n)
+                        .lastName("Last" + n)
+                        .email("employee" + n + "@example.com")
+                        .build()))
+                .blockLast();
+    }
+}
@@ -0,0 +1,87 @@
+package com.arun.benchmarks;
+
+import com.arun.springboot.model.Employee;
+import com.arun.springboot.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The read path of {@code EmployeeRepository} with Hibernate's second-level and query
+ * caches on and off. Every call runs in its own persistence context, as a request would,
+ * so with the cache off each one is a round trip to H2 and with it on a warmed-up lookup
+ * never reaches the database. H2 in memory is the best case for the uncached side; a
+ * database across a network widens the gap by the round-trip time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SecondLevelCacheBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    // the ids read, small enough to fit the query results region as well as the entity region
+    private static final int WORKING_SET = 1_000;
+
+    @Param({"true", "false"})
+    private boolean l2;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeRepository employeeRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // benchmark.properties replaces application.properties, so the l2cache profile
+        // file is not picked up and its settings are passed here instead
+        context = l2
+                ? EmployeeApplication.start(WebApplicationType.NONE, "monitoring.sql.enabled=false",
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+                "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+                "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+                "spring.jpa.properties.hibernate.javax.cache.provider="
+                        + "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+                "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=fail")
+                : EmployeeApplication.start(WebApplicationType.NONE, "monitoring.sql.enabled=false",
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "spring.jpa.properties.hibernate.cache.use_query_cache=false");
+        EmployeeApplication.seed(context, ROWS);
+        employeeRepository = context.getBean(EmployeeRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Employee> findById() {
+        return employeeRepository.findById(ThreadLocalRandom.current().nextLong(1, WORKING_SET + 1));
+    }
+
+    @Benchmark
+    public List<Employee> findByName() {
+        long n = ThreadLocalRandom.current().nextLong(1, WORKING_SET + 1);
+        return employeeRepository.findByJPQL("First" + n, "Last" + n);
+    }
+}
@@ -0,0 +1,126 @@
+package com.arun.benchmarks;
+
+import com.arun.springboot.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bytes on the wire and serialization time for a large list response in each format the
+ * apps negotiate (JSON, Smile, CBOR), with and without the gzip the server applies to JSON.
+ * The payload size of every combination is printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationFormatBenchmark {
+
+    @Param({"employee", "controllerStudent", "unitStudent"})
+    private String entity;
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    @Param({"100000"})
+    private int rows;
+
+    private ObjectMapper objectMapper;
+
+    private List<?> list;
+
+    @Setup
+    public void setUp() throws IOException {
+        switch (format) {
+            case "json":
+                objectMapper = Jackson2ObjectMapperBuilder.json().build();
+                break;
+            case "smile":
+                objectMapper = Jackson2ObjectMapperBuilder.smile().build();
+                break;
+            case "cbor":
+                objectMapper = Jackson2ObjectMapperBuilder.cbor().build();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown format " + format);
+        }
+        list = LongStream.rangeClosed(1, rows).mapToObj(this::row).collect(Collectors.toList());
+        System.out.printf("%n%s as %s%s: %,d bytes%n", entity, format, gzip ? "+gzip" : "", serializeList());
+    }
+
+    @Benchmark
+    public long serializeList() throws IOException {
+        CountingOutputStream counting = new CountingOutputStream();
+        try (OutputStream out = gzip ? new GZIPOutputStream(counting, 8192) : counting) {
+            objectMapper.writeValue(out, list);
+        }
+        return counting.count;
+    }
+
+    private Object row(long id) {
+        switch (entity) {
+            case "employee":
+                return Employee.builder()
+                        .id(id)
+                        .firstName("Ramesh" + id)
+                        .lastName("Fegade")
+                        .email("ramesh" + id + "@gmail.com")
+                        .build();
+            case "controllerStudent":
+                return org.arun.springtest.entity.Student.builder()
+                        .id(id)
+                        .firstName("Pankaj" + id)
+                        .lastName("Sonkar")
+                        .email("sak" + id + "@gmail.com")
+                        .build();
+            case "unitStudent":
+                return org.arun.unittest.entity.Student.builder()
+                        .id(id)
+                        .firstName("Hari" + id)
+                        .lastName("Gupta")
+                        .email("hari" + id + "@gmail.com")
+                        .build();
+            default:
+                throw new IllegalArgumentException("Unknown entity " + entity);
+        }
+    }
+
+    // counts what a response body would carry without holding on to it
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
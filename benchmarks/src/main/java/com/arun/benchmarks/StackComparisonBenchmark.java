@@ -0,0 +1,91 @@
+package com.arun.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same {@code /api/employees} calls against the servlet/JPA sample on Tomcat and the
+ * WebFlux/R2DBC sample on Netty, both on in-memory H2, from 16 concurrent clients.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class StackComparisonBenchmark {
+
+    @Param({"servlet", "reactive"})
+    private String stack;
+
+    @Param({"10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient httpClient;
+
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (stack.equals("servlet")) {
+            // the reactive service has no cache, so keep the comparison about the stacks
+            context = EmployeeApplication.start(WebApplicationType.SERVLET, "spring.cache.type=none");
+            EmployeeApplication.seed(context, rows);
+        } else {
+            context = ReactiveEmployeeApplication.start();
+            ReactiveEmployeeApplication.seed(context, rows);
+        }
+        httpClient = HttpClient.newHttpClient();
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort()
+                + "/api/employees";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public HttpResponse<byte[]> getEmployeeById() throws IOException, InterruptedException {
+        long id = ThreadLocalRandom.current().nextLong(1, rows + 1);
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + id)).GET().build());
+    }
+
+    @Benchmark
+    public HttpResponse<byte[]> streamAllEmployees() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl))
+                .header("Accept", "application/x-ndjson")
+                .GET()
+                .build());
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+}